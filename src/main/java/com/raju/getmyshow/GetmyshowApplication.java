@@ -3,9 +3,11 @@ package com.raju.getmyshow;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @EnableJpaAuditing  // ✅ Add this annotation
 @SpringBootApplication
+@EnableScheduling   // background jobs (seat counter fold, ...)
 public class GetmyshowApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,215 @@
+package com.raju.getmyshow.booking.archive;
+
+import com.raju.getmyshow.booking.entity.SeatInventoryArchive;
+import com.raju.getmyshow.booking.entity.SeatStatus;
+import com.raju.getmyshow.booking.repository.projection.InventorySeatRow;
+import com.raju.getmyshow.eventcatalog.layout.ScreenLayout;
+import com.raju.getmyshow.shared.exception.BusinessException;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Seat status of ONE completed show, keyed by seat position (see V10 seat_inventory_archive).
+ *
+ * 💡 POSITION = index of the seat in seat id order, the same as its ScreenLayout position
+ *   at archive time; the seat ids themselves are stored too (as runs), so later layout
+ *   edits never shift an archived seat
+ *
+ * 💡 ENCODING
+ * - status     : 2 bits per position, 4 positions per byte, low bits first
+ * - booking id : one array slot per position, null when not booked
+ * - seat ids / seat_inventory ids : runs of consecutive ids, usually a single run per show
+ * - SPARSE seats that never got an inventory row are AVAILABLE, without inventory id
+ */
+public final class ArchivedSeatMap {
+
+    // Status of each 2-bit code; never reorder, archives store the codes
+    private static final SeatStatus[] CODES = {
+            SeatStatus.AVAILABLE, SeatStatus.BOOKED, SeatStatus.BLOCKED, SeatStatus.LOCKED};
+
+    private final long[] seatIds;
+    private final long[] inventoryIds;
+    private final byte[] statuses;
+    private final Long[] bookingIds;
+
+    @Getter
+    private final int bookedSeats;
+
+    private ArchivedSeatMap(long[] seatIds, long[] inventoryIds, byte[] statuses, Long[] bookingIds) {
+        this.seatIds = seatIds;
+        this.inventoryIds = inventoryIds;
+        this.statuses = statuses;
+        this.bookingIds = bookingIds;
+
+        int booked = 0;
+        for (int position = 0; position < seatIds.length; position++) {
+            if (statusAt(position) == SeatStatus.BOOKED) {
+                booked++;
+            }
+        }
+        this.bookedSeats = booked;
+    }
+
+    /**
+     * Compacts a show's inventory rows; positions come from the screen's layout.
+     *
+     * @throws BusinessException ARCHIVE_SEAT_NOT_IN_LAYOUT when a row's seat has no position:
+     *                           the row would be lost once the hot rows are purged
+     */
+    public static ArchivedSeatMap encode(ScreenLayout layout, List<InventorySeatRow> rows) {
+        int size = layout.size();
+        long[] seatIds = new long[size];
+        long[] inventoryIds = new long[size];
+        byte[] statuses = new byte[(size + 3) >>> 2];
+        Long[] bookingIds = new Long[size];
+
+        for (int position = 0; position < size; position++) {
+            seatIds[position] = layout.seatIdAt(position);
+        }
+
+        for (InventorySeatRow row : rows) {
+            int position = layout.indexOf(row.getSeatId());
+            if (position < 0) {
+                throw new BusinessException("ARCHIVE_SEAT_NOT_IN_LAYOUT",
+                        "Seat " + row.getSeatId() + " is not in the layout of screen " + layout.getScreenId());
+            }
+            SeatStatus status = SeatStatus.valueOf(row.getStatus());
+            inventoryIds[position] = row.getSeatInventoryId();
+            statuses[position >>> 2] |= (byte) (codeOf(status) << ((position & 3) << 1));
+            bookingIds[position] = status == SeatStatus.BOOKED ? row.getBookingId() : null;
+        }
+
+        return new ArchivedSeatMap(seatIds, inventoryIds, statuses, bookingIds);
+    }
+
+    public static ArchivedSeatMap decode(SeatInventoryArchive archive) {
+        int size = archive.getSeatCount();
+
+        long[] seatIds = new long[size];
+        long[] seatIdRuns = archive.getSeatIdRuns();
+        int position = 0;
+        for (int run = 0; run < seatIdRuns.length; run += 2) {
+            for (long offset = 0; offset < seatIdRuns[run + 1]; offset++) {
+                seatIds[position++] = seatIdRuns[run] + offset;
+            }
+        }
+
+        long[] inventoryIds = new long[size];
+        long[] inventoryIdRuns = archive.getInventoryIdRuns();
+        for (int run = 0; run < inventoryIdRuns.length; run += 3) {
+            int start = (int) inventoryIdRuns[run];
+            for (int offset = 0; offset < inventoryIdRuns[run + 2]; offset++) {
+                inventoryIds[start + offset] = inventoryIdRuns[run + 1] + offset;
+            }
+        }
+
+        return new ArchivedSeatMap(seatIds, inventoryIds, archive.getStatuses(), archive.getBookingIds());
+    }
+
+    public int size() {
+        return seatIds.length;
+    }
+
+    /**
+     * Position of the seat, -1 when the seat was not part of the show.
+     */
+    public int indexOf(long seatId) {
+        int position = Arrays.binarySearch(seatIds, seatId);
+        return position >= 0 ? position : -1;
+    }
+
+    public long seatIdAt(int position) {
+        return seatIds[position];
+    }
+
+    /**
+     * seat_inventory id the seat had, 0 when it never had a row (SPARSE)
+     */
+    public long inventoryIdAt(int position) {
+        return inventoryIds[position];
+    }
+
+    public SeatStatus statusAt(int position) {
+        return CODES[(statuses[position >>> 2] >>> ((position & 3) << 1)) & 3];
+    }
+
+    public Long bookingIdAt(int position) {
+        return bookingIds[position];
+    }
+
+    //=======================================
+    //    Archive columns
+    //=======================================
+
+    public byte[] statuses() {
+        return statuses.clone();
+    }
+
+    /**
+     * [first seat id, count, ...] as a Postgres array literal
+     */
+    public String seatIdRunsLiteral() {
+        List<Long> runs = new ArrayList<>();
+        for (int position = 0; position < seatIds.length; position++) {
+            int last = runs.size() - 2;
+            if (last >= 0 && runs.get(last) + runs.get(last + 1) == seatIds[position]) {
+                runs.set(last + 1, runs.get(last + 1) + 1);
+            } else {
+                runs.add(seatIds[position]);
+                runs.add(1L);
+            }
+        }
+        return literal(runs);
+    }
+
+    /**
+     * [position, first seat_inventory id, count, ...] as a Postgres array literal,
+     * positions without a row are skipped
+     */
+    public String inventoryIdRunsLiteral() {
+        List<Long> runs = new ArrayList<>();
+        for (int position = 0; position < inventoryIds.length; position++) {
+            long inventoryId = inventoryIds[position];
+            if (inventoryId == 0) {
+                continue;
+            }
+            int last = runs.size() - 3;
+            if (last >= 0
+                    && runs.get(last) + runs.get(last + 2) == position
+                    && runs.get(last + 1) + runs.get(last + 2) == inventoryId) {
+                runs.set(last + 2, runs.get(last + 2) + 1);
+            } else {
+                runs.add((long) position);
+                runs.add(inventoryId);
+                runs.add(1L);
+            }
+        }
+        return literal(runs);
+    }
+
+    /**
+     * Booking id per position as a Postgres array literal, e.g. "{NULL,42,42}"
+     */
+    public String bookingIdsLiteral() {
+        return literal(Arrays.asList(bookingIds));
+    }
+
+    private static String literal(List<Long> values) {
+        return values.stream()
+                .map(value -> value == null ? "NULL" : value.toString())
+                .collect(Collectors.joining(",", "{", "}"));
+    }
+
+    private static int codeOf(SeatStatus status) {
+        return switch (status) {
+            case AVAILABLE -> 0;
+            case BOOKED -> 1;
+            case BLOCKED -> 2;
+            case LOCKED -> 3;
+        };
+    }
+}
@@ -0,0 +1,85 @@
+package com.raju.getmyshow.booking.archive;
+
+import com.raju.getmyshow.booking.dto.response.ArchivedSeatDto;
+import com.raju.getmyshow.booking.dto.response.ArchivedSeatMapResponse;
+import com.raju.getmyshow.booking.entity.SeatInventoryArchive;
+import com.raju.getmyshow.booking.repository.SeatInventoryArchiveRepository;
+import com.raju.getmyshow.eventcatalog.layout.ScreenLayout;
+import com.raju.getmyshow.eventcatalog.layout.ScreenLayoutCache;
+import com.raju.getmyshow.shared.exception.NotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 💡 PURPOSE: Historic seat lookups of archived shows (see SeatInventoryArchiver)
+ * - Per-seat status and booking come from the archive row alone
+ * - Labels come from the screen's current layout; a seat removed since keeps
+ *   its id, status and booking but has no labels
+ */
+@Service
+@RequiredArgsConstructor
+public class SeatArchiveService {
+
+    private final SeatInventoryArchiveRepository archiveRepository;
+    private final ScreenLayoutCache screenLayoutCache;
+
+    public ArchivedSeatMapResponse getArchivedSeats(Long showId) {
+        SeatInventoryArchive archive = findArchive(showId);
+        ArchivedSeatMap seatMap = ArchivedSeatMap.decode(archive);
+        ScreenLayout layout = screenLayoutCache.get(archive.getScreenId());
+
+        List<ArchivedSeatDto> seats = new ArrayList<>(seatMap.size());
+        for (int position = 0; position < seatMap.size(); position++) {
+            seats.add(toDto(seatMap, position, layout));
+        }
+
+        return ArchivedSeatMapResponse.builder()
+                .showId(archive.getShowId())
+                .screenId(archive.getScreenId())
+                .showDate(archive.getShowDate())
+                .totalSeats(archive.getSeatCount())
+                .bookedSeats(archive.getBookedSeats())
+                .archivedAt(archive.getArchivedAt())
+                .seats(seats)
+                .build();
+    }
+
+    public ArchivedSeatDto getArchivedSeat(Long showId, Long seatId) {
+        SeatInventoryArchive archive = findArchive(showId);
+        ArchivedSeatMap seatMap = ArchivedSeatMap.decode(archive);
+
+        int position = seatMap.indexOf(seatId);
+        if (position < 0) {
+            throw new NotFoundException("Seat " + seatId + " in archived show", showId);
+        }
+        return toDto(seatMap, position, screenLayoutCache.get(archive.getScreenId()));
+    }
+
+    private SeatInventoryArchive findArchive(Long showId) {
+        return archiveRepository.findById(showId)
+                .orElseThrow(() -> new NotFoundException("Seat inventory archive", showId));
+    }
+
+    private ArchivedSeatDto toDto(ArchivedSeatMap seatMap, int position, ScreenLayout layout) {
+        long seatId = seatMap.seatIdAt(position);
+        long inventoryId = seatMap.inventoryIdAt(position);
+
+        ArchivedSeatDto.ArchivedSeatDtoBuilder seat = ArchivedSeatDto.builder()
+                .seatInventoryId(inventoryId != 0 ? inventoryId : null)
+                .seatId(seatId)
+                .status(seatMap.statusAt(position))
+                .bookingId(seatMap.bookingIdAt(position));
+
+        int layoutPosition = layout.indexOf(seatId);
+        if (layoutPosition >= 0) {
+            seat.rowLabel(layout.rowLabelAt(layoutPosition))
+                    .seatNumber(layout.seatNumberAt(layoutPosition))
+                    .displayLabel(layout.displayLabelAt(layoutPosition))
+                    .seatType(layout.seatTypeAt(layoutPosition).name());
+        }
+        return seat.build();
+    }
+}
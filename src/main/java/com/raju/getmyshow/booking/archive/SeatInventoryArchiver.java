@@ -0,0 +1,250 @@
+package com.raju.getmyshow.booking.archive;
+
+import com.raju.getmyshow.booking.availability.SeatAvailabilityEngine;
+import com.raju.getmyshow.booking.config.BookingProperties;
+import com.raju.getmyshow.booking.entity.SeatInventoryArchive;
+import com.raju.getmyshow.booking.repository.SeatInventoryArchiveRepository;
+import com.raju.getmyshow.booking.repository.SeatInventoryRepository;
+import com.raju.getmyshow.booking.repository.projection.InventorySeatRow;
+import com.raju.getmyshow.eventcatalog.domain.entity.Show;
+import com.raju.getmyshow.eventcatalog.domain.enums.ShowStatus;
+import com.raju.getmyshow.eventcatalog.layout.ScreenLayout;
+import com.raju.getmyshow.eventcatalog.layout.ScreenLayoutCache;
+import com.raju.getmyshow.eventcatalog.repository.ShowRepository;
+import com.raju.getmyshow.shared.exception.BusinessException;
+import com.raju.getmyshow.shared.exception.NotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 💡 PURPOSE: Move completed shows out of the hot seat_inventory table
+ * - A COMPLETED show's rows only serve audits and reports; they are compacted into
+ *   ONE seat_inventory_archive row (status bitmap + booking ids by seat position,
+ *   see ArchivedSeatMap), then deleted in batches of booking.archive.delete-batch-size
+ * - booking.archive.grace-hours after the show's end, so late refunds still see the hot rows
+ * - Each run first marks shows past their end_time COMPLETED (nothing else does;
+ *   SeatInventoryPartitionManager's detach check relies on it too)
+ * - A row whose seat is not in the screen's layout (even after a reload) aborts that
+ *   show's archive: it would be lost by the purge. The show is retried every run
+ * - Read back through SeatArchiveService
+ *
+ * 💡 RESTARTABLE: the archive row is written first and marks its show as archived;
+ *   an archive with purged_at NULL still has hot rows, the next run finishes deleting them
+ *
+ * 💡 MULTI-NODE: the archive insert is ON CONFLICT DO NOTHING and deletes are
+ *   idempotent, so two nodes archiving the same show only duplicate some work
+ *
+ * 💡 METRICS
+ * - booking.archive.completed    : shows marked COMPLETED
+ * - booking.archive.shows        : shows archived
+ * - booking.archive.deleted.rows : hot rows deleted
+ * - booking.archive.run          : duration of one run
+ */
+@Component
+@Slf4j
+public class SeatInventoryArchiver {
+
+    private final SeatInventoryArchiveRepository archiveRepository;
+    private final SeatInventoryRepository seatInventoryRepository;
+    private final ShowRepository showRepository;
+    private final ScreenLayoutCache screenLayoutCache;
+    private final SeatAvailabilityEngine seatAvailabilityEngine;
+    private final TransactionTemplate transactionTemplate;
+    private final BookingProperties bookingProperties;
+
+    private final Counter showsCompleted;
+    private final Counter showsArchived;
+    private final Counter rowsDeleted;
+    private final Timer runTimer;
+
+    public SeatInventoryArchiver(SeatInventoryArchiveRepository archiveRepository,
+                                 SeatInventoryRepository seatInventoryRepository,
+                                 ShowRepository showRepository,
+                                 ScreenLayoutCache screenLayoutCache,
+                                 SeatAvailabilityEngine seatAvailabilityEngine,
+                                 PlatformTransactionManager transactionManager,
+                                 BookingProperties bookingProperties,
+                                 MeterRegistry meterRegistry) {
+        this.archiveRepository = archiveRepository;
+        this.seatInventoryRepository = seatInventoryRepository;
+        this.showRepository = showRepository;
+        this.screenLayoutCache = screenLayoutCache;
+        this.seatAvailabilityEngine = seatAvailabilityEngine;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.bookingProperties = bookingProperties;
+
+        this.showsCompleted = Counter.builder("booking.archive.completed")
+                .register(meterRegistry);
+        this.showsArchived = Counter.builder("booking.archive.shows")
+                .register(meterRegistry);
+        this.rowsDeleted = Counter.builder("booking.archive.deleted.rows")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("booking.archive.run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${booking.archive.cron:0 0 4 * * *}")
+    public void archiveCompletedShows() {
+        BookingProperties.Archive config = bookingProperties.getArchive();
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        runTimer.record(() -> {
+            completeEndedShows(config.getMaxShowsPerRun());
+
+            // Interrupted purges first, they already left the hot path
+            for (Long showId : archiveRepository.findUnpurgedShowIds(config.getMaxShowsPerRun())) {
+                if (!purgeSafely(showId)) {
+                    return;
+                }
+            }
+
+            List<Long> showIds = archiveRepository.findShowsToArchive(
+                    config.getGraceHours(), config.getMaxShowsPerRun());
+            int archived = 0;
+            for (Long showId : showIds) {
+                try {
+                    archive(showId);
+                    archived++;
+                } catch (DataAccessException | BusinessException ex) {
+                    log.warn("Could not archive seat inventory of show {}: {}", showId, ex.getMessage());
+                }
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+            }
+
+            if (archived > 0) {
+                log.info("Seat inventory archive: {} shows archived", archived);
+            }
+        });
+    }
+
+    /**
+     * Archives one COMPLETED show and deletes its hot rows.
+     *
+     * @return seat_inventory rows deleted
+     */
+    public long archive(Long showId) {
+        Show show = showRepository.findById(showId)
+                .orElseThrow(() -> new NotFoundException("Show", showId));
+        if (show.getShowStatus() != ShowStatus.COMPLETED) {
+            throw new BusinessException("SHOW_NOT_COMPLETED",
+                    "Show " + showId + " is " + show.getShowStatus() + ", only completed shows are archived");
+        }
+
+        Long screenId = show.getScreen().getId();
+        LocalDate showDate = show.getStartTime().toLocalDate();
+
+        Integer inserted = transactionTemplate.execute(status -> {
+            List<InventorySeatRow> rows = seatInventoryRepository.findSeatStates(showId, showDate);
+            ArchivedSeatMap seatMap = ArchivedSeatMap.encode(layoutCovering(screenId, rows), rows);
+            return archiveRepository.insertArchive(showId, screenId, showDate, seatMap.size(),
+                    seatMap.seatIdRunsLiteral(), seatMap.statuses(), seatMap.bookingIdsLiteral(),
+                    seatMap.inventoryIdRunsLiteral(), seatMap.getBookedSeats());
+        });
+        if (inserted != null && inserted > 0) {
+            showsArchived.increment();
+        }
+
+        return purge(showId, showDate);
+    }
+
+    /**
+     * Marks shows whose end_time has passed COMPLETED, in batches of :batchSize.
+     *
+     * @return shows marked
+     */
+    public int completeEndedShows(int batchSize) {
+        int completed = 0;
+        while (true) {
+            Integer batch = transactionTemplate.execute(status -> showRepository.completeEndedShows(batchSize));
+            completed += batch;
+            if (batch < batchSize || Thread.currentThread().isInterrupted()) {
+                break;
+            }
+        }
+        if (completed > 0) {
+            showsCompleted.increment(completed);
+            log.info("{} shows past their end time marked COMPLETED", completed);
+        }
+        return completed;
+    }
+
+    /**
+     * The screen's layout, reloaded once when a row's seat is missing from the cached one
+     * (ArchivedSeatMap.encode rejects the rows if the seat is still missing)
+     */
+    private ScreenLayout layoutCovering(Long screenId, List<InventorySeatRow> rows) {
+        ScreenLayout layout = screenLayoutCache.get(screenId);
+        for (InventorySeatRow row : rows) {
+            if (layout.indexOf(row.getSeatId()) < 0) {
+                return screenLayoutCache.reload(screenId);
+            }
+        }
+        return layout;
+    }
+
+    private boolean purgeSafely(Long showId) {
+        try {
+            SeatInventoryArchive archive = archiveRepository.findById(showId)
+                    .orElseThrow(() -> new NotFoundException("Seat inventory archive", showId));
+            purge(showId, archive.getShowDate());
+        } catch (DataAccessException | NotFoundException ex) {
+            log.warn("Could not delete archived seat inventory of show {}: {}", showId, ex.getMessage());
+        }
+        return !Thread.currentThread().isInterrupted();
+    }
+
+    /**
+     * Deletes the archived show's hot rows batch by batch, then marks the archive purged.
+     */
+    private long purge(Long showId, LocalDate showDate) {
+        BookingProperties.Archive config = bookingProperties.getArchive();
+        long deleted = 0;
+
+        while (true) {
+            Integer batch = transactionTemplate.execute(status ->
+                    seatInventoryRepository.deleteBatchOfShow(showId, showDate, config.getDeleteBatchSize()));
+            deleted += batch;
+            rowsDeleted.increment(batch);
+
+            if (batch < config.getDeleteBatchSize()) {
+                break;
+            }
+            if (!pause(config.getPauseBetweenBatchesMillis())) {
+                return deleted;  // shutting down, the next run resumes
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> archiveRepository.markPurged(showId));
+        seatAvailabilityEngine.evict(showId);
+
+        log.debug("Show {} archived, {} seat_inventory rows deleted", showId, deleted);
+        return deleted;
+    }
+
+    private boolean pause(long millis) {
+        if (millis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
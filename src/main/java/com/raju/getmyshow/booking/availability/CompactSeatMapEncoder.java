@@ -0,0 +1,119 @@
+package com.raju.getmyshow.booking.availability;
+
+import com.raju.getmyshow.booking.dto.response.CompactSeatMapResponse;
+import com.raju.getmyshow.booking.entity.SeatStatus;
+import com.raju.getmyshow.booking.pricing.PriceTiers;
+import com.raju.getmyshow.eventcatalog.layout.ScreenLayout;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * ShowSeatMap -> CompactSeatMapResponse (see the DTO for the format).
+ *
+ * 💡 Everything is keyed by LAYOUT position, so one bitmap bit per physical seat.
+ *   Layout seats without inventory for this show are reported as unavailable.
+ */
+public final class CompactSeatMapEncoder {
+
+    private CompactSeatMapEncoder() {
+    }
+
+    public static CompactSeatMapResponse encode(ShowSeatMap seatMap) {
+        ScreenLayout layout = seatMap.getLayout();
+        ShowSeatMap.Snapshot snapshot = seatMap.snapshot();
+        SeatStatus[] statuses = snapshot.statuses();
+
+        // Inventory position of every layout position (-1 = no inventory for this show)
+        int[] inventoryPositions = new int[layout.size()];
+        Arrays.fill(inventoryPositions, -1);
+        for (int position = 0; position < seatMap.size(); position++) {
+            inventoryPositions[seatMap.layoutPositionAt(position)] = position;
+        }
+
+        int available = 0;
+        List<CompactSeatMapResponse.Row> rows = new ArrayList<>(layout.rowCount());
+        for (int row = 0; row < layout.rowCount(); row++) {
+            int start = layout.rowStart(row);
+            int count = layout.rowEnd(row) - start;
+
+            byte[] bits = new byte[(count + 7) >>> 3];
+            for (int index = 0; index < count; index++) {
+                int position = inventoryPositions[start + index];
+                if (position >= 0 && statuses[position] == SeatStatus.AVAILABLE) {
+                    bits[index >>> 3] |= (byte) (1 << (index & 7));
+                    available++;
+                }
+            }
+            rows.add(new CompactSeatMapResponse.Row(layout.rowLabelAt(start), start, count,
+                    Base64.getEncoder().encodeToString(bits)));
+        }
+
+        PriceTiers priceTiers = seatMap.getPriceTiers();
+
+        return CompactSeatMapResponse.builder()
+                .showId(seatMap.getShowId())
+                .screenId(layout.getScreenId())
+                .layoutVersion(layout.getLayoutVersion())
+                .totalSeats(seatMap.getTotalSeats())
+                .availableSeats(available)
+                .epoch(seatMap.getEpoch())
+                .version(snapshot.version())
+                .priceRevision(priceTiers.getRevision())
+                .prices(priceTiers.asMap().entrySet().stream()
+                        .map(entry -> new CompactSeatMapResponse.TypePrice(entry.getKey().name(), entry.getValue()))
+                        .toList())
+                .priceOverrides(priceOverrides(seatMap, priceTiers))
+                .inventoryIdRuns(inventoryIdRuns(seatMap, inventoryPositions))
+                .rows(rows)
+                .build();
+    }
+
+    /**
+     * Seats whose own price differs from their tier.
+     */
+    private static List<CompactSeatMapResponse.PriceOverride> priceOverrides(ShowSeatMap seatMap,
+                                                                             PriceTiers priceTiers) {
+        ScreenLayout layout = seatMap.getLayout();
+        List<CompactSeatMapResponse.PriceOverride> overrides = new ArrayList<>();
+        for (int position = 0; position < seatMap.size(); position++) {
+            BigDecimal override = seatMap.priceOverrideAt(position);
+            if (override == null) {
+                continue;
+            }
+            int layoutPosition = seatMap.layoutPositionAt(position);
+            if (override.compareTo(priceTiers.priceOf(layout.seatTypeAt(layoutPosition))) != 0) {
+                overrides.add(new CompactSeatMapResponse.PriceOverride(layoutPosition, override));
+            }
+        }
+        return overrides;
+    }
+
+    /**
+     * Run-length encoded layout position -> seat_inventory id.
+     */
+    private static List<long[]> inventoryIdRuns(ShowSeatMap seatMap, int[] inventoryPositions) {
+        List<long[]> runs = new ArrayList<>();
+        long[] current = null;
+        for (int layoutPosition = 0; layoutPosition < inventoryPositions.length; layoutPosition++) {
+            int position = inventoryPositions[layoutPosition];
+            long inventoryId = position >= 0 ? seatMap.inventoryIdAt(position) : 0;
+            if (inventoryId == 0) {
+                // No row for this show (SPARSE): clients book the seat by seat id
+                current = null;
+                continue;
+            }
+            if (current != null && current[1] + current[2] == inventoryId
+                    && current[0] + current[2] == layoutPosition) {
+                current[2]++;
+            } else {
+                current = new long[]{layoutPosition, inventoryId, 1};
+                runs.add(current);
+            }
+        }
+        return runs;
+    }
+}
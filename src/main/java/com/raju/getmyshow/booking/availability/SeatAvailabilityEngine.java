@@ -0,0 +1,330 @@
+package com.raju.getmyshow.booking.availability;
+
+import com.raju.getmyshow.booking.config.BookingProperties;
+import com.raju.getmyshow.booking.entity.SeatInventory;
+import com.raju.getmyshow.booking.entity.SeatStatus;
+import com.raju.getmyshow.booking.pricing.PriceTiers;
+import com.raju.getmyshow.booking.pricing.ShowPriceTierCache;
+import com.raju.getmyshow.booking.repository.SeatInventoryRepository;
+import com.raju.getmyshow.eventcatalog.domain.entity.Show;
+import com.raju.getmyshow.eventcatalog.layout.ScreenLayout;
+import com.raju.getmyshow.eventcatalog.layout.ScreenLayoutCache;
+import com.raju.getmyshow.eventcatalog.repository.ShowRepository;
+import com.raju.getmyshow.shared.exception.NotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 💡 PURPOSE: Serve seat maps from memory instead of Postgres
+ * - One {@link ShowSeatMap} per show, loaded lazily on first read
+ * - Booking / lock release push their changes here after the DB commit
+ * - Maps are reloaded after {@code booking.availability.refresh-interval-seconds}
+ *   so changes made by other app nodes become visible, or as soon as the
+ *   screen's ScreenLayout was invalidated (seats edited; a volatile flag on the
+ *   layout, so the staleness check takes no lock)
+ * - SPARSE shows: seats without a seat_inventory row come from the layout
+ *   (AVAILABLE at the tier price), rows created on first lock are attached
+ * - Prices come from the show's cached tiers (ShowPriceTierCache), a reprice
+ *   swaps them on the loaded map without a reload
+ *
+ * 💡 LOADING: DB reads never run inside a map lock
+ * - One load per show at a time: concurrent readers of a missing / stale map wait
+ *   for the in-flight load instead of querying Postgres themselves
+ * - Changes committed while a load runs are replayed onto the loaded map before it is
+ *   published: the load may have read seat_inventory before they committed
+ * - Bounded by max-shows, the map loaded longest ago goes first (O(1)); a hot show is
+ *   reloaded every refresh interval anyway, so reads need no LRU bookkeeping
+ * - A reload continues the replaced map's version, diffed AFTER the replay, so a change
+ *   the load missed never shows up as a false delta
+ * - Every change publishes a {@link SeatMapChangedEvent} (seat stream, caches)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SeatAvailabilityEngine {
+
+    private final SeatInventoryRepository seatInventoryRepository;
+    private final ScreenLayoutCache screenLayoutCache;
+    private final ShowRepository showRepository;
+    private final ShowPriceTierCache showPriceTierCache;
+    private final BookingProperties bookingProperties;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<Long, ShowSeatMap> seatMaps = new ConcurrentHashMap<>();
+    private final Map<Long, Load> loading = new ConcurrentHashMap<>();
+
+    // seatMaps entries, loaded longest ago first (guarded by itself)
+    private final LinkedHashMap<Long, ShowSeatMap> loadOrder = new LinkedHashMap<>();
+
+    /**
+     * Returns the seat map of a show, loading it from the DB when missing or stale.
+     */
+    public ShowSeatMap getSeatMap(Long showId) {
+        ShowSeatMap seatMap = seatMaps.get(showId);
+        if (seatMap != null && !isStale(seatMap)) {
+            return seatMap;
+        }
+
+        Load load = new Load();
+        Load inFlight = loading.putIfAbsent(showId, load);
+        if (inFlight != null) {
+            return await(inFlight.result);
+        }
+
+        ShowSeatMap loaded;
+        try {
+            // Re-check: a load may have finished between the read above and putIfAbsent
+            ShowSeatMap current = seatMaps.get(showId);
+            if (current != null && !isStale(current)) {
+                loaded = current;
+            } else {
+                loaded = load(showId);
+                publish(showId, loaded, current, load);
+            }
+            load.result.complete(loaded);
+        } catch (RuntimeException ex) {
+            load.result.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            loading.remove(showId, load);
+        }
+
+        if (loaded != seatMap && seatMap != null && loaded.getVersion() != seatMap.getVersion()) {
+            eventPublisher.publishEvent(new SeatMapChangedEvent(showId, loaded.getVersion()));
+        }
+        return loaded;
+    }
+
+    /**
+     * 💡 Epoch + version of the show's seat map, for ETags / 304s
+     * - Loaded map: read off it (a stale one is reloaded first, the reload keeps the epoch)
+     * - No map: null. A load starts a new epoch, so no ETag a client holds can match
+     *   it; the caller builds the response right away instead of loading twice
+     */
+    public SeatMapVersion currentVersion(Long showId) {
+        ShowSeatMap seatMap = seatMaps.get(showId);
+        if (seatMap == null) {
+            return null;
+        }
+
+        ShowSeatMap current = isStale(seatMap) ? getSeatMap(showId) : seatMap;
+        return new SeatMapVersion(current.getEpoch(), current.getVersion(), current.getPriceRevision());
+    }
+
+    /**
+     * Returns the seat map only if it is already in memory (never hits the DB).
+     */
+    public Optional<ShowSeatMap> findLoaded(Long showId) {
+        return Optional.ofNullable(seatMaps.get(showId));
+    }
+
+    public void evict(Long showId) {
+        synchronized (loadOrder) {
+            seatMaps.remove(showId);
+            loadOrder.remove(showId);
+        }
+    }
+
+    //=======================================
+    //    State changes
+    //=======================================
+
+    public void markLocked(Long showId, Collection<Long> seatInventoryIds) {
+        applyAfterCommit(showId, seatInventoryIds, SeatStatus.LOCKED);
+    }
+
+    public void markBooked(Long showId, Collection<Long> seatInventoryIds) {
+        applyAfterCommit(showId, seatInventoryIds, SeatStatus.BOOKED);
+    }
+
+    public void markReleased(Long showId, Collection<Long> seatInventoryIds) {
+        applyAfterCommit(showId, seatInventoryIds, SeatStatus.AVAILABLE);
+    }
+
+    /**
+     * 💡 Apply only once the DB change is durable
+     * - Inside a transaction: deferred to afterCommit (a rollback leaves the map untouched)
+     * - Outside a transaction: applied immediately
+     */
+    private void applyAfterCommit(Long showId, Collection<Long> seatInventoryIds, SeatStatus status) {
+        List<Long> ids = List.copyOf(seatInventoryIds);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(showId, ids, status);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(showId, ids, status);
+            }
+        });
+    }
+
+    private void apply(Long showId, List<Long> seatInventoryIds, SeatStatus status) {
+        // Recorded first: once the load is published, seatMaps already holds its map
+        Load load = loading.get(showId);
+        if (load != null) {
+            load.record(new PendingChange(seatInventoryIds, status));
+        }
+
+        ShowSeatMap seatMap = seatMaps.get(showId);
+        if (seatMap != null && seatMap.apply(seatInventoryIds, status) > 0) {
+            eventPublisher.publishEvent(new SeatMapChangedEvent(showId, seatMap.getVersion()));
+        }
+    }
+
+    /**
+     * SPARSE shows: rows created on first lock (already committed, still AVAILABLE)
+     */
+    public void attachInventory(Long showId, Map<Long, Long> inventoryIdBySeatId) {
+        ShowSeatMap seatMap = seatMaps.get(showId);
+        if (seatMap != null) {
+            seatMap.attachInventory(inventoryIdBySeatId);
+        }
+    }
+
+    /**
+     * Reprice made on this node: the loaded map switches to the new tiers right away
+     */
+    public void updatePriceTiers(Long showId, PriceTiers priceTiers) {
+        ShowSeatMap seatMap = seatMaps.get(showId);
+        if (seatMap != null) {
+            seatMap.setPriceTiers(priceTiers);
+        }
+    }
+
+    //=======================================
+    //    Loading
+    //=======================================
+
+    private ShowSeatMap load(Long showId) {
+        long started = System.nanoTime();
+
+        Show show = showRepository.findById(showId)
+                .orElseThrow(() -> new NotFoundException("Show", showId));
+
+        // Show date = partition key: only the show's own partition is read
+        List<SeatInventory> inventory = seatInventoryRepository.findByShowIdAndShowDate(
+                showId, show.getStartTime().toLocalDate());
+        inventory.sort(Comparator.comparing(SeatInventory::getId));
+
+        // Layout shared with every other show on this screen (no per-show seat query)
+        ScreenLayout layout = screenLayoutCache.get(show.getScreen().getId());
+
+        // Every lock / book / release bumps one row version -> the sum is a per-show version
+        long baseVersion = inventory.stream().mapToLong(SeatInventory::getVersion).sum();
+
+        PriceTiers priceTiers = showPriceTierCache.get(showId);
+
+        int journalSize = bookingProperties.getAvailability().getJournalSize();
+        ShowSeatMap.Builder builder = show.hasSparseInventory()
+                ? ShowSeatMap.sparseBuilder(showId, show.getEventTitle(), show.getTotalSeats(), layout,
+                        journalSize, baseVersion, priceTiers)
+                : ShowSeatMap.builder(showId, show.getEventTitle(), show.getTotalSeats(), layout,
+                        inventory.size(), journalSize, baseVersion, priceTiers);
+
+        for (SeatInventory seatInventory : inventory) {
+            builder.seat(seatInventory.getId(),
+                    seatInventory.getSeatId(),
+                    seatInventory.getPrice(),
+                    seatInventory.getSeatStatus());
+        }
+
+        ShowSeatMap seatMap = builder.build();
+        log.debug("Loaded seat map for show {} ({} seats) in {} ms",
+                showId, seatMap.size(), (System.nanoTime() - started) / 1_000_000);
+        return seatMap;
+    }
+
+    private static ShowSeatMap await(CompletableFuture<ShowSeatMap> inFlight) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException ex) {
+            // Same exception as the loading thread (e.g. NotFoundException -> 404)
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        }
+    }
+
+    /**
+     * Too old, or built on a layout invalidated since (a seat of the screen was written).
+     * Reads the layout's volatile flag: no cache lookup, no lock, never loads a layout.
+     */
+    private boolean isStale(ShowSeatMap seatMap) {
+        long refreshMillis = bookingProperties.getAvailability().getRefreshIntervalSeconds() * 1000L;
+        return System.currentTimeMillis() - seatMap.getLoadedAtMillis() > refreshMillis
+                || !seatMap.getLayout().isCurrent();
+    }
+
+    /**
+     * Makes a loaded map visible, with the changes committed during its load; keeps
+     * memory bounded by dropping the maps loaded longest ago.
+     *
+     * @param previous map being replaced (stale), its version is carried over
+     */
+    private void publish(Long showId, ShowSeatMap seatMap, ShowSeatMap previous, Load load) {
+        int maxShows = bookingProperties.getAvailability().getMaxShows();
+        synchronized (load) {
+            // Idempotent: a change the load did read sets the state it already has
+            load.changes.forEach(change -> seatMap.apply(change.seatInventoryIds(), change.status()));
+
+            // Diffed after the replay: a change the load missed is not journaled as reverted
+            if (previous != null) {
+                seatMap.continueFrom(previous);
+            }
+
+            synchronized (loadOrder) {
+                seatMaps.put(showId, seatMap);
+                // Re-insert: a reload moves the show to the young end
+                loadOrder.remove(showId);
+                loadOrder.put(showId, seatMap);
+
+                Iterator<Map.Entry<Long, ShowSeatMap>> oldest = loadOrder.entrySet().iterator();
+                while (loadOrder.size() > maxShows) {
+                    Map.Entry<Long, ShowSeatMap> entry = oldest.next();
+                    seatMaps.remove(entry.getKey(), entry.getValue());
+                    oldest.remove();
+                }
+            }
+            load.published = true;
+        }
+    }
+
+    /**
+     * One in-flight load of a show
+     */
+    private static final class Load {
+
+        private final CompletableFuture<ShowSeatMap> result = new CompletableFuture<>();
+
+        // Committed while the load ran, in commit order (guarded by this)
+        private final List<PendingChange> changes = new ArrayList<>();
+        private boolean published;
+
+        synchronized void record(PendingChange change) {
+            if (!published) {
+                changes.add(change);
+            }
+        }
+    }
+
+    private record PendingChange(List<Long> seatInventoryIds, SeatStatus status) {
+    }
+}
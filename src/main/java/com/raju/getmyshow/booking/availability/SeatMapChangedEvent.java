@@ -0,0 +1,8 @@
+package com.raju.getmyshow.booking.availability;
+
+/**
+ * Published by SeatAvailabilityEngine after a show's in-memory seat map changed
+ * (booking, lock release, reload with differences). {@code version} is the map's new version.
+ */
+public record SeatMapChangedEvent(Long showId, long version) {
+}
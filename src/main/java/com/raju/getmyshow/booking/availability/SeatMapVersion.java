@@ -0,0 +1,9 @@
+package com.raju.getmyshow.booking.availability;
+
+/**
+ * What a seat map ETag is made of: the map's epoch + its version within that epoch,
+ * and the price tier revision (a reprice does not bump the version)
+ * (SeatAvailabilityEngine.currentVersion, read without building a response)
+ */
+public record SeatMapVersion(long epoch, long version, long priceRevision) {
+}
@@ -0,0 +1,43 @@
+package com.raju.getmyshow.booking.availability;
+
+import com.raju.getmyshow.booking.dto.response.SeatDto;
+import com.raju.getmyshow.booking.dto.response.SeatStatusChangeDto;
+import com.raju.getmyshow.booking.entity.SeatStatus;
+
+import java.util.List;
+
+/**
+ * ShowSeatMap -> response DTOs, shared by the seat endpoints and the seat stream.
+ */
+public final class SeatMapViews {
+
+    private SeatMapViews() {
+    }
+
+    public static SeatDto toSeatDto(ShowSeatMap seatMap, int position, SeatStatus status) {
+        return SeatDto.builder()
+                .seatInventoryId(inventoryIdOrNull(seatMap, position))
+                .seatId(seatMap.seatIdAt(position))
+                .rowLabel(seatMap.rowLabelAt(position))
+                .seatNumber(seatMap.seatNumberAt(position))
+                .seatType(seatMap.seatTypeAt(position))
+                .status(status)
+                .price(seatMap.priceAt(position))
+                .isAccessible(seatMap.isAccessibleAt(position))
+                .isAisle(seatMap.isAisleAt(position))
+                .displayLabel(seatMap.displayLabelAt(position))
+                .build();
+    }
+
+    public static List<SeatStatusChangeDto> toChangeDtos(ShowSeatMap seatMap, ShowSeatMap.Delta delta) {
+        return delta.changes().stream()
+                .map(change -> new SeatStatusChangeDto(inventoryIdOrNull(seatMap, change.position()),
+                        seatMap.seatIdAt(change.position()), change.status()))
+                .toList();
+    }
+
+    private static Long inventoryIdOrNull(ShowSeatMap seatMap, int position) {
+        long inventoryId = seatMap.inventoryIdAt(position);
+        return inventoryId != 0 ? inventoryId : null;
+    }
+}
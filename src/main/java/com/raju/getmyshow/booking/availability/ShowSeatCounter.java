@@ -0,0 +1,93 @@
+package com.raju.getmyshow.booking.availability;
+
+import com.raju.getmyshow.booking.config.BookingProperties;
+import com.raju.getmyshow.eventcatalog.repository.ShowRepository;
+import com.raju.getmyshow.eventcatalog.repository.projection.SeatCounterFoldRow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 💡 PURPOSE: Show seat count without a hot row
+ * - Writers add a delta to a random stripe of show_seat_counters
+ *   (part of the booking / release transaction, so a rollback drops it)
+ * - Concurrent bookings of one show hit different stripes instead of
+ *   serializing on shows.available_seats
+ * - Deltas are folded into shows.available_seats every fold-interval-millis
+ * - Readers see shows.available_seats + SUM(delta) (Show.getAvailableSeats)
+ *
+ * 💡 FOLD OUTCOMES (see V4 fold_show_seat_counters)
+ * - A show's deltas are only folded when the result stays within [0, total_seats]
+ * - DEFERRED: stripes held by in-flight bookings are missing from this run, retried next run
+ * - OUT_OF_RANGE: the counters disagree with total_seats; the deltas stay in place,
+ *   logged and counted in booking.counter.fold.rejected instead of being clamped away
+ */
+@Component
+@Slf4j
+public class ShowSeatCounter {
+
+    private final ShowRepository showRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BookingProperties bookingProperties;
+    private final Counter foldRejected;
+
+    public ShowSeatCounter(ShowRepository showRepository,
+                           PlatformTransactionManager transactionManager,
+                           BookingProperties bookingProperties,
+                           MeterRegistry meterRegistry) {
+        this.showRepository = showRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.bookingProperties = bookingProperties;
+        this.foldRejected = Counter.builder("booking.counter.fold.rejected").register(meterRegistry);
+    }
+
+    /**
+     * Seats taken (must run inside the booking transaction)
+     */
+    public void decrement(Long showId, int seats) {
+        add(showId, -seats);
+    }
+
+    /**
+     * Seats given back (must run inside the release transaction)
+     */
+    public void increment(Long showId, int seats) {
+        add(showId, seats);
+    }
+
+    private void add(Long showId, int delta) {
+        int stripes = Math.max(1, bookingProperties.getCounter().getStripes());
+        short slot = (short) ThreadLocalRandom.current().nextInt(stripes);
+        showRepository.addSeatDelta(showId, slot, delta);
+    }
+
+    @Scheduled(fixedDelayString = "${booking.counter.fold-interval-millis:10000}",
+            initialDelayString = "${booking.counter.fold-interval-millis:10000}")
+    public void fold() {
+        List<SeatCounterFoldRow> rows = transactionTemplate.execute(status -> showRepository.foldSeatCounters());
+        if (rows == null || rows.isEmpty()) {
+            return;
+        }
+        int folded = 0;
+        for (SeatCounterFoldRow row : rows) {
+            switch (row.getOutcome()) {
+                case "FOLDED" -> folded++;
+                case "DEFERRED" -> log.debug("Deferred seat counter fold of show {} (delta {})",
+                        row.getShowId(), row.getDelta());
+                default -> {
+                    foldRejected.increment();
+                    log.warn("Seat counter delta {} of show {} leaves available seats out of range, not folded",
+                            row.getDelta(), row.getShowId());
+                }
+            }
+        }
+        log.debug("Folded seat counters of {} shows", folded);
+    }
+}
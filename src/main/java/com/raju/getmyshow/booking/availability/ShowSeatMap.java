@@ -0,0 +1,617 @@
+package com.raju.getmyshow.booking.availability;
+
+import com.raju.getmyshow.booking.entity.SeatStatus;
+import com.raju.getmyshow.booking.pricing.PriceTiers;
+import com.raju.getmyshow.eventcatalog.layout.ScreenLayout;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * In-memory seat state of ONE show.
+ *
+ * 💡 LAYOUT: "position" = index into the arrays below
+ * - Positions are sorted by seat_inventory id, so lookups are a binary search
+ * - Seat data (label, type, flags) is NOT copied: {@code layoutPositions} points
+ *   into the screen's shared {@link ScreenLayout}
+ * - Per-show static data (inventory id, price override) is written once at load time
+ * - Only {@code states} and {@code availableBits} change after load, plus the inventory
+ *   ids of SPARSE seats (attachInventory), all under the write lock
+ *
+ * 💡 PRICES: the show's {@link PriceTiers} (a few values) + an override per position,
+ *   null for every seat that costs its tier price; a reprice swaps the tiers only
+ *
+ * 💡 SPARSE shows (see {@link #sparseBuilder})
+ * - One position per layout seat, in layout order (position = layout position)
+ * - Seats without a seat_inventory row have inventory id 0, the tier price and
+ *   status AVAILABLE (BLOCKED if the layout blocks them)
+ * - Rows created later are attached with {@link #attachInventory}; lookups by
+ *   inventory id go through a hash map instead of a binary search
+ *
+ * 💡 VERSION + JOURNAL
+ * - Starts at SUM(seat_inventory.version) of the show: every lock / book / release
+ *   bumps one row's version, so versions keep growing across loads
+ * - Every seat status change bumps {@code version} and is recorded in a ring buffer
+ * - {@link #changesSince(long)} returns the coalesced changes since a version the
+ *   client already has, as long as they are still in the ring
+ * - A reload continues the previous map's version and {@code epoch} (see {@link #continueFrom})
+ *
+ * 💡 EPOCH: versions are only comparable within one numbering
+ * - A reload journals its own differences, so two nodes (or a fresh load after an
+ *   eviction) can reach the same version with different seat states
+ * - {@code epoch} is drawn at random by every fresh load and kept by reloads:
+ *   one epoch + version is one seat state, whichever node answers
+ *
+ * 💡 CONCURRENCY: StampedLock
+ * - Writers (booking / lock release) take the write lock for a few array stores
+ * - Readers (seat map polling) use an optimistic read and only fall back
+ *   to a real read lock when a writer raced them
+ */
+public class ShowSeatMap {
+
+    private static final SeatStatus[] STATUSES = SeatStatus.values();
+
+    // Journal filler for versions without an in-memory change (bumps made by other nodes)
+    private static final int NO_CHANGE = -1;
+
+    @Getter
+    private final Long showId;
+
+    @Getter
+    private final String eventTitle;
+
+    @Getter
+    private final int totalSeats;
+
+    @Getter
+    private final long loadedAtMillis;
+
+    @Getter
+    private final ScreenLayout layout;
+
+    // Random per fresh load, carried over by continueFrom (before the map is published)
+    @Getter
+    private long epoch;
+    @Getter
+    private final boolean sparse;
+
+    // Static per-position data
+    private final long[] inventoryIds;
+    private final int[] layoutPositions;
+    private final BigDecimal[] priceOverrides;
+    // SPARSE only: inventory id -> position of the seats that have a row
+    private final Map<Long, Integer> rowPositions;
+
+    // Swapped as a whole on reprice
+    private volatile PriceTiers priceTiers;
+
+    // Mutable per-position state
+    private final byte[] states;
+    private final long[] availableBits;
+    private int availableCount;
+
+    // Change journal: the change that produced version v sits in slot v % capacity
+    private long version;
+    private long journalFloor;
+    private final int[] journalPositions;
+    private final byte[] journalStates;
+
+    private final StampedLock lock = new StampedLock();
+
+    private ShowSeatMap(Builder builder) {
+        this.showId = builder.showId;
+        this.eventTitle = builder.eventTitle;
+        this.totalSeats = builder.totalSeats;
+        this.loadedAtMillis = System.currentTimeMillis();
+        this.layout = builder.layout;
+        this.sparse = builder.sparse;
+
+        int size = builder.size;
+        this.inventoryIds = builder.inventoryIds;
+        this.layoutPositions = builder.layoutPositions;
+        this.priceOverrides = builder.priceOverrides;
+        this.priceTiers = builder.priceTiers;
+        this.states = builder.states;
+        this.journalPositions = new int[builder.journalSize];
+        this.journalStates = new byte[builder.journalSize];
+        // Below 2^53: survives a round trip through a JavaScript number
+        this.epoch = ThreadLocalRandom.current().nextLong(1L << 53);
+        this.version = builder.baseVersion;
+        this.journalFloor = builder.baseVersion;
+        this.availableBits = new long[(size + 63) >>> 6];
+        this.rowPositions = sparse ? new ConcurrentHashMap<>() : Map.of();
+
+        for (int position = 0; position < size; position++) {
+            if (sparse && inventoryIds[position] != 0) {
+                rowPositions.put(inventoryIds[position], position);
+            }
+            if (states[position] == SeatStatus.AVAILABLE.ordinal()) {
+                availableBits[position >>> 6] |= 1L << position;
+                availableCount++;
+            }
+        }
+    }
+
+    public static Builder builder(Long showId, String eventTitle, int totalSeats, ScreenLayout layout,
+                                  int size, int journalSize, long baseVersion, PriceTiers priceTiers) {
+        return new Builder(showId, eventTitle, totalSeats, layout, size, journalSize, baseVersion, priceTiers, false);
+    }
+
+    /**
+     * Every layout seat starts AVAILABLE at its tier price (BLOCKED when the layout blocks it);
+     * {@link Builder#seat} then overrides the seats that have a seat_inventory row, in any order.
+     */
+    public static Builder sparseBuilder(Long showId, String eventTitle, int totalSeats, ScreenLayout layout,
+                                        int journalSize, long baseVersion, PriceTiers priceTiers) {
+        return new Builder(showId, eventTitle, totalSeats, layout, layout.size(), journalSize, baseVersion,
+                priceTiers, true);
+    }
+
+    //=======================================
+    //    Reads
+    //=======================================
+
+    public int size() {
+        return inventoryIds.length;
+    }
+
+    public int indexOf(long seatInventoryId) {
+        if (sparse) {
+            return rowPositions.getOrDefault(seatInventoryId, -1);
+        }
+        int position = Arrays.binarySearch(inventoryIds, seatInventoryId);
+        return position >= 0 ? position : -1;
+    }
+
+    public int getAvailableCount() {
+        long stamp = lock.tryOptimisticRead();
+        int count = availableCount;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                count = availableCount;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return count;
+    }
+
+    public long getVersion() {
+        long stamp = lock.tryOptimisticRead();
+        long current = version;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                current = version;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Status of every position plus the version they belong to, read atomically.
+     */
+    public Snapshot snapshot() {
+        long stamp = lock.readLock();
+        try {
+            SeatStatus[] statuses = new SeatStatus[states.length];
+            for (int position = 0; position < states.length; position++) {
+                statuses[position] = STATUSES[states[position]];
+            }
+            return new Snapshot(version, statuses);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Seats changed after {@code sinceVersion}, one entry per seat (its latest status),
+     * ordered by when the seat last changed.
+     *
+     * @return null when the journal no longer covers {@code sinceVersion}
+     *         (too old, or a version this map never had) - caller must send a full map
+     */
+    public Delta changesSince(long sinceVersion) {
+        long stamp = lock.readLock();
+        try {
+            long oldest = Math.max(journalFloor, version - journalPositions.length);
+            if (sinceVersion > version || sinceVersion < oldest) {
+                return null;
+            }
+
+            Map<Integer, Byte> latest = new LinkedHashMap<>();
+            for (long v = sinceVersion + 1; v <= version; v++) {
+                int slot = (int) (v % journalPositions.length);
+                if (journalPositions[slot] == NO_CHANGE) {
+                    continue;
+                }
+                latest.remove(journalPositions[slot]);
+                latest.put(journalPositions[slot], journalStates[slot]);
+            }
+
+            List<Change> changes = new ArrayList<>(latest.size());
+            latest.forEach((position, state) ->
+                    changes.add(new Change(inventoryIds[position], position, STATUSES[state])));
+            return new Delta(sinceVersion, version, changes);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public SeatStatus statusAt(int position) {
+        long stamp = lock.tryOptimisticRead();
+        byte state = states[position];
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                state = states[position];
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return STATUSES[state];
+    }
+
+    /**
+     * Consistent list of AVAILABLE positions, in inventory id order.
+     */
+    public int[] availablePositions() {
+        long stamp = lock.tryOptimisticRead();
+        int[] positions = collectAvailable();
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                positions = collectAvailable();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Returns the requested ids that are unknown for this show or not AVAILABLE.
+     */
+    public List<Long> findUnavailable(Collection<Long> seatInventoryIds) {
+        List<Long> unavailable = new ArrayList<>();
+        for (Long id : seatInventoryIds) {
+            int position = indexOf(id);
+            if (position < 0 || statusAt(position) != SeatStatus.AVAILABLE) {
+                unavailable.add(id);
+            }
+        }
+        return unavailable;
+    }
+
+    /**
+     * seat_inventory id of the position, 0 for a SPARSE seat without a row yet
+     * (SPARSE ids are written by attachInventory under the write lock: read like a status)
+     */
+    public long inventoryIdAt(int position) {
+        if (!sparse) {
+            return inventoryIds[position];
+        }
+        long stamp = lock.tryOptimisticRead();
+        long inventoryId = inventoryIds[position];
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                inventoryId = inventoryIds[position];
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return inventoryId;
+    }
+
+    public long seatIdAt(int position) {
+        return layout.seatIdAt(layoutPositions[position]);
+    }
+
+    public int layoutPositionAt(int position) {
+        return layoutPositions[position];
+    }
+
+    public BigDecimal priceAt(int position) {
+        return priceTiers.priceOf(layout.seatTypeAt(layoutPositions[position]), priceOverrides[position]);
+    }
+
+    /**
+     * Per-seat price, null when the seat costs its tier price
+     */
+    public BigDecimal priceOverrideAt(int position) {
+        return priceOverrides[position];
+    }
+
+    public PriceTiers getPriceTiers() {
+        return priceTiers;
+    }
+
+    /**
+     * Changes with every reprice of the show (seat statuses are versioned separately)
+     */
+    public long getPriceRevision() {
+        return priceTiers.getRevision();
+    }
+
+    public String rowLabelAt(int position) {
+        return layout.rowLabelAt(layoutPositions[position]);
+    }
+
+    public int seatNumberAt(int position) {
+        return layout.seatNumberAt(layoutPositions[position]);
+    }
+
+    public String seatTypeAt(int position) {
+        return layout.seatTypeAt(layoutPositions[position]).name();
+    }
+
+    public String displayLabelAt(int position) {
+        return layout.displayLabelAt(layoutPositions[position]);
+    }
+
+    public boolean isAccessibleAt(int position) {
+        return layout.isAccessibleAt(layoutPositions[position]);
+    }
+
+    public boolean isAisleAt(int position) {
+        return layout.isAisleAt(layoutPositions[position]);
+    }
+
+    //=======================================
+    //    Writes
+    //=======================================
+
+    /**
+     * Moves the given seats to {@code status}. Unknown ids are ignored,
+     * the next reload picks them up.
+     *
+     * @return number of seats whose status actually changed
+     */
+    public int apply(Collection<Long> seatInventoryIds, SeatStatus status) {
+        long stamp = lock.writeLock();
+        try {
+            int changed = 0;
+            for (Long id : seatInventoryIds) {
+                int position = indexOf(id);
+                if (position >= 0 && states[position] != status.ordinal()) {
+                    setState(position, status);
+                    record(position);
+                    changed++;
+                }
+            }
+            return changed;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * New tier prices after a reprice; seats with an override keep it.
+     * Ignored when {@code priceTiers} is older than what the map already has.
+     */
+    public void setPriceTiers(PriceTiers priceTiers) {
+        if (priceTiers.getRevision() >= this.priceTiers.getRevision()) {
+            this.priceTiers = priceTiers;
+        }
+    }
+
+    /**
+     * SPARSE: records the rows just created for some seats (status unchanged,
+     * a new row is AVAILABLE like the missing row was). No-op for FULL maps.
+     */
+    public void attachInventory(Map<Long, Long> inventoryIdBySeatId) {
+        if (!sparse) {
+            return;
+        }
+        long stamp = lock.writeLock();
+        try {
+            inventoryIdBySeatId.forEach((seatId, inventoryId) -> {
+                int position = layout.indexOf(seatId);
+                if (position >= 0 && inventoryIds[position] == 0) {
+                    inventoryIds[position] = inventoryId;
+                    rowPositions.put(inventoryId, position);
+                }
+            });
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Carries the version of the map this one replaces (reload) so clients
+     * holding a version keep getting deltas: every seat whose status differs
+     * from {@code previous} is journaled as a change, then the version catches
+     * up with the DB version this map was loaded with. Versions never go back,
+     * so the previous epoch stays valid.
+     * Must be called before this map is published.
+     */
+    void continueFrom(ShowSeatMap previous) {
+        Snapshot before = previous.snapshot();
+        long loadedVersion = version;
+        epoch = previous.epoch;
+
+        // SPARSE positions are layout positions: they line up as long as the layout is the same
+        boolean samePositions = sparse
+                ? previous.sparse && previous.layout == layout
+                : !previous.sparse && Arrays.equals(inventoryIds, previous.inventoryIds);
+
+        if (!samePositions) {
+            // Seats added / removed: positions no longer line up, force a full map
+            version = Math.max(loadedVersion, before.version() + 1);
+            journalFloor = version;
+            return;
+        }
+
+        version = before.version();
+        journalFloor = version;
+        for (int position = 0; position < states.length; position++) {
+            if (states[position] != before.statuses()[position].ordinal()) {
+                record(position);
+            }
+        }
+
+        long gap = loadedVersion - version;
+        if (gap >= journalPositions.length) {
+            version = loadedVersion;
+            journalFloor = version;
+        } else {
+            for (long filler = 0; filler < gap; filler++) {
+                version++;
+                journalPositions[(int) (version % journalPositions.length)] = NO_CHANGE;
+            }
+        }
+    }
+
+    private void record(int position) {
+        version++;
+        int slot = (int) (version % journalPositions.length);
+        journalPositions[slot] = position;
+        journalStates[slot] = states[position];
+    }
+
+    private void setState(int position, SeatStatus status) {
+        boolean wasAvailable = states[position] == SeatStatus.AVAILABLE.ordinal();
+        boolean isAvailable = status == SeatStatus.AVAILABLE;
+
+        states[position] = (byte) status.ordinal();
+
+        if (wasAvailable && !isAvailable) {
+            availableBits[position >>> 6] &= ~(1L << position);
+            availableCount--;
+        } else if (!wasAvailable && isAvailable) {
+            availableBits[position >>> 6] |= 1L << position;
+            availableCount++;
+        }
+    }
+
+    private int[] collectAvailable() {
+        int[] positions = new int[availableCount];
+        int next = 0;
+        for (int word = 0; word < availableBits.length; word++) {
+            long bits = availableBits[word];
+            while (bits != 0 && next < positions.length) {
+                positions[next++] = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+        }
+        return next == positions.length ? positions : Arrays.copyOf(positions, next);
+    }
+
+    //=======================================
+    //    Builder (FULL: positions must be added in inventory id order)
+    //=======================================
+
+    public static class Builder {
+
+        private final Long showId;
+        private final String eventTitle;
+        private final int totalSeats;
+        private final ScreenLayout layout;
+        private final int size;
+        private final int journalSize;
+        private final long baseVersion;
+        private final boolean sparse;
+        private final PriceTiers priceTiers;
+
+        private final long[] inventoryIds;
+        private final int[] layoutPositions;
+        private final BigDecimal[] priceOverrides;
+        private final byte[] states;
+
+        private int next;
+
+        private Builder(Long showId, String eventTitle, int totalSeats, ScreenLayout layout,
+                        int size, int journalSize, long baseVersion, PriceTiers priceTiers, boolean sparse) {
+            this.showId = showId;
+            this.eventTitle = eventTitle;
+            this.totalSeats = totalSeats;
+            this.layout = layout;
+            this.size = size;
+            this.journalSize = Math.max(1, journalSize);
+            this.baseVersion = baseVersion;
+            this.priceTiers = priceTiers;
+            this.sparse = sparse;
+            this.inventoryIds = new long[size];
+            this.layoutPositions = new int[size];
+            this.priceOverrides = new BigDecimal[size];
+            this.states = new byte[size];
+
+            if (sparse) {
+                for (int position = 0; position < size; position++) {
+                    layoutPositions[position] = position;
+                    states[position] = (byte) (layout.isBlockedAt(position)
+                            ? SeatStatus.BLOCKED : SeatStatus.AVAILABLE).ordinal();
+                }
+            }
+        }
+
+        /**
+         * @param priceOverride seat_inventory.price, null = tier price
+         */
+        public Builder seat(long inventoryId, long seatId, BigDecimal priceOverride, SeatStatus status) {
+            if (sparse) {
+                return sparseSeat(inventoryId, seatId, priceOverride, status);
+            }
+            if (next > 0 && inventoryIds[next - 1] >= inventoryId) {
+                throw new IllegalArgumentException("Seats must be added in ascending inventory id order");
+            }
+            int layoutPosition = layout.indexOf(seatId);
+            if (layoutPosition < 0) {
+                throw new IllegalArgumentException(
+                        "Seat " + seatId + " is not part of screen " + layout.getScreenId());
+            }
+            inventoryIds[next] = inventoryId;
+            layoutPositions[next] = layoutPosition;
+            priceOverrides[next] = priceOverride;
+            states[next] = (byte) status.ordinal();
+            next++;
+            return this;
+        }
+
+        private Builder sparseSeat(long inventoryId, long seatId, BigDecimal priceOverride, SeatStatus status) {
+            int position = layout.indexOf(seatId);
+            if (position < 0) {
+                throw new IllegalArgumentException(
+                        "Seat " + seatId + " is not part of screen " + layout.getScreenId());
+            }
+            inventoryIds[position] = inventoryId;
+            priceOverrides[position] = priceOverride;
+            states[position] = (byte) status.ordinal();
+            next++;
+            return this;
+        }
+
+        public ShowSeatMap build() {
+            if (!sparse && next != size) {
+                throw new IllegalStateException("Expected " + size + " seats but got " + next);
+            }
+            return new ShowSeatMap(this);
+        }
+    }
+
+    //=======================================
+    //    Read models
+    //=======================================
+
+    public record Snapshot(long version, SeatStatus[] statuses) {
+    }
+
+    public record Change(long seatInventoryId, int position, SeatStatus status) {
+    }
+
+    public record Delta(long fromVersion, long toVersion, List<Change> changes) {
+    }
+}
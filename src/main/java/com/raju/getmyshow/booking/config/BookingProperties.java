@@ -1,11 +1,18 @@
 package com.raju.getmyshow.booking.config;
 
 
+import com.raju.getmyshow.booking.locking.SeatLockStrategyType;
+import com.raju.getmyshow.eventcatalog.domain.enums.SeatType;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
 @Component
 @ConfigurationProperties(prefix = "booking")
 @Getter
@@ -14,4 +21,197 @@ public class BookingProperties {
 
     private int expiryInMinutes;
     private int maxSeatsPerUser;
-}
\ No newline at end of file
+    private BookingWriteMode writeMode = BookingWriteMode.STANDARD;
+
+    private Availability availability = new Availability();
+    private Locking locking = new Locking();
+    private Executor executor = new Executor();
+    private Sweeper sweeper = new Sweeper();
+    private Counter counter = new Counter();
+    private Stream stream = new Stream();
+    private Inventory inventory = new Inventory();
+    private Pricing pricing = new Pricing();
+    private Partitions partitions = new Partitions();
+    private Archive archive = new Archive();
+    private History history = new History();
+
+    /**
+     * In-memory seat map settings (see SeatAvailabilityEngine)
+     */
+    @Getter
+    @Setter
+    public static class Availability {
+        // Reload from DB after this many seconds to pick up changes from other nodes
+        private int refreshIntervalSeconds = 30;
+        // Upper bound of show seat maps kept in memory
+        private int maxShows = 2000;
+        // Seat changes remembered per show for delta consumers (seat stream)
+        private int journalSize = 4096;
+    }
+
+    /**
+     * Seat locking strategy (see SeatLockStrategies)
+     */
+    @Getter
+    @Setter
+    public static class Locking {
+        // Default for every show
+        private SeatLockStrategyType strategy = SeatLockStrategyType.OPTIMISTIC;
+        // Per show override, e.g. show-strategies[42]: ADVISORY for a blockbuster on-sale
+        private Map<Long, SeatLockStrategyType> showStrategies = new HashMap<>();
+
+        // OPTIMISTIC retry
+        private int maxAttempts = 3;
+        private long initialBackoffMillis = 20;
+        private long maxBackoffMillis = 200;
+
+        // ADVISORY: max time a booking waits for the show lock
+        private int advisoryTimeoutSeconds = 5;
+    }
+
+    /**
+     * Single-writer shards for write-mode SHARDED (see ShardedBookingExecutor)
+     */
+    @Getter
+    @Setter
+    public static class Executor {
+        // Number of single-threaded shards, a show always maps to the same shard
+        private int shards = Runtime.getRuntime().availableProcessors();
+        // Pending bookings per shard; a full queue rejects new bookings right away
+        private int queueCapacity = 1000;
+        // Max bookings of one show written in one transaction
+        private int maxBatchSize = 32;
+        // Max time a request thread waits for its booking to be picked up by its shard
+        private long timeoutMillis = 10000;
+        // Max time shutdown waits for the shards to write what is already queued
+        private long shutdownTimeoutMillis = 30000;
+    }
+
+    /**
+     * Expired lock / pending booking cleanup (see ExpiredHoldSweeper)
+     */
+    @Getter
+    @Setter
+    public static class Sweeper {
+        private boolean enabled = true;
+        // Pause between two sweep runs
+        private long intervalMillis = 5000;
+        // Rows claimed per transaction
+        private int batchSize = 200;
+        // Max batches per run; anything left over waits for the next run
+        private int maxBatchesPerRun = 10;
+        // Pause between batches so released seats go back on sale gradually
+        private long pauseBetweenBatchesMillis = 100;
+    }
+
+    /**
+     * Striped show seat counter (see ShowSeatCounter)
+     */
+    @Getter
+    @Setter
+    public static class Counter {
+        // Counter rows per show; more stripes = less contention, slightly slower reads
+        private int stripes = 16;
+        // How often deltas are folded into shows.available_seats
+        private long foldIntervalMillis = 10000;
+    }
+
+    /**
+     * Server-sent seat map stream (see SeatMapStreamService)
+     */
+    @Getter
+    @Setter
+    public static class Stream {
+        // Open streams per node; beyond that clients are told to poll
+        private int maxSubscribers = 50000;
+        // Streams are closed after this long, clients reconnect with Last-Event-ID
+        private long emitterTimeoutMillis = 30 * 60 * 1000L;
+        // How often pending changes are pushed (changes in between are coalesced)
+        private long flushIntervalMillis = 200;
+        // Keep-alive comment for idle streams (also refreshes stale seat maps)
+        private long heartbeatIntervalMillis = 15000;
+        // Threads writing to sockets, and how many sends may wait for them
+        private int senderThreads = 4;
+        private int senderQueueCapacity = 10000;
+        // Consecutive flushes a subscriber may still be busy before it is dropped
+        private int maxSkippedFlushes = 50;
+        // A send still blocked on the socket after this long is cancelled and the stream closed
+        private long sendTimeoutMillis = 2000;
+    }
+
+    /**
+     * Seat inventory creation for new shows (see SeatInventoryMaterializer)
+     */
+    @Getter
+    @Setter
+    public static class Inventory {
+        // Shows materialized at the same time (one DB connection each)
+        private int parallelism = 4;
+        // Default tier price of a new show = base price * multiplier of the seat type (missing type = 1)
+        private Map<SeatType, BigDecimal> priceMultipliers = new EnumMap<>(Map.of(
+                SeatType.PREMIUM, new BigDecimal("1.5"),
+                SeatType.VIP, new BigDecimal("2.0"),
+                SeatType.RECLINER, new BigDecimal("2.5")));
+    }
+
+    /**
+     * Cached show price tiers (see ShowPriceTierCache)
+     */
+    @Getter
+    @Setter
+    public static class Pricing {
+        // Reload a show's tiers after this many seconds to pick up other nodes' reprices
+        private int cacheSeconds = 30;
+        // Upper bound of shows whose tiers are kept in memory
+        private int maxShows = 10000;
+    }
+
+    /**
+     * Monthly partitions of seat_inventory (see SeatInventoryPartitionManager)
+     * and of bookings / booking_seats (see BookingPartitionManager)
+     */
+    @Getter
+    @Setter
+    public static class Partitions {
+        private boolean enabled = true;
+        // When the partition maintenance runs (also once at startup)
+        private String cron = "0 30 3 * * *";
+        // Partitions created ahead of time, counting the current month
+        private int premakeMonths = 3;
+        // seat_inventory only: months after which a partition is detached (its shows are long over)
+        private int retentionMonths = 6;
+        // seat_inventory only: drop detached partitions instead of keeping them as standalone tables
+        private boolean dropDetached = false;
+    }
+
+    /**
+     * GET /api/users/{userId}/bookings (see BookingHistoryService)
+     */
+    @Getter
+    @Setter
+    public static class History {
+        // Page size when the client asks for none
+        private int defaultPageSize = 20;
+        // Larger requested sizes are capped to this
+        private int maxPageSize = 100;
+    }
+
+    /**
+     * Compaction of completed shows' seat inventory (see SeatInventoryArchiver)
+     */
+    @Getter
+    @Setter
+    public static class Archive {
+        private boolean enabled = true;
+        // When the archiver runs
+        private String cron = "0 0 4 * * *";
+        // Hours after a show's end before its inventory is archived (late refunds, reports)
+        private int graceHours = 48;
+        // Shows archived per run; the rest waits for the next run
+        private int maxShowsPerRun = 500;
+        // Hot rows deleted per transaction
+        private int deleteBatchSize = 1000;
+        // Pause between delete batches so the hot table's I/O stays with bookings
+        private long pauseBetweenBatchesMillis = 50;
+    }
+}
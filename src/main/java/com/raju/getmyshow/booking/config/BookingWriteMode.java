@@ -0,0 +1,10 @@
+package com.raju.getmyshow.booking.config;
+
+/**
+ * How BookingService.createBooking writes a booking
+ */
+public enum BookingWriteMode {
+    STANDARD,   // JPA: load, check, lock and save entity by entity
+    ATOMIC,     // One call to book_seats_atomic() (claim + inserts + counter in one round trip)
+    SHARDED     // Queued to a single-writer shard per show, same-show bookings batched in one transaction
+}
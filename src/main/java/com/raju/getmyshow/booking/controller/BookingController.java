@@ -1,14 +1,22 @@
 package com.raju.getmyshow.booking.controller;
 
+import com.raju.getmyshow.booking.availability.SeatMapVersion;
 import com.raju.getmyshow.booking.dto.request.CreateBookingRequest;
 import com.raju.getmyshow.booking.dto.response.AvailableSeatsResponse;
 import com.raju.getmyshow.booking.dto.response.BookingResponse;
+import com.raju.getmyshow.booking.dto.response.CompactSeatMapResponse;
 import com.raju.getmyshow.booking.service.BookingService;
+import com.raju.getmyshow.booking.stream.SeatMapStreamService;
+import com.raju.getmyshow.shared.web.IfNoneMatch;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api")
@@ -16,19 +24,105 @@ import org.springframework.web.bind.annotation.*;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final SeatMapStreamService seatMapStreamService;
 
-    public BookingController(BookingService bookingService) {
+    public BookingController(BookingService bookingService, SeatMapStreamService seatMapStreamService) {
         this.bookingService = bookingService;
+        this.seatMapStreamService = seatMapStreamService;
     }
 
+    /**
+     * GET /api/shows/{showId}/seats[?sinceVersion=N[&epoch=E]]
+     *
+     * - ETag = seat map epoch + version + price revision: If-None-Match with the current
+     *   one -> 304, answered from the loaded map without building a body
+     * - sinceVersion: only seats changed after N (full map when N is too old or E is not
+     *   the current epoch)
+     */
     @GetMapping("/shows/{showId}/seats")
-    public ResponseEntity<AvailableSeatsResponse> getAvailableSeats(@PathVariable Long showId) {
+    public ResponseEntity<AvailableSeatsResponse> getAvailableSeats(
+            @PathVariable Long showId,
+            @RequestParam(required = false) Long sinceVersion,
+            @RequestParam(required = false) Long epoch,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        log.info("GET /api/shows/{}/seats (sinceVersion: {})", showId, sinceVersion);
+
+        SeatMapVersion current = ifNoneMatch != null ? bookingService.getSeatMapVersion(showId) : null;
+        if (current != null && IfNoneMatch.matches(ifNoneMatch, seatMapETag(showId, current))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(seatMapETag(showId, current))
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+
+        AvailableSeatsResponse response = sinceVersion != null
+                ? bookingService.getSeatChangesSince(showId, sinceVersion, epoch)
+                : bookingService.getAvailableSeats(showId);
+
+        return ResponseEntity.ok()
+                .eTag(seatMapETag(showId, new SeatMapVersion(
+                        response.getEpoch(), response.getVersion(), response.getPriceRevision())))
+                .cacheControl(CacheControl.noCache())
+                .body(response);
+    }
+
+    /**
+     * GET /api/shows/{showId}/seats with Accept: application/vnd.getmyshow.seatmap.compact+json
+     *
+     * Full seat map as per-row availability bitmaps (see CompactSeatMapResponse),
+     * same ETag / 304 handling as the JSON form. Static seat data: GET /api/screens/{screenId}/layout
+     */
+    @GetMapping(value = "/shows/{showId}/seats", produces = CompactSeatMapResponse.MEDIA_TYPE)
+    public ResponseEntity<CompactSeatMapResponse> getCompactSeatMap(
+            @PathVariable Long showId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
-        log.info("GET /api/shows/{}/seats", showId);
+        log.info("GET /api/shows/{}/seats (compact)", showId);
 
-        AvailableSeatsResponse response = bookingService.getAvailableSeats(showId);
+        SeatMapVersion current = ifNoneMatch != null ? bookingService.getSeatMapVersion(showId) : null;
+        if (current != null && IfNoneMatch.matches(ifNoneMatch, compactSeatMapETag(showId, current))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(compactSeatMapETag(showId, current))
+                    .cacheControl(CacheControl.noCache())
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .build();
+        }
+
+        CompactSeatMapResponse response = bookingService.getCompactSeatMap(showId);
+
+        return ResponseEntity.ok()
+                .eTag(compactSeatMapETag(showId, new SeatMapVersion(
+                        response.getEpoch(), response.getVersion(), response.getPriceRevision())))
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(response);
+    }
+
+    /**
+     * GET /api/shows/{showId}/seats/stream (text/event-stream)
+     *
+     * "snapshot" event with the full seat map, then "delta" events with changed seats only.
+     * Event id = seat map version; a reconnect with Last-Event-ID continues from there.
+     */
+    @GetMapping(value = "/shows/{showId}/seats/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSeats(@PathVariable Long showId,
+                                  @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+
+        log.info("GET /api/shows/{}/seats/stream (Last-Event-ID: {})", showId, lastEventId);
+
+        return seatMapStreamService.subscribe(showId, lastEventId);
+    }
+
+    // The version alone is per node: two nodes can reach it with different seats.
+    // A reprice changes seat prices but not the seat map version -> price revision too
+    private String seatMapETag(Long showId, SeatMapVersion version) {
+        return "\"" + showId + "-" + version.epoch() + "-" + version.version() + "-" + version.priceRevision() + "\"";
+    }
 
-        return ResponseEntity.ok(response);
+    // Different representation of the same version -> different ETag
+    private String compactSeatMapETag(Long showId, SeatMapVersion version) {
+        return "\"" + showId + "-" + version.epoch() + "-" + version.version() + "-" + version.priceRevision() + "-c\"";
     }
 
     /**
@@ -0,0 +1,53 @@
+package com.raju.getmyshow.booking.controller;
+
+import com.raju.getmyshow.booking.archive.SeatArchiveService;
+import com.raju.getmyshow.booking.dto.response.ArchivedSeatDto;
+import com.raju.getmyshow.booking.dto.response.ArchivedSeatMapResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/api")
+@Slf4j
+public class SeatArchiveController {
+
+    private final SeatArchiveService seatArchiveService;
+
+    public SeatArchiveController(SeatArchiveService seatArchiveService) {
+        this.seatArchiveService = seatArchiveService;
+    }
+
+    /**
+     * GET /api/shows/{showId}/seats/archive
+     *
+     * Seat status of a completed show after its inventory was archived.
+     * An archive never changes: cacheable.
+     */
+    @GetMapping("/shows/{showId}/seats/archive")
+    public ResponseEntity<ArchivedSeatMapResponse> getArchivedSeats(@PathVariable Long showId) {
+
+        log.info("GET /api/shows/{}/seats/archive", showId);
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(1, TimeUnit.DAYS))
+                .body(seatArchiveService.getArchivedSeats(showId));
+    }
+
+    /**
+     * GET /api/shows/{showId}/seats/archive/{seatId}
+     */
+    @GetMapping("/shows/{showId}/seats/archive/{seatId}")
+    public ResponseEntity<ArchivedSeatDto> getArchivedSeat(@PathVariable Long showId,
+                                                           @PathVariable Long seatId) {
+
+        log.info("GET /api/shows/{}/seats/archive/{}", showId, seatId);
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(1, TimeUnit.DAYS))
+                .body(seatArchiveService.getArchivedSeat(showId, seatId));
+    }
+}
@@ -0,0 +1,49 @@
+package com.raju.getmyshow.booking.controller;
+
+import com.raju.getmyshow.booking.dto.request.RepriceRequest;
+import com.raju.getmyshow.booking.dto.response.PriceTiersResponse;
+import com.raju.getmyshow.booking.pricing.ShowPricingService;
+import com.raju.getmyshow.eventcatalog.domain.enums.SeatType;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api")
+@Slf4j
+public class ShowPricingController {
+
+    private final ShowPricingService showPricingService;
+
+    public ShowPricingController(ShowPricingService showPricingService) {
+        this.showPricingService = showPricingService;
+    }
+
+    /**
+     * GET /api/shows/{showId}/price-tiers
+     */
+    @GetMapping("/shows/{showId}/price-tiers")
+    public ResponseEntity<PriceTiersResponse> getPriceTiers(@PathVariable Long showId) {
+
+        log.info("GET /api/shows/{}/price-tiers", showId);
+
+        return ResponseEntity.ok(showPricingService.getPriceTiers(showId));
+    }
+
+    /**
+     * PUT /api/shows/{showId}/price-tiers/{seatType}
+     *
+     * Reprices every seat of the type in one row update (per-seat overrides are kept).
+     * Existing bookings keep the price they were made at.
+     */
+    @PutMapping("/shows/{showId}/price-tiers/{seatType}")
+    public ResponseEntity<PriceTiersResponse> reprice(@PathVariable Long showId,
+                                                      @PathVariable SeatType seatType,
+                                                      @Valid @RequestBody RepriceRequest request) {
+
+        log.info("PUT /api/shows/{}/price-tiers/{} - price: {}", showId, seatType, request.getPrice());
+
+        return ResponseEntity.ok(showPricingService.reprice(showId, seatType, request.getPrice()));
+    }
+}
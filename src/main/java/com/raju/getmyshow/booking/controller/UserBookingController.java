@@ -0,0 +1,39 @@
+package com.raju.getmyshow.booking.controller;
+
+import com.raju.getmyshow.booking.dto.response.UserBookingsResponse;
+import com.raju.getmyshow.booking.history.BookingHistoryService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api")
+@Slf4j
+public class UserBookingController {
+
+    private final BookingHistoryService bookingHistoryService;
+
+    public UserBookingController(BookingHistoryService bookingHistoryService) {
+        this.bookingHistoryService = bookingHistoryService;
+    }
+
+    /**
+     * GET /api/users/{userId}/bookings[?cursor=...&size=20]
+     *
+     * The user's bookings, newest first. Follow nextCursor for older ones;
+     * size is capped at booking.history.max-page-size.
+     */
+    @GetMapping("/users/{userId}/bookings")
+    public ResponseEntity<UserBookingsResponse> getUserBookings(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+
+        log.info("GET /api/users/{}/bookings (cursor: {}, size: {})", userId, cursor, size);
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(bookingHistoryService.getUserBookings(userId, cursor, size));
+    }
+}
@@ -1,6 +1,7 @@
 package com.raju.getmyshow.booking.dto.request;
 
-import jakarta.validation.constraints.NotEmpty;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.NotNull;
 import lombok.Builder;
 import lombok.Data;
@@ -15,6 +16,9 @@ import java.util.List;
  *     "seatInventoryIds": [1, 2, 3],
  *     "sessionId": "xyz1234"
  * }
+ *
+ * Seats listed without a seatInventoryId in the seat map (SPARSE shows) are booked by seat id:
+ * { ..., "seatIds": [101, 102], ... } (both lists may be combined)
  */
 @Builder
 @Data
@@ -26,9 +30,10 @@ public class CreateBookingRequest {
     @NotNull(message = "Show ID is required")
     private Long showId;
 
-    @NotEmpty(message = "At least one seat must be selected")
     private List<Long> seatInventoryIds;
 
+    private List<Long> seatIds;
+
     /**
      * 💡 Session ID for seat locking
      * - Generated by frontend
@@ -37,4 +42,16 @@ public class CreateBookingRequest {
      */
     @NotNull(message = "Session ID is required")
     private String sessionId;
+
+    @JsonIgnore
+    @AssertTrue(message = "At least one seat must be selected")
+    public boolean isSeatSelected() {
+        return (seatInventoryIds != null && !seatInventoryIds.isEmpty())
+                || (seatIds != null && !seatIds.isEmpty());
+    }
+
+    @JsonIgnore
+    public boolean hasSeatIds() {
+        return seatIds != null && !seatIds.isEmpty();
+    }
 }
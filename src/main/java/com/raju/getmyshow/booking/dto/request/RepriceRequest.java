@@ -0,0 +1,27 @@
+package com.raju.getmyshow.booking.dto.request;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Example JSON:
+ * {
+ *     "price": 750.00
+ * }
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RepriceRequest {
+
+    @NotNull(message = "Price is required")
+    @DecimalMin(value = "0.00", message = "Price must not be negative")
+    @Digits(integer = 8, fraction = 2, message = "Price must have at most 2 decimals")
+    private BigDecimal price;
+}
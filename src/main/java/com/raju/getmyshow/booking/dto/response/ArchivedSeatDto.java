@@ -0,0 +1,23 @@
+package com.raju.getmyshow.booking.dto.response;
+
+import com.raju.getmyshow.booking.entity.SeatStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class ArchivedSeatDto {
+
+    private Long seatInventoryId; // null: SPARSE show, the seat never had an inventory row
+    private Long seatId;
+    private String rowLabel;      // null when the seat was removed from the screen since
+    private Integer seatNumber;
+    private String displayLabel;
+    private String seatType;
+    private SeatStatus status;    // at archive time
+    private Long bookingId;       // BOOKED seats only
+}
@@ -0,0 +1,34 @@
+package com.raju.getmyshow.booking.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Seat status of a completed show, rebuilt from seat_inventory_archive.
+ *
+ * Example JSON:
+ * {
+ *     showId: 1,
+ *     screenId: 1,
+ *     showDate: "2026-03-14",
+ *     totalSeats: 50,
+ *     bookedSeats: 41,
+ *     archivedAt: "2026-03-16T04:00:02",
+ *     seats: [{ seatInventoryId: 11, seatId: 1, displayLabel: "A1", status: "BOOKED", bookingId: 7, ... }]
+ * }
+ */
+@Builder
+@Data
+public class ArchivedSeatMapResponse {
+    private Long showId;
+    private Long screenId;
+    private LocalDate showDate;
+    private Integer totalSeats;
+    private Integer bookedSeats;
+    private LocalDateTime archivedAt;
+    private List<ArchivedSeatDto> seats;
+}
@@ -1,5 +1,6 @@
 package com.raju.getmyshow.booking.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Builder;
 import lombok.Data;
 
@@ -33,12 +34,19 @@ import java.util.List;
  *          displayLabel: "A2"
  *          price: 500.0,
  *          status: "AVAILABLE"
- *     }]
+ *     }],
+ *     epoch: 4170912533,
+ *     version: 1042,
+ *     priceRevision: 6
  * }
+ *
+ * With ?sinceVersion=1040&epoch=4170912533 only the seats changed since 1040 are listed (any status):
+ * { showId: 1, ..., epoch: 4170912533, version: 1042, sinceVersion: 1040, seats: [{ seatInventoryId: 11, ..., status: "LOCKED" }] }
  */
 
 @Builder
 @Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class AvailableSeatsResponse {
     private Long showId;
     private String eventTitle;
@@ -46,4 +54,12 @@ public class AvailableSeatsResponse {
     private Integer availableSeats;
     private List<SeatDto> seats;
 
+    // Seat map version this response reflects, and the epoch it counts in (ETag together with priceRevision)
+    private Long epoch;
+    private Long version;
+    // Show price tier revision the seat prices come from
+    private Long priceRevision;
+    // Set for ?sinceVersion=N: seats holds only the seats changed since N, with their new status
+    private Long sinceVersion;
+
 }
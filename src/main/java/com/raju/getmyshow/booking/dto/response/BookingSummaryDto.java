@@ -0,0 +1,27 @@
+package com.raju.getmyshow.booking.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class BookingSummaryDto {
+
+    private Long bookingId;
+    private String bookingReference;
+    private String status;        // PENDING, CONFIRMED, PAYMENT_FAILED, CANCELLED, EXPIRED
+    private Long showId;
+    private String eventTitle;
+    private String venueName;
+    private LocalDateTime showStartTime;
+    private Integer totalSeats;
+    private BigDecimal totalAmount;
+    private LocalDateTime createdAt;
+}
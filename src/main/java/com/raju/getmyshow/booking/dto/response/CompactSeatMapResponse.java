@@ -0,0 +1,87 @@
+package com.raju.getmyshow.booking.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Compact seat map (Accept: application/vnd.getmyshow.seatmap.compact+json)
+ *
+ * 💡 Static seat data is NOT repeated: clients fetch GET /api/screens/{screenId}/layout
+ *   once (cacheable, keyed by layoutVersion) and address seats by layout position
+ *
+ * 💡 Per show
+ * - prices         : the show's tier price per seat type, priceOverrides for the few seats
+ *                    with a price of their own; priceRevision changes with every reprice
+ * - inventoryIdRuns: [layoutStart, inventoryIdStart, length] -> seat_inventory id of a
+ *                    position (ids are generated per show in layout order, so a handful of runs)
+ * - rows[].available: base64 bitmap, bit i (LSB first within each byte) = position start + i
+ *
+ * Example JSON:
+ * {
+ *     showId: 1,
+ *     screenId: 1,
+ *     layoutVersion: 81273645512,
+ *     totalSeats: 50,
+ *     availableSeats: 39,
+ *     epoch: 4170912533,
+ *     version: 1042,
+ *     priceRevision: 6,
+ *     prices: [{ seatType: "REGULAR", price: 500.0 }],
+ *     priceOverrides: [],
+ *     inventoryIdRuns: [[0, 11, 50]],
+ *     rows: [{ row: "A", start: 0, count: 10, available: "/gM=" }]
+ * }
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompactSeatMapResponse {
+
+    public static final String MEDIA_TYPE = "application/vnd.getmyshow.seatmap.compact+json";
+
+    private Long showId;
+    private Long screenId;
+    private Long layoutVersion;
+    private Integer totalSeats;
+    private Integer availableSeats;
+    private Long epoch;
+    private Long version;
+    private Long priceRevision;
+
+    private List<TypePrice> prices;
+    private List<PriceOverride> priceOverrides;
+    private List<long[]> inventoryIdRuns;
+    private List<Row> rows;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TypePrice {
+        private String seatType;
+        private BigDecimal price;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PriceOverride {
+        private Integer position;
+        private BigDecimal price;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Row {
+        private String row;
+        private Integer start;
+        private Integer count;
+        private String available;
+    }
+}
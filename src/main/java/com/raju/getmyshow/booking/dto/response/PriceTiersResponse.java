@@ -0,0 +1,27 @@
+package com.raju.getmyshow.booking.dto.response;
+
+import com.raju.getmyshow.eventcatalog.domain.enums.SeatType;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Example JSON:
+ * {
+ *     showId: 1,
+ *     revision: 7,
+ *     prices: { REGULAR: 500.00, PREMIUM: 750.00, VIP: 1000.00, ... }
+ * }
+ *
+ * Seats with a per-seat override show their own price in the seat map.
+ */
+@Builder
+@Data
+public class PriceTiersResponse {
+    private Long showId;
+    // Changes with every reprice (also part of the seat map ETag)
+    private Long revision;
+    private Map<SeatType, BigDecimal> prices;
+}
@@ -14,7 +14,8 @@ import java.math.BigDecimal;
 @Data
 public class SeatDto {
 
-    private Long seatInventoryId;
+    private Long seatInventoryId; // null: SPARSE show, seat has no inventory row yet (book it by seatId)
+    private Long seatId;
     private String rowLabel;
     private Integer seatNumber;
     private String displayLabel;  // "A12"
@@ -0,0 +1,27 @@
+package com.raju.getmyshow.booking.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Seats that changed between {@code fromVersion} and {@code toVersion},
+ * one entry per seat with its latest status.
+ *
+ * Example JSON:
+ * {
+ *     showId: 1,
+ *     fromVersion: 41,
+ *     toVersion: 44,
+ *     changes: [{ seatInventoryId: 11, status: "LOCKED" }, { seatInventoryId: 12, status: "AVAILABLE" }]
+ * }
+ */
+@Builder
+@Data
+public class SeatMapDeltaResponse {
+    private Long showId;
+    private Long fromVersion;
+    private Long toVersion;
+    private List<SeatStatusChangeDto> changes;
+}
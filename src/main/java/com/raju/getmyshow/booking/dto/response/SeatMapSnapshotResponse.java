@@ -0,0 +1,21 @@
+package com.raju.getmyshow.booking.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Full seat map of a show (every seat with its status) at {@code version}.
+ * First event of the seat stream, and sent again whenever a client fell too far behind.
+ */
+@Builder
+@Data
+public class SeatMapSnapshotResponse {
+    private Long showId;
+    private Long version;
+    private String eventTitle;
+    private Integer totalSeats;
+    private Integer availableSeats;
+    private List<SeatDto> seats;
+}
@@ -0,0 +1,18 @@
+package com.raju.getmyshow.booking.dto.response;
+
+import com.raju.getmyshow.booking.entity.SeatStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One seat whose status changed: { "seatInventoryId": 11, "seatId": 101, "status": "LOCKED" }
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatStatusChangeDto {
+    private Long seatInventoryId;
+    private Long seatId;
+    private SeatStatus status;
+}
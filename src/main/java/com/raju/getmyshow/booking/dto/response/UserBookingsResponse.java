@@ -0,0 +1,26 @@
+package com.raju.getmyshow.booking.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of a user's bookings, newest first.
+ *
+ * Example JSON:
+ * {
+ *     userId: 7,
+ *     bookings: [{ bookingId: 120, bookingReference: "BK0A1B2C3D4E", status: "CONFIRMED", ... }],
+ *     nextCursor: "MjAyNi0wMy0xNFQxOTowMjoxMS4xMjM0NTZ-MTIw"
+ * }
+ *
+ * nextCursor: pass as ?cursor= for the next page, null on the last page
+ */
+@Builder
+@Data
+public class UserBookingsResponse {
+    private Long userId;
+    private List<BookingSummaryDto> bookings;
+    private String nextCursor;
+}
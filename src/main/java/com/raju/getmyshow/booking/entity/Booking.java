@@ -1,6 +1,6 @@
 package com.raju.getmyshow.booking.entity;
 
-import com.raju.getmyshow.shared.entity.BaseEntity;
+import com.raju.getmyshow.shared.entity.TimestampedEntity;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -14,7 +14,13 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Booking extends BaseEntity {
+public class Booking extends TimestampedEntity {
+
+    // Pooled: one nextval per 50 rows, so saveAll() inserts go out as JDBC batches
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_id_seq")
+    @SequenceGenerator(name = "bookings_id_seq", sequenceName = "bookings_id_seq", allocationSize = 50)
+    private Long id;
 
     @Column(name = "booking_reference", nullable = false, unique = true, length = 50)
     private String bookingReference;
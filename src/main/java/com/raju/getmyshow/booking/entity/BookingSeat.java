@@ -5,6 +5,7 @@ import jakarta.persistence.*;
 import lombok.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 /**
  * 💡 PURPOSE: Junction table between Booking and SeatInventory
@@ -22,7 +23,8 @@ import java.math.BigDecimal;
 public class BookingSeat {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_seats_id_seq")
+    @SequenceGenerator(name = "booking_seats_id_seq", sequenceName = "booking_seats_id_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -35,6 +37,15 @@ public class BookingSeat {
     @JoinColumn(name = "booking_id", nullable = false)
     private Booking booking;
 
+    /**
+     * 💡 PARTITION KEY (V11): the booking's created_at
+     * - booking_seats is partitioned by month like bookings, each seat lands
+     *   in its booking's month
+     * - Part of the foreign key to bookings(id, created_at)
+     */
+    @Column(name = "booking_created_at", nullable = false, updatable = false)
+    private LocalDateTime bookingCreatedAt;
+
     /**
      * 💡 DESIGN CHOICE: Store seat_inventory_id as Long
      * - seat_inventory is in same module (Booking)
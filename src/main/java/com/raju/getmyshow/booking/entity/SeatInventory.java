@@ -1,10 +1,12 @@
 package com.raju.getmyshow.booking.entity;
 
-import com.raju.getmyshow.shared.entity.BaseEntity;
+import com.raju.getmyshow.shared.entity.TimestampedEntity;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.PartitionKey;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
@@ -13,7 +15,13 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class SeatInventory extends BaseEntity {
+public class SeatInventory extends TimestampedEntity {
+
+    // Pooled: one nextval per 500 rows, so saveAll() inserts go out as JDBC batches
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seat_inventory_id_seq")
+    @SequenceGenerator(name = "seat_inventory_id_seq", sequenceName = "seat_inventory_id_seq", allocationSize = 500)
+    private Long id;
 
     @Column(name = "show_id", nullable = false)
     private Long showId;
@@ -21,7 +29,14 @@ public class SeatInventory extends BaseEntity {
     @Column(name = "seat_id", nullable = false)
     private Long seatId;
 
-    @Column(name = "price", nullable = false, precision = 10, scale = 2)
+    // Partition key (V9): the show's start date, moved by the DB when a show is rescheduled;
+    // @PartitionKey adds it to UPDATE / DELETE, so a write touches one partition only
+    @PartitionKey
+    @Column(name = "show_date", nullable = false, updatable = false)
+    private LocalDate showDate;
+
+    // Per-seat override, null = the show's tier price (see PriceTiers / V8 show_price_tiers)
+    @Column(name = "price", precision = 10, scale = 2)
     private BigDecimal price;
 
     @Enumerated(EnumType.STRING)
@@ -62,7 +77,7 @@ public class SeatInventory extends BaseEntity {
         this.seatStatus = SeatStatus.LOCKED;
         this.lockedAt = LocalDateTime.now();
         this.lockedBy = sessionId;
-        this.lockExpiresAt = LocalDateTime.now().plusMonths(lockDurationMinutes);
+        this.lockExpiresAt = LocalDateTime.now().plusMinutes(lockDurationMinutes);
     }
 
     public void confirmBooking(Long bookingId) {
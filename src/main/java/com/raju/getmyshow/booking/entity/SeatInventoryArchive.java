@@ -0,0 +1,63 @@
+package com.raju.getmyshow.booking.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Seat inventory of ONE completed show, compacted (see V10 seat_inventory_archive)
+ *
+ * 💡 Written by SeatInventoryArchiver's insert query, decoded by ArchivedSeatMap
+ */
+@Entity
+@Table(name = "seat_inventory_archive")
+@Getter
+@NoArgsConstructor
+public class SeatInventoryArchive {
+
+    @Id
+    @Column(name = "show_id")
+    private Long showId;
+
+    @Column(name = "screen_id", nullable = false)
+    private Long screenId;
+
+    @Column(name = "show_date", nullable = false)
+    private LocalDate showDate;
+
+    @Column(name = "seat_count", nullable = false)
+    private Integer seatCount;
+
+    // [first seat id, count, ...]
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "seat_id_runs", nullable = false)
+    private long[] seatIdRuns;
+
+    // 2 bits per seat position
+    @Column(name = "statuses", nullable = false)
+    private byte[] statuses;
+
+    // Per seat position, null = not booked
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "booking_ids", nullable = false)
+    private Long[] bookingIds;
+
+    // [position, first seat_inventory id, count, ...]
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "inventory_id_runs", nullable = false)
+    private long[] inventoryIdRuns;
+
+    @Column(name = "booked_seats", nullable = false)
+    private Integer bookedSeats;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    @Column(name = "purged_at")
+    private LocalDateTime purgedAt;
+}
@@ -1,5 +1,5 @@
 package com.raju.getmyshow.booking.entity;
 
 public enum SeatStatus {
-    LOCKED, BOOKED, AVAILABLE
+    LOCKED, BOOKED, AVAILABLE, BLOCKED
 }
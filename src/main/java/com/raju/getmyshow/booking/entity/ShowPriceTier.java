@@ -0,0 +1,52 @@
+package com.raju.getmyshow.booking.entity;
+
+import com.raju.getmyshow.eventcatalog.domain.enums.SeatType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Price of every seat of one seat type in one show (see V8 show_price_tiers)
+ *
+ * 💡 Only touched through ShowPriceTierRepository's upsert queries,
+ *   read through ShowPriceTierCache
+ */
+@Entity
+@Table(name = "show_price_tiers")
+@IdClass(ShowPriceTier.Key.class)
+@Getter
+@NoArgsConstructor
+public class ShowPriceTier {
+
+    @Id
+    @Column(name = "show_id")
+    private Long showId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "seat_type", length = 50)
+    private SeatType seatType;
+
+    @Column(name = "price", nullable = false, precision = 10, scale = 2)
+    private BigDecimal price;
+
+    @Column(name = "revision", nullable = false)
+    private Long revision;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long showId;
+        private SeatType seatType;
+    }
+}
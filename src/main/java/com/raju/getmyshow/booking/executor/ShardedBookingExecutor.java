@@ -0,0 +1,381 @@
+package com.raju.getmyshow.booking.executor;
+
+import com.raju.getmyshow.booking.config.BookingProperties;
+import com.raju.getmyshow.booking.config.BookingWriteMode;
+import com.raju.getmyshow.booking.dto.request.CreateBookingRequest;
+import com.raju.getmyshow.booking.dto.response.BookingResponse;
+import com.raju.getmyshow.booking.entity.SeatInventory;
+import com.raju.getmyshow.booking.locking.SeatLockStrategies;
+import com.raju.getmyshow.booking.repository.SeatInventoryRepository;
+import com.raju.getmyshow.booking.service.BookingWriter;
+import com.raju.getmyshow.eventcatalog.domain.entity.Show;
+import com.raju.getmyshow.shared.exception.BusinessException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 💡 PURPOSE: Single writer per show for hot on-sales (booking.write-mode = SHARDED)
+ * - A fixed set of single-threaded shards, a show always hashes to the same shard
+ * - Bookings of one show are serialized in-process: no row-lock queue in Postgres,
+ *   at most one pooled connection per shard
+ * - Whatever piled up for the same show is written in ONE transaction (up to max-batch-size)
+ * - Different shows land on different shards and run in parallel
+ *
+ * 💡 FAILURE ISOLATION
+ * - A rejected booking (conflict, show closed) is rejected before it writes anything,
+ *   the rest of the batch still commits
+ * - If the batch transaction itself fails (e.g. another app node changed a seat,
+ *   @Version clash), every booking of the batch is retried alone under the show's SeatLockStrategy
+ *
+ * 💡 TIMEOUTS / SHUTDOWN
+ * - A booking is owned by whoever claims it first: its shard (to write it) or its
+ *   caller giving up after timeout-millis. A caller that lost the claim waits for the
+ *   real outcome, so an error response never hides a committed booking
+ * - Shutdown stops accepting, lets the shards write what is queued (a transaction is
+ *   never interrupted) and only fails what is left after shutdown-timeout-millis
+ *
+ * 💡 METRICS
+ * - booking.executor.queue.depth{shard} : pending bookings per shard
+ * - booking.executor.latency{shard}     : enqueue -> booking written (or rejected)
+ * - booking.executor.batch.size         : bookings per batch transaction
+ * - booking.executor.batch.fallbacks    : batches retried one by one
+ */
+@Component
+@Slf4j
+public class ShardedBookingExecutor {
+
+    // How often an idle shard checks whether it is being stopped
+    private static final long POLL_MILLIS = 200;
+
+    private final BookingWriter bookingWriter;
+    private final SeatInventoryRepository seatInventoryRepository;
+    private final SeatLockStrategies seatLockStrategies;
+    private final TransactionTemplate transactionTemplate;
+    private final BookingProperties bookingProperties;
+    private final MeterRegistry meterRegistry;
+
+    private DistributionSummary batchSize;
+    private Counter batchFallbacks;
+
+    private Shard[] shards = new Shard[0];
+    private volatile boolean running;
+
+    public ShardedBookingExecutor(BookingWriter bookingWriter,
+                                  SeatInventoryRepository seatInventoryRepository,
+                                  SeatLockStrategies seatLockStrategies,
+                                  PlatformTransactionManager transactionManager,
+                                  BookingProperties bookingProperties,
+                                  MeterRegistry meterRegistry) {
+        this.bookingWriter = bookingWriter;
+        this.seatInventoryRepository = seatInventoryRepository;
+        this.seatLockStrategies = seatLockStrategies;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.bookingProperties = bookingProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Threads are only started when the SHARDED write mode is configured.
+     */
+    @PostConstruct
+    void start() {
+        if (bookingProperties.getWriteMode() != BookingWriteMode.SHARDED) {
+            return;
+        }
+
+        BookingProperties.Executor config = bookingProperties.getExecutor();
+        batchSize = DistributionSummary.builder("booking.executor.batch.size")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        batchFallbacks = Counter.builder("booking.executor.batch.fallbacks")
+                .register(meterRegistry);
+
+        running = true;
+        shards = new Shard[Math.max(1, config.getShards())];
+        for (int index = 0; index < shards.length; index++) {
+            shards[index] = new Shard(index, config.getQueueCapacity());
+            shards[index].thread.start();
+        }
+
+        log.info("Sharded booking executor started: {} shards, queue capacity {}, max batch {}",
+                shards.length, config.getQueueCapacity(), config.getMaxBatchSize());
+    }
+
+    /**
+     * Drains instead of interrupting: a shard finishes its queue (and the transaction
+     * it is in) before its thread ends.
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+
+        long deadline = System.nanoTime()
+                + TimeUnit.MILLISECONDS.toNanos(bookingProperties.getExecutor().getShutdownTimeoutMillis());
+        for (Shard shard : shards) {
+            shard.thread.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+        }
+
+        for (Shard shard : shards) {
+            if (shard.thread.isAlive()) {
+                log.warn("Booking shard {} still writing at shutdown, {} bookings left queued",
+                        shard.index, shard.queue.size());
+            }
+            List<PendingBooking> leftovers = new ArrayList<>();
+            shard.queue.drainTo(leftovers);
+            leftovers.stream()
+                    .filter(PendingBooking::claim)
+                    .forEach(pending -> pending.result.completeExceptionally(
+                            new BusinessException("BOOKING_UNAVAILABLE", "Booking service is shutting down")));
+        }
+    }
+
+    /**
+     * Queues the booking on its show's shard and waits for the outcome.
+     *
+     * On timeout the booking is withdrawn if its shard has not claimed it yet
+     * (nothing was written). Once claimed it is being written: the caller waits
+     * for the real outcome instead of reporting an error for a booking that commits.
+     */
+    public BookingResponse submit(CreateBookingRequest request) {
+        if (!running) {
+            throw new IllegalStateException("Sharded booking executor is not running (booking.write-mode != SHARDED)");
+        }
+
+        PendingBooking pending = new PendingBooking(request, new CompletableFuture<>(), new AtomicBoolean(), System.nanoTime());
+
+        if (!shardFor(request.getShowId()).queue.offer(pending)) {
+            throw new BusinessException("BOOKING_QUEUE_FULL",
+                    "Too many bookings for this show right now, please try again");
+        }
+
+        boolean interrupted = false;
+        try {
+            return pending.result.get(bookingProperties.getExecutor().getTimeoutMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            throw unwrap(ex);
+        } catch (TimeoutException ex) {
+            if (pending.claim()) {
+                throw new BusinessException("BOOKING_TIMEOUT", "Booking is taking too long, please try again");
+            }
+        } catch (InterruptedException ex) {
+            interrupted = true;
+            if (pending.claim()) {
+                Thread.currentThread().interrupt();
+                throw new BusinessException("BOOKING_INTERRUPTED", "Booking was interrupted");
+            }
+        }
+
+        // The shard claimed it first: it is being written, its outcome is the answer
+        try {
+            return awaitClaimed(pending);
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static BookingResponse awaitClaimed(PendingBooking pending) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return pending.result.get();
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                } catch (ExecutionException ex) {
+                    throw unwrap(ex);
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static RuntimeException unwrap(ExecutionException ex) {
+        if (ex.getCause() instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new IllegalStateException("Booking failed", ex.getCause());
+    }
+
+    private Shard shardFor(Long showId) {
+        // Spread sequential show ids before taking the modulo
+        int hash = Long.hashCode(showId * 0x9E3779B97F4A7C15L);
+        return shards[Math.floorMod(hash, shards.length)];
+    }
+
+    //=======================================
+    //    Shard worker
+    //=======================================
+
+    private void runShard(Shard shard) {
+        int maxBatchSize = Math.max(1, bookingProperties.getExecutor().getMaxBatchSize());
+        List<PendingBooking> drained = new ArrayList<>(maxBatchSize);
+
+        // After stop(): keep going until the queue is empty
+        while (running || !shard.queue.isEmpty()) {
+            try {
+                PendingBooking first = shard.queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                drained.add(first);
+                shard.queue.drainTo(drained, maxBatchSize - 1);
+
+                // Same-show bookings together, arrival order kept within a show;
+                // bookings their caller already gave up on are skipped
+                Map<Long, List<PendingBooking>> byShow = drained.stream()
+                        .filter(PendingBooking::claim)
+                        .collect(Collectors.groupingBy(pending -> pending.request.getShowId(),
+                                LinkedHashMap::new, Collectors.toList()));
+
+                byShow.forEach((showId, batch) -> writeBatch(shard, showId, batch));
+            } catch (InterruptedException ex) {
+                // Nothing interrupts the shards (stop() drains), only a JVM going down
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException ex) {
+                // Never let one bad batch kill the shard thread
+                log.error("Booking shard {} failed a batch", shard.index, ex);
+                drained.forEach(pending -> pending.result.completeExceptionally(ex));
+            } finally {
+                drained.clear();
+            }
+        }
+    }
+
+    private void writeBatch(Shard shard, Long showId, List<PendingBooking> batch) {
+        batchSize.record(batch.size());
+
+        List<Outcome> outcomes;
+        try {
+            outcomes = transactionTemplate.execute(status -> placeAll(showId, batch));
+        } catch (RuntimeException ex) {
+            log.warn("Batch of {} bookings for show {} failed ({}), retrying one by one",
+                    batch.size(), showId, ex.getMessage());
+            batchFallbacks.increment();
+            outcomes = batch.stream().map(this::placeAlone).toList();
+        }
+
+        // Only complete after commit: a caller never sees a booking that was rolled back
+        for (Outcome outcome : outcomes) {
+            if (outcome.error() != null) {
+                outcome.pending().result.completeExceptionally(outcome.error());
+            } else {
+                outcome.pending().result.complete(outcome.response());
+            }
+            shard.latency.record(System.nanoTime() - outcome.pending().enqueuedNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * One transaction for the whole batch: show + all seats loaded once,
+     * each booking validated against what the earlier ones already took.
+     */
+    private List<Outcome> placeAll(Long showId, List<PendingBooking> batch) {
+        Show show = bookingWriter.loadShow(showId);
+
+        Map<Long, SeatInventory> seats = seatInventoryRepository.findByShowIdAndIds(showId, batch.stream()
+                        .flatMap(pending -> pending.request.getSeatInventoryIds().stream())
+                        .distinct()
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(SeatInventory::getId, Function.identity()));
+
+        List<Outcome> outcomes = new ArrayList<>(batch.size());
+        for (PendingBooking pending : batch) {
+            List<SeatInventory> requestedSeats = pending.request.getSeatInventoryIds().stream()
+                    .map(seats::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+            try {
+                outcomes.add(new Outcome(pending,
+                        bookingWriter.placeBooking(pending.request, show, requestedSeats), null));
+            } catch (BusinessException ex) {
+                outcomes.add(new Outcome(pending, null, ex));
+            }
+        }
+        return outcomes;
+    }
+
+    private Outcome placeAlone(PendingBooking pending) {
+        CreateBookingRequest request = pending.request;
+        try {
+            BookingResponse response = seatLockStrategies.forShow(request.getShowId())
+                    .execute(request.getShowId(), request.getSeatInventoryIds(),
+                            seatInventoryList -> bookingWriter.placeBooking(
+                                    request, bookingWriter.loadShow(request.getShowId()), seatInventoryList));
+            return new Outcome(pending, response, null);
+        } catch (RuntimeException ex) {
+            return new Outcome(pending, null, ex);
+        }
+    }
+
+    //=======================================
+    //    Types
+    //=======================================
+
+    private final class Shard {
+
+        private final int index;
+        private final BlockingQueue<PendingBooking> queue;
+        private final Thread thread;
+        private final Timer latency;
+
+        private Shard(int index, int queueCapacity) {
+            this.index = index;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.thread = new Thread(() -> runShard(this), "booking-shard-" + index);
+            this.thread.setDaemon(true);
+
+            Gauge.builder("booking.executor.queue.depth", queue, BlockingQueue::size)
+                    .tag("shard", String.valueOf(index))
+                    .register(meterRegistry);
+            this.latency = Timer.builder("booking.executor.latency")
+                    .tag("shard", String.valueOf(index))
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry);
+        }
+    }
+
+    private record PendingBooking(CreateBookingRequest request,
+                                  CompletableFuture<BookingResponse> result,
+                                  AtomicBoolean claimed,
+                                  long enqueuedNanos) {
+
+        // True for exactly one of shard / timed-out caller / shutdown
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+
+    private record Outcome(PendingBooking pending, BookingResponse response, RuntimeException error) {
+    }
+}
@@ -0,0 +1,215 @@
+package com.raju.getmyshow.booking.expiry;
+
+import com.raju.getmyshow.booking.availability.SeatAvailabilityEngine;
+import com.raju.getmyshow.booking.availability.ShowSeatCounter;
+import com.raju.getmyshow.booking.config.BookingProperties;
+import com.raju.getmyshow.booking.repository.BookingRepository;
+import com.raju.getmyshow.booking.repository.SeatInventoryRepository;
+import com.raju.getmyshow.booking.repository.projection.ReleasedSeatRow;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 💡 PURPOSE: Give abandoned checkouts back
+ * - PENDING bookings past expires_at -> EXPIRED
+ * - LOCKED seats past lock_expires_at -> AVAILABLE, one show counter delta per show
+ *
+ * 💡 MULTI-NODE: every batch claims its rows with FOR UPDATE SKIP LOCKED,
+ *   so several app nodes sweep in parallel without waiting on each other
+ *
+ * 💡 PACING: at most batch-size * max-batches-per-run seats per run, with a pause
+ *   between batches -> released seats trickle back on sale instead of one burst
+ *   of writes (and of clients racing for them)
+ * - Runs on its own thread, not the shared @Scheduled pool: the pauses never delay
+ *   the other scheduled jobs
+ *
+ * 💡 ONE STATEMENT PER BATCH: claim (FOR UPDATE SKIP LOCKED) and update in a single
+ *   UPDATE ... RETURNING, run as a plain @Query (rows come back, so not @Modifying)
+ *   like bookSeatsAtomically
+ * 💡 METRICS
+ * - booking.sweeper.lag         : seconds since the oldest unreleased lock expired
+ * - booking.sweeper.batch.size  : rows per batch, tagged kind=seats|bookings
+ * - booking.sweeper.run         : duration of one sweep run
+ */
+@Component
+@Slf4j
+public class ExpiredHoldSweeper {
+
+    private final SeatInventoryRepository seatInventoryRepository;
+    private final BookingRepository bookingRepository;
+    private final ShowSeatCounter showSeatCounter;
+    private final SeatAvailabilityEngine seatAvailabilityEngine;
+    private final TransactionTemplate transactionTemplate;
+    private final BookingProperties bookingProperties;
+
+    private final DistributionSummary seatBatchSize;
+    private final DistributionSummary bookingBatchSize;
+    private final Timer runTimer;
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    private ScheduledExecutorService scheduler;
+    private volatile boolean stopping;
+
+    public ExpiredHoldSweeper(SeatInventoryRepository seatInventoryRepository,
+                              BookingRepository bookingRepository,
+                              ShowSeatCounter showSeatCounter,
+                              SeatAvailabilityEngine seatAvailabilityEngine,
+                              PlatformTransactionManager transactionManager,
+                              BookingProperties bookingProperties,
+                              MeterRegistry meterRegistry) {
+        this.seatInventoryRepository = seatInventoryRepository;
+        this.bookingRepository = bookingRepository;
+        this.showSeatCounter = showSeatCounter;
+        this.seatAvailabilityEngine = seatAvailabilityEngine;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.bookingProperties = bookingProperties;
+
+        this.seatBatchSize = DistributionSummary.builder("booking.sweeper.batch.size")
+                .tag("kind", "seats")
+                .register(meterRegistry);
+        this.bookingBatchSize = DistributionSummary.builder("booking.sweeper.batch.size")
+                .tag("kind", "bookings")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("booking.sweeper.run")
+                .register(meterRegistry);
+        Gauge.builder("booking.sweeper.lag", lagMillis, lag -> lag.get() / 1000.0)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        BookingProperties.Sweeper config = bookingProperties.getSweeper();
+        if (!config.isEnabled()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "expiry-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::sweepSafely,
+                config.getIntervalMillis(), config.getIntervalMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Lets a running sweep finish its batch (no interrupt mid-transaction), skips its pauses
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        stopping = true;
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler.awaitTermination(bookingProperties.getSweeper().getIntervalMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // An exception would cancel every later run of scheduleWithFixedDelay
+    private void sweepSafely() {
+        try {
+            sweep();
+        } catch (RuntimeException ex) {
+            log.warn("Expiry sweep failed, retrying next run: {}", ex.getMessage());
+        }
+    }
+
+    public void sweep() {
+        BookingProperties.Sweeper config = bookingProperties.getSweeper();
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        runTimer.record(() -> {
+            int expiredBookings = 0;
+            int releasedSeats = 0;
+
+            for (int batch = 0; batch < config.getMaxBatchesPerRun(); batch++) {
+                int bookings = expireBookings(config.getBatchSize());
+                int seats = releaseSeats(config.getBatchSize());
+                expiredBookings += bookings;
+                releasedSeats += seats;
+
+                if (bookings < config.getBatchSize() && seats < config.getBatchSize()) {
+                    break;  // drained
+                }
+                if (!pause(config.getPauseBetweenBatchesMillis())) {
+                    break;
+                }
+            }
+
+            updateLag();
+
+            if (expiredBookings > 0 || releasedSeats > 0) {
+                log.info("Expiry sweep: {} bookings expired, {} seats released, lag {} ms",
+                        expiredBookings, releasedSeats, lagMillis.get());
+            }
+        });
+    }
+
+    private int expireBookings(int batchSize) {
+        List<Long> expired = transactionTemplate.execute(status ->
+                bookingRepository.expireOverduePendingBookings(batchSize));
+        bookingBatchSize.record(expired.size());
+        return expired.size();
+    }
+
+    /**
+     * One transaction: release the seats, then one counter delta per show.
+     */
+    private int releaseSeats(int batchSize) {
+        Integer released = transactionTemplate.execute(status -> {
+            List<ReleasedSeatRow> rows = seatInventoryRepository.releaseExpiredLocks(batchSize);
+
+            Map<Long, List<Long>> seatsByShow = rows.stream()
+                    .collect(Collectors.groupingBy(ReleasedSeatRow::getShowId, TreeMap::new,
+                            Collectors.mapping(ReleasedSeatRow::getSeatInventoryId, Collectors.toList())));
+
+            seatsByShow.forEach((showId, seatInventoryIds) -> {
+                showSeatCounter.increment(showId, seatInventoryIds.size());
+                seatAvailabilityEngine.markReleased(showId, seatInventoryIds);
+            });
+
+            return rows.size();
+        });
+        seatBatchSize.record(released);
+        return released;
+    }
+
+    private void updateLag() {
+        Double lagSeconds = seatInventoryRepository.findExpiredLockLagSeconds();
+        lagMillis.set(lagSeconds == null ? 0 : Math.round(lagSeconds * 1000));
+    }
+
+    private boolean pause(long millis) {
+        if (stopping) {
+            return false;
+        }
+        if (millis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.raju.getmyshow.booking.history;
+
+import com.raju.getmyshow.booking.config.BookingProperties;
+import com.raju.getmyshow.booking.dto.response.BookingSummaryDto;
+import com.raju.getmyshow.booking.dto.response.UserBookingsResponse;
+import com.raju.getmyshow.booking.repository.BookingRepository;
+import com.raju.getmyshow.booking.repository.projection.BookingHistoryRow;
+import com.raju.getmyshow.shared.exception.BusinessException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 💡 PURPOSE: A user's booking history, newest first, page by page
+ * - Keyset pagination on (created_at, id): the cursor is the last row of the
+ *   previous page, so page 500 costs the same as page 1 (no OFFSET)
+ * - Projection straight from idx_bookings_user_history + the show's display
+ *   fields; no Booking entity, no booking_seats
+ * - bookings is partitioned by created_at month (V11): the first page reads the
+ *   newest partition(s) only, a deeper page prunes every month after its cursor
+ *
+ * 💡 CURSOR: opaque to clients, base64url("createdAt~bookingId")
+ */
+@Service
+@RequiredArgsConstructor
+public class BookingHistoryService {
+
+    private static final String CURSOR_SEPARATOR = "~";
+
+    private final BookingRepository bookingRepository;
+    private final BookingProperties bookingProperties;
+
+    public UserBookingsResponse getUserBookings(Long userId, String cursor, Integer size) {
+        int pageSize = pageSize(size);
+
+        // One extra row tells whether there is a next page
+        List<BookingHistoryRow> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = bookingRepository.findLatestByUser(userId, pageSize + 1);
+        } else {
+            Cursor position = decode(cursor);
+            rows = bookingRepository.findByUserBefore(userId, position.createdAt(), position.bookingId(), pageSize + 1);
+        }
+
+        boolean hasNext = rows.size() > pageSize;
+        List<BookingHistoryRow> page = hasNext ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            BookingHistoryRow last = page.get(page.size() - 1);
+            nextCursor = encode(new Cursor(last.getCreatedAt(), last.getBookingId()));
+        }
+
+        return UserBookingsResponse.builder()
+                .userId(userId)
+                .bookings(page.stream().map(this::toDto).toList())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private int pageSize(Integer size) {
+        BookingProperties.History config = bookingProperties.getHistory();
+        if (size == null) {
+            return config.getDefaultPageSize();
+        }
+        if (size < 1) {
+            throw new BusinessException("INVALID_PAGE_SIZE", "Page size must be at least 1");
+        }
+        return Math.min(size, config.getMaxPageSize());
+    }
+
+    private BookingSummaryDto toDto(BookingHistoryRow row) {
+        return BookingSummaryDto.builder()
+                .bookingId(row.getBookingId())
+                .bookingReference(row.getBookingReference())
+                .status(row.getStatus())
+                .showId(row.getShowId())
+                .eventTitle(row.getEventTitle())
+                .venueName(row.getVenueName())
+                .showStartTime(row.getShowStartTime())
+                .totalSeats(row.getTotalSeats())
+                .totalAmount(row.getTotalAmount())
+                .createdAt(row.getCreatedAt())
+                .build();
+    }
+
+    //=======================================
+    //    Cursor
+    //=======================================
+
+    private record Cursor(LocalDateTime createdAt, Long bookingId) {
+    }
+
+    private static String encode(Cursor cursor) {
+        String raw = cursor.createdAt() + CURSOR_SEPARATOR + cursor.bookingId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(CURSOR_SEPARATOR);
+            return new Cursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException ex) {
+            throw new BusinessException("INVALID_CURSOR", "Malformed booking history cursor");
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.raju.getmyshow.booking.history;
+
+import com.raju.getmyshow.booking.config.BookingProperties;
+import com.raju.getmyshow.booking.repository.BookingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+
+/**
+ * 💡 PURPOSE: Roll the monthly bookings / booking_seats partitions (V11) forward
+ * - A booking is inserted into the partition of its created_at, so the current
+ *   month's partition must always exist: the next booking.partitions.premake-months
+ *   are created at startup and on booking.partitions.cron, well before they are needed
+ * - Bookings are never detached or dropped here, old months just stop being read
+ *   by the history page (see BookingHistoryService)
+ *
+ * 💡 MULTI-NODE: create_booking_partitions is idempotent, every node may run it
+ */
+@Component
+@Slf4j
+public class BookingPartitionManager {
+
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BookingProperties bookingProperties;
+
+    public BookingPartitionManager(BookingRepository bookingRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   BookingProperties bookingProperties) {
+        this.bookingRepository = bookingRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.bookingProperties = bookingProperties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void rolloverOnStartup() {
+        rollover();
+    }
+
+    @Scheduled(cron = "${booking.partitions.cron:0 30 3 * * *}")
+    public void rollover() {
+        BookingProperties.Partitions config = bookingProperties.getPartitions();
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        YearMonth current = YearMonth.now();
+        for (int ahead = 0; ahead < Math.max(1, config.getPremakeMonths()); ahead++) {
+            YearMonth month = current.plusMonths(ahead);
+            try {
+                String partition = transactionTemplate.execute(status ->
+                        bookingRepository.createPartitions(month.atDay(1)));
+                log.debug("bookings partition {} ready", partition);
+            } catch (DataAccessException ex) {
+                log.warn("Could not create bookings partitions for {}: {}", month, ex.getMessage());
+            }
+        }
+    }
+}
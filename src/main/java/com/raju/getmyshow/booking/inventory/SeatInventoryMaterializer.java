@@ -0,0 +1,310 @@
+package com.raju.getmyshow.booking.inventory;
+
+import com.raju.getmyshow.booking.availability.SeatAvailabilityEngine;
+import com.raju.getmyshow.booking.availability.ShowSeatCounter;
+import com.raju.getmyshow.booking.config.BookingProperties;
+import com.raju.getmyshow.booking.entity.SeatInventory;
+import com.raju.getmyshow.booking.pricing.ShowPricingService;
+import com.raju.getmyshow.booking.repository.SeatInventoryRepository;
+import com.raju.getmyshow.booking.repository.projection.MaterializedChunkRow;
+import com.raju.getmyshow.eventcatalog.domain.entity.Show;
+import com.raju.getmyshow.eventcatalog.repository.SeatRepository;
+import com.raju.getmyshow.eventcatalog.repository.ShowRepository;
+import com.raju.getmyshow.shared.exception.BusinessException;
+import com.raju.getmyshow.shared.exception.NotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 💡 PURPOSE: Create seat_inventory for a show straight from its screen's seats
+ * - INSERT ... SELECT in chunks of {@link #CHUNK_SIZE} seats: constant memory,
+ *   no entity per seat, short transactions (one per chunk)
+ * - No per-seat price: the show's default show_price_tiers rows are created first
+ *   (ShowPricingService), every seat costs its tier price
+ * - Rows go to the partition of the show's start date, created first when missing
+ *   (SeatInventoryPartitionManager); every transaction re-reads that date with the
+ *   show row held FOR SHARE (see {@link #lockShowDate}), so a reschedule running
+ *   alongside either waits for the chunk or is seen by it
+ * - SPARSE shows only get rows for their layout-blocked seats, the others come
+ *   from {@link #materializeSeats} on first lock
+ * - Blocked seats get status BLOCKED and are taken off the show's seat counter
+ *   (FULL and SPARSE alike, once: only newly inserted rows are counted)
+ * - Idempotent: existing (show_id, seat_id) rows are skipped, so an interrupted
+ *   run is simply started again
+ * - {@link #materializeAll} runs booking.inventory.parallelism shows at a time
+ *
+ * 💡 METRICS
+ * - booking.inventory.materialized.rows : inventory rows inserted
+ * - booking.inventory.materialize       : duration per show
+ */
+@Component
+@Slf4j
+public class SeatInventoryMaterializer {
+
+    // Must equal seat_inventory_id_seq INCREMENT BY (V6): each chunk takes one id block
+    static final int CHUNK_SIZE = 500;
+
+    private final SeatInventoryRepository seatInventoryRepository;
+    private final ShowRepository showRepository;
+    private final SeatRepository seatRepository;
+    private final ShowSeatCounter showSeatCounter;
+    private final SeatAvailabilityEngine seatAvailabilityEngine;
+    private final TransactionTemplate transactionTemplate;
+    private final ShowPricingService showPricingService;
+    private final SeatInventoryPartitionManager partitionManager;
+    private final BookingProperties bookingProperties;
+
+    private final Counter rowsInserted;
+    private final Timer showTimer;
+
+    public SeatInventoryMaterializer(SeatInventoryRepository seatInventoryRepository,
+                                     ShowRepository showRepository,
+                                     SeatRepository seatRepository,
+                                     ShowSeatCounter showSeatCounter,
+                                     SeatAvailabilityEngine seatAvailabilityEngine,
+                                     PlatformTransactionManager transactionManager,
+                                     ShowPricingService showPricingService,
+                                     SeatInventoryPartitionManager partitionManager,
+                                     BookingProperties bookingProperties,
+                                     MeterRegistry meterRegistry) {
+        this.seatInventoryRepository = seatInventoryRepository;
+        this.showRepository = showRepository;
+        this.seatRepository = seatRepository;
+        this.showSeatCounter = showSeatCounter;
+        this.seatAvailabilityEngine = seatAvailabilityEngine;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.showPricingService = showPricingService;
+        this.partitionManager = partitionManager;
+        this.bookingProperties = bookingProperties;
+
+        this.rowsInserted = Counter.builder("booking.inventory.materialized.rows")
+                .register(meterRegistry);
+        this.showTimer = Timer.builder("booking.inventory.materialize")
+                .register(meterRegistry);
+    }
+
+    public Result materialize(Long showId) {
+        return materialize(showId, ProgressListener.NONE);
+    }
+
+    public Result materialize(Long showId, ProgressListener listener) {
+        long started = System.nanoTime();
+
+        Show show = showRepository.findById(showId)
+                .orElseThrow(() -> new NotFoundException("Show", showId));
+        Long screenId = show.getScreen().getId();
+        int totalSeats = (int) seatRepository.countByScreenId(screenId);
+
+        // Prices first: a seat is never visible without a price
+        showPricingService.createDefaultTiers(show);
+
+        if (show.hasSparseInventory()) {
+            Integer blocked = transactionTemplate.execute(status -> {
+                int inserted = seatInventoryRepository.materializeBlockedSeats(showId, lockShowDate(showId), screenId);
+                if (inserted > 0) {
+                    showSeatCounter.decrement(showId, inserted);
+                }
+                return inserted;
+            });
+            int inserted = blocked != null ? blocked : 0;
+            if (inserted > 0) {
+                seatAvailabilityEngine.evict(showId);
+            }
+            log.info("Show {} uses SPARSE inventory, rows are created on first lock ({} blocked seats)",
+                    showId, inserted);
+            return new Result(showId, 0, inserted, 0);
+        }
+
+        long afterSeatId = 0;
+        int seatsDone = 0;
+        int inserted = 0;
+
+        while (true) {
+            long from = afterSeatId;
+            MaterializedChunkRow chunk = transactionTemplate.execute(status -> {
+                MaterializedChunkRow row = seatInventoryRepository.materializeChunk(
+                        showId, lockShowDate(showId), screenId, from, CHUNK_SIZE);
+
+                // Inserted BLOCKED seats were counted in the show's available seats
+                int blocked = (int) (row.getInserted() - row.getAvailable());
+                if (blocked > 0) {
+                    showSeatCounter.decrement(showId, blocked);
+                }
+                return row;
+            });
+
+            if (chunk.getLastSeatId() == null) {
+                break;
+            }
+
+            afterSeatId = chunk.getLastSeatId();
+            seatsDone += chunk.getSeats().intValue();
+            inserted += chunk.getInserted().intValue();
+            rowsInserted.increment(chunk.getInserted());
+            listener.onProgress(showId, seatsDone, totalSeats, inserted);
+
+            if (chunk.getSeats() < CHUNK_SIZE) {
+                break;
+            }
+        }
+
+        if (inserted > 0) {
+            seatAvailabilityEngine.evict(showId);
+        }
+
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        showTimer.record(Duration.ofMillis(elapsedMillis));
+        log.info("Materialized inventory for show {}: {} seats, {} new rows in {} ms",
+                showId, seatsDone, inserted, elapsedMillis);
+
+        return new Result(showId, seatsDone, inserted, elapsedMillis);
+    }
+
+    /**
+     * 💡 SPARSE shows: makes sure the given seats have a row, right before they are locked.
+     * Committed on its own: a row that ends up unused is still AVAILABLE, same as no row.
+     *
+     * @return seat id -> seat_inventory id for every requested seat of the show's screen
+     */
+    public Map<Long, Long> materializeSeats(Show show, Collection<Long> seatIds) {
+        if (seatIds.size() > CHUNK_SIZE) {
+            throw new BusinessException("TOO_MANY_SEATS", "At most " + CHUNK_SIZE + " seats per request");
+        }
+
+        String seatIdsLiteral = seatIds.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(",", "{", "}"));
+
+        List<SeatInventory> rows = transactionTemplate.execute(status -> {
+            int inserted = seatInventoryRepository.materializeSeats(show.getId(),
+                    lockShowDate(show.getId()), show.getScreen().getId(), seatIdsLiteral);
+            rowsInserted.increment(inserted);
+            return seatInventoryRepository.findByShowIdAndSeatIdIn(show.getId(), seatIds);
+        });
+
+        Map<Long, Long> inventoryIdBySeatId = rows.stream()
+                .collect(Collectors.toMap(SeatInventory::getSeatId, SeatInventory::getId));
+        seatAvailabilityEngine.attachInventory(show.getId(), inventoryIdBySeatId);
+        return inventoryIdBySeatId;
+    }
+
+    /**
+     * seat id -> seat_inventory id for a booking by seat id: FULL shows look the rows up,
+     * SPARSE shows create the missing ones first.
+     *
+     * @throws BusinessException INVALID_SEATS when a seat is not part of the show's screen
+     */
+    public List<Long> inventoryIdsForSeats(Show show, List<Long> seatIds) {
+        Map<Long, Long> inventoryIdBySeatId = show.hasSparseInventory()
+                ? materializeSeats(show, seatIds)
+                : seatInventoryRepository.findByShowIdAndSeatIdIn(show.getId(), seatIds).stream()
+                        .collect(Collectors.toMap(SeatInventory::getSeatId, SeatInventory::getId));
+
+        List<Long> inventoryIds = new ArrayList<>(seatIds.size());
+        for (Long seatId : seatIds) {
+            Long inventoryId = inventoryIdBySeatId.get(seatId);
+            if (inventoryId == null) {
+                throw new BusinessException("INVALID_SEATS", "Seat " + seatId + " does not belong to this show");
+            }
+            inventoryIds.add(inventoryId);
+        }
+        return inventoryIds;
+    }
+
+    /**
+     * The show's start date as of now, show row held FOR SHARE until the caller's transaction
+     * ends, its partition created when missing (joins the caller's transaction).
+     * The Show loaded at the start of a run may already be rescheduled.
+     */
+    private LocalDate lockShowDate(Long showId) {
+        LocalDate showDate = showRepository.lockShowDate(showId);
+        if (showDate == null) {
+            throw new NotFoundException("Show", showId);
+        }
+        partitionManager.ensurePartition(showDate);
+        return showDate;
+    }
+
+    /**
+     * Materializes several shows in parallel and waits for all of them.
+     *
+     * @throws BusinessException INVENTORY_MATERIALIZATION_FAILED when any show failed
+     *                           (the others are still completed; re-running is safe)
+     */
+    public List<Result> materializeAll(Collection<Long> showIds, ProgressListener listener) {
+        if (showIds.isEmpty()) {
+            return List.of();
+        }
+
+        int threads = Math.max(1, Math.min(bookingProperties.getInventory().getParallelism(), showIds.size()));
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "inventory-materializer-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            List<Future<Result>> futures = new ArrayList<>(showIds.size());
+            for (Long showId : showIds) {
+                futures.add(pool.submit(() -> materialize(showId, listener)));
+            }
+
+            List<Result> results = new ArrayList<>(futures.size());
+            List<Long> failedShows = new ArrayList<>();
+            int index = 0;
+            for (Long showId : showIds) {
+                try {
+                    results.add(futures.get(index++).get());
+                } catch (ExecutionException ex) {
+                    log.error("Inventory materialization failed for show {}", showId, ex.getCause());
+                    failedShows.add(showId);
+                }
+            }
+
+            if (!failedShows.isEmpty()) {
+                throw new BusinessException("INVENTORY_MATERIALIZATION_FAILED",
+                        "Seat inventory could not be created for shows " + failedShows);
+            }
+            return results;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("INVENTORY_MATERIALIZATION_INTERRUPTED", "Seat inventory creation was interrupted");
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    public record Result(Long showId, int seats, int inserted, long elapsedMillis) {
+    }
+
+    /**
+     * Called after every chunk of a show (from the materializing thread).
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+
+        ProgressListener NONE = (showId, seatsDone, totalSeats, inserted) -> {
+        };
+
+        void onProgress(Long showId, int seatsDone, int totalSeats, int inserted);
+    }
+}
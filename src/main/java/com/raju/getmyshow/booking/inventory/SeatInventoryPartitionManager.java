@@ -0,0 +1,202 @@
+package com.raju.getmyshow.booking.inventory;
+
+import com.raju.getmyshow.booking.config.BookingProperties;
+import com.raju.getmyshow.booking.repository.SeatInventoryRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 💡 PURPOSE: Keep seat_inventory's monthly partitions (V9) in shape
+ * - Creates the partitions of the next booking.partitions.premake-months ahead of time,
+ *   at a quiet hour instead of on the first materialization of a month
+ * - Detaches partitions older than booking.partitions.retention-months, so old shows
+ *   stop costing index pages and planning time on the hot table; they are kept as
+ *   standalone seat_inventory_detached_pYYYYMM tables unless drop-detached is set
+ * - A partition that still holds a show which is not COMPLETED / CANCELLED is left alone
+ *
+ * 💡 MULTI-NODE: every step is idempotent; a node losing a race to another one
+ *   only logs it, the next run sees the final state
+ *
+ * 💡 DETACH ... CONCURRENTLY (Postgres 14+) never blocks bookings, but cannot run inside
+ *   a transaction: those statements go through JdbcTemplate in autocommit
+ * - It commits twice; when the second step fails (statement cancelled, node gone) the
+ *   partition stays attached as "detach pending" and cannot be detached again.
+ *   Such a partition is completed with DETACH ... FINALIZE, right away or on a later run
+ *
+ * 💡 METRICS
+ * - booking.inventory.partitions : partitions attached to seat_inventory
+ */
+@Component
+@Slf4j
+public class SeatInventoryPartitionManager {
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("seat_inventory_p(\\d{6})");
+    private static final String DETACHED_PREFIX = "seat_inventory_detached_p";
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final SeatInventoryRepository seatInventoryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BookingProperties bookingProperties;
+
+    // Months whose partition is known to exist: no DDL round trip per materialized show
+    private final Set<YearMonth> knownMonths = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger attachedPartitions = new AtomicInteger();
+
+    public SeatInventoryPartitionManager(SeatInventoryRepository seatInventoryRepository,
+                                         JdbcTemplate jdbcTemplate,
+                                         PlatformTransactionManager transactionManager,
+                                         BookingProperties bookingProperties,
+                                         MeterRegistry meterRegistry) {
+        this.seatInventoryRepository = seatInventoryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.bookingProperties = bookingProperties;
+
+        Gauge.builder("booking.inventory.partitions", attachedPartitions, AtomicInteger::get)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void maintainOnStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${booking.partitions.cron:0 30 3 * * *}")
+    public void maintain() {
+        BookingProperties.Partitions config = bookingProperties.getPartitions();
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        YearMonth current = YearMonth.now();
+        for (int ahead = 0; ahead < Math.max(1, config.getPremakeMonths()); ahead++) {
+            try {
+                ensurePartition(current.plusMonths(ahead).atDay(1));
+            } catch (DataAccessException ex) {
+                log.warn("Could not create seat_inventory partition for {}: {}",
+                        current.plusMonths(ahead), ex.getMessage());
+            }
+        }
+
+        YearMonth cutoff = current.minusMonths(config.getRetentionMonths());
+        for (Partition partition : listPartitions()) {
+            YearMonth month = monthOf(partition.name());
+            if (month != null && (partition.detachPending() || month.isBefore(cutoff))) {
+                detach(partition, month, config.isDropDetached());
+            }
+        }
+
+        attachedPartitions.set((int) listPartitions().stream()
+                .filter(partition -> !partition.detachPending())
+                .count());
+    }
+
+    /**
+     * Makes sure the partition holding {@code showDate} exists
+     * (shows scheduled further out than premake-months)
+     */
+    public void ensurePartition(LocalDate showDate) {
+        YearMonth month = YearMonth.from(showDate);
+        if (knownMonths.contains(month)) {
+            return;
+        }
+        String partition = transactionTemplate.execute(status -> seatInventoryRepository.createPartition(showDate));
+        knownMonths.add(month);
+        log.debug("seat_inventory partition {} ready", partition);
+    }
+
+    private void detach(Partition partition, YearMonth month, boolean drop) {
+        String name = partition.name();
+        try {
+            if (partition.detachPending()) {
+                // Left behind by an interrupted DETACH ... CONCURRENTLY (here or on another node)
+                finalizeDetach(name);
+            } else {
+                Boolean openShows = jdbcTemplate.queryForObject("""
+                        SELECT EXISTS (SELECT 1
+                                       FROM %s si
+                                                JOIN shows s ON s.id = si.show_id
+                                       WHERE s.status NOT IN ('COMPLETED', 'CANCELLED'))
+                        """.formatted(name), Boolean.class);
+                if (Boolean.TRUE.equals(openShows)) {
+                    log.warn("seat_inventory partition {} is past retention but still has open shows, kept", name);
+                    return;
+                }
+                detachConcurrently(name);
+            }
+            knownMonths.remove(month);
+
+            if (drop) {
+                jdbcTemplate.execute("DROP TABLE " + name);
+                log.info("seat_inventory partition {} detached and dropped", name);
+            } else {
+                String detachedName = DETACHED_PREFIX + month.format(MONTH);
+                jdbcTemplate.execute("ALTER TABLE " + name + " RENAME TO " + detachedName);
+                log.info("seat_inventory partition {} detached as {}", name, detachedName);
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Could not detach seat_inventory partition {}: {}", name, ex.getMessage());
+        }
+    }
+
+    private void detachConcurrently(String partition) {
+        try {
+            jdbcTemplate.execute("ALTER TABLE seat_inventory DETACH PARTITION " + partition + " CONCURRENTLY");
+        } catch (DataAccessException ex) {
+            // Failed in the second step: the partition is pending detach, FINALIZE completes it.
+            // Failed in the first: FINALIZE fails too and the partition stays attached
+            log.warn("DETACH CONCURRENTLY of {} failed ({}), finalizing", partition, ex.getMessage());
+            finalizeDetach(partition);
+        }
+    }
+
+    private void finalizeDetach(String partition) {
+        jdbcTemplate.execute("ALTER TABLE seat_inventory DETACH PARTITION " + partition + " FINALIZE");
+        log.info("seat_inventory partition {}: pending detach finalized", partition);
+    }
+
+    /**
+     * Partitions currently attached to seat_inventory (pending detaches included), oldest first
+     */
+    private List<Partition> listPartitions() {
+        return jdbcTemplate.query("""
+                SELECT c.relname, i.inhdetachpending
+                FROM pg_inherits i
+                         JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = 'seat_inventory'::regclass
+                ORDER BY c.relname
+                """, (rs, rowNum) -> new Partition(rs.getString(1), rs.getBoolean(2)));
+    }
+
+    /**
+     * Month of a partition created by create_seat_inventory_partition, null for any other table
+     * (the strict name match also keeps catalog names out of the SQL above)
+     */
+    private YearMonth monthOf(String partition) {
+        Matcher matcher = PARTITION_NAME.matcher(partition);
+        return matcher.matches() ? YearMonth.parse(matcher.group(1), MONTH) : null;
+    }
+
+    private record Partition(String name, boolean detachPending) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.raju.getmyshow.booking.locking;
+
+import com.raju.getmyshow.booking.config.BookingProperties;
+import com.raju.getmyshow.booking.entity.SeatInventory;
+import com.raju.getmyshow.booking.repository.SeatInventoryRepository;
+import com.raju.getmyshow.shared.exception.BusinessException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 💡 ADVISORY: pg_advisory_xact_lock(showId)
+ * - Bookings of the same show queue on one advisory lock (across all app nodes)
+ * - No version clashes and no row-lock waits once the lock is held
+ * - Released automatically at commit / rollback
+ * - The transaction timeout bounds how long a booking waits in the queue
+ *
+ * Note: the key space is shared with any other pg_advisory_xact_lock(bigint) user.
+ */
+@Component
+public class AdvisorySeatLockStrategy implements SeatLockStrategy {
+
+    private final SeatInventoryRepository seatInventoryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SeatLockMetrics metrics;
+
+    public AdvisorySeatLockStrategy(SeatInventoryRepository seatInventoryRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    BookingProperties bookingProperties,
+                                    SeatLockMetrics metrics) {
+        this.seatInventoryRepository = seatInventoryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setTimeout(bookingProperties.getLocking().getAdvisoryTimeoutSeconds());
+        this.metrics = metrics;
+    }
+
+    @Override
+    public SeatLockStrategyType type() {
+        return SeatLockStrategyType.ADVISORY;
+    }
+
+    @Override
+    public <T> T execute(Long showId, List<Long> seatInventoryIds, Function<List<SeatInventory>, T> work) {
+        return transactionTemplate.execute(status -> {
+            long started = System.nanoTime();
+            try {
+                // Fast path without waiting; only queue when someone else holds the lock
+                if (!seatInventoryRepository.tryAcquireShowAdvisoryLock(showId)) {
+                    metrics.contention(type());
+                    seatInventoryRepository.acquireShowAdvisoryLock(showId);
+                }
+            } catch (DataAccessException ex) {
+                throw new BusinessException("SEAT_LOCK_CONTENDED",
+                        "Too many bookings for this show right now, please try again");
+            } finally {
+                metrics.waited(type(), System.nanoTime() - started);
+            }
+            return work.apply(seatInventoryRepository.findByShowIdAndIds(showId, seatInventoryIds));
+        });
+    }
+}
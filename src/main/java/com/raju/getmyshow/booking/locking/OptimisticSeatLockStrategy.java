@@ -0,0 +1,88 @@
+package com.raju.getmyshow.booking.locking;
+
+import com.raju.getmyshow.booking.config.BookingProperties;
+import com.raju.getmyshow.booking.entity.SeatInventory;
+import com.raju.getmyshow.booking.repository.SeatInventoryRepository;
+import com.raju.getmyshow.shared.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * 💡 OPTIMISTIC: no DB locks while reading
+ * - SeatInventory.@Version makes the UPDATE fail when another booking changed the row
+ * - The whole transaction is retried (re-read, re-check) up to maxAttempts
+ * - Exponential backoff with jitter so retries do not collide again
+ *
+ * Good for normal traffic. On a hot show retries pile up -> use PESSIMISTIC_NOWAIT / ADVISORY.
+ */
+@Component
+@Slf4j
+public class OptimisticSeatLockStrategy implements SeatLockStrategy {
+
+    private final SeatInventoryRepository seatInventoryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BookingProperties bookingProperties;
+    private final SeatLockMetrics metrics;
+
+    public OptimisticSeatLockStrategy(SeatInventoryRepository seatInventoryRepository,
+                                      PlatformTransactionManager transactionManager,
+                                      BookingProperties bookingProperties,
+                                      SeatLockMetrics metrics) {
+        this.seatInventoryRepository = seatInventoryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.bookingProperties = bookingProperties;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public SeatLockStrategyType type() {
+        return SeatLockStrategyType.OPTIMISTIC;
+    }
+
+    @Override
+    public <T> T execute(Long showId, List<Long> seatInventoryIds, Function<List<SeatInventory>, T> work) {
+        BookingProperties.Locking locking = bookingProperties.getLocking();
+        int maxAttempts = Math.max(1, locking.getMaxAttempts());
+        long started = System.nanoTime();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                T result = transactionTemplate.execute(status ->
+                        work.apply(seatInventoryRepository.findByShowIdAndIds(showId, seatInventoryIds)));
+                metrics.waited(type(), System.nanoTime() - started);
+                return result;
+            } catch (OptimisticLockingFailureException ex) {
+                metrics.contention(type());
+
+                if (attempt >= maxAttempts) {
+                    metrics.waited(type(), System.nanoTime() - started);
+                    log.warn("Optimistic seat lock gave up after {} attempts, show: {}", attempt, showId);
+                    throw new BusinessException("SEAT_LOCK_CONTENDED",
+                            "Seats are being booked by someone else, please try again");
+                }
+
+                metrics.retry(type());
+                backoff(attempt, locking);
+            }
+        }
+    }
+
+    private void backoff(int attempt, BookingProperties.Locking locking) {
+        long ceiling = Math.min(locking.getMaxBackoffMillis(),
+                locking.getInitialBackoffMillis() << (attempt - 1));
+        long sleepMillis = ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1);
+        try {
+            Thread.sleep(sleepMillis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("SEAT_LOCK_INTERRUPTED", "Booking was interrupted");
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.raju.getmyshow.booking.locking;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-strategy metrics, tagged with strategy=OPTIMISTIC|PESSIMISTIC_NOWAIT|ADVISORY
+ *
+ * - booking.seat.lock.contention : attempts that hit another booking (version clash, NOWAIT failure, lock timeout)
+ * - booking.seat.lock.retries    : optimistic re-attempts
+ * - booking.seat.lock.wait       : time spent acquiring seats (lock wait + retries/backoff)
+ */
+@Component
+public class SeatLockMetrics {
+
+    private final Map<SeatLockStrategyType, Counter> contention = new EnumMap<>(SeatLockStrategyType.class);
+    private final Map<SeatLockStrategyType, Counter> retries = new EnumMap<>(SeatLockStrategyType.class);
+    private final Map<SeatLockStrategyType, Timer> wait = new EnumMap<>(SeatLockStrategyType.class);
+
+    public SeatLockMetrics(MeterRegistry meterRegistry) {
+        for (SeatLockStrategyType type : SeatLockStrategyType.values()) {
+            contention.put(type, Counter.builder("booking.seat.lock.contention")
+                    .tag("strategy", type.name())
+                    .register(meterRegistry));
+            retries.put(type, Counter.builder("booking.seat.lock.retries")
+                    .tag("strategy", type.name())
+                    .register(meterRegistry));
+            wait.put(type, Timer.builder("booking.seat.lock.wait")
+                    .tag("strategy", type.name())
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry));
+        }
+    }
+
+    public void contention(SeatLockStrategyType type) {
+        contention.get(type).increment();
+    }
+
+    public void retry(SeatLockStrategyType type) {
+        retries.get(type).increment();
+    }
+
+    public void waited(SeatLockStrategyType type, long nanos) {
+        wait.get(type).record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
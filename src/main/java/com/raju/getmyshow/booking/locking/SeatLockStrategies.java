@@ -0,0 +1,30 @@
+package com.raju.getmyshow.booking.locking;
+
+import com.raju.getmyshow.booking.config.BookingProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Picks the SeatLockStrategy for a show:
+ * booking.locking.show-strategies[showId] if set, otherwise booking.locking.strategy
+ */
+@Component
+public class SeatLockStrategies {
+
+    private final Map<SeatLockStrategyType, SeatLockStrategy> strategies = new EnumMap<>(SeatLockStrategyType.class);
+    private final BookingProperties bookingProperties;
+
+    public SeatLockStrategies(List<SeatLockStrategy> strategies, BookingProperties bookingProperties) {
+        strategies.forEach(strategy -> this.strategies.put(strategy.type(), strategy));
+        this.bookingProperties = bookingProperties;
+    }
+
+    public SeatLockStrategy forShow(Long showId) {
+        BookingProperties.Locking locking = bookingProperties.getLocking();
+        SeatLockStrategyType type = locking.getShowStrategies().getOrDefault(showId, locking.getStrategy());
+        return strategies.get(type);
+    }
+}
@@ -0,0 +1,22 @@
+package com.raju.getmyshow.booking.locking;
+
+import com.raju.getmyshow.booking.entity.SeatInventory;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 💡 SPI: how concurrent bookings of the same seats are kept apart
+ *
+ * An implementation owns the transaction: it loads the requested seats under
+ * its concurrency control and runs {@code work} on them in that transaction.
+ * {@code work} checks availability, locks the seats and writes the booking.
+ *
+ * Selected globally or per show through booking.locking.* (see SeatLockStrategies)
+ */
+public interface SeatLockStrategy {
+
+    SeatLockStrategyType type();
+
+    <T> T execute(Long showId, List<Long> seatInventoryIds, Function<List<SeatInventory>, T> work);
+}
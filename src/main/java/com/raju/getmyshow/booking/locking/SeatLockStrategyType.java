@@ -0,0 +1,7 @@
+package com.raju.getmyshow.booking.locking;
+
+public enum SeatLockStrategyType {
+    OPTIMISTIC,          // @Version check at commit, bounded retry with backoff
+    PESSIMISTIC_NOWAIT,  // SELECT ... FOR UPDATE NOWAIT, rows sorted by id
+    ADVISORY             // pg_advisory_xact_lock(showId): one booking per show at a time
+}
@@ -0,0 +1,16 @@
+package com.raju.getmyshow.booking.outbox;
+
+/**
+ * Booking domain events published through the outbox (routing key: booking.created, ...)
+ *
+ * 💡 WRITTEN BY
+ * - CREATED  : BookingWriter (STANDARD / SHARDED), bookSeatsAtomically's SQL (ATOMIC)
+ * - EXPIRED  : expireOverduePendingBookings' SQL (expiry sweep)
+ * - CONFIRMED / CANCELLED : whoever calls Booking.confirm() / cancel(), via BookingOutbox
+ */
+public enum BookingEventType {
+    BOOKING_CREATED,
+    BOOKING_CONFIRMED,
+    BOOKING_EXPIRED,
+    BOOKING_CANCELLED
+}
@@ -0,0 +1,80 @@
+package com.raju.getmyshow.booking.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.raju.getmyshow.booking.entity.Booking;
+import com.raju.getmyshow.shared.entity.OutboxEvent;
+import com.raju.getmyshow.shared.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 💡 PURPOSE: Append a booking event to the outbox, in the caller's transaction
+ * - Must run inside the transaction that changes the booking: the event commits
+ *   (and is relayed) only if the change does
+ * - Only an INSERT into outbox, batched with the booking's own inserts; the broker
+ *   is never called on the request thread
+ *
+ * 💡 PAYLOAD: bookingId, bookingReference, userId, showId, status, totalSeats,
+ *   totalAmount, occurredAt (+ seatInventoryIds on BOOKING_CREATED)
+ * - The SQL paths (bookSeatsAtomically, expireOverduePendingBookings) build the same
+ *   keys with jsonb_build_object: keep them in step
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingOutbox {
+
+    static final String AGGREGATE_TYPE = "Booking";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    public void bookingCreated(Booking booking, List<Long> seatInventoryIds) {
+        Map<String, Object> payload = payload(booking);
+        payload.put("seatInventoryIds", seatInventoryIds.stream().sorted().toList());
+        append(booking, BookingEventType.BOOKING_CREATED, payload);
+    }
+
+    /**
+     * After Booking.confirm() / expire() / cancel(), with the booking's new status
+     */
+    public void statusChanged(Booking booking, BookingEventType eventType) {
+        append(booking, eventType, payload(booking));
+    }
+
+    private void append(Booking booking, BookingEventType eventType, Map<String, Object> payload) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .aggregateType(AGGREGATE_TYPE)
+                .aggregateId(booking.getId())
+                .eventType(eventType.name())
+                .payload(toJson(payload))
+                .build());
+    }
+
+    private Map<String, Object> payload(Booking booking) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("bookingId", booking.getId());
+        payload.put("bookingReference", booking.getBookingReference());
+        payload.put("userId", booking.getUserId());
+        payload.put("showId", booking.getShowId());
+        payload.put("status", booking.getStatus().name());
+        payload.put("totalSeats", booking.getTotalSeats());
+        payload.put("totalAmount", booking.getTotalAmount());
+        payload.put("occurredAt", LocalDateTime.now());
+        return payload;
+    }
+
+    private String toJson(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException ex) {
+            // Only ids, numbers, strings and a timestamp: cannot happen with the app's ObjectMapper
+            throw new IllegalStateException("Booking event payload not serializable", ex);
+        }
+    }
+}
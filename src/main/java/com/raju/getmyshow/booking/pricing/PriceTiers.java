@@ -0,0 +1,61 @@
+package com.raju.getmyshow.booking.pricing;
+
+import com.raju.getmyshow.eventcatalog.domain.enums.SeatType;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Immutable tier matrix of ONE show: seat type -> price.
+ *
+ * 💡 A seat's price = its seat_inventory override if any, else its tier,
+ *   else the show's base price (same COALESCE as book_seats_atomic)
+ *
+ * 💡 revision = SUM(show_price_tiers.revision): changes with every reprice,
+ *   the same number on every node
+ */
+public final class PriceTiers {
+
+    @Getter
+    private final Long showId;
+
+    @Getter
+    private final long revision;
+
+    private final BigDecimal basePrice;
+    private final BigDecimal[] prices;
+
+    public PriceTiers(Long showId, BigDecimal basePrice, Map<SeatType, BigDecimal> tierPrices, long revision) {
+        this.showId = showId;
+        this.basePrice = basePrice;
+        this.revision = revision;
+        this.prices = new BigDecimal[SeatType.values().length];
+        tierPrices.forEach((seatType, price) -> prices[seatType.ordinal()] = price);
+    }
+
+    public BigDecimal priceOf(SeatType seatType) {
+        BigDecimal price = prices[seatType.ordinal()];
+        return price != null ? price : basePrice;
+    }
+
+    /**
+     * @param override seat_inventory.price, null when the seat uses its tier
+     */
+    public BigDecimal priceOf(SeatType seatType, BigDecimal override) {
+        return override != null ? override : priceOf(seatType);
+    }
+
+    /**
+     * Price of every seat type, in enum order
+     */
+    public Map<SeatType, BigDecimal> asMap() {
+        Map<SeatType, BigDecimal> map = new EnumMap<>(SeatType.class);
+        for (SeatType seatType : SeatType.values()) {
+            map.put(seatType, priceOf(seatType));
+        }
+        return Collections.unmodifiableMap(map);
+    }
+}
@@ -0,0 +1,51 @@
+package com.raju.getmyshow.booking.pricing;
+
+import com.raju.getmyshow.booking.config.BookingProperties;
+import com.raju.getmyshow.eventcatalog.domain.enums.SeatType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Default tier price of a seat type: show base price * booking.inventory.price-multipliers[seat type].
+ *
+ * 💡 Only used to create a show's show_price_tiers rows (and for shows that have none yet);
+ *   after that the tiers are the price, see ShowPricingService
+ */
+@Component
+@RequiredArgsConstructor
+public class SeatPricing {
+
+    private final BookingProperties bookingProperties;
+
+    public BigDecimal priceOf(BigDecimal basePrice, SeatType seatType) {
+        return basePrice.multiply(multiplierOf(seatType)).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Every seat type as a Postgres array literal, e.g. "{REGULAR,PREMIUM,...}"
+     */
+    public String seatTypesLiteral() {
+        return Arrays.stream(SeatType.values())
+                .map(SeatType::name)
+                .collect(Collectors.joining(",", "{", "}"));
+    }
+
+    /**
+     * Multipliers in the same order as {@link #seatTypesLiteral()}, e.g. "{1,1.5,...}"
+     */
+    public String multipliersLiteral() {
+        return Arrays.stream(SeatType.values())
+                .map(type -> multiplierOf(type).toPlainString())
+                .collect(Collectors.joining(",", "{", "}"));
+    }
+
+    private BigDecimal multiplierOf(SeatType seatType) {
+        return bookingProperties.getInventory().getPriceMultipliers()
+                .getOrDefault(seatType, BigDecimal.ONE);
+    }
+}
@@ -0,0 +1,103 @@
+package com.raju.getmyshow.booking.pricing;
+
+import com.raju.getmyshow.booking.config.BookingProperties;
+import com.raju.getmyshow.booking.entity.ShowPriceTier;
+import com.raju.getmyshow.booking.repository.ShowPriceTierRepository;
+import com.raju.getmyshow.eventcatalog.domain.entity.Show;
+import com.raju.getmyshow.eventcatalog.domain.enums.SeatType;
+import com.raju.getmyshow.eventcatalog.repository.ShowRepository;
+import com.raju.getmyshow.shared.exception.NotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ConcurrentLruCache;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 💡 PURPOSE: A show's tier matrix in memory, a handful of prices per show
+ * - Seat map prices are computed from it, no per-row price reads
+ * - Booking totals reload it first (see reload): one price source with book_seats_atomic
+ * - LRU bounded by booking.pricing.max-shows
+ * - Reloaded after booking.pricing.cache-seconds so other nodes' reprices become visible;
+ *   a reprice on this node invalidates it right after commit
+ */
+@Component
+@Slf4j
+public class ShowPriceTierCache {
+
+    private final ShowPriceTierRepository showPriceTierRepository;
+    private final ShowRepository showRepository;
+    private final BookingProperties bookingProperties;
+    private final ConcurrentLruCache<Long, Entry> tiers;
+
+    public ShowPriceTierCache(ShowPriceTierRepository showPriceTierRepository,
+                              ShowRepository showRepository,
+                              BookingProperties bookingProperties) {
+        this.showPriceTierRepository = showPriceTierRepository;
+        this.showRepository = showRepository;
+        this.bookingProperties = bookingProperties;
+        this.tiers = new ConcurrentLruCache<>(bookingProperties.getPricing().getMaxShows(), this::load);
+    }
+
+    public PriceTiers get(Long showId) {
+        Entry entry = tiers.get(showId);
+        long maxAgeMillis = bookingProperties.getPricing().getCacheSeconds() * 1000L;
+        if (System.currentTimeMillis() - entry.loadedAtMillis() > maxAgeMillis) {
+            tiers.remove(showId);
+            entry = tiers.get(showId);
+        }
+        return entry.priceTiers();
+    }
+
+    /**
+     * Reads the show's tiers from the DB now and caches them. Booking totals use this,
+     * so they are priced from the same committed rows as book_seats_atomic, never from
+     * a copy up to cache-seconds old.
+     */
+    public PriceTiers reload(Long showId) {
+        tiers.remove(showId);
+        return tiers.get(showId).priceTiers();
+    }
+
+    /**
+     * Drops the show's tiers; inside a transaction only once it commits,
+     * so a reader never caches the pre-commit prices again.
+     */
+    public void invalidate(Long showId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            tiers.remove(showId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                tiers.remove(showId);
+            }
+        });
+    }
+
+    private Entry load(Long showId) {
+        Show show = showRepository.findById(showId)
+                .orElseThrow(() -> new NotFoundException("Show", showId));
+        List<ShowPriceTier> rows = showPriceTierRepository.findByShowId(showId);
+
+        Map<SeatType, BigDecimal> prices = new EnumMap<>(SeatType.class);
+        long revision = 0;
+        for (ShowPriceTier row : rows) {
+            prices.put(row.getSeatType(), row.getPrice());
+            revision += row.getRevision();
+        }
+
+        log.debug("Loaded {} price tiers of show {} (revision {})", rows.size(), showId, revision);
+        return new Entry(new PriceTiers(showId, show.getBasePrice(), prices, revision), System.currentTimeMillis());
+    }
+
+    private record Entry(PriceTiers priceTiers, long loadedAtMillis) {
+    }
+}
@@ -0,0 +1,91 @@
+package com.raju.getmyshow.booking.pricing;
+
+import com.raju.getmyshow.booking.availability.SeatAvailabilityEngine;
+import com.raju.getmyshow.booking.dto.response.PriceTiersResponse;
+import com.raju.getmyshow.booking.repository.ShowPriceTierRepository;
+import com.raju.getmyshow.eventcatalog.domain.entity.Show;
+import com.raju.getmyshow.eventcatalog.domain.enums.SeatType;
+import com.raju.getmyshow.eventcatalog.repository.ShowRepository;
+import com.raju.getmyshow.shared.exception.NotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+/**
+ * 💡 PURPOSE: Show pricing through show_price_tiers
+ * - Default tiers are created with the show's inventory (SeatInventoryMaterializer)
+ * - Repricing a seat type is ONE row upsert, whatever the number of seats;
+ *   seats with a per-seat override (seat_inventory.price) keep their price
+ * - After commit this node's tier cache and in-memory seat map switch to the
+ *   new prices; other nodes follow within booking.pricing.cache-seconds
+ * - Bookings capture the price at booking time (booking_seats.price), a reprice
+ *   never changes existing bookings
+ */
+@Service
+@Slf4j
+public class ShowPricingService {
+
+    private final ShowPriceTierRepository showPriceTierRepository;
+    private final ShowPriceTierCache showPriceTierCache;
+    private final ShowRepository showRepository;
+    private final SeatAvailabilityEngine seatAvailabilityEngine;
+    private final SeatPricing seatPricing;
+    private final TransactionTemplate transactionTemplate;
+
+    public ShowPricingService(ShowPriceTierRepository showPriceTierRepository,
+                              ShowPriceTierCache showPriceTierCache,
+                              ShowRepository showRepository,
+                              SeatAvailabilityEngine seatAvailabilityEngine,
+                              SeatPricing seatPricing,
+                              PlatformTransactionManager transactionManager) {
+        this.showPriceTierRepository = showPriceTierRepository;
+        this.showPriceTierCache = showPriceTierCache;
+        this.showRepository = showRepository;
+        this.seatAvailabilityEngine = seatAvailabilityEngine;
+        this.seatPricing = seatPricing;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public PriceTiersResponse getPriceTiers(Long showId) {
+        return toResponse(showPriceTierCache.get(showId));
+    }
+
+    /**
+     * Creates the missing tiers of a show from its base price and the configured
+     * multipliers (existing tiers, e.g. repriced ones, are kept).
+     */
+    public void createDefaultTiers(Show show) {
+        Integer created = transactionTemplate.execute(status -> showPriceTierRepository.insertDefaults(
+                show.getId(), show.getBasePrice(), seatPricing.seatTypesLiteral(), seatPricing.multipliersLiteral()));
+        if (created != null && created > 0) {
+            showPriceTierCache.invalidate(show.getId());
+        }
+    }
+
+    public PriceTiersResponse reprice(Long showId, SeatType seatType, BigDecimal price) {
+        if (!showRepository.existsById(showId)) {
+            throw new NotFoundException("Show", showId);
+        }
+
+        Long revision = transactionTemplate.execute(status ->
+                showPriceTierRepository.upsertPrice(showId, seatType.name(), price));
+
+        showPriceTierCache.invalidate(showId);
+        PriceTiers priceTiers = showPriceTierCache.get(showId);
+        seatAvailabilityEngine.updatePriceTiers(showId, priceTiers);
+
+        log.info("Show {} repriced: {} -> {} (tier revision {})", showId, seatType, price, revision);
+        return toResponse(priceTiers);
+    }
+
+    private PriceTiersResponse toResponse(PriceTiers priceTiers) {
+        return PriceTiersResponse.builder()
+                .showId(priceTiers.getShowId())
+                .revision(priceTiers.getRevision())
+                .prices(priceTiers.asMap())
+                .build();
+    }
+}
@@ -1,7 +1,192 @@
 package com.raju.getmyshow.booking.repository;
 
 import com.raju.getmyshow.booking.entity.Booking;
+import com.raju.getmyshow.booking.repository.projection.AtomicBookingRow;
+import com.raju.getmyshow.booking.repository.projection.BookingHistoryRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
+
+    /**
+     * 💡 Single round trip booking (claim seats + booking + booking_seats + show counter)
+     * - seatInventoryIds is a Postgres array literal, e.g. "{11,12,13}"
+     * - counterStripes is booking.counter.stripes, the same stripe count ShowSeatCounter uses
+     * - The BOOKING_CREATED outbox event is inserted by the same statement (data-modifying
+     *   CTE), so it commits with the booking; payload keys as in BookingOutbox
+     * - @Transactional: query methods default to read-only, this one writes
+     */
+    @Transactional
+    @Query(value = """
+            WITH b AS (
+                SELECT *
+                FROM book_seats_atomic(:userId, :showId, CAST(:seatInventoryIds AS BIGINT[]),
+                                       :sessionId, :bookingReference, :lockMinutes, :counterStripes)
+            ),
+            event AS (
+                INSERT INTO outbox (aggregate_type, aggregate_id, event_type, payload)
+                SELECT 'Booking', b.booking_id, 'BOOKING_CREATED',
+                       jsonb_build_object('bookingId', b.booking_id,
+                                          'bookingReference', CAST(:bookingReference AS VARCHAR),
+                                          'userId', CAST(:userId AS BIGINT),
+                                          'showId', CAST(:showId AS BIGINT),
+                                          'status', 'PENDING',
+                                          'totalSeats', COUNT(*),
+                                          'totalAmount', b.total_amount,
+                                          'occurredAt', LOCALTIMESTAMP,
+                                          'seatInventoryIds', jsonb_agg(b.seat_inventory_id ORDER BY b.seat_inventory_id))
+                FROM b
+                WHERE b.outcome = 'BOOKED'
+                GROUP BY b.booking_id, b.total_amount
+            )
+            SELECT b.outcome           AS "outcome",
+                   b.booking_id        AS "bookingId",
+                   b.seat_inventory_id AS "seatInventoryId",
+                   b.seat_label        AS "seatLabel",
+                   b.seat_type         AS "seatType",
+                   b.price             AS "price",
+                   b.total_amount      AS "totalAmount",
+                   b.created_at        AS "createdAt",
+                   b.expires_at        AS "expiresAt",
+                   b.event_title       AS "eventTitle",
+                   b.show_start_time   AS "showStartTime"
+            FROM b
+            """, nativeQuery = true)
+    List<AtomicBookingRow> bookSeatsAtomically(@Param("userId") Long userId,
+                                               @Param("showId") Long showId,
+                                               @Param("seatInventoryIds") String seatInventoryIds,
+                                               @Param("sessionId") String sessionId,
+                                               @Param("bookingReference") String bookingReference,
+                                               @Param("lockMinutes") int lockMinutes,
+                                               @Param("counterStripes") int counterStripes);
+
+    /**
+     * 💡 Expiry sweep: move up to :batchSize overdue PENDING bookings to EXPIRED
+     * - FOR UPDATE SKIP LOCKED so parallel sweepers never wait on each other
+     * - Served by idx_bookings_pending_expired; the update joins on the full
+     *   primary key (id, created_at) so each row is found in its own partition
+     * - One BOOKING_EXPIRED outbox event per booking, inserted by the same statement
+     * - Caller must be in a read-write transaction
+     */
+    @Query(value = """
+            WITH expired AS (
+                SELECT id, created_at
+                FROM bookings
+                WHERE status = 'PENDING'
+                  AND expires_at IS NOT NULL
+                  AND expires_at < CURRENT_TIMESTAMP
+                ORDER BY expires_at
+                LIMIT :batchSize
+                FOR UPDATE SKIP LOCKED
+            ),
+            updated AS (
+                UPDATE bookings b
+                SET status = 'EXPIRED'
+                FROM expired
+                WHERE b.id = expired.id
+                  AND b.created_at = expired.created_at
+                RETURNING b.id, b.booking_reference, b.user_id, b.show_id, b.total_seats, b.total_amount
+            ),
+            events AS (
+                INSERT INTO outbox (aggregate_type, aggregate_id, event_type, payload)
+                SELECT 'Booking', u.id, 'BOOKING_EXPIRED',
+                       jsonb_build_object('bookingId', u.id,
+                                          'bookingReference', u.booking_reference,
+                                          'userId', u.user_id,
+                                          'showId', u.show_id,
+                                          'status', 'EXPIRED',
+                                          'totalSeats', u.total_seats,
+                                          'totalAmount', u.total_amount,
+                                          'occurredAt', LOCALTIMESTAMP)
+                FROM updated u
+                ORDER BY u.id
+            )
+            SELECT id FROM updated
+            """, nativeQuery = true)
+    List<Long> expireOverduePendingBookings(@Param("batchSize") int batchSize);
+
+    /**
+     * 💡 A booking by its reference
+     * - booking_references (V11) is unpartitioned: one PK probe, then the booking's own
+     *   partition (its created_at), instead of probing uq_booking_reference in every month
+     */
+    @Query(value = """
+            SELECT b.*
+            FROM booking_references r
+                     JOIN bookings b ON b.id = r.booking_id
+                AND b.created_at = r.booking_created_at
+            WHERE r.booking_reference = :bookingReference
+            """, nativeQuery = true)
+    Optional<Booking> findByBookingReference(@Param("bookingReference") String bookingReference);
+
+    /**
+     * 💡 Newest bookings of a user (first history page)
+     * - idx_bookings_user_history covers every bookings column read here
+     * - ORDER BY the partition key + LIMIT: partitions are read newest first and
+     *   the scan stops once :limit rows are found, older months are never opened
+     */
+    @Query(value = """
+            SELECT b.id                AS "bookingId",
+                   b.booking_reference AS "bookingReference",
+                   b.show_id           AS "showId",
+                   b.status            AS "status",
+                   b.total_seats       AS "totalSeats",
+                   b.total_amount      AS "totalAmount",
+                   b.created_at        AS "createdAt",
+                   s.event_title       AS "eventTitle",
+                   s.venue_name        AS "venueName",
+                   s.start_time        AS "showStartTime"
+            FROM bookings b
+                     JOIN shows s ON s.id = b.show_id
+            WHERE b.user_id = :userId
+            ORDER BY b.created_at DESC, b.id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<BookingHistoryRow> findLatestByUser(@Param("userId") Long userId,
+                                             @Param("limit") int limit);
+
+    /**
+     * 💡 Next history page: bookings strictly before the cursor (createdAt, id)
+     * - Keyset, not OFFSET: every page costs the same, however deep
+     * - created_at <= :createdAt is implied by the row comparison, spelled out so
+     *   partitions newer than the cursor are pruned
+     */
+    @Query(value = """
+            SELECT b.id                AS "bookingId",
+                   b.booking_reference AS "bookingReference",
+                   b.show_id           AS "showId",
+                   b.status            AS "status",
+                   b.total_seats       AS "totalSeats",
+                   b.total_amount      AS "totalAmount",
+                   b.created_at        AS "createdAt",
+                   s.event_title       AS "eventTitle",
+                   s.venue_name        AS "venueName",
+                   s.start_time        AS "showStartTime"
+            FROM bookings b
+                     JOIN shows s ON s.id = b.show_id
+            WHERE b.user_id = :userId
+              AND b.created_at <= :createdAt
+              AND (b.created_at, b.id) < (:createdAt, :id)
+            ORDER BY b.created_at DESC, b.id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<BookingHistoryRow> findByUserBefore(@Param("userId") Long userId,
+                                             @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") Long id,
+                                             @Param("limit") int limit);
+
+    /**
+     * Creates the monthly bookings / booking_seats partitions holding :day when missing,
+     * returns the bookings partition name
+     * - Caller must be in a read-write transaction
+     */
+    @Query(value = "SELECT create_booking_partitions(CAST(:day AS DATE))", nativeQuery = true)
+    String createPartitions(@Param("day") LocalDate day);
 }
@@ -0,0 +1,75 @@
+package com.raju.getmyshow.booking.repository;
+
+import com.raju.getmyshow.booking.entity.SeatInventoryArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface SeatInventoryArchiveRepository extends JpaRepository<SeatInventoryArchive, Long> {
+
+    /**
+     * COMPLETED shows that ended more than :graceHours ago and have no archive yet, oldest first
+     */
+    @Query(value = """
+            SELECT s.id
+            FROM shows s
+            WHERE s.status = 'COMPLETED'
+              AND s.end_time < CURRENT_TIMESTAMP - make_interval(hours => :graceHours)
+              AND NOT EXISTS (SELECT 1 FROM seat_inventory_archive a WHERE a.show_id = s.id)
+            ORDER BY s.end_time
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> findShowsToArchive(@Param("graceHours") int graceHours,
+                                  @Param("limit") int limit);
+
+    /**
+     * Archives whose hot rows are not all deleted yet (interrupted run, or another node's)
+     */
+    @Query(value = """
+            SELECT a.show_id
+            FROM seat_inventory_archive a
+            WHERE a.purged_at IS NULL
+            ORDER BY a.archived_at
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> findUnpurgedShowIds(@Param("limit") int limit);
+
+    /**
+     * 💡 Writes a show's archive row
+     * - Array columns are Postgres array literals, e.g. "{101,500}" (see ArchivedSeatMap)
+     * - ON CONFLICT DO NOTHING: the first archive of a show wins, another node's
+     *   concurrent run inserts nothing
+     *
+     * @return 1 when inserted, 0 when the show already had an archive
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO seat_inventory_archive (show_id, screen_id, show_date, seat_count, seat_id_runs,
+                                                statuses, booking_ids, inventory_id_runs, booked_seats)
+            VALUES (:showId, :screenId, CAST(:showDate AS DATE), :seatCount, CAST(:seatIdRuns AS BIGINT[]),
+                    :statuses, CAST(:bookingIds AS BIGINT[]), CAST(:inventoryIdRuns AS BIGINT[]), :bookedSeats)
+            ON CONFLICT (show_id) DO NOTHING
+            """, nativeQuery = true)
+    int insertArchive(@Param("showId") Long showId,
+                      @Param("screenId") Long screenId,
+                      @Param("showDate") LocalDate showDate,
+                      @Param("seatCount") int seatCount,
+                      @Param("seatIdRuns") String seatIdRuns,
+                      @Param("statuses") byte[] statuses,
+                      @Param("bookingIds") String bookingIds,
+                      @Param("inventoryIdRuns") String inventoryIdRuns,
+                      @Param("bookedSeats") int bookedSeats);
+
+    @Modifying
+    @Query(value = """
+            UPDATE seat_inventory_archive
+            SET purged_at = CURRENT_TIMESTAMP
+            WHERE show_id = :showId
+              AND purged_at IS NULL
+            """, nativeQuery = true)
+    int markPurged(@Param("showId") Long showId);
+}
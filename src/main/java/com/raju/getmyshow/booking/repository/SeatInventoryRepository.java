@@ -1,12 +1,268 @@
 package com.raju.getmyshow.booking.repository;
 
 import com.raju.getmyshow.booking.entity.SeatInventory;
-import com.raju.getmyshow.booking.entity.SeatStatus;
+import com.raju.getmyshow.booking.repository.projection.InventorySeatRow;
+import com.raju.getmyshow.booking.repository.projection.MaterializedChunkRow;
+import com.raju.getmyshow.booking.repository.projection.ReleasedSeatRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface SeatInventoryRepository extends JpaRepository<SeatInventory, Long> {
 
-    List<SeatInventory> findByShowIdAndSeatStatus(Long showId, SeatStatus seatStatus);
+    /**
+     * All rows of a show from its partition only (seat_inventory is partitioned by show_date, V9)
+     */
+    List<SeatInventory> findByShowIdAndShowDate(Long showId, LocalDate showDate);
+
+    /**
+     * Creates the monthly partition holding :day when missing, returns its name
+     * - Caller must be in a read-write transaction
+     */
+    @Query(value = "SELECT create_seat_inventory_partition(CAST(:day AS DATE))", nativeQuery = true)
+    String createPartition(@Param("day") LocalDate day);
+
+    /**
+     * 💡 Rows of a show by id, from the show's partition only
+     * - A lookup by id alone (findAllById) probes every partition: the PK is (id, show_date)
+     * - show_date is the show's CURRENT start date, read in the same statement, so a
+     *   reschedule (which moves the rows, V9) is seen together with its rows;
+     *   the subquery is an initplan, Postgres prunes the other partitions at run time
+     * - Ids of other shows are ignored
+     */
+    @Query(value = """
+            SELECT si.*
+            FROM seat_inventory si
+            WHERE si.show_id = :showId
+              AND si.show_date = (SELECT CAST(sh.start_time AS DATE) FROM shows sh WHERE sh.id = :showId)
+              AND si.id IN (:ids)
+            """, nativeQuery = true)
+    List<SeatInventory> findByShowIdAndIds(@Param("showId") Long showId,
+                                           @Param("ids") Collection<Long> ids);
+
+    /**
+     * SELECT ... FOR UPDATE NOWAIT, rows in id order, show's partition only (as findByShowIdAndIds)
+     * - Fails with PessimisticLockingFailureException when another transaction holds a row
+     */
+    @Query(value = """
+            SELECT si.*
+            FROM seat_inventory si
+            WHERE si.show_id = :showId
+              AND si.show_date = (SELECT CAST(sh.start_time AS DATE) FROM shows sh WHERE sh.id = :showId)
+              AND si.id IN (:ids)
+            ORDER BY si.id
+            FOR UPDATE OF si NOWAIT
+            """, nativeQuery = true)
+    List<SeatInventory> findByShowIdAndIdsForUpdateNoWait(@Param("showId") Long showId,
+                                                          @Param("ids") List<Long> ids);
+
+    /**
+     * Transaction-scoped advisory lock per show, released at commit/rollback
+     */
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(:showId)", nativeQuery = true)
+    Integer acquireShowAdvisoryLock(@Param("showId") Long showId);
+
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:showId)", nativeQuery = true)
+    boolean tryAcquireShowAdvisoryLock(@Param("showId") Long showId);
+
+    /**
+     * 💡 Expiry sweep: claim up to :batchSize expired locks and release them in one statement
+     * - FOR UPDATE SKIP LOCKED: rows claimed by another node's sweep (or a booking in flight) are skipped
+     * - Oldest expiry first, served by idx_inventory_expired_locks
+     * - Caller must be in a read-write transaction
+     */
+    @Query(value = """
+            WITH expired AS (
+                SELECT id
+                FROM seat_inventory
+                WHERE status = 'LOCKED'
+                  AND lock_expires_at < CURRENT_TIMESTAMP
+                ORDER BY lock_expires_at
+                LIMIT :batchSize
+                FOR UPDATE SKIP LOCKED
+            )
+            UPDATE seat_inventory si
+            SET status          = 'AVAILABLE',
+                locked_at       = NULL,
+                locked_by       = NULL,
+                lock_expires_at = NULL,
+                booking_id      = NULL,
+                version         = si.version + 1
+            FROM expired
+            WHERE si.id = expired.id
+            RETURNING si.id AS "seatInventoryId", si.show_id AS "showId"
+            """, nativeQuery = true)
+    List<ReleasedSeatRow> releaseExpiredLocks(@Param("batchSize") int batchSize);
+
+    /**
+     * Seconds since the oldest still-unreleased lock expired (null when nothing is overdue)
+     */
+    @Query(value = """
+            SELECT CAST(EXTRACT(EPOCH FROM (CURRENT_TIMESTAMP - MIN(lock_expires_at))) AS DOUBLE PRECISION)
+            FROM seat_inventory
+            WHERE status = 'LOCKED'
+              AND lock_expires_at < CURRENT_TIMESTAMP
+            """, nativeQuery = true)
+    Double findExpiredLockLagSeconds();
+
+    /**
+     * 💡 Inventory for the next :chunkSize seats (by id) of the show's screen, one statement
+     * - INSERT ... SELECT FROM seats: no row ever passes through the JVM
+     * - Ids: ONE nextval per chunk, rows take the pooled block (hi - chunkSize, hi]
+     *   in seat order, same contract as Hibernate's pooled generator (see V6),
+     *   so :chunkSize must equal the sequence increment
+     * - ON CONFLICT (show_id, seat_id, show_date) DO NOTHING: re-running is safe
+     * - :showDate = the show's start date, its partition must exist
+     * - No price: seats cost their show_price_tiers price
+     * - Caller must be in a read-write transaction
+     */
+    @Query(value = """
+            WITH chunk AS (
+                SELECT c.id, c.is_blocked, ROW_NUMBER() OVER (ORDER BY c.id) AS n
+                FROM (SELECT s.id, s.is_blocked
+                      FROM seats s
+                      WHERE s.screen_id = :screenId
+                        AND s.id > :afterSeatId
+                      ORDER BY s.id
+                      LIMIT :chunkSize) c
+            ),
+            id_block AS (
+                SELECT nextval('seat_inventory_id_seq') AS hi
+                WHERE EXISTS (SELECT 1 FROM chunk)
+            ),
+            inserted AS (
+                INSERT INTO seat_inventory (id, show_id, seat_id, show_date, status)
+                SELECT b.hi - :chunkSize + c.n,
+                       :showId,
+                       c.id,
+                       CAST(:showDate AS DATE),
+                       CASE WHEN c.is_blocked THEN 'BLOCKED' ELSE 'AVAILABLE' END
+                FROM chunk c
+                         CROSS JOIN id_block b
+                ON CONFLICT (show_id, seat_id, show_date) DO NOTHING
+                RETURNING status
+            )
+            SELECT (SELECT MAX(id) FROM chunk)                             AS "lastSeatId",
+                   (SELECT COUNT(*) FROM chunk)                            AS "seats",
+                   (SELECT COUNT(*) FROM inserted)                         AS "inserted",
+                   (SELECT COUNT(*) FROM inserted WHERE status = 'AVAILABLE') AS "available"
+            """, nativeQuery = true)
+    MaterializedChunkRow materializeChunk(@Param("showId") Long showId,
+                                          @Param("showDate") LocalDate showDate,
+                                          @Param("screenId") Long screenId,
+                                          @Param("afterSeatId") long afterSeatId,
+                                          @Param("chunkSize") int chunkSize);
+
+    /**
+     * 💡 SPARSE shows: create the rows of the given seats on their first lock
+     * - Ids from seat_inventory_sparse_id_seq (V7, INCREMENT 1): a few rows per
+     *   request, no pooled block of seat_inventory_id_seq is used up for them
+     * - No price, same as materializeChunk
+     * - Seats of other screens are ignored, existing rows are left alone
+     * - seatIds is a Postgres array literal, e.g. "{101,102}"
+     * - Caller must be in a read-write transaction
+     *
+     * @return number of rows inserted
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO seat_inventory (id, show_id, seat_id, show_date, status)
+            SELECT nextval('seat_inventory_sparse_id_seq'),
+                   :showId,
+                   s.id,
+                   CAST(:showDate AS DATE),
+                   CASE WHEN s.is_blocked THEN 'BLOCKED' ELSE 'AVAILABLE' END
+            FROM seats s
+            WHERE s.screen_id = :screenId
+              AND s.id = ANY (CAST(:seatIds AS BIGINT[]))
+              AND NOT EXISTS (SELECT 1
+                              FROM seat_inventory si
+                              WHERE si.show_id = :showId
+                                AND si.show_date = CAST(:showDate AS DATE)
+                                AND si.seat_id = s.id)
+            ORDER BY s.id
+            ON CONFLICT (show_id, seat_id, show_date) DO NOTHING
+            """, nativeQuery = true)
+    int materializeSeats(@Param("showId") Long showId,
+                         @Param("showDate") LocalDate showDate,
+                         @Param("screenId") Long screenId,
+                         @Param("seatIds") String seatIds);
+
+    /**
+     * 💡 SPARSE shows: BLOCKED rows for the layout-blocked seats, created with the show
+     * - The returned count is what comes off the show's seat counter: re-running inserts
+     *   nothing and returns 0, so the seats are subtracted exactly once (as in FULL mode)
+     * - Ids as in materializeSeats, no price either
+     * - Caller must be in a read-write transaction
+     *
+     * @return number of rows inserted
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO seat_inventory (id, show_id, seat_id, show_date, status)
+            SELECT nextval('seat_inventory_sparse_id_seq'),
+                   :showId,
+                   s.id,
+                   CAST(:showDate AS DATE),
+                   'BLOCKED'
+            FROM seats s
+            WHERE s.screen_id = :screenId
+              AND s.is_blocked
+            ORDER BY s.id
+            ON CONFLICT (show_id, seat_id, show_date) DO NOTHING
+            """, nativeQuery = true)
+    int materializeBlockedSeats(@Param("showId") Long showId,
+                                @Param("showDate") LocalDate showDate,
+                                @Param("screenId") Long screenId);
+
+    /**
+     * Rows of a show by seat id, from the show's partition only (as findByShowIdAndIds)
+     */
+    @Query(value = """
+            SELECT si.*
+            FROM seat_inventory si
+            WHERE si.show_id = :showId
+              AND si.show_date = (SELECT CAST(sh.start_time AS DATE) FROM shows sh WHERE sh.id = :showId)
+              AND si.seat_id IN (:seatIds)
+            """, nativeQuery = true)
+    List<SeatInventory> findByShowIdAndSeatIdIn(@Param("showId") Long showId,
+                                                @Param("seatIds") Collection<Long> seatIds);
+
+    /**
+     * Status and booking of every row of a show, no entities (archiving, see SeatInventoryArchiver)
+     */
+    @Query(value = """
+            SELECT si.id AS "seatInventoryId", si.seat_id AS "seatId", si.status AS "status", si.booking_id AS "bookingId"
+            FROM seat_inventory si
+            WHERE si.show_id = :showId
+              AND si.show_date = CAST(:showDate AS DATE)
+            """, nativeQuery = true)
+    List<InventorySeatRow> findSeatStates(@Param("showId") Long showId,
+                                         @Param("showDate") LocalDate showDate);
+
+    /**
+     * 💡 Deletes up to :batchSize rows of an archived show
+     * - Short transactions, index and vacuum work spread over many batches
+     * - Caller must be in a read-write transaction
+     *
+     * @return number of rows deleted, less than :batchSize once the show is empty
+     */
+    @Modifying
+    @Query(value = """
+            DELETE FROM seat_inventory
+            WHERE show_date = CAST(:showDate AS DATE)
+              AND id IN (SELECT si.id
+                         FROM seat_inventory si
+                         WHERE si.show_id = :showId
+                           AND si.show_date = CAST(:showDate AS DATE)
+                         LIMIT :batchSize)
+            """, nativeQuery = true)
+    int deleteBatchOfShow(@Param("showId") Long showId,
+                          @Param("showDate") LocalDate showDate,
+                          @Param("batchSize") int batchSize);
 }
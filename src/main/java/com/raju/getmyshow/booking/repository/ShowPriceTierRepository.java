@@ -0,0 +1,53 @@
+package com.raju.getmyshow.booking.repository;
+
+import com.raju.getmyshow.booking.entity.ShowPriceTier;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface ShowPriceTierRepository extends JpaRepository<ShowPriceTier, ShowPriceTier.Key> {
+
+    List<ShowPriceTier> findByShowId(Long showId);
+
+    /**
+     * 💡 Default tiers of a new show: base price * multiplier per seat type
+     * - seatTypes / multipliers are Postgres array literals, e.g. "{VIP,PREMIUM}" / "{2.0,1.5}"
+     * - Existing tiers are left alone (re-running, or a show repriced before its inventory exists)
+     *
+     * @return number of tiers created
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO show_price_tiers (show_id, seat_type, price)
+            SELECT :showId, r.seat_type, ROUND(:basePrice * r.multiplier, 2)
+            FROM unnest(CAST(:seatTypes AS VARCHAR[]), CAST(:multipliers AS NUMERIC[])) AS r(seat_type, multiplier)
+            ON CONFLICT (show_id, seat_type) DO NOTHING
+            """, nativeQuery = true)
+    int insertDefaults(@Param("showId") Long showId,
+                       @Param("basePrice") BigDecimal basePrice,
+                       @Param("seatTypes") String seatTypes,
+                       @Param("multipliers") String multipliers);
+
+    /**
+     * 💡 Reprice one seat type of a show: ONE row, whatever the number of seats
+     * - Creates the tier when it does not exist yet
+     * - Caller must be in a read-write transaction
+     *
+     * @return the tier's new revision
+     */
+    @Query(value = """
+            INSERT INTO show_price_tiers AS t (show_id, seat_type, price)
+            VALUES (:showId, :seatType, :price)
+            ON CONFLICT (show_id, seat_type) DO UPDATE
+                SET price    = EXCLUDED.price,
+                    revision = t.revision + 1
+            RETURNING t.revision
+            """, nativeQuery = true)
+    long upsertPrice(@Param("showId") Long showId,
+                     @Param("seatType") String seatType,
+                     @Param("price") BigDecimal price);
+}
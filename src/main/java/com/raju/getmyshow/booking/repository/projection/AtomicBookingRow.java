@@ -0,0 +1,41 @@
+package com.raju.getmyshow.booking.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One row returned by the book_seats_atomic() function (see V3 migration).
+ *
+ * outcome = BOOKED            -> one row per booked seat
+ * outcome = SEAT_CONFLICT     -> one row per seat that could not be claimed
+ * outcome = SHOW_NOT_FOUND / SHOW_NOT_BOOKABLE -> single row, nothing written
+ */
+public interface AtomicBookingRow {
+
+    String OUTCOME_BOOKED = "BOOKED";
+    String OUTCOME_SEAT_CONFLICT = "SEAT_CONFLICT";
+    String OUTCOME_SHOW_NOT_FOUND = "SHOW_NOT_FOUND";
+    String OUTCOME_SHOW_NOT_BOOKABLE = "SHOW_NOT_BOOKABLE";
+
+    String getOutcome();
+
+    Long getBookingId();
+
+    Long getSeatInventoryId();
+
+    String getSeatLabel();
+
+    String getSeatType();
+
+    BigDecimal getPrice();
+
+    BigDecimal getTotalAmount();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getExpiresAt();
+
+    String getEventTitle();
+
+    LocalDateTime getShowStartTime();
+}
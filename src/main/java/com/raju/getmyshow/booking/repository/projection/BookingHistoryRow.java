@@ -0,0 +1,31 @@
+package com.raju.getmyshow.booking.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One booking of a user's history page (BookingRepository.findLatestByUser / findByUserBefore).
+ */
+public interface BookingHistoryRow {
+
+    Long getBookingId();
+
+    String getBookingReference();
+
+    Long getShowId();
+
+    String getStatus();
+
+    Integer getTotalSeats();
+
+    BigDecimal getTotalAmount();
+
+    // Keyset cursor: (createdAt, bookingId) of the page's last row
+    LocalDateTime getCreatedAt();
+
+    String getEventTitle();
+
+    String getVenueName();
+
+    LocalDateTime getShowStartTime();
+}
@@ -0,0 +1,15 @@
+package com.raju.getmyshow.booking.repository.projection;
+
+/**
+ * State of one seat_inventory row, read by SeatInventoryRepository.findSeatStates (archiving).
+ */
+public interface InventorySeatRow {
+
+    Long getSeatInventoryId();
+
+    Long getSeatId();
+
+    String getStatus();
+
+    Long getBookingId();
+}
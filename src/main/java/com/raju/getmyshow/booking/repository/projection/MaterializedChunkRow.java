@@ -0,0 +1,19 @@
+package com.raju.getmyshow.booking.repository.projection;
+
+/**
+ * Result of one SeatInventoryRepository.materializeChunk call.
+ */
+public interface MaterializedChunkRow {
+
+    // Highest seat id of the chunk, null when no seats were left
+    Long getLastSeatId();
+
+    // Seats read from the screen layout
+    Long getSeats();
+
+    // Inventory rows actually inserted (the rest already existed)
+    Long getInserted();
+
+    // Inserted rows that went on sale (not BLOCKED)
+    Long getAvailable();
+}
@@ -0,0 +1,11 @@
+package com.raju.getmyshow.booking.repository.projection;
+
+/**
+ * One seat released by SeatInventoryRepository.releaseExpiredLocks (UPDATE ... RETURNING).
+ */
+public interface ReleasedSeatRow {
+
+    Long getSeatInventoryId();
+
+    Long getShowId();
+}
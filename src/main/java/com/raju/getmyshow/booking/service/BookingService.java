@@ -1,31 +1,40 @@
 package com.raju.getmyshow.booking.service;
 
+import com.raju.getmyshow.booking.availability.CompactSeatMapEncoder;
+import com.raju.getmyshow.booking.availability.SeatAvailabilityEngine;
+import com.raju.getmyshow.booking.availability.SeatMapVersion;
+import com.raju.getmyshow.booking.availability.SeatMapViews;
+import com.raju.getmyshow.booking.availability.ShowSeatMap;
 import com.raju.getmyshow.booking.config.BookingProperties;
 import com.raju.getmyshow.booking.dto.request.CreateBookingRequest;
 import com.raju.getmyshow.booking.dto.response.AvailableSeatsResponse;
 import com.raju.getmyshow.booking.dto.response.BookedSeatDto;
 import com.raju.getmyshow.booking.dto.response.BookingResponse;
+import com.raju.getmyshow.booking.dto.response.CompactSeatMapResponse;
 import com.raju.getmyshow.booking.dto.response.SeatDto;
-import com.raju.getmyshow.booking.entity.*;
+import com.raju.getmyshow.booking.entity.BookingStatus;
+import com.raju.getmyshow.booking.entity.SeatStatus;
+import com.raju.getmyshow.booking.executor.ShardedBookingExecutor;
+import com.raju.getmyshow.booking.inventory.SeatInventoryMaterializer;
+import com.raju.getmyshow.booking.locking.SeatLockStrategies;
+import com.raju.getmyshow.booking.locking.SeatLockStrategy;
 import com.raju.getmyshow.booking.repository.BookingRepository;
-import com.raju.getmyshow.booking.repository.BookingSeatRepository;
-import com.raju.getmyshow.booking.repository.SeatInventoryRepository;
-import com.raju.getmyshow.eventcatalog.domain.entity.Seat;
+import com.raju.getmyshow.booking.repository.projection.AtomicBookingRow;
 import com.raju.getmyshow.eventcatalog.domain.entity.Show;
-import com.raju.getmyshow.eventcatalog.repository.SeatRepository;
-import com.raju.getmyshow.eventcatalog.repository.ShowRepository;
+import com.raju.getmyshow.shared.audit.AuditLogger;
 import com.raju.getmyshow.shared.exception.BusinessException;
 import com.raju.getmyshow.shared.exception.NotFoundException;
+import com.raju.getmyshow.shared.exception.SeatConflictException;
+import com.raju.getmyshow.shared.id.IdService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -34,178 +43,219 @@ import java.util.stream.Collectors;
 public class BookingService {
 
     private final BookingRepository bookingRepository;
-    private final BookingSeatRepository bookingSeatRepository;
-    private final SeatInventoryRepository seatInventoryRepository;
-    private final ShowRepository showRepository;
-    private final SeatRepository seatRepository;
+    private final SeatAvailabilityEngine seatAvailabilityEngine;
+    private final SeatLockStrategies seatLockStrategies;
+    private final BookingWriter bookingWriter;
+    private final ShardedBookingExecutor shardedBookingExecutor;
+    private final IdService idService;
+    private final SeatInventoryMaterializer seatInventoryMaterializer;
+    private final AuditLogger auditLogger;
 
     private final BookingProperties bookingProperties;
 
-    @Transactional(readOnly = true)
+    /**
+     * 💡 Served from SeatAvailabilityEngine
+     * - No DB round trip while the show's seat map is in memory
+     * - No @Transactional: a read-only transaction would still borrow a pooled connection
+     */
     public AvailableSeatsResponse getAvailableSeats(Long showId) {
 
-        Show show = showRepository.findById(showId).orElseThrow(() -> {
-            return new NotFoundException("Show", showId);
-        });
+        ShowSeatMap seatMap = seatAvailabilityEngine.getSeatMap(showId);
 
-        List<SeatInventory> seatInventoryList = seatInventoryRepository.findByShowIdAndSeatStatus(showId,
-                SeatStatus.AVAILABLE);
+        long version = seatMap.getVersion();
+        int[] availablePositions = seatMap.availablePositions();
 
-        List<Long> seatIds = seatInventoryList.stream()
-                .map(new TestImpl())
-                .toList();
+        List<SeatDto> seatDtoList = new ArrayList<>(availablePositions.length);
+        for (int position : availablePositions) {
+            seatDtoList.add(SeatMapViews.toSeatDto(seatMap, position, SeatStatus.AVAILABLE));
+        }
+
+        return AvailableSeatsResponse.builder()
+                .showId(showId)
+                .eventTitle(seatMap.getEventTitle())
+                .totalSeats(seatMap.getTotalSeats())
+                .availableSeats(availablePositions.length)
+                .seats(seatDtoList)
+                .epoch(seatMap.getEpoch())
+                .version(version)
+                .priceRevision(seatMap.getPriceRevision())
+                .build();
+    }
+
+    /**
+     * Bitmap + run-length form of the full seat map, for very large venues
+     * (static seat data comes from the screen layout endpoint)
+     */
+    public CompactSeatMapResponse getCompactSeatMap(Long showId) {
+        return CompactSeatMapEncoder.encode(seatAvailabilityEngine.getSeatMap(showId));
+    }
 
-        Map<Long, Seat> seatMap = seatRepository.findAllById(seatIds)
-                .stream()
-                .collect(Collectors.toMap(Seat::getId, seat -> seat));
+    /**
+     * Current seat map epoch + version of a show (cheap: used for ETag / 304 before
+     * building a body), null when the show's seat map is not loaded on this node
+     */
+    public SeatMapVersion getSeatMapVersion(Long showId) {
+        return seatAvailabilityEngine.currentVersion(showId);
+    }
 
-        List<SeatDto> seatDtoList = seatInventoryList.stream().map((inventory) -> {
+    /**
+     * 💡 ?sinceVersion=N: only the seats whose status changed after N
+     * - Falls back to the full response when N is no longer in the show's change journal
+     *   (too old), or belongs to another epoch (another node, or a map loaded afresh)
+     *
+     * @param epoch epoch of the response N came from, null when the client did not send it
+     */
+    public AvailableSeatsResponse getSeatChangesSince(Long showId, long sinceVersion, Long epoch) {
 
-            Seat seat = seatMap.get(inventory.getSeatId());
+        ShowSeatMap seatMap = seatAvailabilityEngine.getSeatMap(showId);
 
-            return SeatDto.builder()
-                    .seatInventoryId(inventory.getId())
-                    .rowLabel(seat.getRowLabel())
-                    .seatNumber(seat.getSeatNumber())
-                    .seatType(seat.getSeatType().name())
-                    .price(inventory.getPrice())
-                    .isAccessible(seat.getIsAccessible())
-                    .isAisle(seat.getIsAisle())
-                    .displayLabel(seat.getDisplayLabel())
-                    .build();
+        ShowSeatMap.Delta delta = epoch == null || epoch == seatMap.getEpoch()
+                ? seatMap.changesSince(sinceVersion)
+                : null;
+        if (delta == null) {
+            return getAvailableSeats(showId);
+        }
 
-        }).toList();
+        List<SeatDto> changedSeats = delta.changes().stream()
+                .map(change -> SeatMapViews.toSeatDto(seatMap, change.position(), change.status()))
+                .toList();
 
         return AvailableSeatsResponse.builder()
                 .showId(showId)
-                .eventTitle(show.getEventTitle())
-                .totalSeats(show.getTotalSeats())
-                .availableSeats(show.getAvailableSeats())
-                .seats(seatDtoList)
+                .eventTitle(seatMap.getEventTitle())
+                .totalSeats(seatMap.getTotalSeats())
+                .availableSeats(seatMap.getAvailableCount())
+                .seats(changedSeats)
+                .epoch(seatMap.getEpoch())
+                .version(delta.toVersion())
+                .sinceVersion(delta.fromVersion())
+                .priceRevision(seatMap.getPriceRevision())
                 .build();
     }
 
     /**
-     * 💡 CREATE BOOKING (Naive - NO locking yet!)
-     * WARNING: This has race conditions!
-     * - Two users can book same seats simultaneously
+     * 💡 CREATE BOOKING
+     * - booking.write-mode = STANDARD: entity by entity under the show's SeatLockStrategy
+     * - booking.write-mode = ATOMIC: one round trip via book_seats_atomic()
+     * - booking.write-mode = SHARDED: queued to the show's single-writer shard,
+     *   batched with other bookings of the same show
+     * - No @Transactional here: each path owns its transaction (the optimistic
+     *   strategy must be able to retry a whole transaction)
      */
-    @Transactional
     public BookingResponse createBooking(CreateBookingRequest request) {
 
+        if (request.hasSeatIds()) {
+            resolveSeatIds(request);
+        }
+
         log.info("Creating booking for user: {}, show: {}, seats: {}",
                 request.getUserId(),
                 request.getShowId(),
                 request.getSeatInventoryIds());
 
-        Show show = showRepository.findById(request.getShowId())
-                .orElseThrow(() -> new NotFoundException("Invalid seat requested", request.getShowId()));
-
-        if (!show.isBookable()) {
-            throw new BusinessException("SHOW_NOT_BOOKABLE", "Show is not available for booking");
-        }
-
-        List<SeatInventory> seatInventoryList = seatInventoryRepository.findAllById(request.getSeatInventoryIds());
+        return switch (bookingProperties.getWriteMode()) {
+            case ATOMIC -> createBookingAtomic(request);
+            case SHARDED -> shardedBookingExecutor.submit(request);
+            case STANDARD -> createBookingStandard(request);
+        };
+    }
 
-        if (seatInventoryList.size() != request.getSeatInventoryIds().size()) {
-            throw new BusinessException("INVALID_SEATS", "Some seats not found");
-        }
+    /**
+     * Seats requested by seat id (SPARSE shows: seats without an inventory row yet)
+     * -> seat_inventory ids, creating the missing rows, so every write path below
+     * only deals with seat_inventory ids
+     */
+    private void resolveSeatIds(CreateBookingRequest request) {
+        Show show = bookingWriter.loadShow(request.getShowId());
+        List<Long> inventoryIds = seatInventoryMaterializer.inventoryIdsForSeats(show, request.getSeatIds());
 
-        for (SeatInventory seatInventory : seatInventoryList) {
-            if (seatInventory.getSeatStatus() != SeatStatus.AVAILABLE) {
-                throw new BusinessException("SEAT_NOT_AVAILABLE",
-                        "Seat " + seatInventory.getId() + " is not available");
-            }
+        Set<Long> seatInventoryIds = new LinkedHashSet<>();
+        if (request.getSeatInventoryIds() != null) {
+            seatInventoryIds.addAll(request.getSeatInventoryIds());
         }
+        seatInventoryIds.addAll(inventoryIds);
+        request.setSeatInventoryIds(new ArrayList<>(seatInventoryIds));
+    }
 
-        BigDecimal totalPrice = seatInventoryList.stream().map((currentSeat) -> {
-            return currentSeat.getPrice();
-        }).reduce(BigDecimal.ZERO, (currentSum, currentPrice) -> {
-            return currentSum.add(currentPrice);
-        });
+    /**
+     * 💡 STANDARD path
+     * - The SeatLockStrategy (optimistic / NOWAIT / advisory) loads the seats
+     *   and keeps concurrent bookings of the same seats apart
+     * - placeBooking runs inside the strategy's transaction
+     */
+    private BookingResponse createBookingStandard(CreateBookingRequest request) {
+        SeatLockStrategy seatLockStrategy = seatLockStrategies.forShow(request.getShowId());
 
-        LocalDateTime lockExpiryTime = LocalDateTime.now().plusMinutes(bookingProperties.getExpiryInMinutes());
+        return seatLockStrategy.execute(request.getShowId(), request.getSeatInventoryIds(),
+                seatInventoryList -> bookingWriter.placeBooking(
+                        request, bookingWriter.loadShow(request.getShowId()), seatInventoryList));
+    }
 
-        for (SeatInventory currentSeats : seatInventoryList) {
-            currentSeats.lock(request.getSessionId(), bookingProperties.getExpiryInMinutes());
-        }
+    /**
+     * 💡 ATOMIC path: claim seats + booking + booking_seats + show counter in ONE statement
+     * - Seat rows are locked in id order inside the function, so no double booking
+     * - On conflict nothing is written and every conflicting seat is reported
+     */
+    private BookingResponse createBookingAtomic(CreateBookingRequest request) {
 
-        seatInventoryRepository.saveAll(seatInventoryList);
+        String seatInventoryIds = request.getSeatInventoryIds().stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(",", "{", "}"));
+        String bookingReference = idService.nextBookingReference();
 
-        //Create Booking
-        Booking booking = Booking.builder()
-                .userId(request.getUserId())
-                .showId(request.getShowId())
-                .bookingReference(generateBookingReference())
-                .status(BookingStatus.PENDING)
-                .totalSeats(seatInventoryList.size())
-                .totalAmount(totalPrice)
-                .expiresAt(lockExpiryTime)
-                .build();
-
-        booking = bookingRepository.save(booking);
-
-        //Create Booking_Seat entry for each seats
-        List<BookingSeat> bookingSeatList = new ArrayList<>();
-        for (SeatInventory seatInventory : seatInventoryList) {
-            String seatLabel = seatRepository.findDisplayLabelById(seatInventory.getSeatId());
-            BookingSeat bookingSeat = BookingSeat.builder()
-                    .booking(booking)
-                    .seatInventoryId(seatInventory.getId())
-                    .seatLabel(seatLabel)
-                    .price(seatInventory.getPrice())
-                    .build();
-            bookingSeatList.add(bookingSeat);
+        List<AtomicBookingRow> rows = bookingRepository.bookSeatsAtomically(
+                request.getUserId(),
+                request.getShowId(),
+                seatInventoryIds,
+                request.getSessionId(),
+                bookingReference,
+                bookingProperties.getExpiryInMinutes(),
+                Math.max(1, bookingProperties.getCounter().getStripes()));
+
+        String outcome = rows.isEmpty() ? AtomicBookingRow.OUTCOME_SHOW_NOT_FOUND : rows.get(0).getOutcome();
+
+        switch (outcome) {
+            case AtomicBookingRow.OUTCOME_SHOW_NOT_FOUND ->
+                    throw new NotFoundException("Show not found", request.getShowId());
+            case AtomicBookingRow.OUTCOME_SHOW_NOT_BOOKABLE ->
+                    throw new BusinessException("SHOW_NOT_BOOKABLE", "Show is not available for booking");
+            case AtomicBookingRow.OUTCOME_SEAT_CONFLICT ->
+                    throw new SeatConflictException(rows.stream().map(AtomicBookingRow::getSeatInventoryId).toList());
+            default -> {
+                // BOOKED
+            }
         }
-        bookingSeatRepository.saveAll(bookingSeatList);
 
-        // 8. Update show available seats
-        show.decrementAvailableSeats(seatInventoryList.size());
-        showRepository.save(show);
+        AtomicBookingRow first = rows.get(0);
 
-        log.info("Booking created: {}", booking.getBookingReference());
+        List<BookedSeatDto> seats = rows.stream().map(row -> BookedSeatDto.builder()
+                .seatInventoryId(row.getSeatInventoryId())
+                .seatLabel(row.getSeatLabel())
+                .seatType(row.getSeatType())
+                .price(row.getPrice())
+                .build()).toList();
 
+        seatAvailabilityEngine.markLocked(request.getShowId(), request.getSeatInventoryIds());
 
-        return buildBookingResponse(booking, show, bookingSeatList, seatInventoryList);
-    }
-
-    // Helper methods
+        log.info("Booking created (atomic): {}", bookingReference);
 
-    private String generateBookingReference() {
-        // Simple implementation - can be improved
-        return "BK" + System.currentTimeMillis();
-    }
-
-    private BookingResponse buildBookingResponse(Booking booking, Show show,
-                                                 List<BookingSeat> bookingSeatList,
-                                                 List<SeatInventory> seatInventoryList) {
-
-        List<BookedSeatDto> seats = seatInventoryList.stream().map((current) -> {
-
-            BookingSeat bookingSeat = bookingSeatList.stream().filter((currentBookedSeat) -> {
-                return currentBookedSeat.getSeatInventoryId().equals(current.getId());
-            }).findFirst().orElse(null);
-
-            return BookedSeatDto.builder()
-                    .seatInventoryId(current.getId())
-                    .seatLabel(bookingSeat.getSeatLabel())
-                    .seatType(bookingSeat != null ? "PREMIUM" : "REGULAR") //TODO: Get actual type
-                    .price(current.getPrice())
-                    .build();
-        }).toList();
+        auditLogger.record(request.getUserId(), "BOOKING_CREATED", "Booking", first.getBookingId(),
+                Map.of("showId", request.getShowId(),
+                        "bookingReference", bookingReference,
+                        "seatInventoryIds", request.getSeatInventoryIds()));
 
         return BookingResponse.builder()
-                .bookingId(booking.getId())
-                .bookingReference(booking.getBookingReference())
-                .eventTitle(show.getEventTitle())
-                .showId(show.getId())
-                .status(booking.getStatus())
+                .bookingId(first.getBookingId())
+                .bookingReference(bookingReference)
+                .eventTitle(first.getEventTitle())
+                .showId(request.getShowId())
+                .status(BookingStatus.PENDING)
                 .seats(seats)
-                .totalSeats(Long.valueOf(booking.getTotalSeats()))
-                .totalAmount(booking.getTotalAmount())
-                .showStartTime(show.getStartTime())
-                .createdAt(booking.getCreatedAt())
-                .expiresAt(booking.getExpiresAt())
+                .totalSeats((long) rows.size())
+                .totalAmount(first.getTotalAmount())
+                .showStartTime(first.getShowStartTime())
+                .createdAt(first.getCreatedAt())
+                .expiresAt(first.getExpiresAt())
                 .build();
     }
 }
@@ -0,0 +1,222 @@
+package com.raju.getmyshow.booking.service;
+
+import com.raju.getmyshow.booking.availability.SeatAvailabilityEngine;
+import com.raju.getmyshow.booking.availability.ShowSeatCounter;
+import com.raju.getmyshow.booking.config.BookingProperties;
+import com.raju.getmyshow.booking.dto.request.CreateBookingRequest;
+import com.raju.getmyshow.booking.dto.response.BookedSeatDto;
+import com.raju.getmyshow.booking.dto.response.BookingResponse;
+import com.raju.getmyshow.booking.entity.*;
+import com.raju.getmyshow.booking.outbox.BookingOutbox;
+import com.raju.getmyshow.booking.pricing.PriceTiers;
+import com.raju.getmyshow.booking.pricing.ShowPriceTierCache;
+import com.raju.getmyshow.booking.repository.BookingRepository;
+import com.raju.getmyshow.booking.repository.BookingSeatRepository;
+import com.raju.getmyshow.booking.repository.SeatInventoryRepository;
+import com.raju.getmyshow.eventcatalog.domain.entity.Show;
+import com.raju.getmyshow.eventcatalog.layout.ScreenLayout;
+import com.raju.getmyshow.eventcatalog.layout.ScreenLayoutCache;
+import com.raju.getmyshow.eventcatalog.repository.ShowRepository;
+import com.raju.getmyshow.shared.audit.AuditLogger;
+import com.raju.getmyshow.shared.exception.BusinessException;
+import com.raju.getmyshow.shared.exception.NotFoundException;
+import com.raju.getmyshow.shared.exception.SeatConflictException;
+import com.raju.getmyshow.shared.id.IdService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 💡 PURPOSE: The JPA write of ONE booking, shared by
+ * - BookingService (STANDARD, inside the show's SeatLockStrategy transaction)
+ * - ShardedBookingExecutor (SHARDED, many bookings of one show in one transaction)
+ *
+ * Must run inside a transaction. Every validation happens before the first write,
+ * so a rejected booking leaves the persistence context untouched.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookingWriter {
+
+    private final BookingRepository bookingRepository;
+    private final BookingSeatRepository bookingSeatRepository;
+    private final SeatInventoryRepository seatInventoryRepository;
+    private final ShowRepository showRepository;
+    private final ScreenLayoutCache screenLayoutCache;
+    private final ShowPriceTierCache showPriceTierCache;
+    private final SeatAvailabilityEngine seatAvailabilityEngine;
+    private final ShowSeatCounter showSeatCounter;
+    private final IdService idService;
+    private final AuditLogger auditLogger;
+    private final BookingOutbox bookingOutbox;
+
+    private final BookingProperties bookingProperties;
+
+    public Show loadShow(Long showId) {
+        return showRepository.findWithAvailabilityById(showId)
+                .orElseThrow(() -> new NotFoundException("Invalid seat requested", showId));
+    }
+
+    /**
+     * Validates and writes one booking.
+     *
+     * @param show              Show entity (only read, the seat count goes to ShowSeatCounter)
+     * @param seatInventoryList managed seats of this request
+     */
+    public BookingResponse placeBooking(CreateBookingRequest request, Show show, List<SeatInventory> seatInventoryList) {
+
+        if (!show.isBookable()) {
+            throw new BusinessException("SHOW_NOT_BOOKABLE", "Show is not available for booking");
+        }
+
+        if (seatInventoryList.size() != request.getSeatInventoryIds().size()) {
+            throw new BusinessException("INVALID_SEATS", "Some seats not found");
+        }
+
+        List<Long> conflictingSeatIds = seatInventoryList.stream()
+                .filter(seatInventory -> seatInventory.getSeatStatus() != SeatStatus.AVAILABLE)
+                .map(SeatInventory::getId)
+                .sorted()
+                .toList();
+
+        if (!conflictingSeatIds.isEmpty()) {
+            throw new SeatConflictException(conflictingSeatIds);
+        }
+
+        // Prices from the show's tiers as committed now (+ per-seat overrides), like book_seats_atomic;
+        // labels from the cached screen layout
+        PriceTiers priceTiers = showPriceTierCache.reload(show.getId());
+        seatAvailabilityEngine.findLoaded(show.getId()).ifPresent(seatMap -> seatMap.setPriceTiers(priceTiers));
+        ScreenLayout layout = layoutCovering(show.getScreen().getId(), seatInventoryList);
+
+        Map<Long, BigDecimal> priceBySeatInventoryId = new HashMap<>();
+        BigDecimal totalPrice = BigDecimal.ZERO;
+        for (SeatInventory seatInventory : seatInventoryList) {
+            BigDecimal price = priceTiers.priceOf(layout.seatTypeAt(layout.indexOf(seatInventory.getSeatId())),
+                    seatInventory.getPrice());
+            priceBySeatInventoryId.put(seatInventory.getId(), price);
+            totalPrice = totalPrice.add(price);
+        }
+
+        LocalDateTime lockExpiryTime = LocalDateTime.now().plusMinutes(bookingProperties.getExpiryInMinutes());
+
+        for (SeatInventory currentSeats : seatInventoryList) {
+            currentSeats.lock(request.getSessionId(), bookingProperties.getExpiryInMinutes());
+        }
+
+        seatInventoryRepository.saveAll(seatInventoryList);
+
+        //Create Booking
+        Booking booking = Booking.builder()
+                .userId(request.getUserId())
+                .showId(request.getShowId())
+                .bookingReference(idService.nextBookingReference())
+                .status(BookingStatus.PENDING)
+                .totalSeats(seatInventoryList.size())
+                .totalAmount(totalPrice)
+                .expiresAt(lockExpiryTime)
+                .build();
+
+        booking = bookingRepository.save(booking);
+
+        //Create Booking_Seat entry for each seats (no per-seat query), price captured at booking time
+        List<BookingSeat> bookingSeatList = new ArrayList<>();
+        for (SeatInventory seatInventory : seatInventoryList) {
+            String seatLabel = layout.displayLabelAt(layout.indexOf(seatInventory.getSeatId()));
+            BookingSeat bookingSeat = BookingSeat.builder()
+                    .booking(booking)
+                    .bookingCreatedAt(booking.getCreatedAt())
+                    .seatInventoryId(seatInventory.getId())
+                    .seatLabel(seatLabel)
+                    .price(priceBySeatInventoryId.get(seatInventory.getId()))
+                    .build();
+            bookingSeatList.add(bookingSeat);
+        }
+        bookingSeatRepository.saveAll(bookingSeatList);
+
+        // Same transaction: the event is published only if this booking commits
+        bookingOutbox.bookingCreated(booking, request.getSeatInventoryIds());
+
+        // Striped counter delta instead of updating the hot shows row
+        showSeatCounter.decrement(show.getId(), seatInventoryList.size());
+
+        seatAvailabilityEngine.markLocked(show.getId(), request.getSeatInventoryIds());
+
+        log.info("Booking created: {}", booking.getBookingReference());
+
+        // Queued, written after commit by the audit writer
+        auditLogger.record(booking.getUserId(), "BOOKING_CREATED", "Booking", booking.getId(),
+                Map.of("showId", show.getId(),
+                        "bookingReference", booking.getBookingReference(),
+                        "seatInventoryIds", request.getSeatInventoryIds()));
+
+        return buildBookingResponse(booking, show, layout, bookingSeatList, seatInventoryList);
+    }
+
+    /**
+     * The screen's cached layout, reloaded once if it does not know every requested seat
+     * (seat added after it was cached). Afterwards indexOf is never -1 for these seats.
+     */
+    private ScreenLayout layoutCovering(Long screenId, List<SeatInventory> seatInventoryList) {
+        ScreenLayout layout = screenLayoutCache.get(screenId);
+        if (containsAll(layout, seatInventoryList)) {
+            return layout;
+        }
+
+        layout = screenLayoutCache.reload(screenId);
+        if (!containsAll(layout, seatInventoryList)) {
+            throw new BusinessException("SEAT_NOT_IN_LAYOUT", "Seat is not part of the show's screen");
+        }
+        return layout;
+    }
+
+    private static boolean containsAll(ScreenLayout layout, List<SeatInventory> seatInventoryList) {
+        for (SeatInventory seatInventory : seatInventoryList) {
+            if (layout.indexOf(seatInventory.getSeatId()) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private BookingResponse buildBookingResponse(Booking booking, Show show, ScreenLayout layout,
+                                                 List<BookingSeat> bookingSeatList,
+                                                 List<SeatInventory> seatInventoryList) {
+
+        List<BookedSeatDto> seats = seatInventoryList.stream().map((current) -> {
+
+            BookingSeat bookingSeat = bookingSeatList.stream().filter((currentBookedSeat) -> {
+                return currentBookedSeat.getSeatInventoryId().equals(current.getId());
+            }).findFirst().orElse(null);
+
+            return BookedSeatDto.builder()
+                    .seatInventoryId(current.getId())
+                    .seatLabel(bookingSeat.getSeatLabel())
+                    .seatType(layout.seatTypeAt(layout.indexOf(current.getSeatId())).name())
+                    .price(bookingSeat.getPrice())
+                    .build();
+        }).toList();
+
+        return BookingResponse.builder()
+                .bookingId(booking.getId())
+                .bookingReference(booking.getBookingReference())
+                .eventTitle(show.getEventTitle())
+                .showId(show.getId())
+                .status(booking.getStatus())
+                .seats(seats)
+                .totalSeats(Long.valueOf(booking.getTotalSeats()))
+                .totalAmount(booking.getTotalAmount())
+                .showStartTime(show.getStartTime())
+                .createdAt(booking.getCreatedAt())
+                .expiresAt(booking.getExpiresAt())
+                .build();
+    }
+}
@@ -0,0 +1,390 @@
+package com.raju.getmyshow.booking.stream;
+
+import com.raju.getmyshow.booking.availability.SeatAvailabilityEngine;
+import com.raju.getmyshow.booking.availability.SeatMapChangedEvent;
+import com.raju.getmyshow.booking.availability.SeatMapViews;
+import com.raju.getmyshow.booking.availability.ShowSeatMap;
+import com.raju.getmyshow.booking.config.BookingProperties;
+import com.raju.getmyshow.booking.dto.response.SeatDto;
+import com.raju.getmyshow.booking.dto.response.SeatMapDeltaResponse;
+import com.raju.getmyshow.booking.dto.response.SeatMapSnapshotResponse;
+import com.raju.getmyshow.booking.entity.SeatStatus;
+import com.raju.getmyshow.shared.exception.BusinessException;
+import com.raju.getmyshow.shared.exception.NotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 💡 PURPOSE: Push seat map changes instead of clients polling the full map
+ * - On subscribe: one "snapshot" event (every seat with its status + version)
+ * - Afterwards: "delta" events with only the seats that changed since the
+ *   version the client has (event id = version, so Last-Event-ID resumes)
+ *
+ * 💡 FAN-OUT WITHOUT BLOCKING WRITERS
+ * - Writers never touch subscribers: SeatAvailabilityEngine journals the change
+ *   in the ShowSeatMap and we only mark the show dirty
+ * - A flusher (every flush-interval-millis) walks dirty shows and hands each
+ *   subscriber ONE coalesced delta (journal since its last version) to a small sender pool
+ *
+ * 💡 BOUNDED MEMORY PER CONNECTION
+ * - A subscriber is an emitter + last version + an in-flight flag, no queue
+ * - Slow consumer (previous send still in flight): skipped, its changes keep
+ *   coalescing in the journal; resynced with a snapshot if it fell off the journal;
+ *   dropped after max-skipped-flushes
+ *
+ * 💡 ONE SLOW SOCKET NEVER STALLS THE FAN-OUT
+ * - Each send is its own task with a deadline (send-timeout-millis): a send
+ *   still blocked on the socket after that is interrupted and the subscriber
+ *   dropped, which frees the sender thread for everyone else
+ *
+ * 💡 ONE SNAPSHOT PER SHOW AND VERSION
+ * - Subscribers needing a snapshot of the same version (a burst of new clients, or
+ *   many resyncing at once) share one built response instead of one each
+ * - Channels are added to / removed from atomically (compute / computeIfPresent),
+ *   so a subscriber never lands in a channel that was just removed as empty
+ */
+@Component
+@Slf4j
+public class SeatMapStreamService {
+
+    private final SeatAvailabilityEngine seatAvailabilityEngine;
+    private final BookingProperties bookingProperties;
+
+    private final Map<Long, Set<Subscriber>> channels = new ConcurrentHashMap<>();
+    private final Set<Long> dirtyShows = ConcurrentHashMap.newKeySet();
+    // Last snapshot built per show, reused while the seat map is at that version
+    private final Map<Long, SharedSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ThreadPoolExecutor sender;
+    private volatile long lastHeartbeatMillis = System.currentTimeMillis();
+
+    private final Counter snapshotsSent;
+    private final Counter deltasSent;
+    private final Counter dropped;
+
+    public SeatMapStreamService(SeatAvailabilityEngine seatAvailabilityEngine,
+                                BookingProperties bookingProperties,
+                                MeterRegistry meterRegistry) {
+        this.seatAvailabilityEngine = seatAvailabilityEngine;
+        this.bookingProperties = bookingProperties;
+
+        BookingProperties.Stream config = bookingProperties.getStream();
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.sender = new ThreadPoolExecutor(config.getSenderThreads(), config.getSenderThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(config.getSenderQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "seat-stream-sender-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        Gauge.builder("booking.seatstream.subscribers", subscriberCount, AtomicInteger::get)
+                .register(meterRegistry);
+        this.snapshotsSent = Counter.builder("booking.seatstream.events").tag("type", "snapshot")
+                .register(meterRegistry);
+        this.deltasSent = Counter.builder("booking.seatstream.events").tag("type", "delta")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("booking.seatstream.dropped")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param lastEventId version the client already has (SSE reconnect), null for a fresh client
+     */
+    public SseEmitter subscribe(Long showId, Long lastEventId) {
+        BookingProperties.Stream config = bookingProperties.getStream();
+        if (subscriberCount.get() >= config.getMaxSubscribers()) {
+            throw new BusinessException("SEAT_STREAM_FULL", "Too many seat map subscribers, please poll instead");
+        }
+
+        ShowSeatMap seatMap = seatAvailabilityEngine.getSeatMap(showId);
+
+        SseEmitter emitter = newEmitter(config.getEmitterTimeoutMillis());
+        Subscriber subscriber = new Subscriber(showId, emitter, lastEventId != null ? lastEventId : -1);
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(ex -> remove(subscriber));
+
+        channels.compute(showId, (id, subscribers) -> {
+            Set<Subscriber> channel = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            channel.add(subscriber);
+            return channel;
+        });
+        subscriberCount.incrementAndGet();
+
+        // Counts as in flight like any other send, so the flusher's timeout check sees when it started
+        subscriber.sendStartedMillis = System.currentTimeMillis();
+        subscriber.sending.set(true);
+        send(subscriber, seatMap);
+        return emitter;
+    }
+
+    SseEmitter newEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    @EventListener
+    public void onSeatMapChanged(SeatMapChangedEvent event) {
+        if (channels.containsKey(event.showId())) {
+            dirtyShows.add(event.showId());
+        }
+    }
+
+    //=======================================
+    //    Flushing
+    //=======================================
+
+    @Scheduled(fixedDelayString = "${booking.stream.flush-interval-millis:200}")
+    public void flush() {
+        BookingProperties.Stream config = bookingProperties.getStream();
+        long now = System.currentTimeMillis();
+        boolean heartbeatDue = now - lastHeartbeatMillis >= config.getHeartbeatIntervalMillis();
+
+        for (Map.Entry<Long, Set<Subscriber>> channel : channels.entrySet()) {
+            Long showId = channel.getKey();
+            boolean dirty = dirtyShows.remove(showId);
+
+            if (channel.getValue().isEmpty()) {
+                // Re-checked under the channel's lock: a concurrent subscribe keeps it
+                if (channels.computeIfPresent(showId, (id, subscribers) -> subscribers.isEmpty() ? null : subscribers) == null) {
+                    snapshots.remove(showId);
+                }
+                continue;
+            }
+            if (!dirty && !heartbeatDue) {
+                continue;
+            }
+
+            ShowSeatMap seatMap;
+            try {
+                // Heartbeat also refreshes a stale map, so other nodes' changes reach subscribers
+                seatMap = heartbeatDue
+                        ? seatAvailabilityEngine.getSeatMap(showId)
+                        : seatAvailabilityEngine.findLoaded(showId).orElseGet(() -> seatAvailabilityEngine.getSeatMap(showId));
+            } catch (NotFoundException ex) {
+                channel.getValue().forEach(subscriber -> subscriber.emitter.complete());
+                continue;
+            }
+
+            for (Subscriber subscriber : channel.getValue()) {
+                flush(subscriber, seatMap, heartbeatDue, now, config);
+            }
+        }
+
+        if (heartbeatDue) {
+            lastHeartbeatMillis = now;
+        }
+    }
+
+    private void flush(Subscriber subscriber, ShowSeatMap seatMap, boolean heartbeatDue, long now,
+                       BookingProperties.Stream config) {
+        if (subscriber.sending.get() && now - subscriber.sendStartedMillis > config.getSendTimeoutMillis()) {
+            // Blocked on the socket: interrupt the send so its sender thread is free again.
+            // Not complete(): that would wait for the blocked send on the emitter's lock
+            Future<?> inFlight = subscriber.inFlight;
+            if (inFlight != null) {
+                inFlight.cancel(true);
+            }
+            log.debug("Dropping seat stream subscriber of show {}: send timed out", subscriber.showId);
+            dropped.increment();
+            remove(subscriber);
+            return;
+        }
+
+        boolean upToDate = subscriber.lastVersion == seatMap.getVersion();
+        if (upToDate && !heartbeatDue) {
+            return;
+        }
+
+        if (!subscriber.sending.compareAndSet(false, true)) {
+            // Previous send still in flight: let changes coalesce, give up on hopeless consumers
+            if (++subscriber.skippedFlushes > config.getMaxSkippedFlushes()) {
+                drop(subscriber, "slow consumer");
+            } else {
+                dirtyShows.add(subscriber.showId);
+            }
+            return;
+        }
+        subscriber.skippedFlushes = 0;
+
+        try {
+            subscriber.sendStartedMillis = now;
+            subscriber.inFlight = sender.submit(() -> {
+                if (upToDate) {
+                    heartbeat(subscriber);
+                } else {
+                    send(subscriber, seatMap);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            subscriber.sending.set(false);
+            dirtyShows.add(subscriber.showId);
+        }
+    }
+
+    /**
+     * Sends the coalesced delta since the subscriber's version, or a snapshot when
+     * the journal no longer covers it. Clears the in-flight flag when done.
+     */
+    private void send(Subscriber subscriber, ShowSeatMap seatMap) {
+        try {
+            ShowSeatMap.Delta delta = subscriber.lastVersion >= 0 ? seatMap.changesSince(subscriber.lastVersion) : null;
+
+            if (delta == null) {
+                SeatMapSnapshotResponse snapshot = snapshotOf(seatMap);
+                subscriber.emitter.send(SseEmitter.event()
+                        .name("snapshot")
+                        .id(String.valueOf(snapshot.getVersion()))
+                        .data(snapshot, MediaType.APPLICATION_JSON));
+                subscriber.lastVersion = snapshot.getVersion();
+                snapshotsSent.increment();
+            } else if (!delta.changes().isEmpty()) {
+                subscriber.emitter.send(SseEmitter.event()
+                        .name("delta")
+                        .id(String.valueOf(delta.toVersion()))
+                        .data(SeatMapDeltaResponse.builder()
+                                .showId(subscriber.showId)
+                                .fromVersion(delta.fromVersion())
+                                .toVersion(delta.toVersion())
+                                .changes(SeatMapViews.toChangeDtos(seatMap, delta))
+                                .build(), MediaType.APPLICATION_JSON));
+                subscriber.lastVersion = delta.toVersion();
+                deltasSent.increment();
+            }
+        } catch (IOException | IllegalStateException ex) {
+            // Client went away (or emitter already completed)
+            remove(subscriber);
+        } finally {
+            subscriber.sending.set(false);
+        }
+    }
+
+    private void heartbeat(Subscriber subscriber) {
+        try {
+            subscriber.emitter.send(SseEmitter.event().comment("keep-alive"));
+        } catch (IOException | IllegalStateException ex) {
+            remove(subscriber);
+        } finally {
+            subscriber.sending.set(false);
+        }
+    }
+
+    /**
+     * The show's snapshot at the seat map's current version, built by the first
+     * subscriber that needs it. Responses are never modified once built, so sender
+     * threads share them; a reloaded map (other instance) always builds its own.
+     */
+    private SeatMapSnapshotResponse snapshotOf(ShowSeatMap seatMap) {
+        SharedSnapshot shared = snapshots.get(seatMap.getShowId());
+        if (shared != null && shared.seatMap() == seatMap && shared.response().getVersion() == seatMap.getVersion()) {
+            return shared.response();
+        }
+
+        SeatMapSnapshotResponse response = toSnapshotResponse(seatMap, seatMap.snapshot());
+        snapshots.put(seatMap.getShowId(), new SharedSnapshot(seatMap, response));
+        return response;
+    }
+
+    private SeatMapSnapshotResponse toSnapshotResponse(ShowSeatMap seatMap, ShowSeatMap.Snapshot snapshot) {
+        SeatStatus[] statuses = snapshot.statuses();
+        List<SeatDto> seats = new ArrayList<>(statuses.length);
+        int available = 0;
+        for (int position = 0; position < statuses.length; position++) {
+            seats.add(SeatMapViews.toSeatDto(seatMap, position, statuses[position]));
+            if (statuses[position] == SeatStatus.AVAILABLE) {
+                available++;
+            }
+        }
+
+        return SeatMapSnapshotResponse.builder()
+                .showId(seatMap.getShowId())
+                .version(snapshot.version())
+                .eventTitle(seatMap.getEventTitle())
+                .totalSeats(seatMap.getTotalSeats())
+                .availableSeats(available)
+                .seats(seats)
+                .build();
+    }
+
+    //=======================================
+    //    Subscriber bookkeeping
+    //=======================================
+
+    private void drop(Subscriber subscriber, String reason) {
+        log.debug("Dropping seat stream subscriber of show {}: {}", subscriber.showId, reason);
+        dropped.increment();
+        remove(subscriber);
+        subscriber.emitter.complete();
+    }
+
+    /**
+     * Leaves the channel; the last subscriber out removes it, atomically with
+     * respect to subscribe's compute.
+     */
+    private void remove(Subscriber subscriber) {
+        AtomicBoolean removed = new AtomicBoolean();
+        channels.computeIfPresent(subscriber.showId, (id, subscribers) -> {
+            removed.set(subscribers.remove(subscriber));
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+        if (removed.get()) {
+            subscriberCount.decrementAndGet();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sender.shutdownNow();
+        channels.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        channels.clear();
+        snapshots.clear();
+    }
+
+    private record SharedSnapshot(ShowSeatMap seatMap, SeatMapSnapshotResponse response) {
+    }
+
+    private static final class Subscriber {
+
+        private final Long showId;
+        private final SseEmitter emitter;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        // Current send (cancelled when it outlives send-timeout-millis) and when it was handed over
+        private volatile Future<?> inFlight;
+        private volatile long sendStartedMillis;
+
+        // Last version delivered to the client (-1 = nothing yet)
+        private volatile long lastVersion;
+        // Consecutive flushes skipped because a send was still in flight (flusher thread only)
+        private int skippedFlushes;
+
+        private Subscriber(Long showId, SseEmitter emitter, long lastVersion) {
+            this.showId = showId;
+            this.emitter = emitter;
+            this.lastVersion = lastVersion;
+        }
+    }
+}
@@ -1,4 +1,47 @@
 package com.raju.getmyshow.eventcatalog.api.dto;
 
+import com.raju.getmyshow.eventcatalog.domain.enums.EventType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Show search filters + keyset cursor (EventCatalogFacade.searchShows)
+ *
+ * 💡 PAGINATION: shows come sorted by (startTime, id); for the next page pass the
+ *   last result's startTime / id as afterStartTime / afterShowId
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class SearchShowsRequest {
+
+    // Required
+    private String city;
+
+    // Show dates, inclusive; fromDate defaults to now (upcoming shows only), no toDate = no end
+    private LocalDate fromDate;
+    private LocalDate toDate;
+
+    private EventType eventType;
+
+    // Movies only: a language, genre or format filter leaves out other event types
+    private String language;
+    private String genre;
+    private String format;
+
+    // Only shows with seats left
+    private boolean onlyAvailable;
+
+    // Cursor, both or neither
+    private LocalDateTime afterStartTime;
+    private Long afterShowId;
+
+    // Defaults to eventcatalog.search.default-page-size, capped at max-page-size
+    private Integer size;
 }
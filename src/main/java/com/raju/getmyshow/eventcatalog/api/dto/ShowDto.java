@@ -1,4 +1,37 @@
 package com.raju.getmyshow.eventcatalog.api.dto;
 
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Public DTO - exposed to other modules
+ * Flat show view from the shows row (denormalized event / venue fields), no entities
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class ShowDto {
+    private Long id;
+    private Long eventId;
+    private Long screenId;
+    private String eventTitle;
+    private String eventType;
+    private String venueName;
+    private String city;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private BigDecimal basePrice;
+    private Integer totalSeats;
+    private Integer availableSeats;
+    private String status;
+    // Movies only
+    private String language;
+    private String genre;
+    private String[] formats;
 }
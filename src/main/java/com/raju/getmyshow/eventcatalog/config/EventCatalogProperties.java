@@ -0,0 +1,129 @@
+package com.raju.getmyshow.eventcatalog.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "eventcatalog")
+@Getter
+@Setter
+public class EventCatalogProperties {
+
+    private LayoutCache layoutCache = new LayoutCache();
+
+    private Search search = new Search();
+
+    private SearchIndex searchIndex = new SearchIndex();
+
+    private EventSearch eventSearch = new EventSearch();
+
+    private Suggest suggest = new Suggest();
+
+    private Geo geo = new Geo();
+
+    /**
+     * Per-screen seat layout cache (see ScreenLayoutCache)
+     */
+    @Getter
+    @Setter
+    public static class LayoutCache {
+        // Screens kept in memory, least recently used evicted first
+        private int maxScreens = 500;
+    }
+
+    /**
+     * Show search pages (see EventCatalogFacade.searchShows)
+     */
+    @Getter
+    @Setter
+    public static class Search {
+        private int defaultPageSize = 20;
+        // Larger requested sizes are capped, not rejected
+        private int maxPageSize = 100;
+    }
+
+    /**
+     * In-memory per-city show search index (see ShowSearchIndex)
+     */
+    @Getter
+    @Setter
+    public static class SearchIndex {
+        private boolean enabled = true;
+        // Shows starting up to this many days ahead are held; later pages / ranges go to SQL
+        private int horizonDays = 30;
+        // Cities loaded in parallel on a (re)build
+        private int buildThreads = 4;
+        // Full rebuild: slides the horizon, drops deleted shows, picks up movie changes
+        private String rebuildCron = "0 0 * * * *";
+        // Poll for shows written since the last poll
+        private long refreshIntervalMillis = 1_000;
+        // More waiting are read by the next poll
+        private int maxChangesPerRefresh = 10_000;
+        // A seat count change is applied only when it crosses 0 or this many seats left
+        private int lowAvailabilitySeats = 20;
+    }
+
+    /**
+     * Full-text event search (see EventCatalogService.searchEvents)
+     */
+    @Getter
+    @Setter
+    public static class EventSearch {
+        private int defaultPageSize = 10;
+        // Larger requested sizes are capped, not rejected
+        private int maxPageSize = 50;
+        // Matches ranked per query; broader queries rank only their newest this many
+        private int maxCandidates = 10_000;
+        // Upcoming shows returned with each event
+        private int showsPerEvent = 3;
+        private int maxQueryLength = 200;
+    }
+
+    /**
+     * Search box typeahead (see TypeaheadIndex)
+     */
+    @Getter
+    @Setter
+    public static class Suggest {
+        private boolean enabled = true;
+        private int defaultLimit = 8;
+        private int maxLimit = 20;
+        // Memory cap: the most popular suggestions kept beyond this
+        private int maxSuggestions = 500_000;
+        // Memory cap: words of a name that can start a match ("the dark knight" = 3)
+        private int maxWordsPerSuggestion = 6;
+        // Popularity = shows + seats sold over this many days
+        private int popularityDays = 7;
+        // Full rebuild: fresh popularity, drops deleted rows
+        private String rebuildCron = "0 30 * * * *";
+        // Poll for events / venues / sports events written since the last poll
+        private long refreshIntervalMillis = 5_000;
+        // Changed suggestions searched from the overlay before a new base is built
+        private int compactAfterChanges = 5_000;
+    }
+
+    /**
+     * Nearby venues and their shows (see VenueGeoIndex)
+     */
+    @Getter
+    @Setter
+    public static class Geo {
+        private boolean enabled = true;
+        // Grid cell edge, 0.05 degrees = ~5.5 km north-south
+        private double cellDegrees = 0.05;
+        private double defaultRadiusKm = 10;
+        // Larger requested radii are rejected
+        private double maxRadiusKm = 100;
+        private int defaultLimit = 20;
+        // Larger requested limits are capped, not rejected
+        private int maxLimit = 100;
+        // Upcoming shows returned with each venue
+        private int showsPerVenue = 3;
+        // Full rebuild: drops deleted venues
+        private String rebuildCron = "0 45 * * * *";
+        // Poll for venues written since the last poll
+        private long refreshIntervalMillis = 5_000;
+    }
+}
@@ -0,0 +1,46 @@
+package com.raju.getmyshow.eventcatalog.controller;
+
+import com.raju.getmyshow.eventcatalog.dto.EventSearchResponse;
+import com.raju.getmyshow.eventcatalog.service.EventCatalogService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/api")
+@Slf4j
+public class EventSearchController {
+
+    private final EventCatalogService eventCatalogService;
+
+    public EventSearchController(EventCatalogService eventCatalogService) {
+        this.eventCatalogService = eventCatalogService;
+    }
+
+    /**
+     * GET /api/events/search?q=nolan thriller imax[&city=Dhaka&size=10]
+     *
+     * Published events matching every word of q (title, tags, director, cast, genre,
+     * language, formats, description), best match first, each with its next shows.
+     * Follow nextAfterRank / nextAfterEventId for the next page.
+     * "quoted phrase", -word and OR are supported. Catalog text changes rarely,
+     * show times are a minute stale at most: public cache.
+     */
+    @GetMapping("/events/search")
+    public ResponseEntity<EventSearchResponse> searchEvents(
+            @RequestParam String q,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) Double afterRank,
+            @RequestParam(required = false) Long afterEventId,
+            @RequestParam(required = false) Integer size) {
+
+        log.info("GET /api/events/search (q: {}, city: {}, after: {}/{})", q, city, afterRank, afterEventId);
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(60, TimeUnit.SECONDS).cachePublic())
+                .body(eventCatalogService.searchEvents(q, city, afterRank, afterEventId, size));
+    }
+}
@@ -0,0 +1,43 @@
+package com.raju.getmyshow.eventcatalog.controller;
+
+import com.raju.getmyshow.eventcatalog.dto.NearbyVenuesResponse;
+import com.raju.getmyshow.eventcatalog.service.NearbyVenueService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/api")
+@Slf4j
+public class NearbyVenueController {
+
+    private final NearbyVenueService nearbyVenueService;
+
+    public NearbyVenueController(NearbyVenueService nearbyVenueService) {
+        this.nearbyVenueService = nearbyVenueService;
+    }
+
+    /**
+     * GET /api/venues/nearby?lat=23.7808&lon=90.4152[&radiusKm=10&limit=20]
+     *
+     * ACTIVE venues within radiusKm, nearest first, each with its next upcoming shows.
+     * Coordinates differ per caller, little to share: private cache, short-lived
+     * because of the seat counts.
+     */
+    @GetMapping("/venues/nearby")
+    public ResponseEntity<NearbyVenuesResponse> nearbyVenues(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(required = false) Integer limit) {
+
+        log.info("GET /api/venues/nearby (lat: {}, lon: {}, radius: {} km, limit: {})", lat, lon, radiusKm, limit);
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(10, TimeUnit.SECONDS).cachePrivate())
+                .body(nearbyVenueService.findNearbyVenues(lat, lon, radiusKm, limit));
+    }
+}
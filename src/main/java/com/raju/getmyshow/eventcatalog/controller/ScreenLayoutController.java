@@ -0,0 +1,60 @@
+package com.raju.getmyshow.eventcatalog.controller;
+
+import com.raju.getmyshow.eventcatalog.dto.ScreenLayoutDto;
+import com.raju.getmyshow.eventcatalog.layout.ScreenLayout;
+import com.raju.getmyshow.eventcatalog.layout.ScreenLayoutCache;
+import com.raju.getmyshow.eventcatalog.layout.ScreenLayoutViews;
+import com.raju.getmyshow.shared.exception.NotFoundException;
+import com.raju.getmyshow.shared.web.IfNoneMatch;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/api")
+@Slf4j
+public class ScreenLayoutController {
+
+    private final ScreenLayoutCache screenLayoutCache;
+
+    public ScreenLayoutController(ScreenLayoutCache screenLayoutCache) {
+        this.screenLayoutCache = screenLayoutCache;
+    }
+
+    /**
+     * GET /api/screens/{screenId}/layout
+     *
+     * Static seat layout referenced by the compact seat map (layoutVersion).
+     * ETag = layoutVersion, clients cache it and revalidate.
+     * Unknown screen -> 404 (the empty layout is not cached, see ScreenLayoutCache).
+     */
+    @GetMapping("/screens/{screenId}/layout")
+    public ResponseEntity<ScreenLayoutDto> getLayout(
+            @PathVariable Long screenId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        log.info("GET /api/screens/{}/layout", screenId);
+
+        ScreenLayout layout = screenLayoutCache.get(screenId);
+        if (layout.size() == 0) {
+            throw new NotFoundException("Screen", screenId);
+        }
+
+        String eTag = "\"" + layout.getLayoutVersion() + "\"";
+        CacheControl cacheControl = CacheControl.maxAge(1, TimeUnit.HOURS).mustRevalidate();
+
+        if (IfNoneMatch.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(cacheControl).build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(cacheControl)
+                .body(ScreenLayoutViews.toDto(layout));
+    }
+}
@@ -0,0 +1,71 @@
+package com.raju.getmyshow.eventcatalog.controller;
+
+import com.raju.getmyshow.eventcatalog.api.dto.SearchShowsRequest;
+import com.raju.getmyshow.eventcatalog.domain.enums.EventType;
+import com.raju.getmyshow.eventcatalog.dto.ShowSearchResponse;
+import com.raju.getmyshow.eventcatalog.service.EventCatalogService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/api")
+@Slf4j
+public class ShowSearchController {
+
+    private final EventCatalogService eventCatalogService;
+
+    public ShowSearchController(EventCatalogService eventCatalogService) {
+        this.eventCatalogService = eventCatalogService;
+    }
+
+    /**
+     * GET /api/shows/search?city=Dhaka[&fromDate=2026-03-14&toDate=2026-03-15&eventType=MOVIE
+     *                        &language=Bengali&genre=Drama&format=IMAX&onlyAvailable=true&size=20]
+     *
+     * Upcoming shows of a city sorted by start time. Follow nextAfterStartTime /
+     * nextAfterShowId for the next page. Seat counts may lag a few seconds:
+     * short-lived public cache.
+     */
+    @GetMapping("/shows/search")
+    public ResponseEntity<ShowSearchResponse> searchShows(
+            @RequestParam String city,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(required = false) EventType eventType,
+            @RequestParam(required = false) String language,
+            @RequestParam(required = false) String genre,
+            @RequestParam(required = false) String format,
+            @RequestParam(defaultValue = "false") boolean onlyAvailable,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterStartTime,
+            @RequestParam(required = false) Long afterShowId,
+            @RequestParam(required = false) Integer size) {
+
+        log.info("GET /api/shows/search (city: {}, from: {}, to: {}, type: {}, after: {}/{})",
+                city, fromDate, toDate, eventType, afterStartTime, afterShowId);
+
+        SearchShowsRequest request = SearchShowsRequest.builder()
+                .city(city)
+                .fromDate(fromDate)
+                .toDate(toDate)
+                .eventType(eventType)
+                .language(language)
+                .genre(genre)
+                .format(format)
+                .onlyAvailable(onlyAvailable)
+                .afterStartTime(afterStartTime)
+                .afterShowId(afterShowId)
+                .size(size)
+                .build();
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(10, TimeUnit.SECONDS).cachePublic())
+                .body(eventCatalogService.searchPage(request));
+    }
+}
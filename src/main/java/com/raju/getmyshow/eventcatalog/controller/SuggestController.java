@@ -0,0 +1,40 @@
+package com.raju.getmyshow.eventcatalog.controller;
+
+import com.raju.getmyshow.eventcatalog.dto.SuggestResponse;
+import com.raju.getmyshow.eventcatalog.service.EventCatalogService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/api")
+@Slf4j
+public class SuggestController {
+
+    private final EventCatalogService eventCatalogService;
+
+    public SuggestController(EventCatalogService eventCatalogService) {
+        this.eventCatalogService = eventCatalogService;
+    }
+
+    /**
+     * GET /api/suggest?q=inc[&limit=8]
+     *
+     * Called on every keystroke: answered from memory, logged at debug only.
+     * Same prefix, same answer for everyone: public cache.
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<SuggestResponse> suggest(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+
+        log.debug("GET /api/suggest (q: {}, limit: {})", q, limit);
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(60, TimeUnit.SECONDS).cachePublic())
+                .body(eventCatalogService.suggest(q, limit));
+    }
+}
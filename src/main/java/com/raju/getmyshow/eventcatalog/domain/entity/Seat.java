@@ -1,6 +1,7 @@
 package com.raju.getmyshow.eventcatalog.domain.entity;
 
 import com.raju.getmyshow.eventcatalog.domain.enums.SeatType;
+import com.raju.getmyshow.eventcatalog.layout.SeatLayoutListener;
 import com.raju.getmyshow.shared.entity.BaseEntity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -12,6 +13,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "seats")
+@EntityListeners(SeatLayoutListener.class)
 @Getter
 @Builder
 @NoArgsConstructor
@@ -19,7 +21,8 @@ import java.time.LocalDateTime;
 public class Seat {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seats_id_seq")
+    @SequenceGenerator(name = "seats_id_seq", sequenceName = "seats_id_seq", allocationSize = 500)
     private Long id;
 
 
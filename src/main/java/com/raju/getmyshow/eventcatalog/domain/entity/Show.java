@@ -1,6 +1,7 @@
 package com.raju.getmyshow.eventcatalog.domain.entity;
 
 
+import com.raju.getmyshow.eventcatalog.domain.enums.InventoryMode;
 import com.raju.getmyshow.eventcatalog.domain.enums.ShowStatus;
 import com.raju.getmyshow.shared.entity.BaseEntity;
 import jakarta.persistence.*;
@@ -49,9 +50,17 @@ public class Show extends BaseEntity {
     @Column(name = "total_seats", nullable = false)
     private Integer totalSeats;
 
+    // Last folded value; bookings / releases since then live in show_seat_counters
     @Column(name = "available_seats", nullable = false)
+    @Getter(AccessLevel.NONE)
     private Integer availableSeats;
 
+    // Not yet folded deltas (see V4 show_seat_counters); only set by
+    // ShowRepository.findWithAvailabilityById, every other load sees the folded value
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private Integer unfoldedSeatDelta;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
     private ShowStatus showStatus = ShowStatus.SCHEDULED;
@@ -62,6 +71,12 @@ public class Show extends BaseEntity {
     @Column(name = "booking_closes_at")
     private LocalDateTime bookingClosesAt;
 
+    // SPARSE: seat_inventory rows are created on first lock (see V7)
+    @Enumerated(EnumType.STRING)
+    @Column(name = "inventory_mode", nullable = false, length = 20)
+    @Builder.Default
+    private InventoryMode inventoryMode = InventoryMode.FULL;
+
     // =====================================================
     // BUSINESS METHODS
     // =====================================================
@@ -81,7 +96,12 @@ public class Show extends BaseEntity {
             return false;
         }
 
-        return availableSeats != null && availableSeats > 0;
+        Integer available = getAvailableSeats();
+        return available != null && available > 0;
+    }
+
+    public boolean hasSparseInventory() {
+        return inventoryMode == InventoryMode.SPARSE;
     }
 
     public boolean hasStarted() {
@@ -93,23 +113,22 @@ public class Show extends BaseEntity {
     }
 
     /**
-     * 💡 CONCURRENCY CONSIDERATION
-     * - This method should be called in transaction
-     * - May need pessimistic lock to prevent race conditions
+     * 💡 Effective available seats = folded column + striped deltas
+     * - Written through ShowSeatCounter, never by updating this row
+     * - Deltas are only included when loaded via ShowRepository.findWithAvailabilityById
      */
-    public void decrementAvailableSeats(int count) {
-        if (availableSeats < count) {
-            throw new IllegalStateException(
-                    "Not enough available seats. Requested: " + count + ", Available: " + availableSeats
-            );
+    public Integer getAvailableSeats() {
+        if (availableSeats == null) {
+            return null;
         }
-        this.availableSeats -= count;
+        return availableSeats + (unfoldedSeatDelta != null ? unfoldedSeatDelta : 0);
     }
 
-    public void incrementAvailableSeats(int count) {
-        this.availableSeats += count;
-        if (this.availableSeats > this.totalSeats) {
-            this.availableSeats = this.totalSeats;
-        }
+    /**
+     * Attaches the not yet folded deltas (ShowRepository.findWithAvailabilityById)
+     */
+    public Show withUnfoldedSeatDelta(int delta) {
+        this.unfoldedSeatDelta = delta;
+        return this;
     }
 }
@@ -0,0 +1,6 @@
+package com.raju.getmyshow.eventcatalog.domain.enums;
+
+public enum InventoryMode {
+    FULL,    // One seat_inventory row per seat, created with the show
+    SPARSE   // Rows only for seats that were ever locked; no row = AVAILABLE at the tier price
+}
@@ -0,0 +1,30 @@
+package com.raju.getmyshow.eventcatalog.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of full-text event search results, best match first.
+ *
+ * Example JSON:
+ * {
+ *     query: "nolan thriller imax",
+ *     events: [{ eventId: 31, title: "Oppenheimer", director: "Christopher Nolan", rank: 0.61,
+ *                nextShows: [{ id: 812, city: "Dhaka", startTime: "2026-03-14T19:30:00", ... }] }],
+ *     nextAfterRank: 0.42,
+ *     nextAfterEventId: 57
+ * }
+ *
+ * nextAfterRank / nextAfterEventId: pass as ?afterRank=&afterEventId= for the next page,
+ * null once a page comes back short
+ */
+@Builder
+@Data
+public class EventSearchResponse {
+    private String query;
+    private List<EventSearchResult> events;
+    private Double nextAfterRank;
+    private Long nextAfterEventId;
+}
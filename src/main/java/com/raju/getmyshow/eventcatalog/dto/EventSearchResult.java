@@ -0,0 +1,25 @@
+package com.raju.getmyshow.eventcatalog.dto;
+
+import com.raju.getmyshow.eventcatalog.api.dto.ShowDto;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One ranked event of a full-text search with its next upcoming shows
+ * (empty when none is scheduled, in the requested city if any)
+ */
+@Builder
+@Data
+public class EventSearchResult {
+    private Long eventId;
+    private String title;
+    private String eventType;
+    private String posterUrl;
+    private String genre;
+    private String language;
+    private String director;
+    private double rank;
+    private List<ShowDto> nextShows;
+}
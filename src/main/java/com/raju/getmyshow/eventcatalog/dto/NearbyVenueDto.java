@@ -0,0 +1,25 @@
+package com.raju.getmyshow.eventcatalog.dto;
+
+import com.raju.getmyshow.eventcatalog.api.dto.ShowDto;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * A venue near the searched point with its next upcoming shows (empty when none)
+ */
+@Builder
+@Data
+public class NearbyVenueDto {
+    private Long venueId;
+    private String name;
+    private String city;
+    private String area;
+    private String venueType;
+    private double latitude;
+    private double longitude;
+    // Great-circle distance from the searched point
+    private double distanceKm;
+    private List<ShowDto> upcomingShows;
+}
@@ -0,0 +1,25 @@
+package com.raju.getmyshow.eventcatalog.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Venues within radiusKm of a point, nearest first.
+ *
+ * Example JSON:
+ * {
+ *     latitude: 23.7808, longitude: 90.4152, radiusKm: 5.0,
+ *     venues: [{ venueId: 3, name: "Star Cineplex Gulshan", distanceKm: 0.8,
+ *                upcomingShows: [{ id: 812, eventTitle: "Oppenheimer", startTime: "2026-03-14T19:30:00", ... }] }]
+ * }
+ */
+@Builder
+@Data
+public class NearbyVenuesResponse {
+    private double latitude;
+    private double longitude;
+    private double radiusKm;
+    private List<NearbyVenueDto> venues;
+}
@@ -0,0 +1,55 @@
+package com.raju.getmyshow.eventcatalog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Static seat layout of a screen, fetched once and cached by clients (keyed by layoutVersion).
+ * Compact seat maps refer to seats by layout position: row.start + index within the row.
+ *
+ * Example JSON:
+ * {
+ *     screenId: 3,
+ *     layoutVersion: 81273645512,
+ *     rows: [{
+ *          row: "A",
+ *          start: 0,
+ *          seatIds: [101, 102],
+ *          seatNumbers: [1, 2],
+ *          seatTypes: ["REGULAR", "REGULAR"],
+ *          displayLabels: ["A1", "A2"],
+ *          accessible: [],
+ *          aisle: [0]
+ *     }]
+ * }
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScreenLayoutDto {
+    private Long screenId;
+    private Long layoutVersion;
+    private List<Row> rows;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Row {
+        private String row;
+        private Integer start;
+        private long[] seatIds;
+        private int[] seatNumbers;
+        private String[] seatTypes;
+        private String[] displayLabels;
+        // Indexes within the row
+        private int[] accessible;
+        private int[] aisle;
+        private int[] blocked;
+    }
+}
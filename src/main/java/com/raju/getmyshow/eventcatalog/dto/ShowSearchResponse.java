@@ -0,0 +1,31 @@
+package com.raju.getmyshow.eventcatalog.dto;
+
+import com.raju.getmyshow.eventcatalog.api.dto.ShowDto;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One page of show search results, sorted by start time.
+ *
+ * Example JSON:
+ * {
+ *     city: "Dhaka",
+ *     shows: [{ id: 812, eventTitle: "Oppenheimer", startTime: "2026-03-14T19:30:00", availableSeats: 212, ... }],
+ *     nextAfterStartTime: "2026-03-14T21:00:00",
+ *     nextAfterShowId: 840
+ * }
+ *
+ * nextAfterStartTime / nextAfterShowId: pass as ?afterStartTime=&afterShowId= for the
+ * next page, null once a page comes back short
+ */
+@Builder
+@Data
+public class ShowSearchResponse {
+    private String city;
+    private List<ShowDto> shows;
+    private LocalDateTime nextAfterStartTime;
+    private Long nextAfterShowId;
+}
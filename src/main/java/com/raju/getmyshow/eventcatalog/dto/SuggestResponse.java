@@ -0,0 +1,23 @@
+package com.raju.getmyshow.eventcatalog.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Typeahead suggestions for what has been typed so far, most popular first.
+ *
+ * Example JSON:
+ * {
+ *     query: "inc",
+ *     suggestions: [{ type: "EVENT", id: 31, text: "Inception", detail: "MOVIE" },
+ *                   { type: "TEAM", text: "Inc Warriors", detail: "CRICKET" }]
+ * }
+ */
+@Builder
+@Data
+public class SuggestResponse {
+    private String query;
+    private List<SuggestionDto> suggestions;
+}
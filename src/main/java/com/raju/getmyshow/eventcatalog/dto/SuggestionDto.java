@@ -0,0 +1,19 @@
+package com.raju.getmyshow.eventcatalog.dto;
+
+import com.raju.getmyshow.eventcatalog.suggest.SuggestionType;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * One typeahead suggestion
+ * - id: event / venue id, null for names (city, area, tournament, team)
+ * - detail: second line, e.g. event type, the venue's city, the area's city, sport
+ */
+@Builder
+@Data
+public class SuggestionDto {
+    private SuggestionType type;
+    private Long id;
+    private String text;
+    private String detail;
+}
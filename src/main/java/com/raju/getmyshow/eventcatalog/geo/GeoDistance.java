@@ -0,0 +1,33 @@
+package com.raju.getmyshow.eventcatalog.geo;
+
+/**
+ * Great-circle distances on a spherical earth (haversine); under 0.5% off the
+ * ellipsoid, plenty for "how far is the cinema"
+ */
+public final class GeoDistance {
+
+    // IUGG mean radius, same constant as VenueRepository.findNearbyVenues
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+    public static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    private GeoDistance() {
+    }
+
+    public static double km(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double latitudeSin = Math.sin(Math.toRadians(latitude2 - latitude1) / 2);
+        double longitudeSin = Math.sin(Math.toRadians(longitude2 - longitude1) / 2);
+        double a = latitudeSin * latitudeSin
+                + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2)) * longitudeSin * longitudeSin;
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * Degrees of longitude spanning km at this latitude, widest over the band
+     * latitude +- km (for bounding boxes); 360 near the poles
+     */
+    public static double longitudeDegrees(double latitude, double km) {
+        double poleward = Math.min(90, Math.abs(latitude) + km / KM_PER_DEGREE);
+        double cos = Math.cos(Math.toRadians(poleward));
+        return cos < 1e-6 ? 360 : km / (KM_PER_DEGREE * cos);
+    }
+}
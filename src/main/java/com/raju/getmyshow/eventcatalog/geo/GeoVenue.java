@@ -0,0 +1,34 @@
+package com.raju.getmyshow.eventcatalog.geo;
+
+import com.raju.getmyshow.eventcatalog.dto.NearbyVenueDto;
+import com.raju.getmyshow.eventcatalog.repository.projection.VenueGeoRow;
+
+/**
+ * One venue as held by VenueGeoIndex (immutable)
+ */
+record GeoVenue(long id,
+                String name,
+                String city,
+                String area,
+                String venueType,
+                double latitude,
+                double longitude) {
+
+    static GeoVenue of(VenueGeoRow row) {
+        return new GeoVenue(row.getId(), row.getName(), row.getCity(), row.getArea(), row.getVenueType(),
+                row.getLatitude(), row.getLongitude());
+    }
+
+    NearbyVenueDto toDto(double distanceKm) {
+        return NearbyVenueDto.builder()
+                .venueId(id)
+                .name(name)
+                .city(city)
+                .area(area)
+                .venueType(venueType)
+                .latitude(latitude)
+                .longitude(longitude)
+                .distanceKm(distanceKm)
+                .build();
+    }
+}
@@ -0,0 +1,186 @@
+package com.raju.getmyshow.eventcatalog.geo;
+
+import com.raju.getmyshow.eventcatalog.config.EventCatalogProperties;
+import com.raju.getmyshow.eventcatalog.dto.NearbyVenueDto;
+import com.raju.getmyshow.eventcatalog.repository.VenueRepository;
+import com.raju.getmyshow.eventcatalog.repository.projection.VenueGeoRow;
+import com.raju.getmyshow.shared.change.ChangeCursor;
+import com.raju.getmyshow.shared.change.ChangeFeed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 💡 PURPOSE: "Venues near me" from memory
+ * - Every ACTIVE venue with coordinates in a VenueGrid; tens of thousands of venues are
+ *   a few MB, a lookup reads the cells around the point and nothing else
+ * - Readers take the current grid (volatile, immutable), any number in parallel, no lock
+ * - Null while the first build runs: the caller falls back to SQL
+ *
+ * 💡 UPDATES
+ * - Built when the application is ready, again on rebuild-cron (drops deleted venues)
+ * - Refresh every refresh-interval-millis: venues written since the last poll, through a
+ *   ChangeCursor below the ChangeFeed horizon (venues.updated_at, V16); a changed venue
+ *   rebuilds the grid, a few ms for the whole country
+ *
+ * 💡 METRICS
+ * - eventcatalog.geo.index.venues : venues held
+ * - eventcatalog.geo.requests     : tagged source=index|sql
+ */
+@Component
+@Slf4j
+public class VenueGeoIndex {
+
+    private final VenueRepository venueRepository;
+    private final EventCatalogProperties eventCatalogProperties;
+    private final ChangeFeed changeFeed;
+
+    private final Counter indexHits;
+    private final Counter sqlFallbacks;
+
+    private volatile VenueGrid grid = VenueGrid.EMPTY;
+    private volatile boolean ready;
+
+    // Master copy, build / refresh only (under this)
+    private final Map<Long, GeoVenue> venues = new HashMap<>();
+    private ChangeCursor changes;
+    // Venues changed by the running refresh
+    private int changed;
+
+    public VenueGeoIndex(VenueRepository venueRepository,
+                         EventCatalogProperties eventCatalogProperties,
+                         ChangeFeed changeFeed,
+                         MeterRegistry meterRegistry) {
+        this.venueRepository = venueRepository;
+        this.eventCatalogProperties = eventCatalogProperties;
+        this.changeFeed = changeFeed;
+
+        this.indexHits = Counter.builder("eventcatalog.geo.requests")
+                .tag("source", "index")
+                .register(meterRegistry);
+        this.sqlFallbacks = Counter.builder("eventcatalog.geo.requests")
+                .tag("source", "sql")
+                .register(meterRegistry);
+        Gauge.builder("eventcatalog.geo.index.venues", this, index -> index.grid.size())
+                .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Up to limit ACTIVE venues within radiusKm, nearest first (no shows filled in),
+     * or null when the index cannot answer yet
+     */
+    public List<NearbyVenueDto> nearest(double latitude, double longitude, double radiusKm, int limit) {
+        if (!ready) {
+            sqlFallbacks.increment();
+            return null;
+        }
+        indexHits.increment();
+        return grid.nearest(latitude, longitude, radiusKm, limit).stream()
+                .map(nearby -> nearby.venue().toDto(nearby.distanceKm()))
+                .toList();
+    }
+
+    /**
+     * Counts a lookup that skipped the index (e.g. index disabled)
+     */
+    public void recordSqlLookup() {
+        sqlFallbacks.increment();
+    }
+
+    //=======================================
+    //    Build
+    //=======================================
+
+    @EventListener(ApplicationReadyEvent.class)
+    void buildOnStartup() {
+        // Small enough to build inline: lookups go to SQL for the few ms it takes
+        rebuild();
+    }
+
+    @Scheduled(cron = "${eventcatalog.geo.rebuild-cron:0 45 * * * *}")
+    public void rebuild() {
+        EventCatalogProperties.Geo config = eventCatalogProperties.getGeo();
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        try {
+            // Everything stamped below it is in this build, the next refresh starts there
+            LocalDateTime changesFrom = changeFeed.horizon();
+            List<VenueGeoRow> rows = venueRepository.findGeoVenues();
+
+            synchronized (this) {
+                venues.clear();
+                rows.forEach(row -> venues.put(row.getId(), GeoVenue.of(row)));
+                grid = VenueGrid.build(venues.values(), config.getCellDegrees());
+                changes = new ChangeCursor(changesFrom);
+                ready = true;
+            }
+            log.info("Venue geo index built: {} venues", rows.size());
+        } catch (DataAccessException ex) {
+            log.warn("Venue geo index build failed, {}: {}",
+                    ready ? "keeping the previous one" : "lookups stay on SQL", ex.getMessage());
+        }
+    }
+
+    //=======================================
+    //    Incremental refresh
+    //=======================================
+
+    @Scheduled(fixedDelayString = "${eventcatalog.geo.refresh-interval-millis:5000}",
+            initialDelayString = "${eventcatalog.geo.refresh-interval-millis:5000}")
+    public void refresh() {
+        EventCatalogProperties.Geo config = eventCatalogProperties.getGeo();
+        if (!config.isEnabled() || !ready) {
+            return;
+        }
+
+        try {
+            synchronized (this) {
+                applyChanges(config);
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Venue geo index refresh failed, retrying: {}", ex.getMessage());
+        }
+    }
+
+    private void applyChanges(EventCatalogProperties.Geo config) {
+        changed = 0;
+        try {
+            changes.poll(changeFeed.horizon(), Integer.MAX_VALUE, venueRepository::findGeoVenueChanges,
+                    VenueGeoRow::getId, this::apply);
+        } finally {
+            // Also after a failed page: the pages before it are applied, the cursor is past them
+            if (changed > 0) {
+                grid = VenueGrid.build(venues.values(), config.getCellDegrees());
+                log.debug("Venue geo index: {} venues changed", changed);
+            }
+        }
+    }
+
+    private void apply(VenueGeoRow row) {
+        if (Boolean.TRUE.equals(row.getActive()) && row.getLatitude() != null) {
+            GeoVenue venue = GeoVenue.of(row);
+            if (!venue.equals(venues.put(venue.id(), venue))) {
+                changed++;
+            }
+        } else if (venues.remove(row.getId()) != null) {
+            changed++;
+        }
+    }
+}
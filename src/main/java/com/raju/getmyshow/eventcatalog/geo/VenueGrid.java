@@ -0,0 +1,139 @@
+package com.raju.getmyshow.eventcatalog.geo;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Immutable grid of venues: the map cut into cells of cell-degrees x cell-degrees.
+ *
+ * 💡 NEAREST: cells are read in rings around the searched point's cell, ring 0 first.
+ * - Every venue found within the radius goes through a bounded heap (the limit closest)
+ * - Ring r + 1 is at least r cells away: once the heap is full and its farthest venue is
+ *   closer than that, no later ring can improve it and the walk stops
+ * - A dense city with a small limit reads a handful of cells whatever the venue count;
+ *   the radius bounds the walk when the area is sparse
+ * - Coordinates in primitive arrays, one distance computation per venue read
+ *
+ * Does not wrap across the 180th meridian (no venue there).
+ */
+final class VenueGrid {
+
+    static final VenueGrid EMPTY = build(List.of(), 0.05);
+
+    private static final long ROW_STRIDE = 1_000_000L;
+
+    private final double cellDegrees;
+    private final GeoVenue[] venues;
+    private final Map<Long, int[]> cells;
+    private final double[] latitudes;
+    private final double[] longitudes;
+
+    private VenueGrid(double cellDegrees, GeoVenue[] venues, Map<Long, int[]> cells) {
+        this.cellDegrees = cellDegrees;
+        this.venues = venues;
+        this.cells = cells;
+        this.latitudes = new double[venues.length];
+        this.longitudes = new double[venues.length];
+        for (int index = 0; index < venues.length; index++) {
+            latitudes[index] = venues[index].latitude();
+            longitudes[index] = venues[index].longitude();
+        }
+    }
+
+    static VenueGrid build(Collection<GeoVenue> venues, double cellDegrees) {
+        GeoVenue[] all = venues.toArray(new GeoVenue[0]);
+        Map<Long, List<Integer>> grouped = new HashMap<>();
+        for (int index = 0; index < all.length; index++) {
+            grouped.computeIfAbsent(cell(row(all[index].latitude(), cellDegrees), column(all[index].longitude(), cellDegrees)),
+                    key -> new ArrayList<>()).add(index);
+        }
+
+        Map<Long, int[]> cells = new HashMap<>(grouped.size() * 2);
+        grouped.forEach((key, members) -> cells.put(key, members.stream().mapToInt(Integer::intValue).toArray()));
+        return new VenueGrid(cellDegrees, all, cells);
+    }
+
+    int size() {
+        return venues.length;
+    }
+
+    record Nearby(GeoVenue venue, double distanceKm) {
+    }
+
+    /**
+     * Up to limit venues within radiusKm of (latitude, longitude), nearest first
+     */
+    List<Nearby> nearest(double latitude, double longitude, double radiusKm, int limit) {
+        int centerRow = row(latitude, cellDegrees);
+        int centerColumn = column(longitude, cellDegrees);
+        int rowReach = (int) Math.ceil(radiusKm / (GeoDistance.KM_PER_DEGREE * cellDegrees));
+        int columnReach = (int) Math.min(Math.ceil(GeoDistance.longitudeDegrees(latitude, radiusKm) / cellDegrees),
+                Math.ceil(360 / cellDegrees));
+        // One cell step is at least this far anywhere in the searched band (columns narrow poleward)
+        double poleward = Math.min(89.999, Math.abs(latitude) + radiusKm / GeoDistance.KM_PER_DEGREE);
+        double cellKm = GeoDistance.KM_PER_DEGREE * cellDegrees * Math.cos(Math.toRadians(poleward));
+
+        // Farthest of the closest so far on top
+        PriorityQueue<Nearby> closest = new PriorityQueue<>(limit + 1,
+                (left, right) -> Double.compare(right.distanceKm(), left.distanceKm()));
+
+        for (int ring = 0; ring <= Math.max(rowReach, columnReach); ring++) {
+            if (closest.size() == limit && closest.peek().distanceKm() <= (ring - 1) * cellKm) {
+                break;
+            }
+            for (int rowOffset = -Math.min(ring, rowReach); rowOffset <= Math.min(ring, rowReach); rowOffset++) {
+                boolean edgeRow = Math.abs(rowOffset) == ring;
+                // Inside rows of the ring: only its two edge columns
+                int columnStep = edgeRow ? 1 : 2 * ring;
+                for (int columnOffset = -ring; columnOffset <= ring; columnOffset += Math.max(1, columnStep)) {
+                    if (Math.abs(columnOffset) > columnReach) {
+                        continue;
+                    }
+                    int[] members = cells.get(cell(centerRow + rowOffset, centerColumn + columnOffset));
+                    if (members != null) {
+                        collect(members, latitude, longitude, radiusKm, limit, closest);
+                    }
+                }
+            }
+        }
+
+        List<Nearby> nearest = new ArrayList<>(closest);
+        nearest.sort((left, right) -> {
+            int byDistance = Double.compare(left.distanceKm(), right.distanceKm());
+            return byDistance != 0 ? byDistance : Long.compare(left.venue().id(), right.venue().id());
+        });
+        return nearest;
+    }
+
+    private void collect(int[] members, double latitude, double longitude, double radiusKm, int limit,
+                         PriorityQueue<Nearby> closest) {
+        for (int index : members) {
+            double distance = GeoDistance.km(latitude, longitude, latitudes[index], longitudes[index]);
+            if (distance > radiusKm) {
+                continue;
+            }
+            if (closest.size() < limit) {
+                closest.add(new Nearby(venues[index], distance));
+            } else if (distance < closest.peek().distanceKm()) {
+                closest.poll();
+                closest.add(new Nearby(venues[index], distance));
+            }
+        }
+    }
+
+    private static int row(double latitude, double cellDegrees) {
+        return (int) Math.floor((latitude + 90) / cellDegrees);
+    }
+
+    private static int column(double longitude, double cellDegrees) {
+        return (int) Math.floor((longitude + 180) / cellDegrees);
+    }
+
+    private static long cell(int row, int column) {
+        return row * ROW_STRIDE + column;
+    }
+}
@@ -0,0 +1,174 @@
+package com.raju.getmyshow.eventcatalog.layout;
+
+import com.raju.getmyshow.eventcatalog.domain.entity.Seat;
+import com.raju.getmyshow.eventcatalog.domain.enums.SeatType;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable seat layout of ONE screen, shared by every show on that screen.
+ *
+ * 💡 LAYOUT: column arrays, "position" = index, positions sorted by seat id
+ * - One small array per column instead of one Seat entity (+ Hibernate state) per seat
+ * - Lookup by seat id is a binary search
+ * - Never mutated after construction: safe to share across threads without locking
+ *
+ * 💡 isCurrent: false once ScreenLayoutCache dropped it because the screen's seats
+ *   changed (volatile, the only state that ever changes); holders reload on false
+ *
+ * 💡 ROWS: a row = a run of consecutive positions with the same row label
+ *   (seats are created row by row, so each physical row is one run)
+ */
+public final class ScreenLayout {
+
+    private static final SeatType[] SEAT_TYPES = SeatType.values();
+
+    @Getter
+    private final Long screenId;
+
+    private final long[] seatIds;
+    private final String[] rowLabels;
+    private final int[] seatNumbers;
+    private final byte[] seatTypes;
+    private final String[] displayLabels;
+    private final boolean[] accessible;
+    private final boolean[] aisle;
+    private final boolean[] blocked;
+
+    // Row r covers positions [rowStarts[r], rowStarts[r + 1])
+    private final int[] rowStarts;
+
+    // Content hash: changes whenever a seat of the screen changes (clients cache the layout by it)
+    @Getter
+    private final long layoutVersion;
+
+    private volatile boolean current = true;
+
+    private ScreenLayout(Long screenId, List<Seat> seats) {
+        List<Seat> sorted = seats.stream().sorted(Comparator.comparing(Seat::getId)).toList();
+        int size = sorted.size();
+
+        this.screenId = screenId;
+        this.seatIds = new long[size];
+        this.rowLabels = new String[size];
+        this.seatNumbers = new int[size];
+        this.seatTypes = new byte[size];
+        this.displayLabels = new String[size];
+        this.accessible = new boolean[size];
+        this.aisle = new boolean[size];
+        this.blocked = new boolean[size];
+
+        for (int position = 0; position < size; position++) {
+            Seat seat = sorted.get(position);
+            seatIds[position] = seat.getId();
+            rowLabels[position] = seat.getRowLabel();
+            seatNumbers[position] = seat.getSeatNumber();
+            seatTypes[position] = (byte) seat.getSeatType().ordinal();
+            displayLabels[position] = seat.getDisplayLabel() != null
+                    ? seat.getDisplayLabel()
+                    : seat.getRowLabel() + seat.getSeatNumber();
+            accessible[position] = Boolean.TRUE.equals(seat.getIsAccessible());
+            aisle[position] = Boolean.TRUE.equals(seat.getIsAisle());
+            blocked[position] = Boolean.TRUE.equals(seat.getIsBlocked());
+        }
+
+        int[] starts = new int[size + 1];
+        int rows = 0;
+        for (int position = 0; position < size; position++) {
+            if (position == 0 || !rowLabels[position].equals(rowLabels[position - 1])) {
+                starts[rows++] = position;
+            }
+        }
+        starts[rows] = size;
+        this.rowStarts = Arrays.copyOf(starts, rows + 1);
+
+        long hash = 17;
+        for (int position = 0; position < size; position++) {
+            hash = 31 * hash + seatIds[position];
+            hash = 31 * hash + displayLabels[position].hashCode();
+            hash = 31 * hash + seatTypes[position];
+            hash = 31 * hash + (accessible[position] ? 1 : 0) + (aisle[position] ? 2 : 0) + (blocked[position] ? 4 : 0);
+        }
+        this.layoutVersion = hash;
+    }
+
+    public static ScreenLayout of(Long screenId, List<Seat> seats) {
+        return new ScreenLayout(screenId, seats);
+    }
+
+    /**
+     * False once the screen's seats changed after this layout was loaded.
+     */
+    public boolean isCurrent() {
+        return current;
+    }
+
+    void invalidate() {
+        current = false;
+    }
+
+    public int size() {
+        return seatIds.length;
+    }
+
+    /**
+     * Position of the seat, -1 when the seat is not part of this screen.
+     */
+    public int indexOf(long seatId) {
+        int position = Arrays.binarySearch(seatIds, seatId);
+        return position >= 0 ? position : -1;
+    }
+
+    public int rowCount() {
+        return rowStarts.length - 1;
+    }
+
+    /**
+     * First position of row {@code row}
+     */
+    public int rowStart(int row) {
+        return rowStarts[row];
+    }
+
+    /**
+     * Position after the last seat of row {@code row}
+     */
+    public int rowEnd(int row) {
+        return rowStarts[row + 1];
+    }
+
+    public long seatIdAt(int position) {
+        return seatIds[position];
+    }
+
+    public String rowLabelAt(int position) {
+        return rowLabels[position];
+    }
+
+    public int seatNumberAt(int position) {
+        return seatNumbers[position];
+    }
+
+    public SeatType seatTypeAt(int position) {
+        return SEAT_TYPES[seatTypes[position]];
+    }
+
+    public String displayLabelAt(int position) {
+        return displayLabels[position];
+    }
+
+    public boolean isAccessibleAt(int position) {
+        return accessible[position];
+    }
+
+    public boolean isAisleAt(int position) {
+        return aisle[position];
+    }
+
+    public boolean isBlockedAt(int position) {
+        return blocked[position];
+    }
+}
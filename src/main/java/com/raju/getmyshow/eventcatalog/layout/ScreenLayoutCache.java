@@ -0,0 +1,139 @@
+package com.raju.getmyshow.eventcatalog.layout;
+
+import com.raju.getmyshow.eventcatalog.config.EventCatalogProperties;
+import com.raju.getmyshow.eventcatalog.repository.SeatRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 💡 PURPOSE: Load each screen's seats once, share them across all its shows
+ * - Seat layouts do not change between shows of the same screen
+ * - LRU bounded by eventcatalog.layout-cache.max-screens
+ * - Invalidated when a seat of the screen is inserted / updated / deleted
+ *   through JPA (see SeatLayoutListener); the next read reloads it
+ * - Empty layouts (unknown screen) are never cached
+ *
+ * 💡 INVALIDATION
+ * - The dropped layout is marked (ScreenLayout.isCurrent): holders such as seat maps
+ *   check that flag instead of looking the screen up here, no lock on their read path
+ * - Loads run outside the lock; every invalidation bumps the screen's generation, and a
+ *   load that started before it is returned already invalidated, never cached
+ * - Inside a transaction, once per screen after commit, however many seats were written
+ */
+@Component
+@Slf4j
+public class ScreenLayoutCache {
+
+    private final SeatRepository seatRepository;
+    // Access ordered LRU, guarded by itself
+    private final LinkedHashMap<Long, ScreenLayout> layouts;
+    // Invalidations per screen so far (guarded by layouts)
+    private final Map<Long, Long> generations = new HashMap<>();
+
+    public ScreenLayoutCache(SeatRepository seatRepository, EventCatalogProperties properties) {
+        this.seatRepository = seatRepository;
+        int maxScreens = properties.getLayoutCache().getMaxScreens();
+        this.layouts = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, ScreenLayout> eldest) {
+                return size() > maxScreens;
+            }
+        };
+    }
+
+    public ScreenLayout get(Long screenId) {
+        long generation;
+        synchronized (layouts) {
+            ScreenLayout cached = layouts.get(screenId);
+            if (cached != null) {
+                return cached;
+            }
+            generation = generations.getOrDefault(screenId, 0L);
+        }
+
+        ScreenLayout loaded = load(screenId);
+        if (loaded.size() == 0) {
+            // Unknown screen (or no seats yet): not cached, so ids probed by clients cannot fill the LRU
+            return loaded;
+        }
+        synchronized (layouts) {
+            if (generations.getOrDefault(screenId, 0L) != generation) {
+                // Invalidated while loading: the load may have read the old seats
+                loaded.invalidate();
+                return loaded;
+            }
+            ScreenLayout raced = layouts.putIfAbsent(screenId, loaded);
+            return raced != null ? raced : loaded;
+        }
+    }
+
+    /**
+     * Drops the cached layout right away and loads the current one
+     * (a seat unknown to the cached layout, e.g. added since it was loaded).
+     */
+    public ScreenLayout reload(Long screenId) {
+        remove(screenId);
+        return get(screenId);
+    }
+
+    /**
+     * Drops the screen's layout; inside a transaction only once it commits,
+     * so a reader never caches the pre-commit seats again.
+     */
+    public void invalidate(Long screenId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            remove(screenId);
+            return;
+        }
+
+        PendingInvalidations pending = (PendingInvalidations) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingInvalidations();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.screenIds.add(screenId);
+    }
+
+    private void remove(Long screenId) {
+        synchronized (layouts) {
+            generations.merge(screenId, 1L, Long::sum);
+            ScreenLayout removed = layouts.remove(screenId);
+            if (removed != null) {
+                removed.invalidate();
+            }
+        }
+    }
+
+    private ScreenLayout load(Long screenId) {
+        ScreenLayout layout = ScreenLayout.of(screenId, seatRepository.findByScreenIdOrderById(screenId));
+        log.debug("Loaded seat layout of screen {} ({} seats)", screenId, layout.size());
+        return layout;
+    }
+
+    /**
+     * Screens written by the current transaction, bound to it under this cache as key
+     */
+    private final class PendingInvalidations implements TransactionSynchronization {
+
+        private final Set<Long> screenIds = new TreeSet<>();
+
+        @Override
+        public void afterCommit() {
+            screenIds.forEach(ScreenLayoutCache.this::remove);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ScreenLayoutCache.this);
+        }
+    }
+}
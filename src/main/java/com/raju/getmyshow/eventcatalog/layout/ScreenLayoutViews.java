@@ -0,0 +1,59 @@
+package com.raju.getmyshow.eventcatalog.layout;
+
+import com.raju.getmyshow.eventcatalog.dto.ScreenLayoutDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * ScreenLayout -> ScreenLayoutDto (column arrays per row)
+ */
+public final class ScreenLayoutViews {
+
+    private ScreenLayoutViews() {
+    }
+
+    public static ScreenLayoutDto toDto(ScreenLayout layout) {
+        List<ScreenLayoutDto.Row> rows = new ArrayList<>(layout.rowCount());
+
+        for (int row = 0; row < layout.rowCount(); row++) {
+            int start = layout.rowStart(row);
+            int count = layout.rowEnd(row) - start;
+
+            long[] seatIds = new long[count];
+            int[] seatNumbers = new int[count];
+            String[] seatTypes = new String[count];
+            String[] displayLabels = new String[count];
+            for (int index = 0; index < count; index++) {
+                seatIds[index] = layout.seatIdAt(start + index);
+                seatNumbers[index] = layout.seatNumberAt(start + index);
+                seatTypes[index] = layout.seatTypeAt(start + index).name();
+                displayLabels[index] = layout.displayLabelAt(start + index);
+            }
+
+            rows.add(ScreenLayoutDto.Row.builder()
+                    .row(layout.rowLabelAt(start))
+                    .start(start)
+                    .seatIds(seatIds)
+                    .seatNumbers(seatNumbers)
+                    .seatTypes(seatTypes)
+                    .displayLabels(displayLabels)
+                    .accessible(indexesWhere(count, index -> layout.isAccessibleAt(start + index)))
+                    .aisle(indexesWhere(count, index -> layout.isAisleAt(start + index)))
+                    .blocked(indexesWhere(count, index -> layout.isBlockedAt(start + index)))
+                    .build());
+        }
+
+        return ScreenLayoutDto.builder()
+                .screenId(layout.getScreenId())
+                .layoutVersion(layout.getLayoutVersion())
+                .rows(rows)
+                .build();
+    }
+
+    private static int[] indexesWhere(int count, IntPredicate predicate) {
+        return IntStream.range(0, count).filter(predicate).toArray();
+    }
+}
@@ -0,0 +1,33 @@
+package com.raju.getmyshow.eventcatalog.layout;
+
+import com.raju.getmyshow.eventcatalog.domain.entity.Seat;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * JPA listener on Seat: any seat write invalidates its screen's cached layout
+ * (once per screen per transaction, however many seat rows it writes).
+ *
+ * 💡 ObjectProvider: the listener is created while the EntityManagerFactory boots,
+ *   before ScreenLayoutCache (which needs a repository) can exist
+ */
+public class SeatLayoutListener {
+
+    private final ObjectProvider<ScreenLayoutCache> screenLayoutCache;
+
+    public SeatLayoutListener(ObjectProvider<ScreenLayoutCache> screenLayoutCache) {
+        this.screenLayoutCache = screenLayoutCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onSeatChanged(Seat seat) {
+        if (seat.getScreen() == null) {
+            return;
+        }
+        screenLayoutCache.ifAvailable(cache -> cache.invalidate(seat.getScreen().getId()));
+    }
+}
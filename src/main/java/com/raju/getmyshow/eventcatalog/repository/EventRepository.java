@@ -1,8 +1,124 @@
 package com.raju.getmyshow.eventcatalog.repository;
 
 import com.raju.getmyshow.eventcatalog.domain.entity.Event;
+import com.raju.getmyshow.eventcatalog.repository.projection.EventSearchRow;
+import com.raju.getmyshow.eventcatalog.repository.projection.EventSuggestionRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface EventRepository extends JpaRepository<Event, Long> {
 
+    /**
+     * 💡 Full-text search over PUBLISHED events, best match first
+     * - websearch_to_tsquery: "nolan thriller imax" = all three words (stemmed),
+     *   "quoted phrase", -word and OR work as on a search engine
+     * - idx_events_search_vector (V15, GIN, partial on PUBLISHED) finds the matches;
+     *   status = 'PUBLISHED' spelled as the index predicate
+     * - At most :maxCandidates matches are ranked: ts_rank reads every match's vector,
+     *   a one-word query over millions of events must not rank them all. The candidates
+     *   are the newest matches (id DESC): the same set on every page of a query, so pages
+     *   neither repeat nor skip an event
+     * - Keyset pages in (rank DESC, id) order: rows after (:afterRank, :afterEventId);
+     *   the first page passes +Infinity / 0
+     * - Rank normalization 1: divided by 1 + log(document length), a long description
+     *   does not outrank a title hit
+     */
+    @Query(value = """
+            WITH q AS (SELECT websearch_to_tsquery('english', :query) AS query),
+                 candidates AS (
+                     SELECT e.id
+                     FROM events e,
+                          q
+                     WHERE e.status = 'PUBLISHED'
+                       AND e.search_vector @@ q.query
+                     ORDER BY e.id DESC
+                     LIMIT :maxCandidates),
+                 ranked AS (
+                     SELECT e.id,
+                            CAST(ts_rank(e.search_vector, q.query, 1) AS DOUBLE PRECISION) AS rank
+                     FROM candidates c
+                              JOIN events e ON e.id = c.id
+                              CROSS JOIN q)
+            SELECT e.id           AS "eventId",
+                   e.title        AS "title",
+                   e.event_type   AS "eventType",
+                   e.poster_url   AS "posterUrl",
+                   m.genre        AS "genre",
+                   m.language     AS "language",
+                   m.director     AS "director",
+                   r.rank         AS "rank"
+            FROM (SELECT id, rank
+                  FROM ranked
+                  WHERE rank < :afterRank
+                     OR (rank = :afterRank AND id > :afterEventId)
+                  ORDER BY rank DESC, id
+                  LIMIT :limit) r
+                     JOIN events e ON e.id = r.id
+                     LEFT JOIN movies m ON m.event_id = e.id
+            ORDER BY r.rank DESC, e.id
+            """, nativeQuery = true)
+    List<EventSearchRow> searchEvents(@Param("query") String query,
+                                      @Param("maxCandidates") int maxCandidates,
+                                      @Param("afterRank") double afterRank,
+                                      @Param("afterEventId") long afterEventId,
+                                      @Param("limit") int limit);
+
+    /**
+     * 💡 PUBLISHED events as typeahead sources, full build (TypeaheadIndex)
+     * - Popularity: shows + seats sold since :popularSince, one idx_shows_event range per event
+     */
+    @Query(value = """
+            SELECT e.id                        AS "id",
+                   e.title                     AS "title",
+                   e.event_type                AS "eventType",
+                   p.popularity                AS "popularity",
+                   TRUE                        AS "active",
+                   e.updated_at                AS "updatedAt"
+            FROM events e
+                     CROSS JOIN LATERAL (
+                SELECT COUNT(*) + COALESCE(SUM(s.total_seats - s.available_seats), 0) AS popularity
+                FROM shows s
+                WHERE s.event_id = e.id
+                  AND s.start_time >= :popularSince
+                  AND s.status <> 'CANCELLED') p
+            WHERE e.status = 'PUBLISHED'
+            """, nativeQuery = true)
+    List<EventSuggestionRow> findSuggestionSources(@Param("popularSince") LocalDateTime popularSince);
+
+    /**
+     * 💡 Events written after (:afterTime, :afterId) and before :horizon, in change order
+     *   (TypeaheadIndex refresh through a ChangeCursor)
+     * - Any status: an archived / cancelled event must leave the suggestions
+     * - Page first (idx_events_changes, V16), popularity for the page's rows only
+     */
+    @Query(value = """
+            SELECT e.id                        AS "id",
+                   e.title                     AS "title",
+                   e.event_type                AS "eventType",
+                   p.popularity                AS "popularity",
+                   (e.status = 'PUBLISHED')    AS "active",
+                   e.updated_at                AS "updatedAt"
+            FROM (SELECT id, title, event_type, status, updated_at
+                  FROM events
+                  WHERE (updated_at, id) > (:afterTime, :afterId)
+                    AND updated_at < :horizon
+                  ORDER BY updated_at, id
+                  LIMIT :limit) e
+                     CROSS JOIN LATERAL (
+                SELECT COUNT(*) + COALESCE(SUM(s.total_seats - s.available_seats), 0) AS popularity
+                FROM shows s
+                WHERE s.event_id = e.id
+                  AND s.start_time >= :popularSince
+                  AND s.status <> 'CANCELLED') p
+            ORDER BY e.updated_at, e.id
+            """, nativeQuery = true)
+    List<EventSuggestionRow> findSuggestionChanges(@Param("afterTime") LocalDateTime afterTime,
+                                                   @Param("afterId") long afterId,
+                                                   @Param("horizon") LocalDateTime horizon,
+                                                   @Param("popularSince") LocalDateTime popularSince,
+                                                   @Param("limit") int limit);
 }
@@ -3,6 +3,9 @@ package com.raju.getmyshow.eventcatalog.repository;
 import com.raju.getmyshow.eventcatalog.domain.entity.Movie;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Optional;
+
 public interface MovieRepository extends JpaRepository<Movie, Long> {
 
+    Optional<Movie> findByEventId(Long eventId);
 }
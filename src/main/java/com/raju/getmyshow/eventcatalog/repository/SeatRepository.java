@@ -2,9 +2,15 @@ package com.raju.getmyshow.eventcatalog.repository;
 
 import com.raju.getmyshow.eventcatalog.domain.entity.Seat;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface SeatRepository extends JpaRepository<Seat, Long> {
-    String findDisplayLabelById(Long seatId);
+
+    @Query("SELECT s FROM Seat s WHERE s.screen.id = :screenId ORDER BY s.id")
+    List<Seat> findByScreenIdOrderById(@Param("screenId") Long screenId);
+
+    long countByScreenId(Long screenId);
 }
@@ -1,7 +1,322 @@
 package com.raju.getmyshow.eventcatalog.repository;
 
 import com.raju.getmyshow.eventcatalog.domain.entity.Show;
+import com.raju.getmyshow.eventcatalog.repository.projection.SeatCounterFoldRow;
+import com.raju.getmyshow.eventcatalog.repository.projection.ShowChangeRow;
+import com.raju.getmyshow.eventcatalog.repository.projection.ShowSearchRow;
+import com.raju.getmyshow.eventcatalog.repository.projection.VenueShowRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 public interface ShowRepository extends JpaRepository<Show, Long> {
+
+    /**
+     * Adds a seat count delta to one stripe of the show's counter (see V4 show_seat_counters)
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO show_seat_counters AS c (show_id, slot, delta)
+            VALUES (:showId, :slot, :delta)
+            ON CONFLICT (show_id, slot) DO UPDATE SET delta = c.delta + EXCLUDED.delta
+            """, nativeQuery = true)
+    int addSeatDelta(@Param("showId") Long showId, @Param("slot") short slot, @Param("delta") int delta);
+
+    /**
+     * Folds pending deltas into shows.available_seats (see V4), one row per show with
+     * claimed deltas and whether they were FOLDED, DEFERRED or OUT_OF_RANGE.
+     * Caller must be in a read-write transaction.
+     */
+    @Query(value = """
+            SELECT f.show_id AS "showId",
+                   f.delta   AS "delta",
+                   f.outcome AS "outcome"
+            FROM fold_show_seat_counters() f
+            """, nativeQuery = true)
+    List<SeatCounterFoldRow> foldSeatCounters();
+
+    /**
+     * 💡 The show's current start date (its seat_inventory partition), row held FOR SHARE
+     * - Until the caller's transaction ends a reschedule waits, and its trigger (V9) then
+     *   moves whatever rows the caller wrote: rows never land in the old date's partition
+     * - Null when the show does not exist
+     * - Caller must be in a read-write transaction
+     */
+    @Query(value = """
+            SELECT CAST(s.start_time AS DATE)
+            FROM shows s
+            WHERE s.id = :showId
+            FOR SHARE
+            """, nativeQuery = true)
+    LocalDate lockShowDate(@Param("showId") Long showId);
+
+    /**
+     * 💡 Marks up to :batchSize shows whose end_time has passed COMPLETED, oldest first
+     * - SKIP LOCKED: shows being booked / edited right now are taken by a later batch
+     * - Bumps updated_at (trg_shows_updated_at), so the search index drops them
+     * - Caller must be in a read-write transaction
+     *
+     * @return number of shows marked
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE shows
+            SET status = 'COMPLETED'
+            WHERE id IN (SELECT s.id
+                         FROM shows s
+                         WHERE s.status IN ('SCHEDULED', 'BOOKING_OPEN', 'BOOKING_CLOSED', 'LIVE')
+                           AND s.end_time < CURRENT_TIMESTAMP
+                         ORDER BY s.end_time
+                         LIMIT :batchSize
+                         FOR UPDATE SKIP LOCKED)
+            """, nativeQuery = true)
+    int completeEndedShows(@Param("batchSize") int batchSize);
+
+    /**
+     * Not yet folded deltas of one show (the show's stripes, PK prefix)
+     */
+    @Query(value = """
+            SELECT COALESCE(SUM(c.delta), 0)
+            FROM show_seat_counters c
+            WHERE c.show_id = :showId
+            """, nativeQuery = true)
+    int sumUnfoldedSeatDelta(@Param("showId") Long showId);
+
+    /**
+     * 💡 A show with its effective available seats (folded column + stripes)
+     * - For booking / availability checks; plain loads and list queries skip the
+     *   stripe sum and see the folded value
+     */
+    default Optional<Show> findWithAvailabilityById(Long showId) {
+        return findById(showId)
+                .map(show -> show.withUnfoldedSeatDelta(sumUnfoldedSeatDelta(showId)));
+    }
+
+    /**
+     * 💡 Show search, one page in ONE statement
+     * - idx_shows_search_primary (V13): city = ? AND (start_time, id) > cursor is a single
+     *   index range read in page order, the scan stops after :limit matches
+     * - Event type / availability are filtered on the heap tuple: this selects heap-only
+     *   columns, so it is a plain Index Scan and the INCLUDE columns are not read (see V13)
+     * - status IN (...) spelled exactly as the index predicate, or the partial index is not used
+     * - movies joined by event_id only for language / genre / formats (unique, idx_movies_event)
+     * - Optional filters are NULL when not requested
+     * - availableSeats is the folded count (see V4), without unfolded booking deltas
+     */
+    @Query(value = """
+            SELECT s.id              AS "showId",
+                   s.event_id        AS "eventId",
+                   s.screen_id       AS "screenId",
+                   s.event_title     AS "eventTitle",
+                   s.event_type      AS "eventType",
+                   s.venue_name      AS "venueName",
+                   s.city            AS "city",
+                   s.start_time      AS "startTime",
+                   s.end_time        AS "endTime",
+                   s.base_price      AS "basePrice",
+                   s.total_seats     AS "totalSeats",
+                   s.available_seats AS "availableSeats",
+                   s.status          AS "status",
+                   m.language        AS "language",
+                   m.genre           AS "genre",
+                   array_to_string(m.formats, ',') AS "formats"
+            FROM shows s
+                     LEFT JOIN movies m ON m.event_id = s.event_id
+            WHERE s.city = :city
+              AND s.status IN ('SCHEDULED', 'BOOKING_OPEN')
+              AND (s.start_time, s.id) > (:afterStartTime, :afterShowId)
+              AND s.start_time >= :fromTime
+              AND (CAST(:toTime AS TIMESTAMP) IS NULL OR s.start_time < :toTime)
+              AND (CAST(:eventType AS VARCHAR) IS NULL OR s.event_type = :eventType)
+              AND (:onlyAvailable = FALSE OR s.available_seats > 0)
+              AND (CAST(:language AS VARCHAR) IS NULL OR m.language = :language)
+              AND (CAST(:genre AS VARCHAR) IS NULL OR m.genre = :genre)
+              AND (CAST(:format AS VARCHAR) IS NULL OR :format = ANY (m.formats))
+            ORDER BY s.start_time, s.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<ShowSearchRow> searchShows(@Param("city") String city,
+                                    @Param("fromTime") LocalDateTime fromTime,
+                                    @Param("toTime") LocalDateTime toTime,
+                                    @Param("afterStartTime") LocalDateTime afterStartTime,
+                                    @Param("afterShowId") Long afterShowId,
+                                    @Param("eventType") String eventType,
+                                    @Param("onlyAvailable") boolean onlyAvailable,
+                                    @Param("language") String language,
+                                    @Param("genre") String genre,
+                                    @Param("format") String format,
+                                    @Param("limit") int limit);
+
+    /**
+     * Cities with searchable shows starting in [:fromTime, :toTime) (ShowSearchIndex rebuild)
+     */
+    @Query(value = """
+            SELECT DISTINCT s.city
+            FROM shows s
+            WHERE s.status IN ('SCHEDULED', 'BOOKING_OPEN')
+              AND s.start_time >= :fromTime
+              AND s.start_time < :toTime
+            """, nativeQuery = true)
+    List<String> findSearchableCities(@Param("fromTime") LocalDateTime fromTime,
+                                      @Param("toTime") LocalDateTime toTime);
+
+    /**
+     * Every searchable show of a city starting in [:fromTime, :toTime), in search order
+     * - One idx_shows_search_primary range per city (ShowSearchIndex rebuild)
+     */
+    @Query(value = """
+            SELECT s.id              AS "showId",
+                   s.event_id        AS "eventId",
+                   s.screen_id       AS "screenId",
+                   s.event_title     AS "eventTitle",
+                   s.event_type      AS "eventType",
+                   s.venue_name      AS "venueName",
+                   s.city            AS "city",
+                   s.start_time      AS "startTime",
+                   s.end_time        AS "endTime",
+                   s.base_price      AS "basePrice",
+                   s.total_seats     AS "totalSeats",
+                   s.available_seats AS "availableSeats",
+                   s.status          AS "status",
+                   m.language        AS "language",
+                   m.genre           AS "genre",
+                   array_to_string(m.formats, ',') AS "formats"
+            FROM shows s
+                     LEFT JOIN movies m ON m.event_id = s.event_id
+            WHERE s.city = :city
+              AND s.status IN ('SCHEDULED', 'BOOKING_OPEN')
+              AND s.start_time >= :fromTime
+              AND s.start_time < :toTime
+            ORDER BY s.start_time, s.id
+            """, nativeQuery = true)
+    List<ShowSearchRow> findSearchableShows(@Param("city") String city,
+                                            @Param("fromTime") LocalDateTime fromTime,
+                                            @Param("toTime") LocalDateTime toTime);
+
+    /**
+     * 💡 Shows written after (:afterTime, :afterId) and before :horizon, in change order
+     *   (ShowSearchIndex refresh through a ChangeCursor)
+     * - updated_at is stamped by trg_shows_updated_at on every INSERT and UPDATE (V14), so
+     *   this sees JPA writes, SQL writes and counter folds alike
+     * - Any status: a show that stopped being searchable must leave the index
+     * - Served by idx_shows_changes (updated_at, id), V14
+     */
+    @Query(value = """
+            SELECT s.id              AS "showId",
+                   s.event_id        AS "eventId",
+                   s.screen_id       AS "screenId",
+                   s.event_title     AS "eventTitle",
+                   s.event_type      AS "eventType",
+                   s.venue_name      AS "venueName",
+                   s.city            AS "city",
+                   s.start_time      AS "startTime",
+                   s.end_time        AS "endTime",
+                   s.base_price      AS "basePrice",
+                   s.total_seats     AS "totalSeats",
+                   s.available_seats AS "availableSeats",
+                   s.status          AS "status",
+                   m.language        AS "language",
+                   m.genre           AS "genre",
+                   array_to_string(m.formats, ',') AS "formats",
+                   s.updated_at      AS "updatedAt"
+            FROM shows s
+                     LEFT JOIN movies m ON m.event_id = s.event_id
+            WHERE (s.updated_at, s.id) > (:afterTime, :afterId)
+              AND s.updated_at < :horizon
+            ORDER BY s.updated_at, s.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<ShowChangeRow> findChangesAfter(@Param("afterTime") LocalDateTime afterTime,
+                                         @Param("afterId") long afterId,
+                                         @Param("horizon") LocalDateTime horizon,
+                                         @Param("limit") int limit);
+
+    /**
+     * 💡 The next :perEvent searchable shows of each event (event search results)
+     * - eventIds is a Postgres array literal, e.g. "{12,40}"
+     * - One LATERAL per event over idx_shows_event (event_id, start_time): each stops
+     *   after :perEvent rows, however many shows the event has
+     * - :city optional (NULL = any city)
+     */
+    @Query(value = """
+            SELECT s.id              AS "showId",
+                   s.event_id        AS "eventId",
+                   s.screen_id       AS "screenId",
+                   s.event_title     AS "eventTitle",
+                   s.event_type      AS "eventType",
+                   s.venue_name      AS "venueName",
+                   s.city            AS "city",
+                   s.start_time      AS "startTime",
+                   s.end_time        AS "endTime",
+                   s.base_price      AS "basePrice",
+                   s.total_seats     AS "totalSeats",
+                   s.available_seats AS "availableSeats",
+                   s.status          AS "status",
+                   m.language        AS "language",
+                   m.genre           AS "genre",
+                   array_to_string(m.formats, ',') AS "formats"
+            FROM unnest(CAST(:eventIds AS BIGINT[])) AS ev(id)
+                     CROSS JOIN LATERAL (
+                SELECT *
+                FROM shows sh
+                WHERE sh.event_id = ev.id
+                  AND sh.status IN ('SCHEDULED', 'BOOKING_OPEN')
+                  AND sh.start_time >= :fromTime
+                  AND (CAST(:city AS VARCHAR) IS NULL OR sh.city = :city)
+                ORDER BY sh.start_time, sh.id
+                LIMIT :perEvent) s
+                     LEFT JOIN movies m ON m.event_id = s.event_id
+            ORDER BY s.event_id, s.start_time, s.id
+            """, nativeQuery = true)
+    List<ShowSearchRow> findNextShows(@Param("eventIds") String eventIds,
+                                      @Param("city") String city,
+                                      @Param("fromTime") LocalDateTime fromTime,
+                                      @Param("perEvent") int perEvent);
+
+    /**
+     * 💡 The next :perVenue searchable shows of each venue (nearby venues)
+     * - venueIds is a Postgres array literal, e.g. "{3,17}"
+     * - One LATERAL per venue: its screens (idx_screens_venue), each screen's shows from
+     *   :fromTime on (idx_shows_screen), merged and cut at :perVenue
+     */
+    @Query(value = """
+            SELECT s.venue_id        AS "venueId",
+                   s.id              AS "showId",
+                   s.event_id        AS "eventId",
+                   s.screen_id       AS "screenId",
+                   s.event_title     AS "eventTitle",
+                   s.event_type      AS "eventType",
+                   s.venue_name      AS "venueName",
+                   s.city            AS "city",
+                   s.start_time      AS "startTime",
+                   s.end_time        AS "endTime",
+                   s.base_price      AS "basePrice",
+                   s.total_seats     AS "totalSeats",
+                   s.available_seats AS "availableSeats",
+                   s.status          AS "status",
+                   m.language        AS "language",
+                   m.genre           AS "genre",
+                   array_to_string(m.formats, ',') AS "formats"
+            FROM unnest(CAST(:venueIds AS BIGINT[])) AS v(id)
+                     CROSS JOIN LATERAL (
+                SELECT sh.*, sc.venue_id
+                FROM screens sc
+                         JOIN shows sh ON sh.screen_id = sc.id
+                WHERE sc.venue_id = v.id
+                  AND sh.status IN ('SCHEDULED', 'BOOKING_OPEN')
+                  AND sh.start_time >= :fromTime
+                ORDER BY sh.start_time, sh.id
+                LIMIT :perVenue) s
+                     LEFT JOIN movies m ON m.event_id = s.event_id
+            ORDER BY s.venue_id, s.start_time, s.id
+            """, nativeQuery = true)
+    List<VenueShowRow> findUpcomingShowsAtVenues(@Param("venueIds") String venueIds,
+                                                 @Param("fromTime") LocalDateTime fromTime,
+                                                 @Param("perVenue") int perVenue);
 }
@@ -1,7 +1,89 @@
 package com.raju.getmyshow.eventcatalog.repository;
 
 import com.raju.getmyshow.eventcatalog.domain.entity.SportsEvent;
+import com.raju.getmyshow.eventcatalog.repository.projection.SportsSuggestionRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface SportsEventRepository extends JpaRepository<SportsEvent, Long> {
+
+    /**
+     * 💡 Tournament / team names of PUBLISHED sports events, full build (TypeaheadIndex)
+     * - Popularity: the event's shows + seats sold since :popularSince
+     */
+    @Query(value = """
+            SELECT se.event_id                AS "eventId",
+                   se.sport_type              AS "sportType",
+                   se.tournament_name         AS "tournamentName",
+                   se.team_home               AS "teamHome",
+                   se.team_away               AS "teamAway",
+                   p.popularity               AS "popularity",
+                   TRUE                       AS "active",
+                   GREATEST(se.updated_at, e.updated_at) AS "updatedAt"
+            FROM sports_events se
+                     JOIN events e ON e.id = se.event_id
+                     CROSS JOIN LATERAL (
+                SELECT COUNT(*) + COALESCE(SUM(s.total_seats - s.available_seats), 0) AS popularity
+                FROM shows s
+                WHERE s.event_id = se.event_id
+                  AND s.start_time >= :popularSince
+                  AND s.status <> 'CANCELLED') p
+            WHERE e.status = 'PUBLISHED'
+            """, nativeQuery = true)
+    List<SportsSuggestionRow> findSuggestionSources(@Param("popularSince") LocalDateTime popularSince);
+
+    /**
+     * 💡 Sports events written after (:afterTime, :afterId) and before :horizon, in change
+     *   order (TypeaheadIndex refresh through a ChangeCursor)
+     * - Changed = the sports_events row or its events row (status, publish) changed: the
+     *   feed is keyed on (the later of the two updated_at, event_id); the candidates come
+     *   from two index ranges (idx_sports_events_changes, idx_events_changes, V16) rather
+     *   than an OR across the join
+     * - A row whose other half was written at or after :horizon waits for a later poll
+     */
+    @Query(value = """
+            SELECT c.event_id                 AS "eventId",
+                   c.sport_type               AS "sportType",
+                   c.tournament_name          AS "tournamentName",
+                   c.team_home                AS "teamHome",
+                   c.team_away                AS "teamAway",
+                   p.popularity               AS "popularity",
+                   c.active                   AS "active",
+                   c.updated_at               AS "updatedAt"
+            FROM (SELECT se.event_id, se.sport_type, se.tournament_name, se.team_home, se.team_away,
+                         (e.status = 'PUBLISHED')              AS active,
+                         GREATEST(se.updated_at, e.updated_at) AS updated_at
+                  FROM sports_events se
+                           JOIN events e ON e.id = se.event_id
+                  WHERE se.event_id IN (SELECT changed.event_id
+                                        FROM sports_events changed
+                                        WHERE changed.updated_at >= :afterTime
+                                          AND changed.updated_at < :horizon
+                                        UNION
+                                        SELECT changed.id
+                                        FROM events changed
+                                        WHERE changed.updated_at >= :afterTime
+                                          AND changed.updated_at < :horizon
+                                          AND changed.event_type = 'SPORTS')
+                    AND (GREATEST(se.updated_at, e.updated_at), se.event_id) > (:afterTime, :afterId)
+                    AND GREATEST(se.updated_at, e.updated_at) < :horizon
+                  ORDER BY GREATEST(se.updated_at, e.updated_at), se.event_id
+                  LIMIT :limit) c
+                     CROSS JOIN LATERAL (
+                SELECT COUNT(*) + COALESCE(SUM(s.total_seats - s.available_seats), 0) AS popularity
+                FROM shows s
+                WHERE s.event_id = c.event_id
+                  AND s.start_time >= :popularSince
+                  AND s.status <> 'CANCELLED') p
+            ORDER BY c.updated_at, c.event_id
+            """, nativeQuery = true)
+    List<SportsSuggestionRow> findSuggestionChanges(@Param("afterTime") LocalDateTime afterTime,
+                                                    @Param("afterId") long afterId,
+                                                    @Param("horizon") LocalDateTime horizon,
+                                                    @Param("popularSince") LocalDateTime popularSince,
+                                                    @Param("limit") int limit);
 }
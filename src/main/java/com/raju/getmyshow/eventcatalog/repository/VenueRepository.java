@@ -1,8 +1,161 @@
 package com.raju.getmyshow.eventcatalog.repository;
 
 import com.raju.getmyshow.eventcatalog.domain.entity.Venue;
+import com.raju.getmyshow.eventcatalog.repository.projection.NearbyVenueRow;
+import com.raju.getmyshow.eventcatalog.repository.projection.VenueGeoRow;
+import com.raju.getmyshow.eventcatalog.repository.projection.VenueSuggestionRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface VenueRepository extends JpaRepository<Venue, Long> {
 
+    /**
+     * 💡 ACTIVE venues as typeahead sources, full build (TypeaheadIndex)
+     * - Popularity: shows + seats sold since :popularSince over the venue's screens
+     *   (idx_shows_screen per screen)
+     */
+    @Query(value = """
+            SELECT v.id                       AS "id",
+                   v.name                     AS "name",
+                   v.city                     AS "city",
+                   v.area                     AS "area",
+                   p.popularity               AS "popularity",
+                   TRUE                       AS "active",
+                   v.updated_at               AS "updatedAt"
+            FROM venues v
+                     CROSS JOIN LATERAL (
+                SELECT COUNT(s.id) + COALESCE(SUM(s.total_seats - s.available_seats), 0) AS popularity
+                FROM screens sc
+                         JOIN shows s ON s.screen_id = sc.id
+                WHERE sc.venue_id = v.id
+                  AND s.start_time >= :popularSince
+                  AND s.status <> 'CANCELLED') p
+            WHERE v.status = 'ACTIVE'
+            """, nativeQuery = true)
+    List<VenueSuggestionRow> findSuggestionSources(@Param("popularSince") LocalDateTime popularSince);
+
+    /**
+     * 💡 Venues written after (:afterTime, :afterId) and before :horizon, in change order
+     *   (TypeaheadIndex refresh through a ChangeCursor)
+     * - Any status: an inactive venue must leave the suggestions
+     * - Page first (idx_venues_changes, V16), popularity for the page's rows only
+     */
+    @Query(value = """
+            SELECT v.id                       AS "id",
+                   v.name                     AS "name",
+                   v.city                     AS "city",
+                   v.area                     AS "area",
+                   p.popularity               AS "popularity",
+                   (v.status = 'ACTIVE')      AS "active",
+                   v.updated_at               AS "updatedAt"
+            FROM (SELECT id, name, city, area, status, updated_at
+                  FROM venues
+                  WHERE (updated_at, id) > (:afterTime, :afterId)
+                    AND updated_at < :horizon
+                  ORDER BY updated_at, id
+                  LIMIT :limit) v
+                     CROSS JOIN LATERAL (
+                SELECT COUNT(s.id) + COALESCE(SUM(s.total_seats - s.available_seats), 0) AS popularity
+                FROM screens sc
+                         JOIN shows s ON s.screen_id = sc.id
+                WHERE sc.venue_id = v.id
+                  AND s.start_time >= :popularSince
+                  AND s.status <> 'CANCELLED') p
+            ORDER BY v.updated_at, v.id
+            """, nativeQuery = true)
+    List<VenueSuggestionRow> findSuggestionChanges(@Param("afterTime") LocalDateTime afterTime,
+                                                   @Param("afterId") long afterId,
+                                                   @Param("horizon") LocalDateTime horizon,
+                                                   @Param("popularSince") LocalDateTime popularSince,
+                                                   @Param("limit") int limit);
+
+    /**
+     * 💡 ACTIVE venues with coordinates, full build (VenueGeoIndex)
+     * - chk_coordinates: both set or neither, latitude alone is enough to filter
+     */
+    @Query(value = """
+            SELECT v.id                                    AS "id",
+                   v.name                                  AS "name",
+                   v.city                                  AS "city",
+                   v.area                                  AS "area",
+                   v.venue_type                            AS "venueType",
+                   CAST(v.latitude AS DOUBLE PRECISION)    AS "latitude",
+                   CAST(v.longitude AS DOUBLE PRECISION)   AS "longitude",
+                   TRUE                                    AS "active",
+                   v.updated_at                            AS "updatedAt"
+            FROM venues v
+            WHERE v.status = 'ACTIVE'
+              AND v.latitude IS NOT NULL
+            """, nativeQuery = true)
+    List<VenueGeoRow> findGeoVenues();
+
+    /**
+     * 💡 Venues written after (:afterTime, :afterId) and before :horizon, in change order
+     *   (VenueGeoIndex refresh through a ChangeCursor)
+     * - Every row, with coordinates or not: a closed venue, or one whose coordinates were
+     *   cleared, must leave the index
+     * - Served by idx_venues_changes (updated_at, id), V16
+     */
+    @Query(value = """
+            SELECT v.id                                    AS "id",
+                   v.name                                  AS "name",
+                   v.city                                  AS "city",
+                   v.area                                  AS "area",
+                   v.venue_type                            AS "venueType",
+                   CAST(v.latitude AS DOUBLE PRECISION)    AS "latitude",
+                   CAST(v.longitude AS DOUBLE PRECISION)   AS "longitude",
+                   (v.status = 'ACTIVE')                   AS "active",
+                   v.updated_at                            AS "updatedAt"
+            FROM venues v
+            WHERE (v.updated_at, v.id) > (:afterTime, :afterId)
+              AND v.updated_at < :horizon
+            ORDER BY v.updated_at, v.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<VenueGeoRow> findGeoVenueChanges(@Param("afterTime") LocalDateTime afterTime,
+                                          @Param("afterId") long afterId,
+                                          @Param("horizon") LocalDateTime horizon,
+                                          @Param("limit") int limit);
+
+    /**
+     * 💡 ACTIVE venues within :radiusKm of (:latitude, :longitude), nearest first
+     * - SQL fallback of VenueGeoIndex (index still building or disabled)
+     * - Bounding box first (cheap comparisons), then the haversine distance on what is left
+     */
+    @Query(value = """
+            SELECT *
+            FROM (SELECT v.id                                    AS "id",
+                         v.name                                  AS "name",
+                         v.city                                  AS "city",
+                         v.area                                  AS "area",
+                         v.venue_type                            AS "venueType",
+                         CAST(v.latitude AS DOUBLE PRECISION)    AS "latitude",
+                         CAST(v.longitude AS DOUBLE PRECISION)   AS "longitude",
+                         TRUE                                    AS "active",
+                         v.updated_at                            AS "updatedAt",
+                         6371.0088 * 2 * asin(sqrt(
+                                 power(sin(radians(CAST(v.latitude AS DOUBLE PRECISION) - :latitude) / 2), 2)
+                                 + cos(radians(:latitude)) * cos(radians(CAST(v.latitude AS DOUBLE PRECISION)))
+                                     * power(sin(radians(CAST(v.longitude AS DOUBLE PRECISION) - :longitude) / 2), 2)))
+                                                                 AS "distanceKm"
+                  FROM venues v
+                  WHERE v.status = 'ACTIVE'
+                    AND v.latitude BETWEEN :minLatitude AND :maxLatitude
+                    AND v.longitude BETWEEN :minLongitude AND :maxLongitude) nearby
+            WHERE "distanceKm" <= :radiusKm
+            ORDER BY "distanceKm", "id"
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<NearbyVenueRow> findNearbyVenues(@Param("latitude") double latitude,
+                                          @Param("longitude") double longitude,
+                                          @Param("radiusKm") double radiusKm,
+                                          @Param("minLatitude") double minLatitude,
+                                          @Param("maxLatitude") double maxLatitude,
+                                          @Param("minLongitude") double minLongitude,
+                                          @Param("maxLongitude") double maxLongitude,
+                                          @Param("limit") int limit);
 }
@@ -0,0 +1,25 @@
+package com.raju.getmyshow.eventcatalog.repository.projection;
+
+/**
+ * One ranked event of a full-text search (EventRepository.searchEvents)
+ */
+public interface EventSearchRow {
+
+    Long getEventId();
+
+    String getTitle();
+
+    String getEventType();
+
+    String getPosterUrl();
+
+    // Movies only, null for other event types
+    String getGenre();
+
+    String getLanguage();
+
+    String getDirector();
+
+    // ts_rank over events.search_vector, higher = better match; only comparable within one query
+    Double getRank();
+}
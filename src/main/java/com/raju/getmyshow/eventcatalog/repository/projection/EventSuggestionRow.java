@@ -0,0 +1,21 @@
+package com.raju.getmyshow.eventcatalog.repository.projection;
+
+import com.raju.getmyshow.shared.change.ChangeRow;
+
+/**
+ * An event as a typeahead source (EventRepository.findSuggestionSources / findSuggestionChanges)
+ */
+public interface EventSuggestionRow extends ChangeRow {
+
+    Long getId();
+
+    String getTitle();
+
+    String getEventType();
+
+    // Shows + seats sold since the popularity window start
+    Long getPopularity();
+
+    // PUBLISHED: false = remove from suggestions
+    Boolean getActive();
+}
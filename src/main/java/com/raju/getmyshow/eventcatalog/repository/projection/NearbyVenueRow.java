@@ -0,0 +1,10 @@
+package com.raju.getmyshow.eventcatalog.repository.projection;
+
+/**
+ * A venue within the radius (VenueRepository.findNearbyVenues)
+ */
+public interface NearbyVenueRow extends VenueGeoRow {
+
+    // Great-circle distance from the searched point
+    Double getDistanceKm();
+}
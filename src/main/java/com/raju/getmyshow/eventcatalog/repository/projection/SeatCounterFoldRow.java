@@ -0,0 +1,16 @@
+package com.raju.getmyshow.eventcatalog.repository.projection;
+
+/**
+ * Outcome of folding one show's seat counter stripes (ShowRepository.foldSeatCounters)
+ * - FOLDED       : moved into shows.available_seats
+ * - DEFERRED     : would leave the range only until in-flight stripes fold, retried
+ * - OUT_OF_RANGE : the show's counters disagree with total_seats, kept and reported
+ */
+public interface SeatCounterFoldRow {
+
+    Long getShowId();
+
+    Long getDelta();
+
+    String getOutcome();
+}
@@ -0,0 +1,10 @@
+package com.raju.getmyshow.eventcatalog.repository.projection;
+
+import com.raju.getmyshow.shared.change.ChangeRow;
+
+/**
+ * A show written since the search index's change position (ShowRepository.findChangesAfter),
+ * searchable or not: a status change takes it out of the index.
+ */
+public interface ShowChangeRow extends ShowSearchRow, ChangeRow {
+}
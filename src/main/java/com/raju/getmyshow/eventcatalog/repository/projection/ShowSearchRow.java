@@ -0,0 +1,46 @@
+package com.raju.getmyshow.eventcatalog.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One show of a search page (ShowRepository.searchShows): shows columns + the movie's
+ * language / genre / formats, no Event / Screen entity behind it.
+ */
+public interface ShowSearchRow {
+
+    Long getShowId();
+
+    Long getEventId();
+
+    Long getScreenId();
+
+    String getEventTitle();
+
+    String getEventType();
+
+    String getVenueName();
+
+    String getCity();
+
+    // Keyset cursor: (startTime, showId) of the page's last row
+    LocalDateTime getStartTime();
+
+    LocalDateTime getEndTime();
+
+    BigDecimal getBasePrice();
+
+    Integer getTotalSeats();
+
+    Integer getAvailableSeats();
+
+    String getStatus();
+
+    // Movies only, null for other event types
+    String getLanguage();
+
+    String getGenre();
+
+    // Comma separated movies.formats ("2D,IMAX")
+    String getFormats();
+}
@@ -0,0 +1,32 @@
+package com.raju.getmyshow.eventcatalog.repository.projection;
+
+import com.raju.getmyshow.shared.change.ChangeRow;
+
+import java.time.LocalDateTime;
+
+/**
+ * A sports event's tournament / team names as typeahead sources
+ * (SportsEventRepository.findSuggestionSources / findSuggestionChanges)
+ */
+public interface SportsSuggestionRow extends ChangeRow {
+
+    Long getEventId();
+
+    String getSportType();
+
+    String getTournamentName();
+
+    String getTeamHome();
+
+    String getTeamAway();
+
+    // The event's shows + seats sold since the popularity window start
+    Long getPopularity();
+
+    // Event PUBLISHED
+    Boolean getActive();
+
+    // Latest of the sports_events and events rows
+    @Override
+    LocalDateTime getUpdatedAt();
+}
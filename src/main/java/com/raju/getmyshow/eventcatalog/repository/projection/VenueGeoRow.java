@@ -0,0 +1,27 @@
+package com.raju.getmyshow.eventcatalog.repository.projection;
+
+import com.raju.getmyshow.shared.change.ChangeRow;
+
+/**
+ * A venue with coordinates (VenueRepository.findGeoVenues / findGeoVenueChanges), what
+ * VenueGeoIndex holds
+ */
+public interface VenueGeoRow extends ChangeRow {
+
+    Long getId();
+
+    String getName();
+
+    String getCity();
+
+    String getArea();
+
+    String getVenueType();
+
+    Double getLatitude();
+
+    Double getLongitude();
+
+    // ACTIVE: false = remove from the index
+    Boolean getActive();
+}
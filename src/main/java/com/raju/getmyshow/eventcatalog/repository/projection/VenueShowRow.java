@@ -0,0 +1,9 @@
+package com.raju.getmyshow.eventcatalog.repository.projection;
+
+/**
+ * An upcoming show of a venue (ShowRepository.findUpcomingShowsAtVenues)
+ */
+public interface VenueShowRow extends ShowSearchRow {
+
+    Long getVenueId();
+}
@@ -0,0 +1,24 @@
+package com.raju.getmyshow.eventcatalog.repository.projection;
+
+import com.raju.getmyshow.shared.change.ChangeRow;
+
+/**
+ * A venue as a typeahead source, also the source of city / area suggestions
+ * (VenueRepository.findSuggestionSources / findSuggestionChanges)
+ */
+public interface VenueSuggestionRow extends ChangeRow {
+
+    Long getId();
+
+    String getName();
+
+    String getCity();
+
+    String getArea();
+
+    // Shows + seats sold since the popularity window start, all screens
+    Long getPopularity();
+
+    // ACTIVE: false = remove from suggestions
+    Boolean getActive();
+}
@@ -0,0 +1,198 @@
+package com.raju.getmyshow.eventcatalog.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Immutable search snapshot of ONE city: its searchable shows starting in
+ * [coveredFromKey, horizonKey), replaced as a whole when a show changes.
+ *
+ * 💡 LAYOUT: position = index in (start time, show id) order
+ * - startKeys / showIds : primitive arrays, binary searched for the cursor / date range
+ * - shows               : the show at each position, only read for the page returned
+ * - Bitmaps (1 bit per position) per event type, language, genre, format, plus one
+ *   for "seats left": a filtered search ANDs 64 positions per step and only touches
+ *   the positions that match every filter
+ */
+final class CityShowIndex {
+
+    private static final long[] NONE = new long[0];
+
+    private final long coveredFromKey;
+    private final long horizonKey;
+
+    private final long[] startKeys;
+    private final long[] showIds;
+    private final IndexedShow[] shows;
+
+    private final long[] available;
+    private final Map<String, long[]> byEventType;
+    private final Map<String, long[]> byLanguage;
+    private final Map<String, long[]> byGenre;
+    private final Map<String, long[]> byFormat;
+
+    private CityShowIndex(long coveredFromKey, long horizonKey, IndexedShow[] shows) {
+        this.coveredFromKey = coveredFromKey;
+        this.horizonKey = horizonKey;
+        this.shows = shows;
+
+        int size = shows.length;
+        this.startKeys = new long[size];
+        this.showIds = new long[size];
+        this.available = new long[words(size)];
+        for (int position = 0; position < size; position++) {
+            startKeys[position] = shows[position].startKey();
+            showIds[position] = shows[position].showId();
+            if (shows[position].availableSeats() > 0) {
+                set(available, position);
+            }
+        }
+
+        this.byEventType = bitmaps(shows, show -> new String[]{show.eventType()});
+        this.byLanguage = bitmaps(shows, show -> new String[]{show.language()});
+        this.byGenre = bitmaps(shows, show -> new String[]{show.genre()});
+        this.byFormat = bitmaps(shows, IndexedShow::formatList);
+    }
+
+    /**
+     * @param shows searchable shows of one city starting in [coveredFromKey, horizonKey), any order
+     */
+    static CityShowIndex build(Collection<IndexedShow> shows, long coveredFromKey, long horizonKey) {
+        IndexedShow[] sorted = shows.toArray(new IndexedShow[0]);
+        Arrays.sort(sorted, Comparator.comparingLong((IndexedShow show) -> show.startKey()).thenComparingLong(IndexedShow::showId));
+        return new CityShowIndex(coveredFromKey, horizonKey, sorted);
+    }
+
+    int size() {
+        return shows.length;
+    }
+
+    /**
+     * Same rows, same order as ShowRepository.searchShows, or null when this snapshot
+     * cannot tell: the range starts before what it covers, or the page came back short
+     * and matching shows may exist beyond the horizon.
+     */
+    List<IndexedShow> search(ShowIndexQuery query) {
+        if (query.fromKey() < coveredFromKey) {
+            return null;
+        }
+
+        int from = Math.max(firstAfter(query.afterStartKey(), query.afterShowId()), firstAtOrAfter(query.fromKey()));
+        int to = firstAtOrAfter(query.toKey());
+
+        List<long[]> filters = new ArrayList<>(5);
+        if (query.onlyAvailable()) {
+            filters.add(available);
+        }
+        addFilter(filters, byEventType, query.eventType());
+        addFilter(filters, byLanguage, query.language());
+        addFilter(filters, byGenre, query.genre());
+        addFilter(filters, byFormat, query.format());
+
+        List<IndexedShow> page = new ArrayList<>(query.limit());
+        if (filters.contains(NONE)) {
+            // A filter value no show of this city has
+            return query.toKey() <= horizonKey ? page : null;
+        }
+
+        collect(filters, from, to, query.limit(), page);
+
+        if (page.size() == query.limit() || query.toKey() <= horizonKey) {
+            return page;
+        }
+        return null;
+    }
+
+    private void collect(List<long[]> filters, int from, int to, int limit, List<IndexedShow> page) {
+        if (from >= to) {
+            return;
+        }
+
+        for (int word = from >>> 6; word <= (to - 1) >>> 6; word++) {
+            long bits = -1L;
+            for (long[] filter : filters) {
+                bits &= filter[word];
+            }
+            if (word == from >>> 6) {
+                bits &= -1L << (from & 63);
+            }
+            while (bits != 0) {
+                int position = (word << 6) + Long.numberOfTrailingZeros(bits);
+                if (position >= to) {
+                    return;
+                }
+                page.add(shows[position]);
+                if (page.size() == limit) {
+                    return;
+                }
+                bits &= bits - 1;
+            }
+        }
+    }
+
+    private static void addFilter(List<long[]> filters, Map<String, long[]> bitmaps, String value) {
+        if (value != null) {
+            filters.add(bitmaps.getOrDefault(value, NONE));
+        }
+    }
+
+    // First position with (start, id) > (startKey, showId)
+    private int firstAfter(long startKey, long showId) {
+        int low = 0;
+        int high = startKeys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (startKeys[mid] < startKey || (startKeys[mid] == startKey && showIds[mid] <= showId)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // First position with start >= startKey
+    private int firstAtOrAfter(long startKey) {
+        int low = 0;
+        int high = startKeys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (startKeys[mid] < startKey) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    //=======================================
+    //    Bitmaps
+    //=======================================
+
+    private static Map<String, long[]> bitmaps(IndexedShow[] shows, Function<IndexedShow, String[]> values) {
+        Map<String, long[]> bitmaps = new HashMap<>();
+        for (int position = 0; position < shows.length; position++) {
+            for (String value : values.apply(shows[position])) {
+                if (value != null) {
+                    set(bitmaps.computeIfAbsent(value, key -> new long[words(shows.length)]), position);
+                }
+            }
+        }
+        return bitmaps;
+    }
+
+    private static int words(int size) {
+        return (size + 63) >>> 6;
+    }
+
+    private static void set(long[] bitmap, int position) {
+        bitmap[position >>> 6] |= 1L << (position & 63);
+    }
+}
@@ -0,0 +1,80 @@
+package com.raju.getmyshow.eventcatalog.search;
+
+import com.raju.getmyshow.eventcatalog.api.dto.ShowDto;
+import com.raju.getmyshow.eventcatalog.repository.projection.ShowSearchRow;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * One show as held by ShowSearchIndex (immutable, shared by every snapshot it is in)
+ *
+ * @param formats comma separated, as read ("2D,IMAX"), null for non-movies
+ */
+record IndexedShow(long showId,
+                   Long eventId,
+                   Long screenId,
+                   String eventTitle,
+                   String eventType,
+                   String venueName,
+                   String city,
+                   LocalDateTime startTime,
+                   LocalDateTime endTime,
+                   BigDecimal basePrice,
+                   Integer totalSeats,
+                   int availableSeats,
+                   String status,
+                   String language,
+                   String genre,
+                   String formats) {
+
+    static IndexedShow of(ShowSearchRow row) {
+        return new IndexedShow(row.getShowId(), row.getEventId(), row.getScreenId(), row.getEventTitle(),
+                row.getEventType(), row.getVenueName(), row.getCity(), row.getStartTime(), row.getEndTime(),
+                row.getBasePrice(), row.getTotalSeats(),
+                row.getAvailableSeats() != null ? row.getAvailableSeats() : 0,
+                row.getStatus(), row.getLanguage(), row.getGenre(), row.getFormats());
+    }
+
+    /**
+     * Sort key of a start time; only compared, never turned back into a time
+     */
+    static long startKey(LocalDateTime startTime) {
+        return startTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    long startKey() {
+        return startKey(startTime);
+    }
+
+    String[] formatList() {
+        return formats == null || formats.isEmpty() ? new String[0] : formats.split(",");
+    }
+
+    IndexedShow withAvailableSeats(int seats) {
+        return new IndexedShow(showId, eventId, screenId, eventTitle, eventType, venueName, city, startTime,
+                endTime, basePrice, totalSeats, seats, status, language, genre, formats);
+    }
+
+    ShowDto toDto() {
+        return ShowDto.builder()
+                .id(showId)
+                .eventId(eventId)
+                .screenId(screenId)
+                .eventTitle(eventTitle)
+                .eventType(eventType)
+                .venueName(venueName)
+                .city(city)
+                .startTime(startTime)
+                .endTime(endTime)
+                .basePrice(basePrice)
+                .totalSeats(totalSeats)
+                .availableSeats(availableSeats)
+                .status(status)
+                .language(language)
+                .genre(genre)
+                .formats(formats != null ? formatList() : null)
+                .build();
+    }
+}
@@ -0,0 +1,19 @@
+package com.raju.getmyshow.eventcatalog.search;
+
+/**
+ * A search page in index terms: start keys (IndexedShow.startKey) instead of times
+ *
+ * @param toKey exclusive, Long.MAX_VALUE = no end date
+ * @param eventType / language / genre / format: null = any
+ */
+record ShowIndexQuery(long fromKey,
+                      long toKey,
+                      long afterStartKey,
+                      long afterShowId,
+                      String eventType,
+                      String language,
+                      String genre,
+                      String format,
+                      boolean onlyAvailable,
+                      int limit) {
+}
@@ -0,0 +1,336 @@
+package com.raju.getmyshow.eventcatalog.search;
+
+import com.raju.getmyshow.eventcatalog.api.dto.SearchShowsRequest;
+import com.raju.getmyshow.eventcatalog.api.dto.ShowDto;
+import com.raju.getmyshow.eventcatalog.config.EventCatalogProperties;
+import com.raju.getmyshow.eventcatalog.repository.ShowRepository;
+import com.raju.getmyshow.eventcatalog.repository.projection.ShowChangeRow;
+import com.raju.getmyshow.shared.change.ChangeCursor;
+import com.raju.getmyshow.shared.change.ChangeFeed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 💡 PURPOSE: Answer searchShows from memory
+ * - "What's on in Dhaka tonight" is the same query thousands of times a minute;
+ *   here it is a binary search + a bitmap walk over one city's snapshot (CityShowIndex)
+ * - Holds the searchable shows (SCHEDULED / BOOKING_OPEN) from today up to
+ *   horizon-days ahead; anything it cannot answer exactly returns null -> SQL
+ *
+ * 💡 LIFECYCLE
+ * - Cold until the first build finishes: every search goes to SQL meanwhile
+ * - Build: cities loaded in parallel (build-threads), one index range query each;
+ *   in the background at startup, again on rebuild-cron (slides the horizon, drops
+ *   deleted shows, picks up movie language / genre / format changes)
+ * - Refresh every refresh-interval-millis: shows written since the last poll, read
+ *   through a ChangeCursor below the ChangeFeed horizon (shows.updated_at, see V14),
+ *   max-changes-per-refresh at most; only the touched cities' snapshots are rebuilt
+ * - A seat count change alone is applied only when it crosses 0 or
+ *   low-availability-seats: counter folds touch every busy show every few seconds
+ *
+ * 💡 CONCURRENCY: readers take the city's snapshot from a ConcurrentHashMap, no lock;
+ *   build and refresh are serialized on this
+ *
+ * 💡 METRICS
+ * - eventcatalog.search.index.shows   : shows held
+ * - eventcatalog.search.requests      : tagged source=index|sql
+ * - eventcatalog.search.index.build   : duration of a full build
+ */
+@Component
+@Slf4j
+public class ShowSearchIndex {
+
+    private final ShowRepository showRepository;
+    private final ChangeFeed changeFeed;
+    private final EventCatalogProperties eventCatalogProperties;
+
+    private final Counter indexHits;
+    private final Counter sqlFallbacks;
+    private final Timer buildTimer;
+
+    private final Map<String, CityShowIndex> snapshots = new ConcurrentHashMap<>();
+
+    // Master copy, build / refresh only (under this)
+    private final Map<String, Map<Long, IndexedShow>> showsByCity = new HashMap<>();
+    private final Map<Long, String> cityOfShow = new HashMap<>();
+    private long coveredFromKey;
+    private long horizonKey;
+    private LocalDateTime horizon;
+
+    private volatile boolean ready;
+    private ChangeCursor changes;
+
+    public ShowSearchIndex(ShowRepository showRepository,
+                           ChangeFeed changeFeed,
+                           EventCatalogProperties eventCatalogProperties,
+                           MeterRegistry meterRegistry) {
+        this.showRepository = showRepository;
+        this.changeFeed = changeFeed;
+        this.eventCatalogProperties = eventCatalogProperties;
+
+        this.indexHits = Counter.builder("eventcatalog.search.requests")
+                .tag("source", "index")
+                .register(meterRegistry);
+        this.sqlFallbacks = Counter.builder("eventcatalog.search.requests")
+                .tag("source", "sql")
+                .register(meterRegistry);
+        this.buildTimer = Timer.builder("eventcatalog.search.index.build")
+                .register(meterRegistry);
+        Gauge.builder("eventcatalog.search.index.shows", snapshots,
+                        cities -> cities.values().stream().mapToInt(CityShowIndex::size).sum())
+                .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * The page ShowRepository.searchShows would return, or null when the index is cold
+     * or cannot answer this range exactly (caller falls back to SQL).
+     */
+    public List<ShowDto> search(SearchShowsRequest request, LocalDateTime fromTime, LocalDateTime toTime,
+                                LocalDateTime afterStartTime, long afterShowId, int pageSize) {
+        if (!ready) {
+            sqlFallbacks.increment();
+            return null;
+        }
+
+        CityShowIndex city = snapshots.get(request.getCity());
+        if (city == null) {
+            // No searchable show in the city within the horizon
+            if (toTime != null && !toTime.isAfter(horizon)) {
+                indexHits.increment();
+                return List.of();
+            }
+            sqlFallbacks.increment();
+            return null;
+        }
+
+        List<IndexedShow> page = city.search(new ShowIndexQuery(
+                IndexedShow.startKey(fromTime),
+                toTime != null ? IndexedShow.startKey(toTime) : Long.MAX_VALUE,
+                IndexedShow.startKey(afterStartTime),
+                afterShowId,
+                request.getEventType() != null ? request.getEventType().name() : null,
+                request.getLanguage(),
+                request.getGenre(),
+                request.getFormat(),
+                request.isOnlyAvailable(),
+                pageSize));
+
+        if (page == null) {
+            sqlFallbacks.increment();
+            return null;
+        }
+        indexHits.increment();
+        return page.stream().map(IndexedShow::toDto).toList();
+    }
+
+    /**
+     * Counts a search that skipped the index (e.g. index disabled)
+     */
+    public void recordSqlSearch() {
+        sqlFallbacks.increment();
+    }
+
+    //=======================================
+    //    Build
+    //=======================================
+
+    @EventListener(ApplicationReadyEvent.class)
+    void buildOnStartup() {
+        if (!eventCatalogProperties.getSearchIndex().isEnabled()) {
+            return;
+        }
+        // Searches use SQL until this finishes, startup does not wait for it
+        Thread builder = new Thread(this::rebuild, "show-index-build");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    @Scheduled(cron = "${eventcatalog.search-index.rebuild-cron:0 0 * * * *}")
+    public void rebuild() {
+        EventCatalogProperties.SearchIndex config = eventCatalogProperties.getSearchIndex();
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        try {
+            buildTimer.record(() -> build(config));
+        } catch (RuntimeException ex) {
+            log.warn("Show search index build failed, {}: {}",
+                    ready ? "keeping the previous one" : "searches stay on SQL", ex.getMessage());
+        }
+    }
+
+    private void build(EventCatalogProperties.SearchIndex config) {
+        // Everything stamped below it is in this build, the next refresh starts there
+        LocalDateTime changesFrom = changeFeed.horizon();
+        LocalDateTime from = LocalDate.now().atStartOfDay();
+        LocalDateTime to = from.plusDays(config.getHorizonDays() + 1L);
+
+        List<String> cities = showRepository.findSearchableCities(from, to);
+
+        Map<String, Map<Long, IndexedShow>> loaded = new ConcurrentHashMap<>();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, config.getBuildThreads()), task -> {
+            Thread thread = new Thread(task, "show-index-build-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> tasks = new ArrayList<>(cities.size());
+            for (String city : cities) {
+                tasks.add(pool.submit(() -> {
+                    Map<Long, IndexedShow> shows = new HashMap<>();
+                    showRepository.findSearchableShows(city, from, to)
+                            .forEach(row -> shows.put(row.getShowId(), IndexedShow.of(row)));
+                    loaded.put(city, shows);
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted", ex);
+        } catch (java.util.concurrent.ExecutionException ex) {
+            throw new IllegalStateException(ex.getCause().getMessage(), ex.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        long fromKey = IndexedShow.startKey(from);
+        long toKey = IndexedShow.startKey(to);
+        int total = 0;
+
+        synchronized (this) {
+            showsByCity.clear();
+            cityOfShow.clear();
+            coveredFromKey = fromKey;
+            horizonKey = toKey;
+            horizon = to;
+
+            Map<String, CityShowIndex> built = new HashMap<>();
+            for (Map.Entry<String, Map<Long, IndexedShow>> city : loaded.entrySet()) {
+                showsByCity.put(city.getKey(), city.getValue());
+                city.getValue().keySet().forEach(showId -> cityOfShow.put(showId, city.getKey()));
+                built.put(city.getKey(), CityShowIndex.build(city.getValue().values(), fromKey, toKey));
+                total += city.getValue().size();
+            }
+            snapshots.putAll(built);
+            snapshots.keySet().retainAll(built.keySet());
+
+            changes = new ChangeCursor(changesFrom);
+            ready = true;
+        }
+
+        log.info("Show search index built: {} shows in {} cities up to {}", total, loaded.size(), to);
+    }
+
+    //=======================================
+    //    Incremental refresh
+    //=======================================
+
+    @Scheduled(fixedDelayString = "${eventcatalog.search-index.refresh-interval-millis:1000}",
+            initialDelayString = "${eventcatalog.search-index.refresh-interval-millis:1000}")
+    public void refresh() {
+        EventCatalogProperties.SearchIndex config = eventCatalogProperties.getSearchIndex();
+        if (!config.isEnabled() || !ready) {
+            return;
+        }
+
+        try {
+            synchronized (this) {
+                applyChanges(config);
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Show search index refresh failed, retrying: {}", ex.getMessage());
+        }
+    }
+
+    private void applyChanges(EventCatalogProperties.SearchIndex config) {
+        Set<String> touched = new HashSet<>();
+        try {
+            int changed = changes.poll(changeFeed.horizon(), config.getMaxChangesPerRefresh(),
+                    showRepository::findChangesAfter, ShowChangeRow::getShowId,
+                    change -> apply(IndexedShow.of(change), config.getLowAvailabilitySeats(), touched));
+            if (!touched.isEmpty()) {
+                log.debug("Show search index: {} changed shows, {} cities re-indexed", changed, touched.size());
+            }
+        } finally {
+            // Also after a failed page: the pages before it are applied, the cursor is past them
+            for (String city : touched) {
+                Map<Long, IndexedShow> shows = showsByCity.get(city);
+                if (shows == null || shows.isEmpty()) {
+                    showsByCity.remove(city);
+                    snapshots.remove(city);
+                } else {
+                    snapshots.put(city, CityShowIndex.build(shows.values(), coveredFromKey, horizonKey));
+                }
+            }
+        }
+    }
+
+    private void apply(IndexedShow show, int lowSeats, Set<String> touched) {
+        boolean searchable = ("SCHEDULED".equals(show.status()) || "BOOKING_OPEN".equals(show.status()))
+                && show.startKey() >= coveredFromKey
+                && show.startKey() < horizonKey;
+
+        String previousCity = cityOfShow.get(show.showId());
+        IndexedShow previous = previousCity != null ? showsByCity.get(previousCity).get(show.showId()) : null;
+
+        if (!searchable) {
+            if (previous != null) {
+                showsByCity.get(previousCity).remove(show.showId());
+                cityOfShow.remove(show.showId());
+                touched.add(previousCity);
+            }
+            return;
+        }
+
+        if (previous != null && previous.equals(show.withAvailableSeats(previous.availableSeats()))
+                && bucket(previous.availableSeats(), lowSeats) == bucket(show.availableSeats(), lowSeats)) {
+            return;  // unchanged, or seats moved within the same band
+        }
+
+        if (previousCity != null && !previousCity.equals(show.city())) {
+            showsByCity.get(previousCity).remove(show.showId());
+            touched.add(previousCity);
+        }
+        showsByCity.computeIfAbsent(show.city(), city -> new HashMap<>()).put(show.showId(), show);
+        cityOfShow.put(show.showId(), show.city());
+        touched.add(show.city());
+    }
+
+    // 0 = sold out, 1 = few seats left, 2 = plenty
+    private static int bucket(int availableSeats, int lowSeats) {
+        if (availableSeats <= 0) {
+            return 0;
+        }
+        return availableSeats <= lowSeats ? 1 : 2;
+    }
+}
@@ -0,0 +1,328 @@
+package com.raju.getmyshow.eventcatalog.service;
+
+import com.raju.getmyshow.eventcatalog.api.EventCatalogFacade;
+import com.raju.getmyshow.eventcatalog.api.dto.SearchShowsRequest;
+import com.raju.getmyshow.eventcatalog.api.dto.ShowDto;
+import com.raju.getmyshow.eventcatalog.config.EventCatalogProperties;
+import com.raju.getmyshow.eventcatalog.domain.entity.Movie;
+import com.raju.getmyshow.eventcatalog.domain.entity.Show;
+import com.raju.getmyshow.eventcatalog.domain.enums.EventType;
+import com.raju.getmyshow.eventcatalog.dto.EventSearchResponse;
+import com.raju.getmyshow.eventcatalog.dto.EventSearchResult;
+import com.raju.getmyshow.eventcatalog.dto.MovieDto;
+import com.raju.getmyshow.eventcatalog.dto.ShowSearchResponse;
+import com.raju.getmyshow.eventcatalog.dto.SuggestResponse;
+import com.raju.getmyshow.eventcatalog.repository.EventRepository;
+import com.raju.getmyshow.eventcatalog.repository.MovieRepository;
+import com.raju.getmyshow.eventcatalog.repository.ShowRepository;
+import com.raju.getmyshow.eventcatalog.repository.projection.EventSearchRow;
+import com.raju.getmyshow.eventcatalog.repository.projection.ShowSearchRow;
+import com.raju.getmyshow.eventcatalog.search.ShowSearchIndex;
+import com.raju.getmyshow.eventcatalog.suggest.TypeaheadIndex;
+import com.raju.getmyshow.shared.exception.BusinessException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * 💡 PURPOSE: EventCatalogFacade, the catalog as other modules (and the search API) see it
+ *
+ * 💡 SEARCH: browse traffic is ~20x booking traffic
+ * - One native statement per page (ShowRepository.searchShows) into a projection:
+ *   no Show / Event / Screen entities, no lazy loading, nothing in the persistence context
+ * - Keyset pagination on (start_time, id): page 50 costs what page 1 costs
+ * - No @Transactional: a single read needs no transaction around it
+ * - ShowSearchIndex answers first (memory, per city); SQL when it is cold, disabled,
+ *   or the range is outside what it holds
+ *
+ * 💡 EVENT SEARCH (full text): two statements per page
+ * - Ranked events from the GIN index on events.search_vector (V15)
+ * - The next few shows of every event on the page, one LATERAL per event
+ *
+ * 💡 SUGGEST (typeahead): TypeaheadIndex only, never SQL, it runs on every keystroke
+ *
+ * Nearby venues: NearbyVenueService
+ */
+@Service
+@RequiredArgsConstructor
+public class EventCatalogService implements EventCatalogFacade {
+
+    private final ShowRepository showRepository;
+    private final MovieRepository movieRepository;
+    private final EventRepository eventRepository;
+    private final EventCatalogProperties eventCatalogProperties;
+    private final ShowSearchIndex showSearchIndex;
+    private final TypeaheadIndex typeaheadIndex;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<MovieDto> getMovieById(Long id) {
+        return movieRepository.findById(id).map(this::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ShowDto> getShowById(Long id) {
+        return showRepository.findWithAvailabilityById(id).map(this::toDto);
+    }
+
+    @Override
+    public List<ShowDto> searchShows(SearchShowsRequest request) {
+        return search(request, pageSize(request.getSize()));
+    }
+
+    /**
+     * Search API page: the shows + the cursor of the next page (none after a short page)
+     */
+    public ShowSearchResponse searchPage(SearchShowsRequest request) {
+        int pageSize = pageSize(request.getSize());
+        List<ShowDto> shows = search(request, pageSize);
+
+        ShowSearchResponse.ShowSearchResponseBuilder response = ShowSearchResponse.builder()
+                .city(request.getCity())
+                .shows(shows);
+        if (shows.size() == pageSize) {
+            ShowDto last = shows.get(shows.size() - 1);
+            response.nextAfterStartTime(last.getStartTime())
+                    .nextAfterShowId(last.getId());
+        }
+        return response.build();
+    }
+
+    private List<ShowDto> search(SearchShowsRequest request, int pageSize) {
+        if (request.getCity() == null || request.getCity().isBlank()) {
+            throw new BusinessException("INVALID_SEARCH", "City is required");
+        }
+        if (request.getFromDate() != null && request.getToDate() != null
+                && request.getToDate().isBefore(request.getFromDate())) {
+            throw new BusinessException("INVALID_SEARCH", "toDate is before fromDate");
+        }
+        if ((request.getAfterStartTime() == null) != (request.getAfterShowId() == null)) {
+            throw new BusinessException("INVALID_CURSOR", "afterStartTime and afterShowId go together");
+        }
+
+        LocalDateTime fromTime = request.getFromDate() != null
+                ? request.getFromDate().atStartOfDay()
+                : LocalDateTime.now();
+        LocalDateTime toTime = request.getToDate() != null
+                ? request.getToDate().plusDays(1).atStartOfDay()
+                : null;
+
+        // First page: everything from fromTime on (ids are positive)
+        LocalDateTime afterStartTime = request.getAfterStartTime() != null ? request.getAfterStartTime() : fromTime;
+        long afterShowId = request.getAfterShowId() != null ? request.getAfterShowId() : 0L;
+
+        if (eventCatalogProperties.getSearchIndex().isEnabled()) {
+            List<ShowDto> indexed = showSearchIndex.search(request, fromTime, toTime, afterStartTime, afterShowId, pageSize);
+            if (indexed != null) {
+                return indexed;
+            }
+        } else {
+            showSearchIndex.recordSqlSearch();
+        }
+
+        List<ShowSearchRow> rows = showRepository.searchShows(
+                request.getCity(),
+                fromTime,
+                toTime,
+                afterStartTime,
+                afterShowId,
+                request.getEventType() != null ? request.getEventType().name() : null,
+                request.isOnlyAvailable(),
+                request.getLanguage(),
+                request.getGenre(),
+                request.getFormat(),
+                pageSize);
+
+        return rows.stream().map(EventCatalogService::toShowDto).toList();
+    }
+
+    /**
+     * Events matching the words of text, best match first, each with its next shows
+     * (in city when given)
+     */
+    public EventSearchResponse searchEvents(String text, String city, Double afterRank, Long afterEventId,
+                                            Integer size) {
+        EventCatalogProperties.EventSearch config = eventCatalogProperties.getEventSearch();
+        if (text == null || text.isBlank()) {
+            throw new BusinessException("INVALID_SEARCH", "Search text is required");
+        }
+        if (text.length() > config.getMaxQueryLength()) {
+            throw new BusinessException("INVALID_SEARCH",
+                    "Search text longer than " + config.getMaxQueryLength() + " characters");
+        }
+        if ((afterRank == null) != (afterEventId == null)) {
+            throw new BusinessException("INVALID_CURSOR", "afterRank and afterEventId go together");
+        }
+        if (size != null && size < 1) {
+            throw new BusinessException("INVALID_PAGE_SIZE", "Page size must be at least 1");
+        }
+        int pageSize = size == null ? config.getDefaultPageSize() : Math.min(size, config.getMaxPageSize());
+        String cityFilter = city == null || city.isBlank() ? null : city;
+
+        // First page: every rank (ids are positive); pages past the candidates are empty
+        List<EventSearchRow> rows = eventRepository.searchEvents(text.trim(), config.getMaxCandidates(),
+                afterRank != null ? afterRank : Double.POSITIVE_INFINITY,
+                afterEventId != null ? afterEventId : 0L,
+                pageSize);
+
+        Map<Long, List<ShowDto>> nextShows = rows.isEmpty()
+                ? Map.of()
+                : showRepository.findNextShows(
+                                rows.stream()
+                                        .map(row -> String.valueOf(row.getEventId()))
+                                        .collect(Collectors.joining(",", "{", "}")),
+                                cityFilter,
+                                LocalDateTime.now(),
+                                config.getShowsPerEvent())
+                        .stream()
+                        .collect(Collectors.groupingBy(ShowSearchRow::getEventId,
+                                Collectors.mapping(EventCatalogService::toShowDto, Collectors.toList())));
+
+        List<EventSearchResult> events = rows.stream()
+                .map(row -> toResult(row, nextShows.getOrDefault(row.getEventId(), List.of())))
+                .toList();
+
+        EventSearchResponse.EventSearchResponseBuilder response = EventSearchResponse.builder()
+                .query(text)
+                .events(events);
+        if (events.size() == pageSize) {
+            EventSearchResult last = events.get(events.size() - 1);
+            response.nextAfterRank(last.getRank())
+                    .nextAfterEventId(last.getEventId());
+        }
+        return response.build();
+    }
+
+    /**
+     * Typeahead suggestions for q, most popular first
+     */
+    public SuggestResponse suggest(String q, Integer limit) {
+        EventCatalogProperties.Suggest config = eventCatalogProperties.getSuggest();
+        if (limit != null && limit < 1) {
+            throw new BusinessException("INVALID_PAGE_SIZE", "Limit must be at least 1");
+        }
+        int size = limit == null ? config.getDefaultLimit() : Math.min(limit, config.getMaxLimit());
+
+        return SuggestResponse.builder()
+                .query(q)
+                .suggestions(config.isEnabled() ? typeaheadIndex.suggest(q, size) : List.of())
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean isShowBookable(Long showId) {
+        return showRepository.findById(showId)
+                .map(Show::isBookable)
+                .orElse(false);
+    }
+
+    private int pageSize(Integer size) {
+        EventCatalogProperties.Search config = eventCatalogProperties.getSearch();
+        if (size == null) {
+            return config.getDefaultPageSize();
+        }
+        if (size < 1) {
+            throw new BusinessException("INVALID_PAGE_SIZE", "Page size must be at least 1");
+        }
+        return Math.min(size, config.getMaxPageSize());
+    }
+
+    //=======================================
+    //    Mapping
+    //=======================================
+
+    // Also the upcoming shows of NearbyVenueService
+    static ShowDto toShowDto(ShowSearchRow row) {
+        return ShowDto.builder()
+                .id(row.getShowId())
+                .eventId(row.getEventId())
+                .screenId(row.getScreenId())
+                .eventTitle(row.getEventTitle())
+                .eventType(row.getEventType())
+                .venueName(row.getVenueName())
+                .city(row.getCity())
+                .startTime(row.getStartTime())
+                .endTime(row.getEndTime())
+                .basePrice(row.getBasePrice())
+                .totalSeats(row.getTotalSeats())
+                .availableSeats(row.getAvailableSeats())
+                .status(row.getStatus())
+                .language(row.getLanguage())
+                .genre(row.getGenre())
+                .formats(formats(row.getFormats()))
+                .build();
+    }
+
+    private EventSearchResult toResult(EventSearchRow row, List<ShowDto> nextShows) {
+        return EventSearchResult.builder()
+                .eventId(row.getEventId())
+                .title(row.getTitle())
+                .eventType(row.getEventType())
+                .posterUrl(row.getPosterUrl())
+                .genre(row.getGenre())
+                .language(row.getLanguage())
+                .director(row.getDirector())
+                .rank(row.getRank())
+                .nextShows(nextShows)
+                .build();
+    }
+
+    // Event / Screen ids come from the lazy proxies, neither is loaded; movies read their movies row
+    private ShowDto toDto(Show show) {
+        ShowDto.ShowDtoBuilder dto = ShowDto.builder()
+                .id(show.getId())
+                .eventId(show.getEvent().getId())
+                .screenId(show.getScreen().getId())
+                .eventTitle(show.getEventTitle())
+                .eventType(show.getEventType())
+                .venueName(show.getVenueName())
+                .city(show.getCity())
+                .startTime(show.getStartTime())
+                .endTime(show.getEndTime())
+                .basePrice(show.getBasePrice())
+                .totalSeats(show.getTotalSeats())
+                .availableSeats(show.getAvailableSeats())
+                .status(show.getShowStatus().name());
+
+        if (EventType.MOVIE.name().equals(show.getEventType())) {
+            movieRepository.findByEventId(show.getEvent().getId())
+                    .ifPresent(movie -> dto.language(movie.getLanguage())
+                            .genre(movie.getGenre())
+                            .formats(movie.getFormats()));
+        }
+        return dto.build();
+    }
+
+    // Search rows carry movies.formats comma separated; "" is a movie without formats
+    private static String[] formats(String joined) {
+        if (joined == null) {
+            return null;
+        }
+        return joined.isEmpty() ? new String[0] : joined.split(",");
+    }
+
+    private MovieDto toDto(Movie movie) {
+        return MovieDto.builder()
+                .id(movie.getId())
+                .eventId(movie.getEvent().getId())
+                .title(movie.getEvent().getTitle())
+                .description(movie.getEvent().getDescription())
+                .duration(movie.getDuration())
+                .genre(movie.getGenre())
+                .language(movie.getLanguage())
+                .director(movie.getDirector())
+                .imdbRating(movie.getImdbRating())
+                .releaseDate(movie.getReleaseDate())
+                .formats(movie.getFormats())
+                .posterUrl(movie.getEvent().getPosterUrl())
+                .build();
+    }
+}
@@ -0,0 +1,106 @@
+package com.raju.getmyshow.eventcatalog.service;
+
+import com.raju.getmyshow.eventcatalog.api.dto.ShowDto;
+import com.raju.getmyshow.eventcatalog.config.EventCatalogProperties;
+import com.raju.getmyshow.eventcatalog.dto.NearbyVenueDto;
+import com.raju.getmyshow.eventcatalog.dto.NearbyVenuesResponse;
+import com.raju.getmyshow.eventcatalog.geo.GeoDistance;
+import com.raju.getmyshow.eventcatalog.geo.VenueGeoIndex;
+import com.raju.getmyshow.eventcatalog.repository.ShowRepository;
+import com.raju.getmyshow.eventcatalog.repository.VenueRepository;
+import com.raju.getmyshow.eventcatalog.repository.projection.NearbyVenueRow;
+import com.raju.getmyshow.eventcatalog.repository.projection.VenueShowRow;
+import com.raju.getmyshow.shared.exception.BusinessException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 💡 PURPOSE: "Venues near me", each venue with its next upcoming shows
+ * - Nearest venues from VenueGeoIndex; SQL (bounding box + haversine) while it is cold
+ *   or disabled
+ * - Then their next shows in one statement, one LATERAL per venue
+ * - No @Transactional: two independent reads, like the other catalog searches
+ */
+@Service
+@RequiredArgsConstructor
+public class NearbyVenueService {
+
+    private final VenueRepository venueRepository;
+    private final ShowRepository showRepository;
+    private final EventCatalogProperties eventCatalogProperties;
+    private final VenueGeoIndex venueGeoIndex;
+
+    /**
+     * ACTIVE venues within radiusKm of (latitude, longitude), nearest first, each with
+     * its next upcoming shows
+     */
+    public NearbyVenuesResponse findNearbyVenues(double latitude, double longitude, Double radiusKm, Integer limit) {
+        EventCatalogProperties.Geo config = eventCatalogProperties.getGeo();
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new BusinessException("INVALID_LOCATION", "Latitude must be within [-90, 90], longitude within [-180, 180]");
+        }
+        double radius = radiusKm == null ? config.getDefaultRadiusKm() : radiusKm;
+        if (radius <= 0 || radius > config.getMaxRadiusKm()) {
+            throw new BusinessException("INVALID_RADIUS", "Radius must be above 0 and at most " + config.getMaxRadiusKm() + " km");
+        }
+        if (limit != null && limit < 1) {
+            throw new BusinessException("INVALID_PAGE_SIZE", "Limit must be at least 1");
+        }
+        int size = limit == null ? config.getDefaultLimit() : Math.min(limit, config.getMaxLimit());
+
+        List<NearbyVenueDto> venues = null;
+        if (config.isEnabled()) {
+            venues = venueGeoIndex.nearest(latitude, longitude, radius, size);
+        } else {
+            venueGeoIndex.recordSqlLookup();
+        }
+        if (venues == null) {
+            double latitudeDegrees = radius / GeoDistance.KM_PER_DEGREE;
+            double longitudeDegrees = GeoDistance.longitudeDegrees(latitude, radius);
+            venues = venueRepository.findNearbyVenues(latitude, longitude, radius,
+                            latitude - latitudeDegrees, latitude + latitudeDegrees,
+                            longitude - longitudeDegrees, longitude + longitudeDegrees, size)
+                    .stream()
+                    .map(this::toDto)
+                    .toList();
+        }
+
+        Map<Long, List<ShowDto>> upcomingShows = venues.isEmpty()
+                ? Map.of()
+                : showRepository.findUpcomingShowsAtVenues(
+                                venues.stream()
+                                        .map(venue -> String.valueOf(venue.getVenueId()))
+                                        .collect(Collectors.joining(",", "{", "}")),
+                                LocalDateTime.now(),
+                                config.getShowsPerVenue())
+                        .stream()
+                        .collect(Collectors.groupingBy(VenueShowRow::getVenueId,
+                                Collectors.mapping(EventCatalogService::toShowDto, Collectors.toList())));
+        venues.forEach(venue -> venue.setUpcomingShows(upcomingShows.getOrDefault(venue.getVenueId(), List.of())));
+
+        return NearbyVenuesResponse.builder()
+                .latitude(latitude)
+                .longitude(longitude)
+                .radiusKm(radius)
+                .venues(venues)
+                .build();
+    }
+
+    private NearbyVenueDto toDto(NearbyVenueRow row) {
+        return NearbyVenueDto.builder()
+                .venueId(row.getId())
+                .name(row.getName())
+                .city(row.getCity())
+                .area(row.getArea())
+                .venueType(row.getVenueType())
+                .latitude(row.getLatitude())
+                .longitude(row.getLongitude())
+                .distanceKm(row.getDistanceKm())
+                .build();
+    }
+}
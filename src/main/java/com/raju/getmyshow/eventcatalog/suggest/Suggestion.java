@@ -0,0 +1,80 @@
+package com.raju.getmyshow.eventcatalog.suggest;
+
+import com.raju.getmyshow.eventcatalog.dto.SuggestionDto;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * One typeahead suggestion as held by TypeaheadIndex (immutable)
+ *
+ * @param key        identity across refreshes: "EVENT:12", "CITY:dhaka", "AREA:gulshan|dhaka"
+ * @param detail     shown under the text: event type, the venue's city, the area's city...
+ * @param normalized text as matched (see normalize)
+ */
+record Suggestion(String key,
+                  SuggestionType type,
+                  Long id,
+                  String text,
+                  String detail,
+                  long popularity,
+                  String normalized) {
+
+    private static final Pattern ACCENTS = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{M}\\p{N}]+");
+
+    static Suggestion of(SuggestionType type, Long id, String text, String detail, long popularity) {
+        String normalized = normalize(text);
+        return new Suggestion(type + ":" + (id != null ? id : normalized), type, id, text, detail, popularity, normalized);
+    }
+
+    // Names shared by rows of different cities (areas) are told apart by the city
+    static Suggestion area(String area, String city, long popularity) {
+        String normalized = normalize(area);
+        return new Suggestion(SuggestionType.AREA + ":" + normalized + "|" + normalize(city),
+                SuggestionType.AREA, null, area, city, popularity, normalized);
+    }
+
+    /**
+     * Lower case, accents dropped ("Café" = "cafe"), anything but letters / digits
+     * collapsed to one space; marks are kept for scripts that need them (Bengali)
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        String stripped = ACCENTS.matcher(decomposed).replaceAll("");
+        return SEPARATORS.matcher(stripped).replaceAll(" ").trim();
+    }
+
+    /**
+     * Where the words of normalized start, first maxWords only: "the dark knight"
+     * matches "the d", "dark k" and "kni"
+     */
+    int[] wordStarts(int maxWords) {
+        int[] starts = new int[Math.max(1, maxWords)];
+        int count = 0;
+        for (int index = 0; index < normalized.length() && count < starts.length; index++) {
+            if (index == 0 || normalized.charAt(index - 1) == ' ') {
+                starts[count++] = index;
+            }
+        }
+        return Arrays.copyOf(starts, count);
+    }
+
+    Suggestion withPopularity(long newPopularity) {
+        return new Suggestion(key, type, id, text, detail, newPopularity, normalized);
+    }
+
+    SuggestionDto toDto() {
+        return SuggestionDto.builder()
+                .type(type)
+                .id(id)
+                .text(text)
+                .detail(detail)
+                .build();
+    }
+}
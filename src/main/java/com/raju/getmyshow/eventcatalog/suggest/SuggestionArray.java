@@ -0,0 +1,234 @@
+package com.raju.getmyshow.eventcatalog.suggest;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Immutable prefix index over a set of suggestions.
+ *
+ * 💡 LAYOUT: one entry per (suggestion, word start), sorted by the text from that word on
+ * - owners / offsets : the entry IS normalized.substring(offset), never materialized:
+ *   8 bytes per entry instead of a String each
+ * - A prefix is one contiguous range of entries, found by two binary searches
+ * - best : segment tree over the entries, the most popular entry of any range in
+ *   O(log n); the top k of a range come out of a small heap of sub-ranges, without
+ *   reading the rest of the range (a one-letter prefix matches a large share of it)
+ */
+final class SuggestionArray {
+
+    static final SuggestionArray EMPTY = build(List.of(), 1);
+
+    private final Suggestion[] owners;
+    private final int[] offsets;
+    private final int[] best;
+    private final int suggestions;
+
+    private SuggestionArray(Suggestion[] owners, int[] offsets, int suggestions) {
+        this.owners = owners;
+        this.offsets = offsets;
+        this.suggestions = suggestions;
+
+        int size = owners.length;
+        this.best = new int[2 * Math.max(1, size)];
+        for (int entry = 0; entry < size; entry++) {
+            best[size + entry] = entry;
+        }
+        for (int node = size - 1; node > 0; node--) {
+            best[node] = better(best[2 * node], best[2 * node + 1]);
+        }
+    }
+
+    /**
+     * @param maxWords word starts indexed per suggestion (memory cap: later words are not matched)
+     */
+    static SuggestionArray build(Collection<Suggestion> suggestions, int maxWords) {
+        int total = 0;
+        int[][] starts = new int[suggestions.size()][];
+        Suggestion[] all = suggestions.toArray(new Suggestion[0]);
+        for (int index = 0; index < all.length; index++) {
+            starts[index] = all[index].wordStarts(maxWords);
+            total += starts[index].length;
+        }
+
+        // Sort entry numbers by their text, then lay owners / offsets out in that order
+        Suggestion[] unsortedOwners = new Suggestion[total];
+        int[] unsortedOffsets = new int[total];
+        int entry = 0;
+        for (int index = 0; index < all.length; index++) {
+            for (int start : starts[index]) {
+                unsortedOwners[entry] = all[index];
+                unsortedOffsets[entry] = start;
+                entry++;
+            }
+        }
+        Integer[] order = new Integer[total];
+        for (int index = 0; index < total; index++) {
+            order[index] = index;
+        }
+        Arrays.sort(order, (left, right) -> compareSuffixes(
+                unsortedOwners[left].normalized(), unsortedOffsets[left],
+                unsortedOwners[right].normalized(), unsortedOffsets[right]));
+
+        Suggestion[] owners = new Suggestion[total];
+        int[] offsets = new int[total];
+        for (int index = 0; index < total; index++) {
+            owners[index] = unsortedOwners[order[index]];
+            offsets[index] = unsortedOffsets[order[index]];
+        }
+        return new SuggestionArray(owners, offsets, all.length);
+    }
+
+    int entries() {
+        return owners.length;
+    }
+
+    int suggestions() {
+        return suggestions;
+    }
+
+    /**
+     * Rough heap size: entry arrays + tree + the suggestions (text stored twice,
+     * as given and normalized). For the memory gauge, not an exact measurement.
+     */
+    long estimatedBytes(long textBytes) {
+        return owners.length * 8L + best.length * 4L + suggestions * 120L + textBytes;
+    }
+
+    /**
+     * Entries starting with prefix (already normalized), most popular first
+     */
+    Cursor cursor(String prefix) {
+        int from = lowerBound(prefix);
+        int to = upperBound(prefix, from);
+        return new Cursor(from, to);
+    }
+
+    /**
+     * Walks one prefix range in popularity order: pop the best entry of a range,
+     * push the two ranges left of and right of it
+     */
+    final class Cursor {
+
+        // {best entry, from, to}, best entry first
+        private final PriorityQueue<int[]> ranges = new PriorityQueue<>(
+                (left, right) -> better(left[0], right[0]) == left[0] ? -1 : 1);
+
+        private Cursor(int from, int to) {
+            push(from, to);
+        }
+
+        Suggestion peek() {
+            int[] top = ranges.peek();
+            return top == null ? null : owners[top[0]];
+        }
+
+        Suggestion next() {
+            int[] top = ranges.poll();
+            if (top == null) {
+                return null;
+            }
+            push(top[1], top[0]);
+            push(top[0] + 1, top[2]);
+            return owners[top[0]];
+        }
+
+        private void push(int from, int to) {
+            if (from < to) {
+                ranges.add(new int[]{bestIn(from, to), from, to});
+            }
+        }
+    }
+
+    //=======================================
+    //    Search
+    //=======================================
+
+    // Most popular entry in [from, to), ties to the lower (alphabetically first) entry
+    private int bestIn(int from, int to) {
+        int size = owners.length;
+        int result = -1;
+        for (int low = from + size, high = to + size; low < high; low >>>= 1, high >>>= 1) {
+            if ((low & 1) == 1) {
+                result = better(result, best[low++]);
+            }
+            if ((high & 1) == 1) {
+                result = better(result, best[--high]);
+            }
+        }
+        return result;
+    }
+
+    private int better(int left, int right) {
+        if (left < 0) {
+            return right;
+        }
+        if (right < 0) {
+            return left;
+        }
+        long leftPopularity = owners[left].popularity();
+        long rightPopularity = owners[right].popularity();
+        if (leftPopularity != rightPopularity) {
+            return leftPopularity > rightPopularity ? left : right;
+        }
+        return Math.min(left, right);
+    }
+
+    // First entry >= prefix
+    private int lowerBound(String prefix) {
+        int low = 0;
+        int high = owners.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparePrefix(mid, prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // First entry after the ones starting with prefix
+    private int upperBound(String prefix, int from) {
+        int low = from;
+        int high = owners.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparePrefix(mid, prefix) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // < 0 / 0 / > 0: the entry sorts before prefix / starts with it / sorts after everything starting with it
+    private int comparePrefix(int entry, String prefix) {
+        String text = owners[entry].normalized();
+        int offset = offsets[entry];
+        int length = Math.min(text.length() - offset, prefix.length());
+        for (int index = 0; index < length; index++) {
+            int diff = text.charAt(offset + index) - prefix.charAt(index);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return text.length() - offset >= prefix.length() ? 0 : -1;
+    }
+
+    private static int compareSuffixes(String left, int leftOffset, String right, int rightOffset) {
+        int leftLength = left.length() - leftOffset;
+        int rightLength = right.length() - rightOffset;
+        int length = Math.min(leftLength, rightLength);
+        for (int index = 0; index < length; index++) {
+            int diff = left.charAt(leftOffset + index) - right.charAt(rightOffset + index);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return leftLength - rightLength;
+    }
+}
@@ -0,0 +1,15 @@
+package com.raju.getmyshow.eventcatalog.suggest;
+
+/**
+ * What a typeahead suggestion points at
+ * - EVENT, VENUE : one row, the suggestion carries its id
+ * - CITY, AREA, TOURNAMENT, TEAM : a name shared by many rows, no id
+ */
+public enum SuggestionType {
+    EVENT,
+    VENUE,
+    CITY,
+    AREA,
+    TOURNAMENT,
+    TEAM
+}
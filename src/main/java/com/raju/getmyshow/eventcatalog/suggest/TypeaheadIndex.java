@@ -0,0 +1,406 @@
+package com.raju.getmyshow.eventcatalog.suggest;
+
+import com.raju.getmyshow.eventcatalog.config.EventCatalogProperties;
+import com.raju.getmyshow.eventcatalog.dto.SuggestionDto;
+import com.raju.getmyshow.eventcatalog.repository.EventRepository;
+import com.raju.getmyshow.eventcatalog.repository.SportsEventRepository;
+import com.raju.getmyshow.eventcatalog.repository.VenueRepository;
+import com.raju.getmyshow.eventcatalog.repository.projection.EventSuggestionRow;
+import com.raju.getmyshow.eventcatalog.repository.projection.SportsSuggestionRow;
+import com.raju.getmyshow.eventcatalog.repository.projection.VenueSuggestionRow;
+import com.raju.getmyshow.shared.change.ChangeCursor;
+import com.raju.getmyshow.shared.change.ChangeFeed;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 💡 PURPOSE: Search box suggestions on every keystroke, from memory
+ * - Sources: event titles, venue names, cities and areas (from venues), sports
+ *   tournaments and teams; weighted by popularity = shows + seats sold in the last
+ *   popularity-days
+ * - Matches the start of any word: "knig" -> "The Dark Knight"; case and accents ignored
+ * - Top k = a couple of binary searches + a k-step heap walk (SuggestionArray),
+ *   no database on the request path; empty until the first build finishes
+ *
+ * 💡 UPDATES
+ * - Full build at startup (background) and on rebuild-cron: fresh popularity, drops
+ *   deleted rows and names no longer used
+ * - Refresh every refresh-interval-millis: events / venues / sports events written since
+ *   the last poll, one ChangeCursor per table below the ChangeFeed horizon (updated_at,
+ *   see V16). Changes go to a small overlay index searched
+ *   next to the base one; what they replace in the base is masked. The overlay is
+ *   folded into a new base after compact-after-changes changes
+ *
+ * 💡 MEMORY: at most max-suggestions (the most popular kept) and max-words-per-suggestion
+ *   word starts each, 8 bytes per word start + the texts; eventcatalog.suggest.index.bytes
+ *
+ * 💡 CONCURRENCY: readers take one immutable Snapshot, no lock; build and refresh are
+ *   serialized on this
+ */
+@Component
+@Slf4j
+public class TypeaheadIndex {
+
+    private final EventRepository eventRepository;
+    private final VenueRepository venueRepository;
+    private final SportsEventRepository sportsEventRepository;
+    private final EventCatalogProperties eventCatalogProperties;
+    private final ChangeFeed changeFeed;
+
+    private final Timer buildTimer;
+
+    private volatile Snapshot snapshot = new Snapshot(SuggestionArray.EMPTY, SuggestionArray.EMPTY, Set.of(), 0);
+    private volatile boolean ready;
+
+    // Master copy, build / refresh only (under this)
+    private final Map<String, Suggestion> current = new HashMap<>();
+    private final Map<String, Suggestion> overlay = new HashMap<>();
+    private final Set<String> masked = new HashSet<>();
+    private ChangeCursor eventChanges;
+    private ChangeCursor venueChanges;
+    private ChangeCursor sportsChanges;
+    // Suggestions changed by the running refresh
+    private int changed;
+
+    public TypeaheadIndex(EventRepository eventRepository,
+                          VenueRepository venueRepository,
+                          SportsEventRepository sportsEventRepository,
+                          EventCatalogProperties eventCatalogProperties,
+                          ChangeFeed changeFeed,
+                          MeterRegistry meterRegistry) {
+        this.eventRepository = eventRepository;
+        this.venueRepository = venueRepository;
+        this.sportsEventRepository = sportsEventRepository;
+        this.eventCatalogProperties = eventCatalogProperties;
+        this.changeFeed = changeFeed;
+
+        this.buildTimer = Timer.builder("eventcatalog.suggest.index.build")
+                .register(meterRegistry);
+        Gauge.builder("eventcatalog.suggest.index.suggestions", this,
+                        index -> index.snapshot.base().suggestions() + index.snapshot.overlay().suggestions())
+                .register(meterRegistry);
+        Gauge.builder("eventcatalog.suggest.index.bytes", this, index -> index.snapshot.estimatedBytes())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Up to limit suggestions whose words start with the words of query, most popular
+     * first; empty while the index is cold
+     */
+    public List<SuggestionDto> suggest(String query, int limit) {
+        String prefix = Suggestion.normalize(query);
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+
+        Snapshot view = snapshot;
+        SuggestionArray.Cursor base = view.base().cursor(prefix);
+        SuggestionArray.Cursor changed = view.overlay().cursor(prefix);
+
+        // Both cursors come out most popular first: merge them, skip masked base entries
+        // and the same suggestion matched through a second word
+        List<SuggestionDto> suggestions = new ArrayList<>(limit);
+        Set<String> seen = new HashSet<>();
+        while (suggestions.size() < limit) {
+            Suggestion fromBase = base.peek();
+            Suggestion fromOverlay = changed.peek();
+            Suggestion next;
+            if (fromBase == null && fromOverlay == null) {
+                break;
+            } else if (fromOverlay == null
+                    || (fromBase != null && fromBase.popularity() >= fromOverlay.popularity())) {
+                next = base.next();
+                if (view.masked().contains(next.key())) {
+                    continue;
+                }
+            } else {
+                next = changed.next();
+            }
+            if (seen.add(next.key())) {
+                suggestions.add(next.toDto());
+            }
+        }
+        return suggestions;
+    }
+
+    //=======================================
+    //    Build
+    //=======================================
+
+    @EventListener(ApplicationReadyEvent.class)
+    void buildOnStartup() {
+        if (!eventCatalogProperties.getSuggest().isEnabled()) {
+            return;
+        }
+        // Suggestions are empty until this finishes, startup does not wait for it
+        Thread builder = new Thread(this::rebuild, "typeahead-build");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    @Scheduled(cron = "${eventcatalog.suggest.rebuild-cron:0 30 * * * *}")
+    public void rebuild() {
+        EventCatalogProperties.Suggest config = eventCatalogProperties.getSuggest();
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        try {
+            buildTimer.record(() -> build(config));
+        } catch (DataAccessException ex) {
+            log.warn("Typeahead index build failed, {}: {}",
+                    ready ? "keeping the previous one" : "suggestions stay empty", ex.getMessage());
+        }
+    }
+
+    private void build(EventCatalogProperties.Suggest config) {
+        // Everything stamped below it is in this build, the next refresh starts there
+        LocalDateTime changesFrom = changeFeed.horizon();
+        LocalDateTime popularSince = LocalDateTime.now().minusDays(config.getPopularityDays());
+
+        Map<String, Suggestion> loaded = new HashMap<>();
+        for (EventSuggestionRow row : eventRepository.findSuggestionSources(popularSince)) {
+            add(loaded, event(row));
+        }
+        for (VenueSuggestionRow row : venueRepository.findSuggestionSources(popularSince)) {
+            add(loaded, venue(row));
+            // A city / area is as popular as its venues together
+            names(row).forEach(name -> loaded.merge(name.key(), name,
+                    (existing, more) -> existing.withPopularity(existing.popularity() + more.popularity())));
+        }
+        for (SportsSuggestionRow row : sportsEventRepository.findSuggestionSources(popularSince)) {
+            names(row).forEach(name -> loaded.merge(name.key(), name,
+                    (existing, more) -> existing.withPopularity(existing.popularity() + more.popularity())));
+        }
+
+        synchronized (this) {
+            current.clear();
+            current.putAll(loaded);
+            compact(config);
+            eventChanges = new ChangeCursor(changesFrom);
+            venueChanges = new ChangeCursor(changesFrom);
+            sportsChanges = new ChangeCursor(changesFrom);
+            ready = true;
+        }
+
+        log.info("Typeahead index built: {} suggestions, {} word starts, ~{} KB",
+                snapshot.base().suggestions(), snapshot.base().entries(), snapshot.estimatedBytes() / 1024);
+    }
+
+    // New base from current, capped to the most popular max-suggestions; empty overlay
+    private void compact(EventCatalogProperties.Suggest config) {
+        List<Suggestion> kept = new ArrayList<>(current.values());
+        if (kept.size() > config.getMaxSuggestions()) {
+            kept.sort(Comparator.comparingLong(Suggestion::popularity).reversed());
+            List<Suggestion> dropped = kept.subList(config.getMaxSuggestions(), kept.size());
+            log.info("Typeahead index capped at {} of {} suggestions", config.getMaxSuggestions(), kept.size());
+            dropped.forEach(suggestion -> current.remove(suggestion.key()));
+            dropped.clear();
+        }
+
+        overlay.clear();
+        masked.clear();
+        snapshot = new Snapshot(SuggestionArray.build(kept, config.getMaxWordsPerSuggestion()),
+                SuggestionArray.EMPTY, Set.of(), textBytes(kept));
+    }
+
+    //=======================================
+    //    Incremental refresh
+    //=======================================
+
+    @Scheduled(fixedDelayString = "${eventcatalog.suggest.refresh-interval-millis:5000}",
+            initialDelayString = "${eventcatalog.suggest.refresh-interval-millis:5000}")
+    public void refresh() {
+        EventCatalogProperties.Suggest config = eventCatalogProperties.getSuggest();
+        if (!config.isEnabled() || !ready) {
+            return;
+        }
+
+        try {
+            synchronized (this) {
+                applyChanges(config);
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Typeahead index refresh failed, retrying: {}", ex.getMessage());
+        }
+    }
+
+    private void applyChanges(EventCatalogProperties.Suggest config) {
+        LocalDateTime horizon = changeFeed.horizon();
+        LocalDateTime popularSince = LocalDateTime.now().minusDays(config.getPopularityDays());
+        changed = 0;
+        try {
+            eventChanges.poll(horizon, Integer.MAX_VALUE,
+                    (afterTime, afterId, below, limit) ->
+                            eventRepository.findSuggestionChanges(afterTime, afterId, below, popularSince, limit),
+                    EventSuggestionRow::getId, this::apply);
+            venueChanges.poll(horizon, Integer.MAX_VALUE,
+                    (afterTime, afterId, below, limit) ->
+                            venueRepository.findSuggestionChanges(afterTime, afterId, below, popularSince, limit),
+                    VenueSuggestionRow::getId, this::apply);
+            sportsChanges.poll(horizon, Integer.MAX_VALUE,
+                    (afterTime, afterId, below, limit) ->
+                            sportsEventRepository.findSuggestionChanges(afterTime, afterId, below, popularSince, limit),
+                    SportsSuggestionRow::getEventId, this::apply);
+        } finally {
+            // Also after a failed page: the pages before it are applied, the cursors are past them
+            if (changed > 0) {
+                publishChanges(config);
+            }
+        }
+    }
+
+    private void publishChanges(EventCatalogProperties.Suggest config) {
+        if (overlay.size() > config.getCompactAfterChanges()) {
+            compact(config);
+        } else {
+            Snapshot base = snapshot;
+            snapshot = new Snapshot(base.base(),
+                    SuggestionArray.build(overlay.values(), config.getMaxWordsPerSuggestion()),
+                    Set.copyOf(masked), base.textBytes() + textBytes(overlay.values()));
+        }
+        log.debug("Typeahead index: {} suggestions changed, {} in the overlay", changed, overlay.size());
+    }
+
+    private void apply(EventSuggestionRow row) {
+        Suggestion event = event(row);
+        if (Boolean.TRUE.equals(row.getActive())) {
+            upsert(event);
+        } else {
+            remove(event.key());
+        }
+    }
+
+    private void apply(VenueSuggestionRow row) {
+        Suggestion venue = venue(row);
+        if (Boolean.TRUE.equals(row.getActive())) {
+            upsert(venue);
+            // New names only; their popularity is summed by the next full build
+            names(row).forEach(this::addName);
+        } else {
+            remove(venue.key());
+        }
+    }
+
+    private void apply(SportsSuggestionRow row) {
+        if (Boolean.TRUE.equals(row.getActive())) {
+            names(row).forEach(this::addName);
+        }
+    }
+
+    private void addName(Suggestion name) {
+        if (!current.containsKey(name.key())) {
+            upsert(name);
+        }
+    }
+
+    private void upsert(Suggestion suggestion) {
+        if (suggestion.equals(current.get(suggestion.key()))) {
+            return;
+        }
+        current.put(suggestion.key(), suggestion);
+        overlay.put(suggestion.key(), suggestion);
+        masked.add(suggestion.key());
+        changed++;
+    }
+
+    private void remove(String key) {
+        if (current.remove(key) == null) {
+            return;
+        }
+        overlay.remove(key);
+        masked.add(key);
+        changed++;
+    }
+
+    //=======================================
+    //    Rows -> suggestions
+    //=======================================
+
+    private static Suggestion event(EventSuggestionRow row) {
+        return Suggestion.of(SuggestionType.EVENT, row.getId(), row.getTitle(), row.getEventType(),
+                popularity(row.getPopularity()));
+    }
+
+    private static Suggestion venue(VenueSuggestionRow row) {
+        return Suggestion.of(SuggestionType.VENUE, row.getId(), row.getName(), row.getCity(),
+                popularity(row.getPopularity()));
+    }
+
+    private static List<Suggestion> names(VenueSuggestionRow row) {
+        long popularity = popularity(row.getPopularity());
+        List<Suggestion> names = new ArrayList<>(2);
+        names.add(Suggestion.of(SuggestionType.CITY, null, row.getCity(), null, popularity));
+        if (hasText(row.getArea())) {
+            names.add(Suggestion.area(row.getArea(), row.getCity(), popularity));
+        }
+        return names;
+    }
+
+    private static List<Suggestion> names(SportsSuggestionRow row) {
+        long popularity = popularity(row.getPopularity());
+        List<Suggestion> names = new ArrayList<>(3);
+        if (hasText(row.getTournamentName())) {
+            names.add(Suggestion.of(SuggestionType.TOURNAMENT, null, row.getTournamentName(), row.getSportType(), popularity));
+        }
+        for (String team : new String[]{row.getTeamHome(), row.getTeamAway()}) {
+            if (hasText(team)) {
+                names.add(Suggestion.of(SuggestionType.TEAM, null, team, row.getSportType(), popularity));
+            }
+        }
+        return names;
+    }
+
+    private static void add(Map<String, Suggestion> suggestions, Suggestion suggestion) {
+        if (!suggestion.normalized().isEmpty()) {
+            suggestions.put(suggestion.key(), suggestion);
+        }
+    }
+
+    private static long popularity(Long value) {
+        return value == null ? 0 : value;
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private static long textBytes(Iterable<Suggestion> suggestions) {
+        long bytes = 0;
+        for (Suggestion suggestion : suggestions) {
+            bytes += 2L * (suggestion.text().length() + suggestion.normalized().length() + suggestion.key().length());
+        }
+        return bytes;
+    }
+
+    /**
+     * What readers search: base + overlay, base entries whose key is masked are stale
+     */
+    private record Snapshot(SuggestionArray base, SuggestionArray overlay, Set<String> masked, long textBytes) {
+
+        long estimatedBytes() {
+            return base.estimatedBytes(textBytes) + overlay.estimatedBytes(0) + masked.size() * 64L;
+        }
+    }
+}
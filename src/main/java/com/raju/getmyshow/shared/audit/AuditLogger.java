@@ -0,0 +1,320 @@
+package com.raju.getmyshow.shared.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.raju.getmyshow.shared.config.AuditProperties;
+import com.raju.getmyshow.shared.entity.AuditLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 💡 PURPOSE: Write audit_logs off the request thread
+ * - record() puts the event on a bounded lock-free ring (AuditRingBuffer): one CAS,
+ *   no DB round trip, no lock; inside a transaction only once it commits, so a
+ *   rolled-back booking is never audited
+ * - One "audit-writer" thread drains the ring and INSERTs up to audit.batch-size rows
+ *   per JDBC batch (reWriteBatchedInserts turns it into multi-row INSERTs), at least
+ *   every audit.flush-interval-millis
+ * - Metadata is serialized to JSON on the writer thread, not the caller's
+ *
+ * 💡 BACK-PRESSURE: a full ring either drops the event right away (DROP) or lets the
+ *   caller wait up to audit.block-timeout-millis for room (BLOCK); every lost event is counted
+ *
+ * 💡 SHUTDOWN: stops after the web server (lower phase): the ring is closed first, so an
+ *   event is either refused (counted as dropped) or drained; the writer then writes what
+ *   is buffered for up to audit.shutdown-drain-timeout-millis
+ *
+ * 💡 WRITER FAILURES: a batch that cannot be written is dropped and counted; anything
+ *   else that escapes the loop is logged and a new writer thread takes over
+ *
+ * 💡 METRICS
+ * - audit.events.recorded : events accepted into the buffer
+ * - audit.events.written  : rows inserted
+ * - audit.events.dropped  : events lost, tagged reason=full|timeout|shutdown|write_error
+ * - audit.buffer.size     : events waiting
+ * - audit.flush           : duration of one batch insert
+ * - audit.writer.restarts : writer threads replaced after an unexpected failure
+ */
+@Component
+@Slf4j
+public class AuditLogger implements SmartLifecycle {
+
+    // Stop after the web server (SmartLifecycle.DEFAULT_PHASE - 1024) so in-flight requests still audit
+    private static final int PHASE = 0;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO audit_logs (user_id, action_type, entity_type, entity_id, metadata, created_at)
+            VALUES (?, ?, ?, ?, CAST(? AS JSONB), ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final AuditProperties auditProperties;
+    private final AuditRingBuffer<AuditLog> buffer;
+
+    private final Counter recorded;
+    private final Counter written;
+    private final Counter droppedFull;
+    private final Counter droppedTimeout;
+    private final Counter droppedShutdown;
+    private final Counter droppedWriteError;
+    private final Timer flushTimer;
+    private final Counter writerRestarts;
+
+    private volatile boolean running;
+    private volatile Thread writerThread;
+
+    public AuditLogger(JdbcTemplate jdbcTemplate,
+                       ObjectMapper objectMapper,
+                       AuditProperties auditProperties,
+                       MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.auditProperties = auditProperties;
+        this.buffer = new AuditRingBuffer<>(auditProperties.getBufferCapacity());
+
+        this.recorded = Counter.builder("audit.events.recorded").register(meterRegistry);
+        this.written = Counter.builder("audit.events.written").register(meterRegistry);
+        this.droppedFull = dropCounter(meterRegistry, "full");
+        this.droppedTimeout = dropCounter(meterRegistry, "timeout");
+        this.droppedShutdown = dropCounter(meterRegistry, "shutdown");
+        this.droppedWriteError = dropCounter(meterRegistry, "write_error");
+        this.flushTimer = Timer.builder("audit.flush").register(meterRegistry);
+        this.writerRestarts = Counter.builder("audit.writer.restarts").register(meterRegistry);
+        Gauge.builder("audit.buffer.size", buffer, AuditRingBuffer::size)
+                .register(meterRegistry);
+    }
+
+    private static Counter dropCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("audit.events.dropped")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    public void record(Long userId, String actionType, String entityType, Long entityId) {
+        record(AuditLog.of(userId, actionType, entityType, entityId));
+    }
+
+    public void record(Long userId, String actionType, String entityType, Long entityId,
+                       Map<String, Object> metaData) {
+        record(AuditLog.withMetaData(userId, actionType, entityType, entityId, metaData));
+    }
+
+    /**
+     * Queues the event; inside a transaction only after it commits. Never throws, never does I/O.
+     */
+    public void record(AuditLog event) {
+        if (!auditProperties.isEnabled()) {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(event);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(event);
+            }
+        });
+    }
+
+    private void enqueue(AuditLog event) {
+        if (!running) {
+            droppedShutdown.increment();
+            return;
+        }
+
+        if (buffer.offer(event)) {
+            recorded.increment();
+            if (buffer.size() >= auditProperties.getBatchSize()) {
+                LockSupport.unpark(writerThread);  // a full batch is waiting, no need to wait for the interval
+            }
+            return;
+        }
+
+        if (auditProperties.getOverflowPolicy() == AuditOverflowPolicy.BLOCK && offerWithin(event)) {
+            recorded.increment();
+            return;
+        }
+
+        if (buffer.isClosed()) {
+            droppedShutdown.increment();  // passed the running check while stop() closed the ring
+        } else if (auditProperties.getOverflowPolicy() == AuditOverflowPolicy.BLOCK) {
+            droppedTimeout.increment();
+        } else {
+            droppedFull.increment();
+        }
+    }
+
+    private boolean offerWithin(AuditLog event) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(auditProperties.getBlockTimeoutMillis());
+        LockSupport.unpark(writerThread);
+        while (System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+            if (buffer.offer(event)) {
+                return true;
+            }
+            if (buffer.isClosed() || Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    //=======================================
+    //    Writer thread
+    //=======================================
+
+    private void writeLoop() {
+        List<AuditLog> batch = new ArrayList<>(auditProperties.getBatchSize());
+        try {
+            drainLoop(batch);
+        } catch (Throwable ex) {
+            droppedWriteError.increment(batch.size());  // the batch in flight, if any
+            log.error("Audit writer failed, {} events lost", batch.size(), ex);
+            if (!buffer.isDrained()) {
+                writerRestarts.increment();
+                startWriter();  // events are still coming (or buffered): a new writer takes over
+            }
+        }
+    }
+
+    private void drainLoop(List<AuditLog> batch) {
+        int batchSize = auditProperties.getBatchSize();
+        long flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(auditProperties.getFlushIntervalMillis());
+
+        // Until stop() has closed the ring AND everything offered before that is written
+        while (!buffer.isDrained()) {
+            int drained = buffer.drainTo(batch, batchSize);
+
+            if (drained > 0) {
+                write(batch);
+                batch.clear();
+            }
+            if (drained < batchSize && running) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            } else if (drained == 0) {
+                Thread.onSpinWait();  // stopping: an event claimed but not yet published
+            }
+        }
+    }
+
+    private void write(List<AuditLog> batch) {
+        try {
+            flushTimer.record(() -> jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    AuditLog event = batch.get(i);
+                    ps.setObject(1, event.getUserId(), Types.BIGINT);
+                    ps.setString(2, event.getActionType());
+                    ps.setString(3, event.getEntityType());
+                    ps.setObject(4, event.getEntityId(), Types.BIGINT);
+                    ps.setString(5, toJson(event.getMetaData()));
+                    ps.setObject(6, event.getCreatedAt() != null ? event.getCreatedAt() : LocalDateTime.now());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return batch.size();
+                }
+            }));
+            written.increment(batch.size());
+        } catch (DataAccessException ex) {
+            droppedWriteError.increment(batch.size());
+            log.warn("Could not write {} audit events: {}", batch.size(), ex.getMessage());
+        } catch (RuntimeException ex) {
+            droppedWriteError.increment(batch.size());
+            log.error("Could not write {} audit events", batch.size(), ex);
+        }
+    }
+
+    private String toJson(Map<String, Object> metaData) {
+        if (metaData == null || metaData.isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(metaData);
+        } catch (JsonProcessingException ex) {
+            log.debug("Audit metadata not serializable, written without it: {}", ex.getMessage());
+            return null;
+        }
+    }
+
+    //=======================================
+    //    Lifecycle
+    //=======================================
+
+    @Override
+    public void start() {
+        running = true;
+        startWriter();
+        log.info("Audit writer started (buffer {}, batch {}, flush every {} ms, overflow {})",
+                buffer.capacity(), auditProperties.getBatchSize(),
+                auditProperties.getFlushIntervalMillis(), auditProperties.getOverflowPolicy());
+    }
+
+    private void startWriter() {
+        Thread thread = new Thread(this::writeLoop, "audit-writer");
+        thread.setDaemon(true);
+        writerThread = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        buffer.close();  // from here on an event is refused, never left behind in the ring
+
+        long deadline = System.nanoTime()
+                + TimeUnit.MILLISECONDS.toNanos(auditProperties.getShutdownDrainTimeoutMillis());
+        try {
+            // Re-read: a writer that failed meanwhile has handed over to a new thread
+            Thread thread;
+            while ((thread = writerThread) != null && thread.isAlive() && System.nanoTime() < deadline) {
+                LockSupport.unpark(thread);
+                thread.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (!buffer.isDrained()) {
+            int left = buffer.size();
+            droppedShutdown.increment(left);
+            log.warn("Audit writer did not drain in time, {} events lost", left);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+}
@@ -0,0 +1,9 @@
+package com.raju.getmyshow.shared.audit;
+
+/**
+ * What AuditLogger.record() does when the audit buffer is full (audit.overflow-policy)
+ */
+public enum AuditOverflowPolicy {
+    DROP,   // Drop the new event right away: the caller never waits
+    BLOCK   // Wait up to audit.block-timeout-millis for the writer to make room, then drop
+}
@@ -0,0 +1,123 @@
+package com.raju.getmyshow.shared.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue: many producers, ONE consumer.
+ *
+ * 💡 LAYOUT: a power-of-two ring of slots, each with a sequence number
+ * - Slot i is free for the producer at position p when sequence == p,
+ *   and holds an element for the consumer when sequence == p + 1
+ * - Producers claim a position with one CAS on tail, no lock, no allocation;
+ *   a full ring fails the offer instead of waiting
+ * - Only the single consumer moves head, so polling needs no CAS
+ *
+ * 💡 CLOSE: sets the top bit of tail with a CAS, so every later offer fails; an offer
+ *   either claimed its position before the close (and will be drained) or fails.
+ *   {@link #isDrained()} tells the consumer when the last claimed element is out
+ */
+final class AuditRingBuffer<E> {
+
+    private final int mask;
+    private final AtomicReferenceArray<E> slots;
+    private final AtomicLongArray sequences;
+    private static final long CLOSED = Long.MIN_VALUE;
+
+    // Next position to claim; CLOSED bit set once closed
+    private final AtomicLong tail = new AtomicLong();
+
+    // Written by the consumer only, read by size()
+    private volatile long head;
+
+    AuditRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int slot = 0; slot < capacity; slot++) {
+            sequences.set(slot, slot);
+        }
+    }
+
+    /**
+     * @return false when the ring is full or closed (nothing was added)
+     */
+    boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            if ((position & CLOSED) != 0) {
+                return false;
+            }
+            int slot = (int) (position & mask);
+            long gap = sequences.get(slot) - position;
+            if (gap == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.lazySet(slot, element);
+                    sequences.lazySet(slot, position + 1);  // publishes the element
+                    return true;
+                }
+                position = tail.get();
+            } else if (gap < 0) {
+                return false;  // the slot still holds an element from one lap ago
+            } else {
+                position = tail.get();  // another producer took this position
+            }
+        }
+    }
+
+    /**
+     * Consumer only: moves up to {@code max} elements into {@code target}.
+     *
+     * @return number of elements moved
+     */
+    int drainTo(List<E> target, int max) {
+        int drained = 0;
+        long position = head;
+        while (drained < max) {
+            int slot = (int) (position & mask);
+            if (sequences.get(slot) != position + 1) {
+                break;  // empty, or a producer has claimed the slot but not published yet
+            }
+            target.add(slots.get(slot));
+            slots.lazySet(slot, null);
+            sequences.lazySet(slot, position + mask + 1);  // free for the next lap
+            position++;
+            drained++;
+        }
+        head = position;
+        return drained;
+    }
+
+    /**
+     * Refuses every offer from now on; idempotent
+     */
+    void close() {
+        long position = tail.get();
+        while ((position & CLOSED) == 0 && !tail.compareAndSet(position, position | CLOSED)) {
+            position = tail.get();
+        }
+    }
+
+    boolean isClosed() {
+        return (tail.get() & CLOSED) != 0;
+    }
+
+    /**
+     * Consumer only: closed, and every element offered before the close was drained
+     */
+    boolean isDrained() {
+        long position = tail.get();
+        return (position & CLOSED) != 0 && head == (position & ~CLOSED);
+    }
+
+    int size() {
+        return (int) Math.max(0, (tail.get() & ~CLOSED) - head);
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
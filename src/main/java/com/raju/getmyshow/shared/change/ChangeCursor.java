@@ -0,0 +1,80 @@
+package com.raju.getmyshow.shared.change;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * 💡 PURPOSE: One reader's position in a change feed: (updated_at, id) of the last row applied
+ * - Pages are keyset on (updated_at, id): rows sharing a timestamp across a page
+ *   boundary are neither skipped nor read twice
+ * - Reads stop below the ChangeFeed horizon, nothing can still commit under it, so the
+ *   position only ever moves forward
+ * - Feeds: ShowSearchIndex (shows), TypeaheadIndex (events, venues, sports events),
+ *   VenueGeoIndex (venues)
+ *
+ * Not thread-safe: owned by one index, used under its lock.
+ */
+public final class ChangeCursor {
+
+    static final int PAGE_SIZE = 1_000;
+
+    /**
+     * One page of the feed: rows with (updated_at, id) > (afterTime, afterId) and
+     * updated_at < horizon, in (updated_at, id) order, at most limit
+     */
+    @FunctionalInterface
+    public interface Page<R extends ChangeRow> {
+        List<R> fetch(LocalDateTime afterTime, long afterId, LocalDateTime horizon, int limit);
+    }
+
+    private LocalDateTime afterTime;
+    private long afterId;
+
+    public ChangeCursor(LocalDateTime from) {
+        reset(from);
+    }
+
+    /**
+     * The next poll starts with the rows stamped at from: use the horizon taken before a
+     * full build, which read everything below it
+     */
+    public void reset(LocalDateTime from) {
+        afterTime = from;
+        afterId = 0;
+    }
+
+    /**
+     * Applies the rows after the position and below horizon, oldest first, at most maxRows.
+     * The position follows every applied row: if apply throws, the next poll resumes at it.
+     *
+     * @return rows applied; maxRows means more may be waiting, the next poll continues
+     */
+    public <R extends ChangeRow> int poll(LocalDateTime horizon, int maxRows, Page<R> page,
+                                          ToLongFunction<R> idOf, Consumer<R> apply) {
+        int applied = 0;
+        while (applied < maxRows) {
+            int limit = Math.min(PAGE_SIZE, maxRows - applied);
+            List<R> rows = page.fetch(afterTime, afterId, horizon, limit);
+            for (R row : rows) {
+                apply.accept(row);
+                afterTime = row.getUpdatedAt();
+                afterId = idOf.applyAsLong(row);
+                applied++;
+            }
+            if (rows.size() < limit) {
+                break;  // drained up to the horizon
+            }
+        }
+        return applied;
+    }
+
+    public LocalDateTime afterTime() {
+        return afterTime;
+    }
+
+    public long afterId() {
+        return afterId;
+    }
+}
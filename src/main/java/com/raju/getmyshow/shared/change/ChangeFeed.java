@@ -0,0 +1,47 @@
+package com.raju.getmyshow.shared.change;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * 💡 PURPOSE: How far a change feed (updated_at stamped by stamp_change_time, V14) can be read
+ *   without missing a row that is still being written
+ * - A row is stamped with clock_timestamp() when it is written, but only seen once its
+ *   transaction commits: a transaction started at T can still commit rows stamped >= T
+ * - horizon() = the start of the oldest open transaction (or now): every row stamped below
+ *   it is committed, and visible to any statement that runs after this one
+ * - Readers stop below the horizon and resume from their ChangeCursor: no look-back
+ *   window, no late commit skipped however long its transaction ran
+ *
+ * 💡 CAVEATS
+ * - Any open transaction holds the horizon back, writing or not: an idle-in-transaction
+ *   session delays the feed by its age (the indexes keep serving, just not its changes)
+ * - pg_stat_activity shows xact_start of the app's own role only (or with
+ *   pg_read_all_stats); rows written by other roles may be missed if they commit late
+ */
+@Component
+public class ChangeFeed {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ChangeFeed(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Rows stamped before this are all committed. Run it as its own statement BEFORE the
+     * reads it bounds (they need a later snapshot)
+     */
+    public LocalDateTime horizon() {
+        return jdbcTemplate.queryForObject("""
+                SELECT CAST(LEAST(clock_timestamp(), MIN(a.xact_start)) AS TIMESTAMP)
+                FROM pg_stat_activity a
+                WHERE a.datname = current_database()
+                  AND a.backend_type = 'client backend'
+                  AND a.pid <> pg_backend_pid()
+                  AND a.xact_start IS NOT NULL
+                """, LocalDateTime.class);
+    }
+}
@@ -0,0 +1,11 @@
+package com.raju.getmyshow.shared.change;
+
+import java.time.LocalDateTime;
+
+/**
+ * A row read from a change feed: its change time, stamped by a stamp_change_time trigger (V14)
+ */
+public interface ChangeRow {
+
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,37 @@
+package com.raju.getmyshow.shared.config;
+
+import com.raju.getmyshow.shared.audit.AuditOverflowPolicy;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Asynchronous audit_logs writer, see AuditLogger
+ */
+@Component
+@ConfigurationProperties(prefix = "audit")
+@Getter
+@Setter
+public class AuditProperties {
+
+    private boolean enabled = true;
+
+    // Events waiting to be written; rounded up to a power of two
+    private int bufferCapacity = 16384;
+
+    // Max rows per INSERT batch
+    private int batchSize = 500;
+
+    // A partial batch is written at least this often
+    private long flushIntervalMillis = 200;
+
+    // What record() does when the buffer is full
+    private AuditOverflowPolicy overflowPolicy = AuditOverflowPolicy.DROP;
+
+    // BLOCK only: longest a caller waits for room before its event is dropped
+    private long blockTimeoutMillis = 5;
+
+    // On shutdown: time given to write the events still buffered
+    private long shutdownDrainTimeoutMillis = 5000;
+}
@@ -1,7 +1,6 @@
 package com.raju.getmyshow.shared.config;
 
-import com.raju.getmyshow.booking.entity.SeatInventory;
-import com.raju.getmyshow.booking.entity.SeatStatus;
+import com.raju.getmyshow.booking.inventory.SeatInventoryMaterializer;
 import com.raju.getmyshow.booking.repository.SeatInventoryRepository;
 import com.raju.getmyshow.eventcatalog.domain.CensorRating;
 import com.raju.getmyshow.eventcatalog.domain.entity.*;
@@ -34,6 +33,7 @@ public class DataSeederConfig {
     private final ScreenRepository screenRepository;
     private final SeatRepository seatRepository;
     private final SeatInventoryRepository seatInventoryRepository;
+    private final SeatInventoryMaterializer seatInventoryMaterializer;
 
     @Bean
     @Profile("dev")
@@ -56,22 +56,18 @@ public class DataSeederConfig {
             Screen screen1 = createScreen(venue, "Screen 1 - IMAX", ScreenType.IMAX, 100);
             Screen screen2 = createScreen(venue, "Screen 2 - Regular", ScreenType.STANDARD, 80);
 
-            List<Seat> screen1Seats = createSeatsForScreen(screen1, 10, 10); // 10 rows x 10 seats
-            List<Seat> screen2Seats = createSeatsForScreen(screen2, 8, 10);  // 8 rows x 10 seats
+            createSeatsForScreen(screen1, 10, 10); // 10 rows x 10 seats
+            createSeatsForScreen(screen2, 8, 10);  // 8 rows x 10 seats
 
             Show show1 = createShow(event1, screen1, "Mumbai", LocalDateTime.now().plusDays(1).withHour(14).withMinute(0));
             Show show2 = createShow(event1, screen1, "Mumbai", LocalDateTime.now().plusDays(1).withHour(18).withMinute(30));
             Show show3 = createShow(event2, screen2, "Mumbai", LocalDateTime.now().plusDays(2).withHour(15).withMinute(0));
 
             // 5. CREATE SEAT INVENTORY (CRITICAL!)
-            log.info("🎫 Creating seat inventory for show 1...");
-            createSeatInventory(show1, screen1Seats);
-
-            log.info("🎫 Creating seat inventory for show 2...");
-            createSeatInventory(show2, screen1Seats);
-
-            log.info("🎫 Creating seat inventory for show 3...");
-            createSeatInventory(show3, screen2Seats);
+            log.info("🎫 Creating seat inventory for shows...");
+            seatInventoryMaterializer.materializeAll(List.of(show1.getId(), show2.getId(), show3.getId()),
+                    (showId, seatsDone, totalSeats, inserted) ->
+                            log.info("🎫 Show {}: {}/{} seats", showId, seatsDone, totalSeats));
 
             log.info("Data seeding completed.");
 
@@ -194,37 +190,6 @@ public class DataSeederConfig {
         }
     }
 
-    private void createSeatInventory(Show show, List<Seat> seats) {
-        List<SeatInventory> inventory = new ArrayList<>();
-
-        for (Seat seat : seats) {
-            BigDecimal price = calculatePrice(show.getBasePrice(), seat.getSeatType());
-
-            SeatInventory seatInventory = SeatInventory.builder()
-                    .showId(show.getId())
-                    .seatId(seat.getId())
-                    .price(price)
-                    .seatStatus(SeatStatus.AVAILABLE)
-                    .version(0L)
-                    .build();
-            inventory.add(seatInventory);
-        }
-
-        seatInventoryRepository.saveAll(inventory);
-        log.info("✅ Created {} seat inventory records for show: {}",
-                inventory.size(), show.getEventTitle());
-    }
-
-    private BigDecimal calculatePrice(BigDecimal basePrice, SeatType seatType) {
-        return switch (seatType) {
-            case REGULAR -> basePrice;
-            case PREMIUM -> basePrice.multiply(new BigDecimal("1.5"));
-            case VIP -> basePrice.multiply(new BigDecimal("2.0"));
-            case RECLINER -> basePrice.multiply(new BigDecimal("2.5"));
-            default -> basePrice;
-        };
-    }
-
     private Show createShow(Event event, Screen screen, String city, LocalDateTime startTime) {
         LocalDateTime endTime = startTime.plusMinutes(150); // Assume 150 min movie
 
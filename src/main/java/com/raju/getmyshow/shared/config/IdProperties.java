@@ -0,0 +1,46 @@
+package com.raju.getmyshow.shared.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Snowflake-style ID generator (booking references, ticket numbers), see IdService
+ */
+@Component
+@ConfigurationProperties(prefix = "ids")
+@Getter
+@Setter
+public class IdProperties {
+
+    // Fixed node id 0..1023 (single node / tests); -1 = lease one from id_node_leases
+    private int nodeId = -1;
+
+    private Lease lease = new Lease();
+
+    private Clock clock = new Clock();
+
+    @Getter
+    @Setter
+    public static class Lease {
+        // Lease length on the DB clock; the node stops issuing IDs when it could not renew in time
+        private int durationSeconds = 60;
+        private long renewIntervalMillis = 15_000;
+        // Stop issuing this long before the lease ends (measured on the monotonic clock from
+        // before the claim / renew was sent), covers clock rate drift between app and DB
+        private long expiryMarginMillis = 5_000;
+    }
+
+    /**
+     * Behavior when the wall clock goes backwards (see SnowflakeIdGenerator)
+     */
+    @Getter
+    @Setter
+    public static class Clock {
+        // Keep issuing on the logical clock while at most this far ahead of the wall clock
+        private long borrowMillis = 10;
+        // Wait for the wall clock up to this far back, refuse IDs beyond it
+        private long maxBackwardMillis = 1_000;
+    }
+}
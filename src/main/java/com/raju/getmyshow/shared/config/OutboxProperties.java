@@ -0,0 +1,37 @@
+package com.raju.getmyshow.shared.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Transactional outbox and its RabbitMQ relay, see OutboxRelay
+ */
+@Component
+@ConfigurationProperties(prefix = "outbox")
+@Getter
+@Setter
+public class OutboxProperties {
+
+    // Topic exchange every event is published to, routing key = event type (booking.created, ...)
+    private String exchange = "getmyshow.events";
+
+    private Relay relay = new Relay();
+
+    @Getter
+    @Setter
+    public static class Relay {
+        private boolean enabled = true;
+        private long intervalMillis = 200;
+        // Events per publish + confirm round
+        private int batchSize = 200;
+        // Caps one run, the next run starts interval-millis later
+        private int maxBatchesPerRun = 50;
+        // Longest wait for the broker to confirm a batch; unconfirmed batches stay in the outbox
+        private long confirmTimeoutMillis = 5_000;
+        // How long a claimed batch is kept from other relays; must outlast the confirm timeout,
+        // a relay that died mid-batch delays its events by this much
+        private long claimMillis = 30_000;
+    }
+}
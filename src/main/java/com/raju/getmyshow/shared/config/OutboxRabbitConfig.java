@@ -0,0 +1,21 @@
+package com.raju.getmyshow.shared.config;
+
+import org.springframework.amqp.core.ExchangeBuilder;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Exchange the outbox relay publishes to; declared by Spring's RabbitAdmin on first connect.
+ * Consumers (notifications, analytics, cache invalidation) bind their own queues to it.
+ */
+@Configuration
+public class OutboxRabbitConfig {
+
+    @Bean
+    public TopicExchange outboxExchange(OutboxProperties outboxProperties) {
+        return ExchangeBuilder.topicExchange(outboxProperties.getExchange())
+                .durable(true)
+                .build();
+    }
+}
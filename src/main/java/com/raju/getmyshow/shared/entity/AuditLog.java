@@ -74,6 +74,7 @@ public class AuditLog {
     private Long entityId;
 
     @Column(name = "created_at", nullable = false)
+    @Builder.Default
     private LocalDateTime createdAt = LocalDateTime.now();
 
     /**
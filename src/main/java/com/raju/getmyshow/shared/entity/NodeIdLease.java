@@ -0,0 +1,29 @@
+package com.raju.getmyshow.shared.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lease on one node id of the ID generator (see V5 id_node_leases)
+ *
+ * 💡 Only touched through NodeIdLeaseRepository's atomic claim / renew / release queries
+ */
+@Entity
+@Table(name = "id_node_leases")
+@Getter
+@NoArgsConstructor
+public class NodeIdLease {
+
+    @Id
+    @Column(name = "node_id")
+    private Short nodeId;
+
+    @Column(name = "owner", length = 100)
+    private String owner;
+
+    @Column(name = "leased_until", nullable = false)
+    private LocalDateTime leasedUntil;
+}
@@ -0,0 +1,62 @@
+package com.raju.getmyshow.shared.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnTransformer;
+
+import java.time.LocalDateTime;
+
+/**
+ * 💡 TRANSACTIONAL OUTBOX: one domain event waiting to be published (see V12 outbox)
+ * - Saved in the SAME transaction as the state change it describes:
+ *   rolled back together, committed together, never one without the other
+ * - OutboxRelay publishes it to RabbitMQ and deletes the row once the broker confirmed
+ * - Delivery is at-least-once: consumers dedupe on the message id (= id)
+ *
+ * Written by the app; the relay only sets claimed_until (V12, not mapped) while it publishes.
+ * One sequence value per event (allocationSize 1, V12): ids follow nextval() order on every node.
+ */
+@Entity
+@Table(name = "outbox")
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_id_seq")
+    @SequenceGenerator(name = "outbox_id_seq", sequenceName = "outbox_id_seq", allocationSize = 1)
+    private Long id;
+
+    /**
+     * 💡 SOURCE: "Booking" + booking id
+     * - Using ID only, the event outlives nothing: the row is gone once published
+     */
+    @Column(name = "aggregate_type", nullable = false, length = 50, updatable = false)
+    private String aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false, updatable = false)
+    private Long aggregateId;
+
+    /**
+     * BOOKING_CREATED, BOOKING_EXPIRED, ... -> routing key booking.created, booking.expired
+     */
+    @Column(name = "event_type", nullable = false, length = 50, updatable = false)
+    private String eventType;
+
+    /**
+     * 💡 PAYLOAD: the JSON message body, published byte for byte
+     * - Kept as text: the relay never parses it
+     */
+    @ColumnTransformer(write = "CAST(? AS JSONB)")
+    @Column(name = "payload", nullable = false, columnDefinition = "jsonb", updatable = false)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
@@ -0,0 +1,30 @@
+package com.raju.getmyshow.shared.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * created_at / updated_at without an id mapping.
+ *
+ * 💡 Entities inserted in bulk (seat_inventory, bookings) extend this and map their
+ *   own pooled-sequence id; everything else extends {@link BaseEntity} (IDENTITY id).
+ */
+@Getter
+@Setter
+@MappedSuperclass
+@EntityListeners(AuditingEntityListener.class)
+public abstract class TimestampedEntity {
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @CreatedDate
+    @Column(name = "updated_at", nullable = false, updatable = false)
+    private LocalDateTime updatedAt;
+}
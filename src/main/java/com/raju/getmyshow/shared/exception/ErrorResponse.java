@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
 @Data
@@ -20,4 +21,5 @@ public class ErrorResponse {
     private String error;
     private String message;
     private Map<String, String> validationErrors;
+    private List<Long> conflictingSeatInventoryIds;
 }
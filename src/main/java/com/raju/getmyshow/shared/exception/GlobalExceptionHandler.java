@@ -34,6 +34,25 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
 
+    /**
+     * Seats taken by someone else (409) - lists every conflicting seat
+     */
+    @ExceptionHandler(SeatConflictException.class)
+    public ResponseEntity<ErrorResponse> handleSeatConflictException(SeatConflictException ex) {
+
+        log.warn("⚠️ Seat conflict: {}", ex.getConflictingSeatInventoryIds());
+
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.CONFLICT.value())
+                .error(ex.getErrorCode())
+                .message(ex.getMessage())
+                .conflictingSeatInventoryIds(ex.getConflictingSeatInventoryIds())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
     @ExceptionHandler(BusinessException.class)
     public ResponseEntity<ErrorResponse> handleBusinessException(BusinessException ex) {
 
@@ -0,0 +1,26 @@
+package com.raju.getmyshow.shared.exception;
+
+import java.util.List;
+
+/**
+ * Thrown when some of the requested seats are already locked/booked.
+ * Carries every conflicting seat so the client can retry with other seats.
+ */
+public class SeatConflictException extends BusinessException {
+
+    private final List<Long> conflictingSeatInventoryIds;
+
+    public SeatConflictException(List<Long> conflictingSeatInventoryIds) {
+        super("SEAT_NOT_AVAILABLE", "Seats " + conflictingSeatInventoryIds + " are not available");
+        this.conflictingSeatInventoryIds = List.copyOf(conflictingSeatInventoryIds);
+    }
+
+    public List<Long> getConflictingSeatInventoryIds() {
+        return conflictingSeatInventoryIds;
+    }
+
+    @Override
+    public String getErrorCode() {
+        return "SEAT_NOT_AVAILABLE";
+    }
+}
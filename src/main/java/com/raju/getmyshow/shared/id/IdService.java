@@ -0,0 +1,205 @@
+package com.raju.getmyshow.shared.id;
+
+import com.raju.getmyshow.shared.config.IdProperties;
+import com.raju.getmyshow.shared.repository.NodeIdLeaseRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 💡 PURPOSE: Collision-free booking references and ticket numbers across app nodes
+ * - "BK" / "TK" + 13 Crockford base32 characters of a {@link SnowflakeIdGenerator} ID
+ * - Generated in memory, no DB round trip and no unique-index retries
+ *
+ * 💡 NODE ID LEASE (ids.node-id = -1)
+ * - At startup the node claims a free node id in id_node_leases (SKIP LOCKED)
+ * - The lease is renewed every ids.lease.renew-interval-millis
+ * - If a renewal fails or comes too late the node stops issuing IDs with that node id
+ *   and claims a new one: another node may already hold the old id
+ * - "Too late" is measured on System.nanoTime from before the claim / renew was sent,
+ *   minus ids.lease.expiry-margin-millis: a wall clock jump (NTP step, VM resume) can
+ *   never stretch the local lease past the DB's, so two nodes never issue with one id
+ * - A node id freed by one node and claimed by the next is only safe if their clocks
+ *   agree better than the time between the two (NTP-synced hosts)
+ */
+@Component
+@Slf4j
+public class IdService {
+
+    public static final String BOOKING_PREFIX = "BK";
+    public static final String TICKET_PREFIX = "TK";
+
+    private final NodeIdLeaseRepository nodeIdLeaseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final IdProperties idProperties;
+
+    private final String owner;
+
+    private volatile SnowflakeIdGenerator generator;
+    private volatile short leasedNodeId = -1;
+    // Monotonic time (nanoTime) after which the current lease may have expired on the DB clock
+    private volatile long leaseValidUntilNanos;
+    private volatile boolean leaseForever;
+
+    // Wall clock for the IDs, monotonic clock for the lease
+    private final LongSupplier wallClock;
+    private final LongSupplier monotonicNanos;
+
+    @Autowired
+    public IdService(NodeIdLeaseRepository nodeIdLeaseRepository,
+                     PlatformTransactionManager transactionManager,
+                     IdProperties idProperties) {
+        this(nodeIdLeaseRepository, transactionManager, idProperties, System::currentTimeMillis, System::nanoTime);
+    }
+
+    IdService(NodeIdLeaseRepository nodeIdLeaseRepository,
+              PlatformTransactionManager transactionManager,
+              IdProperties idProperties,
+              LongSupplier wallClock,
+              LongSupplier monotonicNanos) {
+        this.nodeIdLeaseRepository = nodeIdLeaseRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.idProperties = idProperties;
+        this.wallClock = wallClock;
+        this.monotonicNanos = monotonicNanos;
+        this.owner = ownerName();
+    }
+
+    @PostConstruct
+    void start() {
+        if (idProperties.getNodeId() >= 0) {
+            generator = newGenerator(idProperties.getNodeId());
+            leaseForever = true;
+            log.info("ID generator using fixed node id {}", idProperties.getNodeId());
+            return;
+        }
+        claimLease();
+    }
+
+    public String nextBookingReference() {
+        return currentGenerator().nextCode(BOOKING_PREFIX);
+    }
+
+    public String nextTicketNumber() {
+        return currentGenerator().nextCode(TICKET_PREFIX);
+    }
+
+    public long nextId() {
+        return currentGenerator().nextId();
+    }
+
+    private SnowflakeIdGenerator currentGenerator() {
+        SnowflakeIdGenerator current = generator;
+        if (current == null || (!leaseForever && monotonicNanos.getAsLong() - leaseValidUntilNanos > 0)) {
+            throw new IllegalStateException("No valid node id lease, cannot generate IDs");
+        }
+        return current;
+    }
+
+    //=======================================
+    //    Lease
+    //=======================================
+
+    @Scheduled(fixedDelayString = "${ids.lease.renew-interval-millis:15000}",
+            initialDelayString = "${ids.lease.renew-interval-millis:15000}")
+    public void renewLease() {
+        if (idProperties.getNodeId() >= 0) {
+            return;
+        }
+
+        short nodeId = leasedNodeId;
+        if (nodeId < 0) {
+            claimLease();
+            return;
+        }
+
+        long requestedAt = monotonicNanos.getAsLong();
+        try {
+            Integer renewed = transactionTemplate.execute(status -> nodeIdLeaseRepository.renew(
+                    nodeId, owner, idProperties.getLease().getDurationSeconds()));
+            if (renewed != null && renewed == 1) {
+                leaseValidUntilNanos = leaseEnd(requestedAt);
+                return;
+            }
+            log.error("Lost the lease on node id {}, claiming a new one", nodeId);
+        } catch (RuntimeException ex) {
+            // Keep the current lease until it runs out locally, retry on the next run
+            log.warn("Could not renew the lease on node id {}: {}", nodeId, ex.getMessage());
+            return;
+        }
+
+        generator = null;
+        leasedNodeId = -1;
+        claimLease();
+    }
+
+    @PreDestroy
+    void releaseLease() {
+        short nodeId = leasedNodeId;
+        if (nodeId < 0) {
+            return;
+        }
+        generator = null;
+        leasedNodeId = -1;
+        try {
+            transactionTemplate.executeWithoutResult(status -> nodeIdLeaseRepository.release(nodeId, owner));
+        } catch (RuntimeException ex) {
+            log.warn("Could not release node id {} (expires on its own): {}", nodeId, ex.getMessage());
+        }
+    }
+
+    private void claimLease() {
+        long requestedAt = monotonicNanos.getAsLong();
+        Short nodeId = transactionTemplate.execute(status ->
+                nodeIdLeaseRepository.claim(owner, idProperties.getLease().getDurationSeconds()));
+        if (nodeId == null) {
+            log.error("All {} node ids are leased, this node cannot generate IDs",
+                    SnowflakeIdGenerator.MAX_NODE_ID + 1);
+            return;
+        }
+
+        leaseValidUntilNanos = leaseEnd(requestedAt);
+        leasedNodeId = nodeId;
+        generator = newGenerator(nodeId);
+        log.info("ID generator leased node id {} as {}", nodeId, owner);
+    }
+
+    /**
+     * Local end of a lease requested at {@code requestedAtNanos}: the DB started it later
+     * than that, so ending early by the margin keeps us inside the DB's lease.
+     */
+    private long leaseEnd(long requestedAtNanos) {
+        IdProperties.Lease lease = idProperties.getLease();
+        long validMillis = lease.getDurationSeconds() * 1000L - lease.getExpiryMarginMillis();
+        return requestedAtNanos + TimeUnit.MILLISECONDS.toNanos(Math.max(0, validMillis));
+    }
+
+    private SnowflakeIdGenerator newGenerator(int nodeId) {
+        IdProperties.Clock clock = idProperties.getClock();
+        return new SnowflakeIdGenerator(nodeId, wallClock,
+                clock.getBorrowMillis(), clock.getMaxBackwardMillis());
+    }
+
+    private static String ownerName() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception ex) {
+            host = "unknown";
+        }
+        String owner = host + ":" + ManagementFactory.getRuntimeMXBean().getPid()
+                + ":" + UUID.randomUUID().toString().substring(0, 8);
+        return owner.length() > 100 ? owner.substring(owner.length() - 100) : owner;
+    }
+}
@@ -0,0 +1,118 @@
+package com.raju.getmyshow.shared.id;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * 💡 PURPOSE: Lock-free, time-ordered 63-bit IDs, unique across nodes
+ *
+ *   | 41 bits millis since EPOCH | 10 bits node id | 12 bits sequence |
+ *
+ * - ~69 years from 2024-01-01, 1024 nodes, 4096 IDs per node per millisecond
+ * - One AtomicLong holds (millis << 12 | sequence): a CAS per ID, no lock
+ * - Sequence overflow carries into the millis ("borrows" the next millisecond),
+ *   so a burst never blocks; the borrowed time is paid back when the clock catches up
+ *
+ * 💡 CLOCK ROLLBACK (wall clock behind the last issued millisecond)
+ * - up to borrowMillis behind : keep issuing on the logical clock (also covers bursts)
+ * - up to maxBackwardMillis    : wait until the clock has caught up
+ * - further                    : refuse (IllegalStateException), never risk a duplicate
+ *
+ * Thread-safe, no Spring dependencies (see IdService for node id leasing).
+ */
+public final class SnowflakeIdGenerator {
+
+    // 2024-01-01T00:00:00Z
+    public static final long EPOCH_MILLIS = 1_704_067_200_000L;
+
+    public static final int NODE_BITS = 10;
+    public static final int SEQUENCE_BITS = 12;
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    private static final char[] CROCKFORD = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    // 63 bits / 5 bits per char
+    private static final int ENCODED_LENGTH = 13;
+
+    private final long nodeBits;
+    private final LongSupplier clock;
+    private final long borrowMillis;
+    private final long maxBackwardMillis;
+
+    // (millis since EPOCH << SEQUENCE_BITS) | sequence of the last issued ID
+    private final AtomicLong state = new AtomicLong();
+
+    public SnowflakeIdGenerator(int nodeId, LongSupplier clock, long borrowMillis, long maxBackwardMillis) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+        this.clock = clock;
+        this.borrowMillis = borrowMillis;
+        this.maxBackwardMillis = maxBackwardMillis;
+    }
+
+    public SnowflakeIdGenerator(int nodeId) {
+        this(nodeId, System::currentTimeMillis, 10, 1_000);
+    }
+
+    public long nextId() {
+        while (true) {
+            long current = state.get();
+            long lastMillis = current >>> SEQUENCE_BITS;
+            long now = clock.getAsLong() - EPOCH_MILLIS;
+
+            long next;
+            if (now > lastMillis) {
+                next = now << SEQUENCE_BITS;
+            } else {
+                long behind = lastMillis - now;
+                if (behind > borrowMillis) {
+                    awaitClock(behind);
+                    continue;
+                }
+                next = current + 1;
+            }
+
+            if (state.compareAndSet(current, next)) {
+                long millis = next >>> SEQUENCE_BITS;
+                long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+                return (millis << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | sequence;
+            }
+        }
+    }
+
+    /**
+     * ID as 13 Crockford base32 characters (no I, L, O, U: safe to read out / type)
+     * with a prefix, e.g. "BK" + "0G7RZ3C5M0A01"
+     */
+    public String nextCode(String prefix) {
+        return prefix + encode(nextId());
+    }
+
+    public static String encode(long id) {
+        char[] chars = new char[ENCODED_LENGTH];
+        for (int index = ENCODED_LENGTH - 1; index >= 0; index--) {
+            chars[index] = CROCKFORD[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    public static long timestampMillisOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+
+    public static int nodeIdOf(long id) {
+        return (int) ((id >>> SEQUENCE_BITS) & MAX_NODE_ID);
+    }
+
+    private void awaitClock(long behindMillis) {
+        if (behindMillis > maxBackwardMillis) {
+            throw new IllegalStateException("Clock moved backwards by " + behindMillis
+                    + " ms (more than " + maxBackwardMillis + " ms), refusing to generate IDs");
+        }
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(Math.min(behindMillis - borrowMillis, 10)));
+    }
+}
@@ -0,0 +1,19 @@
+package com.raju.getmyshow.shared.outbox;
+
+import com.raju.getmyshow.shared.entity.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Where OutboxRelay sends events (RabbitOutboxPublisher; an in-memory stand-in in tests)
+ */
+public interface OutboxPublisher {
+
+    /**
+     * Publishes the batch in list order and returns once the broker has taken ALL of it.
+     *
+     * @throws RuntimeException when any event was not confirmed; the relay keeps the whole
+     *                          batch and retries it, so consumers may see duplicates
+     */
+    void publish(List<OutboxEvent> batch);
+}
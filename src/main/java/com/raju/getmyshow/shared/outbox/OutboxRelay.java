@@ -0,0 +1,157 @@
+package com.raju.getmyshow.shared.outbox;
+
+import com.raju.getmyshow.shared.config.OutboxProperties;
+import com.raju.getmyshow.shared.entity.OutboxEvent;
+import com.raju.getmyshow.shared.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 💡 PURPOSE: Move committed outbox events to the broker
+ * - Claim: a short transaction marks the oldest batch-size unclaimed rows as taken
+ *   (ORDER BY id, FOR UPDATE SKIP LOCKED, claimed_until) and commits
+ * - Publish: send the batch and wait for the broker's confirms with NO transaction open,
+ *   so no connection or row lock is held for up to confirm-timeout-millis
+ * - Delete: a second short transaction removes the confirmed rows
+ * - Not confirmed (nack, timeout, broker down) -> the claim is released, the rows stay
+ *   and the batch is retried on the next run; a relay that dies mid-batch leaves the
+ *   claim to expire (claim-millis): at-least-once, never lost
+ *
+ * 💡 MULTI-NODE: SKIP LOCKED + the claim let every node relay a different batch in
+ *   parallel. Within a batch events go out in id order; two batches relayed at the same
+ *   time may interleave, consumers order by the payload's occurredAt when it matters
+ *
+ * 💡 METRICS
+ * - outbox.relay.lag        : seconds since the oldest unpublished event was written
+ * - outbox.relay.batch.size : events per published batch
+ * - outbox.relay.published  : events published (rate = throughput)
+ * - outbox.relay.failures   : batches the broker did not confirm
+ * - outbox.relay.run        : duration of one relay run
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxPublisher outboxPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxProperties outboxProperties;
+
+    private final DistributionSummary batchSize;
+    private final Counter published;
+    private final Counter failures;
+    private final Timer runTimer;
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       OutboxPublisher outboxPublisher,
+                       PlatformTransactionManager transactionManager,
+                       OutboxProperties outboxProperties,
+                       MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxPublisher = outboxPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.outboxProperties = outboxProperties;
+
+        this.batchSize = DistributionSummary.builder("outbox.relay.batch.size")
+                .register(meterRegistry);
+        this.published = Counter.builder("outbox.relay.published")
+                .register(meterRegistry);
+        this.failures = Counter.builder("outbox.relay.failures")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("outbox.relay.run")
+                .register(meterRegistry);
+        Gauge.builder("outbox.relay.lag", lagMillis, lag -> lag.get() / 1000.0)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-millis:200}",
+            initialDelayString = "${outbox.relay.interval-millis:200}")
+    public void relay() {
+        OutboxProperties.Relay config = outboxProperties.getRelay();
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        runTimer.record(() -> {
+            try {
+                for (int batch = 0; batch < config.getMaxBatchesPerRun(); batch++) {
+                    if (relayBatch(config.getBatchSize()) < config.getBatchSize()) {
+                        break;  // drained
+                    }
+                }
+            } catch (RuntimeException ex) {
+                // Claim released, the batch is retried on the next run
+                failures.increment();
+                log.warn("Outbox relay stopped, batch not confirmed: {}", ex.getMessage());
+            }
+            updateLag();
+        });
+    }
+
+    /**
+     * Publishes and deletes the oldest unclaimed batch.
+     *
+     * @return number of events published, 0 when the outbox is empty
+     * @throws RuntimeException when the broker did not confirm; nothing was deleted
+     */
+    public int relayBatch(int size) {
+        return relayBatch(size, null);
+    }
+
+    /**
+     * Same, restricted to one aggregate type (null = all)
+     */
+    int relayBatch(int size, String aggregateType) {
+        long claimMillis = outboxProperties.getRelay().getClaimMillis();
+        List<OutboxEvent> batch = transactionTemplate.execute(status ->
+                outboxEventRepository.claimNextBatch(size, claimMillis, aggregateType));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        String ids = batch.stream()
+                .map(event -> String.valueOf(event.getId()))
+                .collect(Collectors.joining(",", "{", "}"));
+        try {
+            outboxPublisher.publish(batch);
+        } catch (RuntimeException ex) {
+            releaseClaim(ids, ex);
+            throw ex;
+        }
+
+        // Confirmed: if this delete fails the claim expires and the batch goes out again
+        transactionTemplate.executeWithoutResult(status -> outboxEventRepository.deletePublished(ids));
+
+        batchSize.record(batch.size());
+        published.increment(batch.size());
+        return batch.size();
+    }
+
+    private void releaseClaim(String ids, RuntimeException publishFailure) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> outboxEventRepository.releaseClaim(ids));
+        } catch (RuntimeException ex) {
+            // The claim expires on its own, the publish failure is what the caller sees
+            publishFailure.addSuppressed(ex);
+        }
+    }
+
+    private void updateLag() {
+        Double lagSeconds = outboxEventRepository.findRelayLagSeconds();
+        lagMillis.set(lagSeconds == null ? 0 : Math.round(lagSeconds * 1000));
+    }
+}
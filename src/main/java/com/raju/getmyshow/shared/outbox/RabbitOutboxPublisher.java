@@ -0,0 +1,71 @@
+package com.raju.getmyshow.shared.outbox;
+
+import com.raju.getmyshow.shared.config.OutboxProperties;
+import com.raju.getmyshow.shared.entity.OutboxEvent;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * 💡 PURPOSE: Publish one outbox batch to RabbitMQ with publisher confirms
+ * - The whole batch goes out on ONE channel (RabbitTemplate.invoke), then a single
+ *   waitForConfirmsOrDie: one broker round trip per batch, not per message
+ * - Needs spring.rabbitmq.publisher-confirm-type: simple
+ * - Persistent messages on a durable topic exchange, routing key from the event type:
+ *   BOOKING_CREATED -> booking.created
+ *
+ * 💡 MESSAGE
+ * - body        : outbox.payload (JSON) as stored
+ * - message id  : outbox.id, for consumer-side dedupe
+ * - type        : event type, headers aggregateType / aggregateId
+ */
+@Component
+public class RabbitOutboxPublisher implements OutboxPublisher {
+
+    private final RabbitTemplate rabbitTemplate;
+    private final OutboxProperties outboxProperties;
+
+    public RabbitOutboxPublisher(RabbitTemplate rabbitTemplate, OutboxProperties outboxProperties) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.outboxProperties = outboxProperties;
+    }
+
+    @Override
+    public void publish(List<OutboxEvent> batch) {
+        String exchange = outboxProperties.getExchange();
+        long confirmTimeoutMillis = outboxProperties.getRelay().getConfirmTimeoutMillis();
+
+        rabbitTemplate.invoke(operations -> {
+            for (OutboxEvent event : batch) {
+                operations.send(exchange, routingKey(event.getEventType()), toMessage(event));
+            }
+            // Throws on a nack or when the broker did not answer in time
+            operations.waitForConfirmsOrDie(confirmTimeoutMillis);
+            return null;
+        });
+    }
+
+    static String routingKey(String eventType) {
+        return eventType.toLowerCase().replace('_', '.');
+    }
+
+    private static Message toMessage(OutboxEvent event) {
+        return MessageBuilder.withBody(event.getPayload().getBytes(StandardCharsets.UTF_8))
+                .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                .setContentEncoding(StandardCharsets.UTF_8.name())
+                .setDeliveryMode(MessageDeliveryMode.PERSISTENT)
+                .setMessageId(String.valueOf(event.getId()))
+                .setType(event.getEventType())
+                .setTimestamp(Timestamp.valueOf(event.getCreatedAt()))
+                .setHeader("aggregateType", event.getAggregateType())
+                .setHeader("aggregateId", event.getAggregateId())
+                .build();
+    }
+}
@@ -0,0 +1,69 @@
+package com.raju.getmyshow.shared.repository;
+
+import com.raju.getmyshow.shared.entity.NodeIdLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface NodeIdLeaseRepository extends JpaRepository<NodeIdLease, Short> {
+
+    /**
+     * Claims the lowest expired node id, returns it (null when all 1024 are taken).
+     * Lease times use the DB clock, so app node clocks do not need to agree on them.
+     * Caller must be in a read-write transaction: the row lock of the first step is
+     * what makes the second one safe.
+     */
+    default Short claim(String owner, int leaseSeconds) {
+        Short nodeId = findClaimableNodeId();
+        if (nodeId == null || assign(nodeId, owner, leaseSeconds) != 1) {
+            return null;
+        }
+        return nodeId;
+    }
+
+    /**
+     * Lowest expired node id, row locked until the transaction ends.
+     * SKIP LOCKED: nodes starting together never wait on / claim the same row.
+     */
+    @Query(value = """
+            SELECT c.node_id FROM id_node_leases c
+            WHERE c.leased_until < CURRENT_TIMESTAMP
+            ORDER BY c.node_id
+            LIMIT 1
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    Short findClaimableNodeId();
+
+    /**
+     * Takes over a node id locked by findClaimableNodeId (expiry re-checked), 1 when it is ours.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE id_node_leases
+            SET owner = :owner, leased_until = CURRENT_TIMESTAMP + make_interval(secs => :leaseSeconds)
+            WHERE node_id = :nodeId AND leased_until < CURRENT_TIMESTAMP
+            """, nativeQuery = true)
+    int assign(@Param("nodeId") short nodeId, @Param("owner") String owner,
+               @Param("leaseSeconds") int leaseSeconds);
+
+    /**
+     * Extends our lease, 0 when it is no longer ours (expired and claimed by another node).
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE id_node_leases
+            SET leased_until = CURRENT_TIMESTAMP + make_interval(secs => :leaseSeconds)
+            WHERE node_id = :nodeId AND owner = :owner
+            """, nativeQuery = true)
+    int renew(@Param("nodeId") short nodeId, @Param("owner") String owner,
+              @Param("leaseSeconds") int leaseSeconds);
+
+    @Modifying
+    @Query(value = """
+            UPDATE id_node_leases
+            SET owner = NULL, leased_until = '-infinity'
+            WHERE node_id = :nodeId AND owner = :owner
+            """, nativeQuery = true)
+    int release(@Param("nodeId") short nodeId, @Param("owner") String owner);
+}
@@ -0,0 +1,67 @@
+package com.raju.getmyshow.shared.repository;
+
+import com.raju.getmyshow.shared.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * 💡 Relay: claim the oldest :batchSize unclaimed events until now + :claimMillis, in id order
+     * - FOR UPDATE SKIP LOCKED: relays on other nodes claim the next batch
+     *   instead of waiting on (or publishing) this one
+     * - The row locks end with the caller's (short) transaction; from then on the claim
+     *   keeps other relays off the batch while it is published
+     * - A claim that was neither deleted nor released expires and the batch is taken again
+     * - aggregateType null = every event; set = only that aggregate's events (scoped relay, tests)
+     * - Caller must be in a read-write transaction
+     */
+    @Query(value = """
+            WITH claimed AS (
+                UPDATE outbox o
+                SET claimed_until = CURRENT_TIMESTAMP + CAST(:claimMillis AS DOUBLE PRECISION) * INTERVAL '1 millisecond'
+                WHERE o.id IN (SELECT n.id
+                               FROM outbox n
+                               WHERE (n.claimed_until IS NULL OR n.claimed_until < CURRENT_TIMESTAMP)
+                                 AND (CAST(:aggregateType AS VARCHAR) IS NULL OR n.aggregate_type = :aggregateType)
+                               ORDER BY n.id
+                               LIMIT :batchSize
+                               FOR UPDATE SKIP LOCKED)
+                RETURNING o.*
+            )
+            SELECT *
+            FROM claimed
+            ORDER BY id
+            """, nativeQuery = true)
+    List<OutboxEvent> claimNextBatch(@Param("batchSize") int batchSize,
+                                     @Param("claimMillis") long claimMillis,
+                                     @Param("aggregateType") String aggregateType);
+
+    /**
+     * Published events, the caller's claim (claimNextBatch) was confirmed by the broker
+     * - ids is a Postgres array literal, e.g. "{101,102}"
+     */
+    @Modifying
+    @Query(value = "DELETE FROM outbox WHERE id = ANY (CAST(:ids AS BIGINT[]))", nativeQuery = true)
+    int deletePublished(@Param("ids") String ids);
+
+    /**
+     * Unconfirmed batch: the next run takes it again right away instead of after the claim expired
+     */
+    @Modifying
+    @Query(value = "UPDATE outbox SET claimed_until = NULL WHERE id = ANY (CAST(:ids AS BIGINT[]))", nativeQuery = true)
+    int releaseClaim(@Param("ids") String ids);
+
+    /**
+     * Seconds since the oldest unpublished event was written, null when the outbox is empty
+     */
+    @Query(value = """
+            SELECT CAST(EXTRACT(EPOCH FROM (CURRENT_TIMESTAMP - MIN(created_at))) AS DOUBLE PRECISION)
+            FROM outbox
+            """, nativeQuery = true)
+    Double findRelayLagSeconds();
+}
@@ -0,0 +1,73 @@
+package com.raju.getmyshow.shared.web;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 💡 If-None-Match against one current ETag (RFC 9110 13.1.2)
+ * - The header is a comma separated list of entity tags, or "*"
+ * - Weak comparison: W/ is ignored on both sides, the opaque tags must be equal
+ *   (exact, never a substring: "12-3" does not match "2-3")
+ * - A malformed header matches nothing, the client simply gets a 200
+ */
+public final class IfNoneMatch {
+
+    private IfNoneMatch() {
+    }
+
+    /**
+     * @param header  If-None-Match as received, null when absent
+     * @param current quoted ETag of the current representation, W/ optional
+     */
+    public static boolean matches(String header, String current) {
+        if (header == null || current == null) {
+            return false;
+        }
+        if (header.trim().equals("*")) {
+            return true;
+        }
+
+        String opaqueCurrent = opaque(current);
+        for (String tag : parse(header)) {
+            if (opaque(tag).equals(opaqueCurrent)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The entity tags of the header, W/ kept; stops at the first malformed one.
+     */
+    static List<String> parse(String header) {
+        List<String> tags = new ArrayList<>();
+        int i = 0;
+        int length = header.length();
+        while (i < length) {
+            char c = header.charAt(i);
+            if (c == ' ' || c == '\t' || c == ',') {
+                i++;
+                continue;
+            }
+
+            int start = i;
+            if (header.startsWith("W/", i)) {
+                i += 2;
+            }
+            if (i >= length || header.charAt(i) != '"') {
+                return tags;
+            }
+            int close = header.indexOf('"', i + 1);
+            if (close < 0) {
+                return tags;
+            }
+            tags.add(header.substring(start, close + 1));
+            i = close + 1;
+        }
+        return tags;
+    }
+
+    private static String opaque(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
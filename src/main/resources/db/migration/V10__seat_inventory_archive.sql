@@ -0,0 +1,69 @@
+-- =====================================================
+-- GetMyShow - Seat inventory archive
+-- Version: 10.0.0
+-- Description: One compact row per COMPLETED show instead of one
+--              seat_inventory row per seat; the hot rows are deleted
+--              once the archive row is written
+-- Used by: SeatInventoryArchiver (writes), SeatArchiveService (reads)
+-- =====================================================
+
+-- =====================================================
+-- TABLE: seat_inventory_archive
+-- Every array is keyed by seat POSITION = index of the seat in seat id order
+--   - seat_id_runs      : [first seat id, count, ...] -> position of every seat
+--                         (a screen's seats are usually one run of ids)
+--   - statuses          : 2 bits per position, 4 positions per byte, low bits first
+--                         0 = AVAILABLE, 1 = BOOKED, 2 = BLOCKED, 3 = LOCKED
+--   - booking_ids       : booking of every position, NULL when not booked
+--   - inventory_id_runs : [position, first seat_inventory id, count, ...]
+--                         (resolves booking_seats.seat_inventory_id; positions
+--                         without a row, SPARSE shows, are absent)
+-- =====================================================
+CREATE TABLE seat_inventory_archive (
+                                        show_id BIGINT PRIMARY KEY,
+                                        screen_id BIGINT NOT NULL,
+                                        show_date DATE NOT NULL,
+
+    -- Seat Positions
+                                        seat_count INTEGER NOT NULL,
+                                        seat_id_runs BIGINT[] NOT NULL,
+
+    -- Per-seat State
+                                        statuses BYTEA NOT NULL,
+                                        booking_ids BIGINT[] NOT NULL,
+                                        inventory_id_runs BIGINT[] NOT NULL,
+
+    -- Summary
+                                        booked_seats INTEGER NOT NULL,
+
+    -- Timestamps
+                                        archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                                        purged_at TIMESTAMP,
+
+    -- Foreign Keys
+                                        CONSTRAINT fk_archive_show FOREIGN KEY (show_id)
+                                            REFERENCES shows(id) ON DELETE CASCADE,
+
+    -- Constraints
+                                        CONSTRAINT chk_archive_counts CHECK (
+                                            seat_count >= 0 AND booked_seats >= 0 AND booked_seats <= seat_count
+                                            ),
+                                        CONSTRAINT chk_archive_statuses CHECK (
+                                            octet_length(statuses) = (seat_count + 3) / 4
+                                            ),
+                                        CONSTRAINT chk_archive_booking_ids CHECK (
+                                            COALESCE(array_length(booking_ids, 1), 0) = seat_count
+                                            )
+);
+
+-- Archives whose hot rows are still being deleted (resumed by the next run)
+CREATE INDEX idx_archive_unpurged ON seat_inventory_archive(archived_at)
+    WHERE purged_at IS NULL;
+
+COMMENT ON TABLE seat_inventory_archive IS 'COLD table: seat status of completed shows, one row per show';
+COMMENT ON COLUMN seat_inventory_archive.statuses IS '2 bits per seat position: 0 AVAILABLE, 1 BOOKED, 2 BLOCKED, 3 LOCKED';
+COMMENT ON COLUMN seat_inventory_archive.purged_at IS 'When the show''s seat_inventory rows were all deleted, NULL while in progress';
+
+-- =====================================================
+-- END OF V10 MIGRATION
+-- =====================================================
@@ -0,0 +1,441 @@
+-- =====================================================
+-- GetMyShow - Partitioned bookings
+-- Version: 11.0.0
+-- Description: bookings and booking_seats range-partitioned by the booking's
+--              created_at, one partition per month; a user's latest bookings
+--              only ever read the newest partitions
+-- Used by: BookingPartitionManager (rollover), BookingHistoryService
+--          (GET /api/users/{userId}/bookings), BookingWriter, book_seats_atomic,
+--          BookingRepository.findByBookingReference (booking_references)
+-- =====================================================
+
+-- =====================================================
+-- FUNCTION: create_booking_partitions
+-- Creates the monthly bookings AND booking_seats partitions holding p_day
+-- if they do not exist yet. Safe to call concurrently from several nodes.
+-- Returns the bookings partition name.
+-- =====================================================
+CREATE OR REPLACE FUNCTION create_booking_partitions(p_day DATE)
+    RETURNS TEXT
+AS $$
+DECLARE
+    v_from   DATE := date_trunc('month', p_day)::DATE;
+    v_to     DATE := (date_trunc('month', p_day) + INTERVAL '1 month')::DATE;
+    v_suffix TEXT := to_char(p_day, 'YYYYMM');
+    v_parent TEXT;
+BEGIN
+    FOREACH v_parent IN ARRAY ARRAY['bookings', 'booking_seats'] LOOP
+        IF to_regclass(v_parent || '_p' || v_suffix) IS NULL THEN
+            BEGIN
+                EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                               v_parent || '_p' || v_suffix, v_parent, v_from, v_to);
+            EXCEPTION
+                WHEN duplicate_table THEN
+                    NULL;  -- created by another node in the meantime
+            END;
+        END IF;
+    END LOOP;
+    RETURN 'bookings_p' || v_suffix;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON FUNCTION create_booking_partitions(DATE)
+    IS 'Creates the monthly bookings / booking_seats partitions of a day (idempotent)';
+
+-- =====================================================
+-- TABLE: bookings (partitioned)
+-- Same columns as V2, partition key created_at
+--   - The partition key must be part of every unique constraint: the
+--     primary key is (id, created_at) and booking_reference is unique per
+--     (booking_reference, created_at). Global uniqueness of references
+--     comes from booking_references, see below
+--   - payments / tickets cannot reference bookings(id) any more (the key
+--     would have to carry created_at): they reference booking_references;
+--     booking_seats carries created_at, see below
+-- =====================================================
+CREATE TABLE bookings_partitioned (
+                                      id BIGINT NOT NULL,
+
+    -- Reference
+                                      booking_reference VARCHAR(50) NOT NULL,
+
+    -- Relationships
+                                      user_id BIGINT NOT NULL,
+                                      show_id BIGINT NOT NULL,
+
+    -- Status
+                                      status VARCHAR(50) NOT NULL DEFAULT 'PENDING',
+
+    -- Seat Info
+                                      total_seats INTEGER NOT NULL,
+
+    -- Pricing
+                                      total_amount DECIMAL(10, 2) NOT NULL,
+
+    -- Lifecycle Timestamps
+                                      expires_at TIMESTAMP,
+                                      confirmed_at TIMESTAMP,
+                                      cancelled_at TIMESTAMP,
+                                      cancellation_reason TEXT,
+
+    -- Audit
+                                      created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                                      updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+) PARTITION BY RANGE (created_at);
+
+-- =====================================================
+-- TABLE: booking_seats (partitioned)
+-- + booking_created_at = bookings.created_at of its booking: same partition
+--   month as the booking, and the foreign key to bookings(id, created_at)
+-- =====================================================
+CREATE TABLE booking_seats_partitioned (
+                                           id BIGINT NOT NULL,
+
+                                           booking_id BIGINT NOT NULL,
+                                           booking_created_at TIMESTAMP NOT NULL,
+                                           seat_inventory_id BIGINT NOT NULL,
+
+    -- Denormalized for quick access
+                                           seat_label VARCHAR(20) NOT NULL,
+
+    -- Pricing (captured at booking time)
+                                           price DECIMAL(10, 2) NOT NULL
+) PARTITION BY RANGE (booking_created_at);
+
+-- Partitions for every existing booking plus the next three months
+DO $$
+DECLARE
+    v_month DATE;
+    v_last  DATE := date_trunc('month', CURRENT_DATE + INTERVAL '3 months')::DATE;
+BEGIN
+    SELECT date_trunc('month', LEAST(MIN(b.created_at)::DATE, CURRENT_DATE))::DATE
+    INTO v_month
+    FROM bookings b;
+
+    v_month := COALESCE(v_month, date_trunc('month', CURRENT_DATE)::DATE);
+    v_last := GREATEST(v_last, (SELECT date_trunc('month', MAX(b.created_at))::DATE FROM bookings b));
+
+    WHILE v_month <= v_last LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF bookings_partitioned FOR VALUES FROM (%L) TO (%L)',
+                       'bookings_p' || to_char(v_month, 'YYYYMM'),
+                       v_month, (v_month + INTERVAL '1 month')::DATE);
+        EXECUTE format('CREATE TABLE %I PARTITION OF booking_seats_partitioned FOR VALUES FROM (%L) TO (%L)',
+                       'booking_seats_p' || to_char(v_month, 'YYYYMM'),
+                       v_month, (v_month + INTERVAL '1 month')::DATE);
+        v_month := (v_month + INTERVAL '1 month')::DATE;
+    END LOOP;
+END;
+$$;
+
+INSERT INTO bookings_partitioned (id, booking_reference, user_id, show_id, status, total_seats, total_amount,
+                                  expires_at, confirmed_at, cancelled_at, cancellation_reason,
+                                  created_at, updated_at)
+SELECT id, booking_reference, user_id, show_id, status, total_seats, total_amount,
+       expires_at, confirmed_at, cancelled_at, cancellation_reason,
+       created_at, updated_at
+FROM bookings;
+
+INSERT INTO booking_seats_partitioned (id, booking_id, booking_created_at, seat_inventory_id, seat_label, price)
+SELECT bs.id, bs.booking_id, b.created_at, bs.seat_inventory_id, bs.seat_label, bs.price
+FROM booking_seats bs
+         JOIN bookings b ON b.id = bs.booking_id;
+
+-- Keep the id sequences (pooled for JPA, INCREMENT 1 for SQL inserts, see V6) when the old tables go
+ALTER SEQUENCE bookings_id_seq OWNED BY NONE;
+ALTER SEQUENCE booking_seats_id_seq OWNED BY NONE;
+ALTER SEQUENCE bookings_sql_id_seq OWNED BY NONE;
+ALTER SEQUENCE booking_seats_sql_id_seq OWNED BY NONE;
+
+ALTER TABLE payments DROP CONSTRAINT fk_payment_booking;
+ALTER TABLE tickets DROP CONSTRAINT fk_ticket_booking;
+
+DROP TABLE booking_seats;
+DROP TABLE bookings;
+
+ALTER TABLE bookings_partitioned RENAME TO bookings;
+ALTER TABLE booking_seats_partitioned RENAME TO booking_seats;
+
+ALTER TABLE bookings
+    ALTER COLUMN id SET DEFAULT nextval('bookings_sql_id_seq');
+ALTER SEQUENCE bookings_id_seq OWNED BY bookings.id;
+ALTER SEQUENCE bookings_sql_id_seq OWNED BY bookings.id;
+
+ALTER TABLE booking_seats
+    ALTER COLUMN id SET DEFAULT nextval('booking_seats_sql_id_seq');
+ALTER SEQUENCE booking_seats_id_seq OWNED BY booking_seats.id;
+ALTER SEQUENCE booking_seats_sql_id_seq OWNED BY booking_seats.id;
+
+ALTER TABLE bookings
+    ADD CONSTRAINT bookings_pkey PRIMARY KEY (id, created_at),
+    ADD CONSTRAINT uq_booking_reference UNIQUE (booking_reference, created_at),
+    ADD CONSTRAINT fk_booking_user FOREIGN KEY (user_id)
+        REFERENCES users(id) ON DELETE RESTRICT,
+    ADD CONSTRAINT fk_booking_show FOREIGN KEY (show_id)
+        REFERENCES shows(id) ON DELETE RESTRICT,
+    ADD CONSTRAINT chk_booking_total_seats CHECK (total_seats > 0),
+    ADD CONSTRAINT chk_booking_total_amount CHECK (total_amount > 0),
+    ADD CONSTRAINT chk_booking_status CHECK (
+        status IN ('PENDING', 'CONFIRMED', 'PAYMENT_FAILED', 'CANCELLED', 'EXPIRED')
+        );
+
+ALTER TABLE booking_seats
+    ADD CONSTRAINT booking_seats_pkey PRIMARY KEY (id, booking_created_at),
+    ADD CONSTRAINT fk_booking_seat_booking FOREIGN KEY (booking_id, booking_created_at)
+        REFERENCES bookings(id, created_at) ON DELETE CASCADE,
+    ADD CONSTRAINT uq_seat_per_booking UNIQUE (booking_id, seat_inventory_id, booking_created_at),
+    ADD CONSTRAINT chk_booking_seat_price CHECK (price > 0);
+
+-- Indexes, created on every partition
+-- History page: keyset on (created_at, id) per user, covering the list columns
+-- (replaces idx_bookings_user_created; lookups by reference use uq_booking_reference)
+CREATE INDEX idx_bookings_user_history ON bookings(user_id, created_at DESC, id DESC)
+    INCLUDE (booking_reference, show_id, status, total_seats, total_amount);
+CREATE INDEX idx_bookings_show ON bookings(show_id);
+CREATE INDEX idx_bookings_status ON bookings(status);
+CREATE INDEX idx_bookings_pending_expired ON bookings(expires_at)
+    WHERE status = 'PENDING' AND expires_at IS NOT NULL;
+
+-- (idx_booking_seats_booking is gone: uq_seat_per_booking starts with booking_id)
+CREATE INDEX idx_booking_seats_inventory ON booking_seats(seat_inventory_id);
+
+CREATE TRIGGER trg_bookings_updated_at
+    BEFORE UPDATE ON bookings
+    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
+
+-- =====================================================
+-- TABLE: booking_references
+-- Every booking's reference and id once, unpartitioned: references stay
+-- unique across all months, a lookup by reference reads one index entry,
+-- and payments / tickets reference bookings through it.
+-- One row per booking, written by the bookings triggers below (JPA inserts,
+-- book_seats_atomic and any other insert path alike)
+--   - PK booking_reference : a duplicate reference fails the booking insert
+--   - booking_id unique    : foreign key target of payments / tickets
+--   - booking_created_at   : the booking's partition key, so the lookup
+--                            continues into exactly one partition
+-- =====================================================
+CREATE TABLE booking_references (
+                                    booking_reference VARCHAR(50) PRIMARY KEY,
+                                    booking_id BIGINT NOT NULL,
+                                    booking_created_at TIMESTAMP NOT NULL,
+
+    -- Constraints
+                                    CONSTRAINT uq_booking_reference_booking UNIQUE (booking_id)
+);
+
+INSERT INTO booking_references (booking_reference, booking_id, booking_created_at)
+SELECT b.booking_reference, b.id, b.created_at
+FROM bookings b;
+
+CREATE OR REPLACE FUNCTION track_booking_reference()
+    RETURNS TRIGGER
+AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO booking_references (booking_reference, booking_id, booking_created_at)
+        VALUES (NEW.booking_reference, NEW.id, NEW.created_at);
+        RETURN NEW;
+    END IF;
+
+    DELETE FROM booking_references WHERE booking_id = OLD.id;
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_bookings_track_reference
+    AFTER INSERT OR DELETE ON bookings
+    FOR EACH ROW EXECUTE FUNCTION track_booking_reference();
+
+-- A reference, id or created_at never changes once issued
+CREATE OR REPLACE FUNCTION reject_booking_key_update()
+    RETURNS TRIGGER
+AS $$
+BEGIN
+    RAISE EXCEPTION 'booking % : booking_reference, id and created_at cannot be changed', OLD.id
+        USING ERRCODE = 'integrity_constraint_violation';
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_bookings_reject_key_update
+    BEFORE UPDATE OF booking_reference, id, created_at ON bookings
+    FOR EACH ROW
+    WHEN (OLD.booking_reference IS DISTINCT FROM NEW.booking_reference
+        OR OLD.id IS DISTINCT FROM NEW.id
+        OR OLD.created_at IS DISTINCT FROM NEW.created_at)
+    EXECUTE FUNCTION reject_booking_key_update();
+
+-- Replace the foreign keys to bookings(id) dropped above (same RESTRICT:
+-- a booking with payments or tickets cannot be deleted). Fully validated:
+-- the old keys held until this migration's transaction dropped them, and
+-- booking_references holds every copied booking, so no existing row can fail
+ALTER TABLE payments
+    ADD CONSTRAINT fk_payment_booking FOREIGN KEY (booking_id)
+        REFERENCES booking_references(booking_id) ON DELETE RESTRICT;
+
+ALTER TABLE tickets
+    ADD CONSTRAINT fk_ticket_booking FOREIGN KEY (booking_id)
+        REFERENCES booking_references(booking_id) ON DELETE RESTRICT;
+
+COMMENT ON TABLE bookings IS 'Customer ticket bookings, one partition per month of created_at';
+COMMENT ON COLUMN bookings.booking_reference IS 'User-facing booking ID (e.g., BK123456)';
+COMMENT ON COLUMN bookings.expires_at IS 'When pending booking expires (typically 10-15 minutes)';
+COMMENT ON TABLE booking_seats IS 'Individual seats within a booking, partitioned like bookings';
+COMMENT ON COLUMN booking_seats.booking_created_at IS 'bookings.created_at of the booking, partition key';
+COMMENT ON COLUMN booking_seats.seat_label IS 'Denormalized seat label (e.g., A12) for display';
+COMMENT ON TABLE booking_references IS 'Every booking reference once, across all bookings partitions (unique, FK target)';
+COMMENT ON COLUMN booking_references.booking_created_at IS 'bookings.created_at, partition key of the booking';
+
+-- =====================================================
+-- FUNCTION: book_seats_atomic (replaces V8)
+-- Same contract; booking_seats rows carry the booking's created_at,
+-- and seat_inventory reads stay in the show's partition (V9)
+-- =====================================================
+CREATE OR REPLACE FUNCTION book_seats_atomic(
+    p_user_id BIGINT,
+    p_show_id BIGINT,
+    p_seat_inventory_ids BIGINT[],
+    p_session_id VARCHAR,
+    p_booking_reference VARCHAR,
+    p_lock_minutes INTEGER,
+    p_counter_stripes INTEGER
+)
+    RETURNS TABLE (
+        outcome VARCHAR,
+        booking_id BIGINT,
+        seat_inventory_id BIGINT,
+        seat_label VARCHAR,
+        seat_type VARCHAR,
+        price DECIMAL(10, 2),
+        total_amount DECIMAL(10, 2),
+        created_at TIMESTAMP,
+        expires_at TIMESTAMP,
+        event_title VARCHAR,
+        show_start_time TIMESTAMP
+    )
+AS $$
+DECLARE
+    v_show         shows%ROWTYPE;
+    v_requested    INTEGER;
+    v_conflicts    BIGINT[];
+    v_booking_id   BIGINT;
+    v_total        DECIMAL(10, 2);
+    v_created_at   TIMESTAMP;
+    v_expires_at   TIMESTAMP := CURRENT_TIMESTAMP + make_interval(mins => p_lock_minutes);
+BEGIN
+    -- Deduplicate the request
+    SELECT ARRAY(SELECT DISTINCT unnest(p_seat_inventory_ids) ORDER BY 1)
+    INTO p_seat_inventory_ids;
+    v_requested := cardinality(p_seat_inventory_ids);
+
+    -- 1. Show checks (no row lock: the show row is never updated here)
+    SELECT * INTO v_show FROM shows s WHERE s.id = p_show_id;
+
+    IF NOT FOUND THEN
+        RETURN QUERY SELECT 'SHOW_NOT_FOUND'::VARCHAR, NULL::BIGINT, NULL::BIGINT, NULL::VARCHAR,
+                            NULL::VARCHAR, NULL::DECIMAL(10, 2), NULL::DECIMAL(10, 2),
+                            NULL::TIMESTAMP, NULL::TIMESTAMP,
+                            NULL::VARCHAR, NULL::TIMESTAMP;
+        RETURN;
+    END IF;
+
+    IF v_show.status <> 'BOOKING_OPEN'
+        OR (v_show.booking_opens_at IS NOT NULL AND CURRENT_TIMESTAMP < v_show.booking_opens_at)
+        OR (v_show.booking_closes_at IS NOT NULL AND CURRENT_TIMESTAMP > v_show.booking_closes_at)
+        OR v_show.available_seats + (SELECT COALESCE(SUM(c.delta), 0)
+                                     FROM show_seat_counters c
+                                     WHERE c.show_id = p_show_id) < v_requested THEN
+        RETURN QUERY SELECT 'SHOW_NOT_BOOKABLE'::VARCHAR, NULL::BIGINT, NULL::BIGINT, NULL::VARCHAR,
+                            NULL::VARCHAR, NULL::DECIMAL(10, 2), NULL::DECIMAL(10, 2),
+                            NULL::TIMESTAMP, NULL::TIMESTAMP,
+                            NULL::VARCHAR, NULL::TIMESTAMP;
+        RETURN;
+    END IF;
+
+    -- 2. Lock requested rows in id order, collect every seat we cannot take
+    WITH locked AS (
+        SELECT si.id, si.status
+        FROM seat_inventory si
+        WHERE si.show_id = p_show_id
+          AND si.show_date = v_show.start_time::DATE
+          AND si.id = ANY (p_seat_inventory_ids)
+        ORDER BY si.id
+        FOR UPDATE
+    )
+    SELECT ARRAY(
+        SELECT req.id
+        FROM unnest(p_seat_inventory_ids) AS req(id)
+                 LEFT JOIN locked l ON l.id = req.id
+        WHERE l.id IS NULL OR l.status <> 'AVAILABLE'
+        ORDER BY req.id
+    )
+    INTO v_conflicts;
+
+    IF cardinality(v_conflicts) > 0 THEN
+        RETURN QUERY SELECT 'SEAT_CONFLICT'::VARCHAR, NULL::BIGINT, c.id, NULL::VARCHAR,
+                            NULL::VARCHAR, NULL::DECIMAL(10, 2), NULL::DECIMAL(10, 2),
+                            NULL::TIMESTAMP, NULL::TIMESTAMP,
+                            NULL::VARCHAR, NULL::TIMESTAMP
+                     FROM unnest(v_conflicts) AS c(id);
+        RETURN;
+    END IF;
+
+    -- 3. Claim (rows are locked and AVAILABLE, so every requested seat is returned)
+    --    Seat prices: override, else the show's tier, else the show's base price
+    WITH claimed AS (
+        UPDATE seat_inventory si
+            SET status          = 'LOCKED',
+                locked_at       = CURRENT_TIMESTAMP,
+                locked_by       = p_session_id,
+                lock_expires_at = v_expires_at,
+                version         = si.version + 1
+            WHERE si.show_date = v_show.start_time::DATE
+              AND si.id = ANY (p_seat_inventory_ids)
+              AND si.status = 'AVAILABLE'
+            RETURNING si.seat_id, si.price
+    )
+    SELECT SUM(COALESCE(claimed.price, t.price, v_show.base_price))
+    INTO v_total
+    FROM claimed
+             JOIN seats s ON s.id = claimed.seat_id
+             LEFT JOIN show_price_tiers t ON t.show_id = p_show_id AND t.seat_type = s.seat_type;
+
+    -- 4. Booking + booking seats (price captured at booking time)
+    INSERT INTO bookings (booking_reference, user_id, show_id, status, total_seats, total_amount, expires_at)
+    VALUES (p_booking_reference, p_user_id, p_show_id, 'PENDING', v_requested, v_total, v_expires_at)
+    RETURNING bookings.id, bookings.created_at INTO v_booking_id, v_created_at;
+
+    INSERT INTO booking_seats (booking_id, booking_created_at, seat_inventory_id, seat_label, price)
+    SELECT v_booking_id, v_created_at, si.id, COALESCE(s.display_label, s.row_label || s.seat_number),
+           COALESCE(si.price, t.price, v_show.base_price)
+    FROM seat_inventory si
+             JOIN seats s ON s.id = si.seat_id
+             LEFT JOIN show_price_tiers t ON t.show_id = si.show_id AND t.seat_type = s.seat_type
+    WHERE si.show_date = v_show.start_time::DATE
+      AND si.id = ANY (p_seat_inventory_ids);
+
+    -- 5. Show counter: delta on a random stripe (booking.counter.stripes) instead of the hot shows row
+    INSERT INTO show_seat_counters AS c (show_id, slot, delta)
+    VALUES (p_show_id, floor(random() * GREATEST(1, p_counter_stripes))::SMALLINT, -v_requested)
+    ON CONFLICT (show_id, slot) DO UPDATE SET delta = c.delta + EXCLUDED.delta;
+
+    RETURN QUERY
+        SELECT 'BOOKED'::VARCHAR, v_booking_id, si.id,
+               COALESCE(s.display_label, s.row_label || s.seat_number)::VARCHAR,
+               s.seat_type, COALESCE(si.price, t.price, v_show.base_price), v_total,
+               v_created_at, v_expires_at,
+               v_show.event_title, v_show.start_time
+        FROM seat_inventory si
+                 JOIN seats s ON s.id = si.seat_id
+                 LEFT JOIN show_price_tiers t ON t.show_id = si.show_id AND t.seat_type = s.seat_type
+        WHERE si.show_date = v_show.start_time::DATE
+          AND si.id = ANY (p_seat_inventory_ids)
+        ORDER BY si.id;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON FUNCTION book_seats_atomic(BIGINT, BIGINT, BIGINT[], VARCHAR, VARCHAR, INTEGER, INTEGER)
+    IS 'Claims seats and creates a PENDING booking in one round trip; reports conflicting seats';
+
+-- =====================================================
+-- END OF V11 MIGRATION
+-- =====================================================
@@ -0,0 +1,61 @@
+-- =====================================================
+-- GetMyShow - Transactional outbox
+-- Version: 12.0.0
+-- Description: Domain events are written to outbox in the same transaction
+--              as the state change, a relay claims a batch, publishes it to
+--              RabbitMQ and deletes it once the broker confirmed it
+-- Used by: BookingOutbox, book_seats_atomic callers, the expiry sweep (writes),
+--          OutboxRelay (reads + deletes)
+-- =====================================================
+
+-- =====================================================
+-- TABLE: outbox
+-- A queue, not a history: rows live from commit until the broker confirms them
+--   - id            : relay order (ORDER BY id), also the message id consumers dedupe on
+--   - payload       : the message body as published
+--   - claimed_until : set by the relay that took the batch (short transaction),
+--                     cleared again when the broker did not confirm it. A relay that
+--                     dies between claim and delete leaves the claim to expire, then
+--                     the batch is taken again
+-- =====================================================
+CREATE TABLE outbox (
+                        id BIGSERIAL PRIMARY KEY,
+
+    -- Source
+                        aggregate_type VARCHAR(50) NOT NULL,
+                        aggregate_id BIGINT NOT NULL,
+
+    -- Event
+                        event_type VARCHAR(50) NOT NULL,
+                        payload JSONB NOT NULL,
+
+    -- Relay
+                        claimed_until TIMESTAMP,
+
+    -- Timestamps
+                        created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- =====================================================
+-- id: outbox_id_seq stays INCREMENT 1, unlike the pooled sequences of V6. The relay
+-- publishes in id order, so every event takes one value in nextval() order on every
+-- node, for JPA (OutboxEvent allocationSize = 1) and SQL inserts (BookingRepository)
+-- alike. Still allocation order, not commit order: an event whose transaction
+-- commits late can go out after a higher id
+-- =====================================================
+
+-- Every row is deleted shortly after insert: vacuum by row count, not by table size,
+-- so the relay's ORDER BY id scan never walks a long tail of dead tuples
+ALTER TABLE outbox SET (
+    autovacuum_vacuum_scale_factor = 0.0,
+    autovacuum_vacuum_threshold = 5000,
+    autovacuum_vacuum_cost_delay = 0
+    );
+
+COMMENT ON TABLE outbox IS 'HOT queue: domain events waiting to be published to RabbitMQ';
+COMMENT ON COLUMN outbox.claimed_until IS 'Batch taken by a relay until then; NULL or past = free to relay';
+COMMENT ON COLUMN outbox.event_type IS 'e.g. BOOKING_CREATED, BOOKING_EXPIRED; routing key booking.created, booking.expired';
+
+-- =====================================================
+-- END OF V12 MIGRATION
+-- =====================================================
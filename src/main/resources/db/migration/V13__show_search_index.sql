@@ -0,0 +1,37 @@
+-- =====================================================
+-- GetMyShow - Show search index for keyset pagination
+-- Version: 13.0.0
+-- Description: idx_shows_search_primary keyed on (city, start_time, id), the
+--              search's sort + cursor: one index range per page, read in page
+--              order, no sort
+-- Used by: ShowRepository.searchShows (EventCatalogFacade.searchShows)
+-- =====================================================
+
+-- =====================================================
+-- Before: (city, start_time, status, event_type)
+--   - ties on start_time came back in (status, event_type) order, so the
+--     (start_time, id) cursor needed a sort on top of the scan
+--   - status is fixed by the partial predicate, a key column added nothing
+-- After: city = ? AND (start_time, id) > (?, ?) is ONE index range, read in
+--   page order, stopped after LIMIT matches
+--
+-- What it does not save: the search selects heap-only columns (event_title,
+-- venue_name, prices, ...), so it runs as a plain Index Scan. Every entry on
+-- the range is fetched from the heap and the event_type / available_seats
+-- filters are applied to the heap tuple: heap visits = matches + the rows
+-- rejected on the way to them. The INCLUDE columns pay off only for
+-- index-only reads (Index Only Scan on pages the visibility map marks
+-- all-visible), e.g. counting or cursor checks over these columns
+-- =====================================================
+DROP INDEX IF EXISTS idx_shows_search_primary;
+
+CREATE INDEX idx_shows_search_primary ON shows(city, start_time, id)
+    INCLUDE (event_type, available_seats, event_id)
+    WHERE status IN ('SCHEDULED', 'BOOKING_OPEN');
+
+COMMENT ON INDEX idx_shows_search_primary IS
+    'Show search range (city, start_time, id). INCLUDE columns are read from the index only in an Index Only Scan on all-visible pages; the search itself filters on the heap tuple';
+
+-- =====================================================
+-- END OF V13 MIGRATION
+-- =====================================================
@@ -0,0 +1,41 @@
+-- =====================================================
+-- GetMyShow - Show change feed for the in-memory search index
+-- Version: 14.0.0
+-- Description: shows.updated_at doubles as a change feed: "every show written
+--              after cursor C". Stamped at write time and read by keyset on
+--              (updated_at, id) below a horizon (ChangeFeed, ChangeCursor)
+-- Used by: ShowRepository.findChangesAfter (ShowSearchIndex refresh)
+-- =====================================================
+
+-- =====================================================
+-- stamp_change_time: updated_at = clock_timestamp() on INSERT and UPDATE
+--   - the actual write time, after the writing transaction's start, which is
+--     what ChangeFeed.horizon bounds. CURRENT_TIMESTAMP (the V1 trigger) is the
+--     transaction START: a long transaction could stamp rows behind what a
+--     reader has already passed
+--   - set by the database on insert as well: a JPA insert carries the app
+--     server's clock, which need not match the database's
+-- =====================================================
+CREATE OR REPLACE FUNCTION stamp_change_time()
+    RETURNS TRIGGER
+AS $$
+BEGIN
+    NEW.updated_at = clock_timestamp();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER trg_shows_updated_at ON shows;
+
+CREATE TRIGGER trg_shows_updated_at
+    BEFORE INSERT OR UPDATE ON shows
+    FOR EACH ROW EXECUTE FUNCTION stamp_change_time();
+
+-- Keyset order of the feed: (updated_at, id) > (?, ?) AND updated_at < ? is one
+-- range at the end of the index, whatever the size of the table. The id breaks
+-- ties, so rows sharing a timestamp are never cut at the page limit
+CREATE INDEX idx_shows_changes ON shows(updated_at, id);
+
+-- =====================================================
+-- END OF V14 MIGRATION
+-- =====================================================
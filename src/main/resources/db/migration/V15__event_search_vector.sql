@@ -0,0 +1,145 @@
+-- =====================================================
+-- GetMyShow - Full-text event search
+-- Version: 15.0.0
+-- Description: events.search_vector, a weighted tsvector over the event and its
+--              movie details, kept current by triggers, GIN indexed
+-- Used by: EventRepository.searchEvents (GET /api/events/search)
+-- =====================================================
+
+-- =====================================================
+-- COLUMN: events.search_vector
+-- Weights (ts_rank: A 1.0, B 0.4, C 0.2, D 0.1)
+--   - A : title
+--   - B : tags, director, cast member names
+--   - C : genre, language, formats
+--   - D : description
+-- One text search config ('english') for document and query: stemmed on both sides
+-- =====================================================
+ALTER TABLE events ADD COLUMN search_vector TSVECTOR;
+
+-- =====================================================
+-- FUNCTION: event_search_vector
+-- The document of one event; the movie columns are read from movies (none for
+-- other event types)
+-- =====================================================
+CREATE OR REPLACE FUNCTION event_search_vector(
+    p_event_id BIGINT,
+    p_title TEXT,
+    p_description TEXT,
+    p_tags TEXT[]
+)
+RETURNS TSVECTOR AS $$
+SELECT setweight(to_tsvector('english', coalesce(p_title, '')), 'A')
+           || setweight(to_tsvector('english', coalesce(array_to_string(p_tags, ' '), '')), 'B')
+           || setweight(to_tsvector('english', coalesce(m.director, '') || ' ' || coalesce(m.cast_names, '')), 'B')
+           || setweight(to_tsvector('english', coalesce(m.genre, '') || ' ' || coalesce(m.language, '')
+                                                   || ' ' || coalesce(array_to_string(m.formats, ' '), '')), 'C')
+           || setweight(to_tsvector('english', coalesce(p_description, '')), 'D')
+FROM (SELECT 1) AS one
+         LEFT JOIN LATERAL (
+    SELECT mv.director,
+           mv.genre,
+           mv.language,
+           mv.formats,
+           (SELECT string_agg(member ->> 'name', ' ')
+            FROM jsonb_array_elements(CASE WHEN jsonb_typeof(mv.cast_members) = 'array'
+                                               THEN mv.cast_members
+                                           ELSE '[]'::JSONB END) AS member) AS cast_names
+    FROM movies mv
+    WHERE mv.event_id = p_event_id
+    ) m ON TRUE;
+$$ LANGUAGE sql STABLE;
+
+-- =====================================================
+-- BACKFILL
+-- trg_events_updated_at is off for it: indexing is not an edit of the event
+-- =====================================================
+ALTER TABLE events DISABLE TRIGGER trg_events_updated_at;
+
+UPDATE events
+SET search_vector = event_search_vector(id, title, description, tags);
+
+ALTER TABLE events ENABLE TRIGGER trg_events_updated_at;
+
+-- =====================================================
+-- TRIGGERS: keep search_vector current
+-- Hibernate writes every column on update, so UPDATE OF alone would fire on any
+-- change; WHEN limits re-indexing to rows whose searchable text actually changed
+--   - events : BEFORE, computed into the row being written
+--   - movies : AFTER, re-indexes the owning event (movies row is visible by then,
+--              or gone on DELETE)
+-- Catalog writes are rare next to searches, indexing in the write keeps results
+-- exact without a background indexer to run and monitor
+-- =====================================================
+CREATE OR REPLACE FUNCTION events_search_vector_trigger()
+RETURNS TRIGGER AS $$
+BEGIN
+    NEW.search_vector := event_search_vector(NEW.id, NEW.title, NEW.description, NEW.tags);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_events_search_vector_insert
+    BEFORE INSERT ON events
+    FOR EACH ROW EXECUTE FUNCTION events_search_vector_trigger();
+
+CREATE TRIGGER trg_events_search_vector_update
+    BEFORE UPDATE OF title, description, tags ON events
+    FOR EACH ROW
+    WHEN (OLD.title IS DISTINCT FROM NEW.title
+        OR OLD.description IS DISTINCT FROM NEW.description
+        OR OLD.tags IS DISTINCT FROM NEW.tags)
+EXECUTE FUNCTION events_search_vector_trigger();
+
+-- Same function for all three movies events: the owning event is OLD.event_id on
+-- DELETE, so a deleted movie's director, cast, genre, ... stop matching the event
+CREATE OR REPLACE FUNCTION movies_search_vector_trigger()
+RETURNS TRIGGER AS $$
+DECLARE
+    v_event_id BIGINT;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        v_event_id := OLD.event_id;
+    ELSE
+        v_event_id := NEW.event_id;
+    END IF;
+
+    -- No row when the event itself is being deleted (movies cascade): nothing to re-index
+    UPDATE events
+    SET search_vector = event_search_vector(id, title, description, tags)
+    WHERE id = v_event_id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_movies_search_vector_insert
+    AFTER INSERT ON movies
+    FOR EACH ROW EXECUTE FUNCTION movies_search_vector_trigger();
+
+CREATE TRIGGER trg_movies_search_vector_update
+    AFTER UPDATE OF director, cast_members, genre, language, formats ON movies
+    FOR EACH ROW
+    WHEN (OLD.director IS DISTINCT FROM NEW.director
+        OR OLD.cast_members IS DISTINCT FROM NEW.cast_members
+        OR OLD.genre IS DISTINCT FROM NEW.genre
+        OR OLD.language IS DISTINCT FROM NEW.language
+        OR OLD.formats IS DISTINCT FROM NEW.formats)
+EXECUTE FUNCTION movies_search_vector_trigger();
+
+CREATE TRIGGER trg_movies_search_vector_delete
+    AFTER DELETE ON movies
+    FOR EACH ROW EXECUTE FUNCTION movies_search_vector_trigger();
+
+-- =====================================================
+-- INDEX: idx_events_search_vector
+-- Partial: only PUBLISHED events are searchable, drafts / archived never enter it
+-- (the query must repeat status = 'PUBLISHED' for the planner to use it)
+-- =====================================================
+CREATE INDEX idx_events_search_vector ON events USING GIN (search_vector)
+    WHERE status = 'PUBLISHED';
+
+COMMENT ON COLUMN events.search_vector IS 'Full-text document, maintained by trg_events_search_vector_* / trg_movies_search_vector_*';
+
+-- =====================================================
+-- END OF V15 MIGRATION
+-- =====================================================
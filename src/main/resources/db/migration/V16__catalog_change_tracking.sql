@@ -0,0 +1,38 @@
+-- =====================================================
+-- GetMyShow - Catalog change feed for the typeahead and geo indexes
+-- Version: 16.0.0
+-- Description: events, venues and sports_events get the change feed of
+--              shows (V14): updated_at stamped at write time on INSERT and
+--              UPDATE, read by keyset on (updated_at, id) below the
+--              ChangeFeed horizon
+-- Used by: EventRepository / VenueRepository / SportsEventRepository
+--          .findSuggestionChanges (TypeaheadIndex refresh),
+--          VenueRepository.findGeoVenueChanges (VenueGeoIndex refresh)
+-- =====================================================
+
+-- Same names as V1, so V15's DISABLE / ENABLE TRIGGER trg_events_updated_at still holds
+DROP TRIGGER trg_events_updated_at ON events;
+DROP TRIGGER trg_venues_updated_at ON venues;
+DROP TRIGGER trg_sports_events_updated_at ON sports_events;
+
+CREATE TRIGGER trg_events_updated_at
+    BEFORE INSERT OR UPDATE ON events
+    FOR EACH ROW EXECUTE FUNCTION stamp_change_time();
+
+CREATE TRIGGER trg_venues_updated_at
+    BEFORE INSERT OR UPDATE ON venues
+    FOR EACH ROW EXECUTE FUNCTION stamp_change_time();
+
+CREATE TRIGGER trg_sports_events_updated_at
+    BEFORE INSERT OR UPDATE ON sports_events
+    FOR EACH ROW EXECUTE FUNCTION stamp_change_time();
+
+-- Keyset order of the feeds, a short range at the end of each index instead of
+-- a scan of the catalog; a sports event is keyed by event_id
+CREATE INDEX idx_events_changes ON events(updated_at, id);
+CREATE INDEX idx_venues_changes ON venues(updated_at, id);
+CREATE INDEX idx_sports_events_changes ON sports_events(updated_at, event_id);
+
+-- =====================================================
+-- END OF V16 MIGRATION
+-- =====================================================
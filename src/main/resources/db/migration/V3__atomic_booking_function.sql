@@ -0,0 +1,155 @@
+-- =====================================================
+-- GetMyShow - Atomic Booking Function
+-- Version: 3.0.0
+-- Description: Single round-trip seat claim + booking creation
+-- Used by: BookingService when booking.write-mode = ATOMIC
+-- =====================================================
+
+-- =====================================================
+-- FUNCTION: book_seats_atomic
+-- One call does what createBooking does in 6 + N statements:
+--   1. Check the show is bookable
+--   2. Lock the requested seat_inventory rows in id order (deadlock-free)
+--      and report every seat that is not AVAILABLE
+--   3. Claim the seats (UPDATE ... WHERE status = 'AVAILABLE' RETURNING)
+--   4. Insert the booking and its booking_seats
+--   5. Decrement shows.available_seats
+--
+-- Result rows (outcome column):
+--   BOOKED            -> one row per booked seat
+--   SEAT_CONFLICT     -> one row per unavailable / unknown seat, nothing written
+--   SHOW_NOT_FOUND    -> single row, nothing written
+--   SHOW_NOT_BOOKABLE -> single row, nothing written
+-- =====================================================
+CREATE OR REPLACE FUNCTION book_seats_atomic(
+    p_user_id BIGINT,
+    p_show_id BIGINT,
+    p_seat_inventory_ids BIGINT[],
+    p_session_id VARCHAR,
+    p_booking_reference VARCHAR,
+    p_lock_minutes INTEGER
+)
+    RETURNS TABLE (
+        outcome VARCHAR,
+        booking_id BIGINT,
+        seat_inventory_id BIGINT,
+        seat_label VARCHAR,
+        seat_type VARCHAR,
+        price DECIMAL(10, 2),
+        total_amount DECIMAL(10, 2),
+        created_at TIMESTAMP,
+        expires_at TIMESTAMP,
+        event_title VARCHAR,
+        show_start_time TIMESTAMP
+    )
+AS $$
+DECLARE
+    v_show         shows%ROWTYPE;
+    v_requested    INTEGER;
+    v_conflicts    BIGINT[];
+    v_booking_id   BIGINT;
+    v_total        DECIMAL(10, 2);
+    v_created_at   TIMESTAMP;
+    v_expires_at   TIMESTAMP := CURRENT_TIMESTAMP + make_interval(mins => p_lock_minutes);
+BEGIN
+    -- Deduplicate the request
+    SELECT ARRAY(SELECT DISTINCT unnest(p_seat_inventory_ids) ORDER BY 1)
+    INTO p_seat_inventory_ids;
+    v_requested := cardinality(p_seat_inventory_ids);
+
+    -- 1. Show checks (no row lock: the counter update below takes it)
+    SELECT * INTO v_show FROM shows s WHERE s.id = p_show_id;
+
+    IF NOT FOUND THEN
+        RETURN QUERY SELECT 'SHOW_NOT_FOUND'::VARCHAR, NULL::BIGINT, NULL::BIGINT, NULL::VARCHAR,
+                            NULL::VARCHAR, NULL::DECIMAL(10, 2), NULL::DECIMAL(10, 2),
+                            NULL::TIMESTAMP, NULL::TIMESTAMP,
+                            NULL::VARCHAR, NULL::TIMESTAMP;
+        RETURN;
+    END IF;
+
+    IF v_show.status <> 'BOOKING_OPEN'
+        OR (v_show.booking_opens_at IS NOT NULL AND CURRENT_TIMESTAMP < v_show.booking_opens_at)
+        OR (v_show.booking_closes_at IS NOT NULL AND CURRENT_TIMESTAMP > v_show.booking_closes_at)
+        OR v_show.available_seats < v_requested THEN
+        RETURN QUERY SELECT 'SHOW_NOT_BOOKABLE'::VARCHAR, NULL::BIGINT, NULL::BIGINT, NULL::VARCHAR,
+                            NULL::VARCHAR, NULL::DECIMAL(10, 2), NULL::DECIMAL(10, 2),
+                            NULL::TIMESTAMP, NULL::TIMESTAMP,
+                            NULL::VARCHAR, NULL::TIMESTAMP;
+        RETURN;
+    END IF;
+
+    -- 2. Lock requested rows in id order, collect every seat we cannot take
+    WITH locked AS (
+        SELECT si.id, si.status
+        FROM seat_inventory si
+        WHERE si.show_id = p_show_id
+          AND si.id = ANY (p_seat_inventory_ids)
+        ORDER BY si.id
+        FOR UPDATE
+    )
+    SELECT ARRAY(
+        SELECT req.id
+        FROM unnest(p_seat_inventory_ids) AS req(id)
+                 LEFT JOIN locked l ON l.id = req.id
+        WHERE l.id IS NULL OR l.status <> 'AVAILABLE'
+        ORDER BY req.id
+    )
+    INTO v_conflicts;
+
+    IF cardinality(v_conflicts) > 0 THEN
+        RETURN QUERY SELECT 'SEAT_CONFLICT'::VARCHAR, NULL::BIGINT, c.id, NULL::VARCHAR,
+                            NULL::VARCHAR, NULL::DECIMAL(10, 2), NULL::DECIMAL(10, 2),
+                            NULL::TIMESTAMP, NULL::TIMESTAMP,
+                            NULL::VARCHAR, NULL::TIMESTAMP
+                     FROM unnest(v_conflicts) AS c(id);
+        RETURN;
+    END IF;
+
+    -- 3. Claim (rows are locked and AVAILABLE, so every requested seat is returned)
+    WITH claimed AS (
+        UPDATE seat_inventory si
+            SET status          = 'LOCKED',
+                locked_at       = CURRENT_TIMESTAMP,
+                locked_by       = p_session_id,
+                lock_expires_at = v_expires_at,
+                version         = si.version + 1
+            WHERE si.id = ANY (p_seat_inventory_ids)
+              AND si.status = 'AVAILABLE'
+            RETURNING si.price
+    )
+    SELECT SUM(claimed.price) INTO v_total FROM claimed;
+
+    -- 4. Booking + booking seats
+    INSERT INTO bookings (booking_reference, user_id, show_id, status, total_seats, total_amount, expires_at)
+    VALUES (p_booking_reference, p_user_id, p_show_id, 'PENDING', v_requested, v_total, v_expires_at)
+    RETURNING bookings.id, bookings.created_at INTO v_booking_id, v_created_at;
+
+    INSERT INTO booking_seats (booking_id, seat_inventory_id, seat_label, price)
+    SELECT v_booking_id, si.id, COALESCE(s.display_label, s.row_label || s.seat_number), si.price
+    FROM seat_inventory si
+             JOIN seats s ON s.id = si.seat_id
+    WHERE si.id = ANY (p_seat_inventory_ids);
+
+    -- 5. Show counter
+    UPDATE shows SET available_seats = available_seats - v_requested
+    WHERE id = p_show_id;
+
+    RETURN QUERY
+        SELECT 'BOOKED'::VARCHAR, v_booking_id, si.id,
+               COALESCE(s.display_label, s.row_label || s.seat_number)::VARCHAR,
+               s.seat_type, si.price, v_total, v_created_at, v_expires_at,
+               v_show.event_title, v_show.start_time
+        FROM seat_inventory si
+                 JOIN seats s ON s.id = si.seat_id
+        WHERE si.id = ANY (p_seat_inventory_ids)
+        ORDER BY si.id;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON FUNCTION book_seats_atomic(BIGINT, BIGINT, BIGINT[], VARCHAR, VARCHAR, INTEGER)
+    IS 'Claims seats and creates a PENDING booking in one round trip; reports conflicting seats';
+
+-- =====================================================
+-- END OF V3 MIGRATION
+-- =====================================================
@@ -0,0 +1,246 @@
+-- =====================================================
+-- GetMyShow - Striped Show Availability Counter
+-- Version: 4.0.0
+-- Description: Seat count deltas spread over counter rows instead of
+--              updating the hot shows.available_seats row on every booking
+-- =====================================================
+
+-- =====================================================
+-- TABLE: show_seat_counters
+-- Effective available seats = shows.available_seats + SUM(delta)
+--   - Bookings add -n, released / expired seats add +n, each on a random slot
+--   - Concurrent bookings of one show spread over the slots instead of
+--     queueing on one shows row (and firing trg_shows_updated_at each time)
+--   - fold_show_seat_counters() moves the deltas into shows periodically
+-- =====================================================
+CREATE TABLE show_seat_counters (
+                                    show_id BIGINT NOT NULL,
+                                    slot SMALLINT NOT NULL,
+                                    delta INTEGER NOT NULL DEFAULT 0,
+
+                                    PRIMARY KEY (show_id, slot),
+
+                                    CONSTRAINT fk_seat_counter_show FOREIGN KEY (show_id)
+                                        REFERENCES shows(id) ON DELETE CASCADE
+);
+
+COMMENT ON TABLE show_seat_counters IS 'Striped, not yet folded seat count deltas per show';
+COMMENT ON COLUMN show_seat_counters.slot IS 'Stripe picked at random by the writer';
+
+-- =====================================================
+-- FUNCTION: fold_show_seat_counters
+-- Moves the claimed deltas of a show into shows.available_seats and resets them,
+-- but only when the result stays within [0, total_seats] (chk_seat_counts).
+-- Stripes held by in-flight bookings are skipped (SKIP LOCKED) and folded next time.
+-- One row per show with claimed deltas:
+--   - FOLDED       : applied
+--   - DEFERRED     : the claimed stripes alone leave the range, the show's full
+--                    delta (incl. stripes held by in-flight bookings) does not;
+--                    kept as is, folded by a later run
+--   - OUT_OF_RANGE : the full delta leaves the range (lost or double-counted
+--                    seats); kept as is and reported, never folded or clamped
+-- =====================================================
+CREATE OR REPLACE FUNCTION fold_show_seat_counters()
+    RETURNS TABLE (
+        show_id BIGINT,
+        delta BIGINT,
+        outcome VARCHAR
+    )
+AS $$
+#variable_conflict use_column
+BEGIN
+    RETURN QUERY
+    WITH claimed AS (
+        SELECT c.show_id, c.slot, c.delta
+        FROM show_seat_counters c
+        WHERE c.delta <> 0
+        ORDER BY c.show_id, c.slot
+        FOR UPDATE SKIP LOCKED
+    ),
+    totals AS (
+        SELECT claimed.show_id, SUM(claimed.delta) AS delta
+        FROM claimed
+        GROUP BY claimed.show_id
+    ),
+    checked AS (
+        SELECT totals.show_id, totals.delta,
+               CASE
+                   WHEN s.available_seats + totals.delta BETWEEN 0 AND s.total_seats THEN 'FOLDED'
+                   WHEN s.available_seats + (SELECT SUM(c.delta)
+                                             FROM show_seat_counters c
+                                             WHERE c.show_id = totals.show_id) BETWEEN 0 AND s.total_seats
+                       THEN 'DEFERRED'
+                   ELSE 'OUT_OF_RANGE'
+                   END AS outcome
+        FROM totals
+                 JOIN shows s ON s.id = totals.show_id
+    ),
+    reset AS (
+        UPDATE show_seat_counters c
+            SET delta = 0
+            FROM claimed
+                     JOIN checked ON checked.show_id = claimed.show_id
+            WHERE checked.outcome = 'FOLDED'
+              AND c.show_id = claimed.show_id
+              AND c.slot = claimed.slot
+    ),
+    folded AS (
+        UPDATE shows s
+            SET available_seats = s.available_seats + checked.delta
+            FROM checked
+            WHERE checked.outcome = 'FOLDED'
+              AND s.id = checked.show_id
+    )
+    SELECT checked.show_id, checked.delta, checked.outcome::VARCHAR
+    FROM checked
+    ORDER BY checked.show_id;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON FUNCTION fold_show_seat_counters()
+    IS 'Folds show_seat_counters deltas into shows.available_seats, reports the ones it could not fold';
+
+-- =====================================================
+-- FUNCTION: book_seats_atomic (replaces V3)
+-- Same contract; reads the effective count and writes a counter delta
+-- instead of updating shows.available_seats. p_counter_stripes: the caller
+-- passes booking.counter.stripes, the same stripe count ShowSeatCounter uses
+-- =====================================================
+DROP FUNCTION book_seats_atomic(BIGINT, BIGINT, BIGINT[], VARCHAR, VARCHAR, INTEGER);
+
+CREATE FUNCTION book_seats_atomic(
+    p_user_id BIGINT,
+    p_show_id BIGINT,
+    p_seat_inventory_ids BIGINT[],
+    p_session_id VARCHAR,
+    p_booking_reference VARCHAR,
+    p_lock_minutes INTEGER,
+    p_counter_stripes INTEGER
+)
+    RETURNS TABLE (
+        outcome VARCHAR,
+        booking_id BIGINT,
+        seat_inventory_id BIGINT,
+        seat_label VARCHAR,
+        seat_type VARCHAR,
+        price DECIMAL(10, 2),
+        total_amount DECIMAL(10, 2),
+        created_at TIMESTAMP,
+        expires_at TIMESTAMP,
+        event_title VARCHAR,
+        show_start_time TIMESTAMP
+    )
+AS $$
+DECLARE
+    v_show         shows%ROWTYPE;
+    v_requested    INTEGER;
+    v_conflicts    BIGINT[];
+    v_booking_id   BIGINT;
+    v_total        DECIMAL(10, 2);
+    v_created_at   TIMESTAMP;
+    v_expires_at   TIMESTAMP := CURRENT_TIMESTAMP + make_interval(mins => p_lock_minutes);
+BEGIN
+    -- Deduplicate the request
+    SELECT ARRAY(SELECT DISTINCT unnest(p_seat_inventory_ids) ORDER BY 1)
+    INTO p_seat_inventory_ids;
+    v_requested := cardinality(p_seat_inventory_ids);
+
+    -- 1. Show checks (no row lock: the show row is never updated here)
+    SELECT * INTO v_show FROM shows s WHERE s.id = p_show_id;
+
+    IF NOT FOUND THEN
+        RETURN QUERY SELECT 'SHOW_NOT_FOUND'::VARCHAR, NULL::BIGINT, NULL::BIGINT, NULL::VARCHAR,
+                            NULL::VARCHAR, NULL::DECIMAL(10, 2), NULL::DECIMAL(10, 2),
+                            NULL::TIMESTAMP, NULL::TIMESTAMP,
+                            NULL::VARCHAR, NULL::TIMESTAMP;
+        RETURN;
+    END IF;
+
+    IF v_show.status <> 'BOOKING_OPEN'
+        OR (v_show.booking_opens_at IS NOT NULL AND CURRENT_TIMESTAMP < v_show.booking_opens_at)
+        OR (v_show.booking_closes_at IS NOT NULL AND CURRENT_TIMESTAMP > v_show.booking_closes_at)
+        OR v_show.available_seats + (SELECT COALESCE(SUM(c.delta), 0)
+                                     FROM show_seat_counters c
+                                     WHERE c.show_id = p_show_id) < v_requested THEN
+        RETURN QUERY SELECT 'SHOW_NOT_BOOKABLE'::VARCHAR, NULL::BIGINT, NULL::BIGINT, NULL::VARCHAR,
+                            NULL::VARCHAR, NULL::DECIMAL(10, 2), NULL::DECIMAL(10, 2),
+                            NULL::TIMESTAMP, NULL::TIMESTAMP,
+                            NULL::VARCHAR, NULL::TIMESTAMP;
+        RETURN;
+    END IF;
+
+    -- 2. Lock requested rows in id order, collect every seat we cannot take
+    WITH locked AS (
+        SELECT si.id, si.status
+        FROM seat_inventory si
+        WHERE si.show_id = p_show_id
+          AND si.id = ANY (p_seat_inventory_ids)
+        ORDER BY si.id
+        FOR UPDATE
+    )
+    SELECT ARRAY(
+        SELECT req.id
+        FROM unnest(p_seat_inventory_ids) AS req(id)
+                 LEFT JOIN locked l ON l.id = req.id
+        WHERE l.id IS NULL OR l.status <> 'AVAILABLE'
+        ORDER BY req.id
+    )
+    INTO v_conflicts;
+
+    IF cardinality(v_conflicts) > 0 THEN
+        RETURN QUERY SELECT 'SEAT_CONFLICT'::VARCHAR, NULL::BIGINT, c.id, NULL::VARCHAR,
+                            NULL::VARCHAR, NULL::DECIMAL(10, 2), NULL::DECIMAL(10, 2),
+                            NULL::TIMESTAMP, NULL::TIMESTAMP,
+                            NULL::VARCHAR, NULL::TIMESTAMP
+                     FROM unnest(v_conflicts) AS c(id);
+        RETURN;
+    END IF;
+
+    -- 3. Claim (rows are locked and AVAILABLE, so every requested seat is returned)
+    WITH claimed AS (
+        UPDATE seat_inventory si
+            SET status          = 'LOCKED',
+                locked_at       = CURRENT_TIMESTAMP,
+                locked_by       = p_session_id,
+                lock_expires_at = v_expires_at,
+                version         = si.version + 1
+            WHERE si.id = ANY (p_seat_inventory_ids)
+              AND si.status = 'AVAILABLE'
+            RETURNING si.price
+    )
+    SELECT SUM(claimed.price) INTO v_total FROM claimed;
+
+    -- 4. Booking + booking seats
+    INSERT INTO bookings (booking_reference, user_id, show_id, status, total_seats, total_amount, expires_at)
+    VALUES (p_booking_reference, p_user_id, p_show_id, 'PENDING', v_requested, v_total, v_expires_at)
+    RETURNING bookings.id, bookings.created_at INTO v_booking_id, v_created_at;
+
+    INSERT INTO booking_seats (booking_id, seat_inventory_id, seat_label, price)
+    SELECT v_booking_id, si.id, COALESCE(s.display_label, s.row_label || s.seat_number), si.price
+    FROM seat_inventory si
+             JOIN seats s ON s.id = si.seat_id
+    WHERE si.id = ANY (p_seat_inventory_ids);
+
+    -- 5. Show counter: delta on a random stripe (booking.counter.stripes) instead of the hot shows row
+    INSERT INTO show_seat_counters AS c (show_id, slot, delta)
+    VALUES (p_show_id, floor(random() * GREATEST(1, p_counter_stripes))::SMALLINT, -v_requested)
+    ON CONFLICT (show_id, slot) DO UPDATE SET delta = c.delta + EXCLUDED.delta;
+
+    RETURN QUERY
+        SELECT 'BOOKED'::VARCHAR, v_booking_id, si.id,
+               COALESCE(s.display_label, s.row_label || s.seat_number)::VARCHAR,
+               s.seat_type, si.price, v_total, v_created_at, v_expires_at,
+               v_show.event_title, v_show.start_time
+        FROM seat_inventory si
+                 JOIN seats s ON s.id = si.seat_id
+        WHERE si.id = ANY (p_seat_inventory_ids)
+        ORDER BY si.id;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON FUNCTION book_seats_atomic(BIGINT, BIGINT, BIGINT[], VARCHAR, VARCHAR, INTEGER, INTEGER)
+    IS 'Claims seats and creates a PENDING booking in one round trip; reports conflicting seats';
+
+-- =====================================================
+-- END OF V4 MIGRATION
+-- =====================================================
@@ -0,0 +1,32 @@
+-- =====================================================
+-- GetMyShow - Node id leases for the ID generator
+-- Version: 5.0.0
+-- Description: Every app node leases one of 1024 node ids, so booking references
+--              and ticket numbers generated on different nodes never collide
+-- Used by: shared.id.IdService (NodeIdLeaseRepository)
+-- =====================================================
+
+-- =====================================================
+-- TABLE: id_node_leases
+-- One row per node id (0..1023, the 10 node bits of an ID).
+-- A node claims an expired row with FOR UPDATE SKIP LOCKED and
+-- keeps extending leased_until while it runs.
+-- =====================================================
+CREATE TABLE id_node_leases (
+                                node_id      SMALLINT PRIMARY KEY CHECK (node_id BETWEEN 0 AND 1023),
+                                owner        VARCHAR(100),
+                                leased_until TIMESTAMP NOT NULL DEFAULT '-infinity'
+);
+
+INSERT INTO id_node_leases (node_id)
+SELECT generate_series(0, 1023);
+
+CREATE INDEX idx_id_node_leases_expiry ON id_node_leases(leased_until);
+
+COMMENT ON TABLE id_node_leases IS 'Node id leases of the Snowflake-style ID generator';
+COMMENT ON COLUMN id_node_leases.owner IS 'host:pid:uuid of the node currently holding the id';
+COMMENT ON COLUMN id_node_leases.leased_until IS 'Lease end, the holder stops issuing IDs after this';
+
+-- =====================================================
+-- END OF V5 MIGRATION
+-- =====================================================
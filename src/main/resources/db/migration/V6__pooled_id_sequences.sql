@@ -0,0 +1,48 @@
+-- =====================================================
+-- GetMyShow - Pooled id sequences for bulk-inserted tables
+-- Version: 6.0.0
+-- Description: Hibernate fetches one sequence value per block of ids
+--              (@SequenceGenerator allocationSize) instead of reading back
+--              an IDENTITY per row, which is what lets inserts be JDBC-batched
+-- Used by: SeatInventory, Seat, Booking, BookingSeat, Ticket
+-- =====================================================
+
+-- =====================================================
+-- INCREMENT BY must equal the entity's allocationSize (Hibernate checks it at startup).
+--
+-- Pooled optimizer: a nextval() of N hands Hibernate the ids (N - increment, N].
+--
+-- Sizes follow insert volume: a show materializes its whole seat_inventory
+-- at once (thousands of rows), bookings write a few rows each.
+-- =====================================================
+ALTER SEQUENCE seat_inventory_id_seq INCREMENT BY 500;
+ALTER SEQUENCE seats_id_seq INCREMENT BY 500;
+ALTER SEQUENCE bookings_id_seq INCREMENT BY 50;
+ALTER SEQUENCE booking_seats_id_seq INCREMENT BY 50;
+ALTER SEQUENCE tickets_id_seq INCREMENT BY 50;
+
+-- =====================================================
+-- bookings / booking_seats are also inserted by plain SQL (book_seats_atomic,
+-- column DEFAULT). A DEFAULT nextval() on the pooled sequence would take a whole
+-- Hibernate block for ONE row, so the DEFAULT gets a separate INCREMENT 1
+-- sequence. Its range starts at 10^18, far above anything the pooled sequences
+-- will reach, so the two never hand out the same id. Ids are only unique, never
+-- ordered: every ordering query uses (created_at, id).
+-- =====================================================
+CREATE SEQUENCE bookings_sql_id_seq START WITH 1000000000000000000;
+CREATE SEQUENCE booking_seats_sql_id_seq START WITH 1000000000000000000;
+
+ALTER TABLE bookings
+    ALTER COLUMN id SET DEFAULT nextval('bookings_sql_id_seq');
+ALTER SEQUENCE bookings_sql_id_seq OWNED BY bookings.id;
+
+ALTER TABLE booking_seats
+    ALTER COLUMN id SET DEFAULT nextval('booking_seats_sql_id_seq');
+ALTER SEQUENCE booking_seats_sql_id_seq OWNED BY booking_seats.id;
+
+COMMENT ON SEQUENCE bookings_sql_id_seq IS 'Ids of bookings inserted by SQL (book_seats_atomic); JPA uses bookings_id_seq';
+COMMENT ON SEQUENCE booking_seats_sql_id_seq IS 'Ids of booking_seats inserted by SQL (book_seats_atomic); JPA uses booking_seats_id_seq';
+
+-- =====================================================
+-- END OF V6 MIGRATION
+-- =====================================================
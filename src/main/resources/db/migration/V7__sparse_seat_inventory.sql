@@ -0,0 +1,33 @@
+-- =====================================================
+-- GetMyShow - Sparse seat inventory
+-- Version: 7.0.0
+-- Description: Shows in SPARSE mode only store seat_inventory rows for seats
+--              that were locked at least once; a seat without a row is
+--              AVAILABLE at its tier price
+-- Used by: SeatInventoryMaterializer, SeatInventoryRepository, SeatAvailabilityEngine, BookingService
+-- =====================================================
+
+ALTER TABLE shows
+    ADD COLUMN inventory_mode VARCHAR(20) NOT NULL DEFAULT 'FULL';
+
+ALTER TABLE shows
+    ADD CONSTRAINT chk_show_inventory_mode CHECK (inventory_mode IN ('FULL', 'SPARSE'));
+
+COMMENT ON COLUMN shows.inventory_mode IS
+    'FULL: a seat_inventory row per seat from the start; SPARSE: rows created on first lock';
+
+-- =====================================================
+-- SPARSE rows are created a few per seat lock. Taking them from the pooled
+-- seat_inventory_id_seq (INCREMENT 500, V6) would use up a whole block per lock,
+-- so they get an INCREMENT 1 sequence. Same scheme as bookings_sql_id_seq (V6):
+-- a range of its own, far above the pooled sequence, so the two never hand out
+-- the same id. FULL maps sort rows by id, SPARSE maps look them up by hash:
+-- neither relies on the ids of one show being contiguous.
+-- =====================================================
+CREATE SEQUENCE seat_inventory_sparse_id_seq START WITH 1000000000000000000;
+
+COMMENT ON SEQUENCE seat_inventory_sparse_id_seq IS 'Ids of seat_inventory rows of SPARSE shows; bulk rows use seat_inventory_id_seq';
+
+-- =====================================================
+-- END OF V7 MIGRATION
+-- =====================================================
@@ -0,0 +1,212 @@
+-- =====================================================
+-- GetMyShow - Show price tiers
+-- Version: 8.0.0
+-- Description: One price per (show, seat type) instead of a price on every
+--              seat_inventory row; seat_inventory.price becomes an optional
+--              per-seat override
+-- Used by: ShowPricingService, ShowPriceTierCache, book_seats_atomic
+-- =====================================================
+
+-- =====================================================
+-- TABLE: show_price_tiers
+-- Price of a seat = COALESCE(seat_inventory.price, tier price, shows.base_price)
+--   - Repricing a show is ONE row update per seat type
+--   - revision is bumped on every change, SUM(revision) per show is the
+--     price version clients see in the seat map ETag
+-- =====================================================
+CREATE TABLE show_price_tiers (
+                                  show_id BIGINT NOT NULL,
+                                  seat_type VARCHAR(50) NOT NULL,
+
+                                  price DECIMAL(10, 2) NOT NULL,
+                                  revision BIGINT NOT NULL DEFAULT 1,
+
+                                  created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                                  updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+                                  PRIMARY KEY (show_id, seat_type),
+
+                                  CONSTRAINT fk_price_tier_show FOREIGN KEY (show_id)
+                                      REFERENCES shows(id) ON DELETE CASCADE,
+                                  CONSTRAINT chk_price_tier_price CHECK (price >= 0)
+);
+
+CREATE TRIGGER trg_show_price_tiers_updated_at
+    BEFORE UPDATE ON show_price_tiers
+    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
+
+COMMENT ON TABLE show_price_tiers IS 'Seat price per show and seat type';
+COMMENT ON COLUMN show_price_tiers.revision IS 'Bumped on every price change';
+
+-- Existing shows: most common stored price of each seat type becomes the tier
+INSERT INTO show_price_tiers (show_id, seat_type, price)
+SELECT si.show_id, s.seat_type, mode() WITHIN GROUP (ORDER BY si.price)
+FROM seat_inventory si
+         JOIN seats s ON s.id = si.seat_id
+GROUP BY si.show_id, s.seat_type;
+
+-- =====================================================
+-- seat_inventory.price: NULL = tier price, a value = per-seat override
+-- =====================================================
+ALTER TABLE seat_inventory
+    ALTER COLUMN price DROP NOT NULL;
+
+UPDATE seat_inventory si
+SET price = NULL
+FROM seats s, show_price_tiers t
+WHERE s.id = si.seat_id
+  AND t.show_id = si.show_id
+  AND t.seat_type = s.seat_type
+  AND si.price = t.price;
+
+COMMENT ON COLUMN seat_inventory.price IS 'Per-seat price override, NULL = show_price_tiers price';
+
+-- =====================================================
+-- FUNCTION: book_seats_atomic (replaces V4)
+-- Same contract; seat prices resolved from the show's tiers
+-- =====================================================
+CREATE OR REPLACE FUNCTION book_seats_atomic(
+    p_user_id BIGINT,
+    p_show_id BIGINT,
+    p_seat_inventory_ids BIGINT[],
+    p_session_id VARCHAR,
+    p_booking_reference VARCHAR,
+    p_lock_minutes INTEGER,
+    p_counter_stripes INTEGER
+)
+    RETURNS TABLE (
+        outcome VARCHAR,
+        booking_id BIGINT,
+        seat_inventory_id BIGINT,
+        seat_label VARCHAR,
+        seat_type VARCHAR,
+        price DECIMAL(10, 2),
+        total_amount DECIMAL(10, 2),
+        created_at TIMESTAMP,
+        expires_at TIMESTAMP,
+        event_title VARCHAR,
+        show_start_time TIMESTAMP
+    )
+AS $$
+DECLARE
+    v_show         shows%ROWTYPE;
+    v_requested    INTEGER;
+    v_conflicts    BIGINT[];
+    v_booking_id   BIGINT;
+    v_total        DECIMAL(10, 2);
+    v_created_at   TIMESTAMP;
+    v_expires_at   TIMESTAMP := CURRENT_TIMESTAMP + make_interval(mins => p_lock_minutes);
+BEGIN
+    -- Deduplicate the request
+    SELECT ARRAY(SELECT DISTINCT unnest(p_seat_inventory_ids) ORDER BY 1)
+    INTO p_seat_inventory_ids;
+    v_requested := cardinality(p_seat_inventory_ids);
+
+    -- 1. Show checks (no row lock: the show row is never updated here)
+    SELECT * INTO v_show FROM shows s WHERE s.id = p_show_id;
+
+    IF NOT FOUND THEN
+        RETURN QUERY SELECT 'SHOW_NOT_FOUND'::VARCHAR, NULL::BIGINT, NULL::BIGINT, NULL::VARCHAR,
+                            NULL::VARCHAR, NULL::DECIMAL(10, 2), NULL::DECIMAL(10, 2),
+                            NULL::TIMESTAMP, NULL::TIMESTAMP,
+                            NULL::VARCHAR, NULL::TIMESTAMP;
+        RETURN;
+    END IF;
+
+    IF v_show.status <> 'BOOKING_OPEN'
+        OR (v_show.booking_opens_at IS NOT NULL AND CURRENT_TIMESTAMP < v_show.booking_opens_at)
+        OR (v_show.booking_closes_at IS NOT NULL AND CURRENT_TIMESTAMP > v_show.booking_closes_at)
+        OR v_show.available_seats + (SELECT COALESCE(SUM(c.delta), 0)
+                                     FROM show_seat_counters c
+                                     WHERE c.show_id = p_show_id) < v_requested THEN
+        RETURN QUERY SELECT 'SHOW_NOT_BOOKABLE'::VARCHAR, NULL::BIGINT, NULL::BIGINT, NULL::VARCHAR,
+                            NULL::VARCHAR, NULL::DECIMAL(10, 2), NULL::DECIMAL(10, 2),
+                            NULL::TIMESTAMP, NULL::TIMESTAMP,
+                            NULL::VARCHAR, NULL::TIMESTAMP;
+        RETURN;
+    END IF;
+
+    -- 2. Lock requested rows in id order, collect every seat we cannot take
+    WITH locked AS (
+        SELECT si.id, si.status
+        FROM seat_inventory si
+        WHERE si.show_id = p_show_id
+          AND si.id = ANY (p_seat_inventory_ids)
+        ORDER BY si.id
+        FOR UPDATE
+    )
+    SELECT ARRAY(
+        SELECT req.id
+        FROM unnest(p_seat_inventory_ids) AS req(id)
+                 LEFT JOIN locked l ON l.id = req.id
+        WHERE l.id IS NULL OR l.status <> 'AVAILABLE'
+        ORDER BY req.id
+    )
+    INTO v_conflicts;
+
+    IF cardinality(v_conflicts) > 0 THEN
+        RETURN QUERY SELECT 'SEAT_CONFLICT'::VARCHAR, NULL::BIGINT, c.id, NULL::VARCHAR,
+                            NULL::VARCHAR, NULL::DECIMAL(10, 2), NULL::DECIMAL(10, 2),
+                            NULL::TIMESTAMP, NULL::TIMESTAMP,
+                            NULL::VARCHAR, NULL::TIMESTAMP
+                     FROM unnest(v_conflicts) AS c(id);
+        RETURN;
+    END IF;
+
+    -- 3. Claim (rows are locked and AVAILABLE, so every requested seat is returned)
+    --    Seat prices: override, else the show's tier, else the show's base price
+    WITH claimed AS (
+        UPDATE seat_inventory si
+            SET status          = 'LOCKED',
+                locked_at       = CURRENT_TIMESTAMP,
+                locked_by       = p_session_id,
+                lock_expires_at = v_expires_at,
+                version         = si.version + 1
+            WHERE si.id = ANY (p_seat_inventory_ids)
+              AND si.status = 'AVAILABLE'
+            RETURNING si.seat_id, si.price
+    )
+    SELECT SUM(COALESCE(claimed.price, t.price, v_show.base_price))
+    INTO v_total
+    FROM claimed
+             JOIN seats s ON s.id = claimed.seat_id
+             LEFT JOIN show_price_tiers t ON t.show_id = p_show_id AND t.seat_type = s.seat_type;
+
+    -- 4. Booking + booking seats (price captured at booking time)
+    INSERT INTO bookings (booking_reference, user_id, show_id, status, total_seats, total_amount, expires_at)
+    VALUES (p_booking_reference, p_user_id, p_show_id, 'PENDING', v_requested, v_total, v_expires_at)
+    RETURNING bookings.id, bookings.created_at INTO v_booking_id, v_created_at;
+
+    INSERT INTO booking_seats (booking_id, seat_inventory_id, seat_label, price)
+    SELECT v_booking_id, si.id, COALESCE(s.display_label, s.row_label || s.seat_number),
+           COALESCE(si.price, t.price, v_show.base_price)
+    FROM seat_inventory si
+             JOIN seats s ON s.id = si.seat_id
+             LEFT JOIN show_price_tiers t ON t.show_id = si.show_id AND t.seat_type = s.seat_type
+    WHERE si.id = ANY (p_seat_inventory_ids);
+
+    -- 5. Show counter: delta on a random stripe (booking.counter.stripes) instead of the hot shows row
+    INSERT INTO show_seat_counters AS c (show_id, slot, delta)
+    VALUES (p_show_id, floor(random() * GREATEST(1, p_counter_stripes))::SMALLINT, -v_requested)
+    ON CONFLICT (show_id, slot) DO UPDATE SET delta = c.delta + EXCLUDED.delta;
+
+    RETURN QUERY
+        SELECT 'BOOKED'::VARCHAR, v_booking_id, si.id,
+               COALESCE(s.display_label, s.row_label || s.seat_number)::VARCHAR,
+               s.seat_type, COALESCE(si.price, t.price, v_show.base_price), v_total,
+               v_created_at, v_expires_at,
+               v_show.event_title, v_show.start_time
+        FROM seat_inventory si
+                 JOIN seats s ON s.id = si.seat_id
+                 LEFT JOIN show_price_tiers t ON t.show_id = si.show_id AND t.seat_type = s.seat_type
+        WHERE si.id = ANY (p_seat_inventory_ids)
+        ORDER BY si.id;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON FUNCTION book_seats_atomic(BIGINT, BIGINT, BIGINT[], VARCHAR, VARCHAR, INTEGER, INTEGER)
+    IS 'Claims seats and creates a PENDING booking in one round trip; reports conflicting seats';
+
+-- =====================================================
+-- END OF V8 MIGRATION
+-- =====================================================
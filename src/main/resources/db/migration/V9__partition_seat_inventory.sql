@@ -0,0 +1,191 @@
+-- =====================================================
+-- GetMyShow - Partitioned seat inventory
+-- Version: 9.0.0
+-- Description: seat_inventory range-partitioned by the show's start date,
+--              one partition per month, so tonight's on-sale never shares
+--              indexes with last year's shows
+-- Used by: SeatInventoryPartitionManager (premake / detach),
+--          SeatInventoryMaterializer (partition of far-future shows)
+-- =====================================================
+
+-- =====================================================
+-- FUNCTION: create_seat_inventory_partition
+-- Creates the monthly partition holding p_day if it does not exist yet.
+-- Safe to call concurrently from several nodes. Returns the partition name.
+-- =====================================================
+CREATE OR REPLACE FUNCTION create_seat_inventory_partition(p_day DATE)
+    RETURNS TEXT
+AS $$
+DECLARE
+    v_from DATE := date_trunc('month', p_day)::DATE;
+    v_to   DATE := (date_trunc('month', p_day) + INTERVAL '1 month')::DATE;
+    v_name TEXT := 'seat_inventory_p' || to_char(p_day, 'YYYYMM');
+BEGIN
+    IF to_regclass(v_name) IS NULL THEN
+        BEGIN
+            EXECUTE format('CREATE TABLE %I PARTITION OF seat_inventory FOR VALUES FROM (%L) TO (%L)',
+                           v_name, v_from, v_to);
+        EXCEPTION
+            WHEN duplicate_table THEN
+                NULL;  -- created by another node in the meantime
+        END;
+    END IF;
+    RETURN v_name;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON FUNCTION create_seat_inventory_partition(DATE)
+    IS 'Creates the monthly seat_inventory partition of a day (idempotent)';
+
+-- =====================================================
+-- TABLE: seat_inventory (partitioned)
+-- Same columns as V1 + show_date = shows.start_time::DATE (partition key)
+--   - The partition key must be part of every unique constraint, so the
+--     primary key is (id, show_date) and uq_seat_per_show is
+--     (show_id, seat_id, show_date); show_date follows from show_id, so
+--     a seat is still unique per show
+--   - booking_seats.seat_inventory_id can no longer be a foreign key
+--     (it would have to carry show_date), and expired partitions must be
+--     detachable / droppable without cascading into bookings
+-- =====================================================
+CREATE TABLE seat_inventory_partitioned (
+                                            id BIGINT NOT NULL,
+                                            show_id BIGINT NOT NULL,
+                                            seat_id BIGINT NOT NULL,
+                                            show_date DATE NOT NULL,
+
+    -- Pricing (NULL = show_price_tiers price)
+                                            price DECIMAL(10, 2),
+
+    -- Status Management
+                                            status VARCHAR(50) NOT NULL DEFAULT 'AVAILABLE',
+
+    -- Concurrency Control
+                                            version BIGINT NOT NULL DEFAULT 0,
+                                            locked_at TIMESTAMP,
+                                            locked_by VARCHAR(255),
+                                            lock_expires_at TIMESTAMP,
+
+    -- Booking Reference
+                                            booking_id BIGINT,
+
+    -- Timestamps
+                                            created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                                            updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+) PARTITION BY RANGE (show_date);
+
+-- Partitions for every existing show plus the next three months
+DO $$
+DECLARE
+    v_month DATE;
+    v_last  DATE := date_trunc('month', CURRENT_DATE + INTERVAL '3 months')::DATE;
+BEGIN
+    SELECT date_trunc('month', LEAST(MIN(s.start_time)::DATE, CURRENT_DATE))::DATE
+    INTO v_month
+    FROM shows s;
+
+    v_month := COALESCE(v_month, date_trunc('month', CURRENT_DATE)::DATE);
+    v_last := GREATEST(v_last, (SELECT date_trunc('month', MAX(s.start_time))::DATE FROM shows s));
+
+    WHILE v_month <= v_last LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF seat_inventory_partitioned FOR VALUES FROM (%L) TO (%L)',
+                       'seat_inventory_p' || to_char(v_month, 'YYYYMM'),
+                       v_month, (v_month + INTERVAL '1 month')::DATE);
+        v_month := (v_month + INTERVAL '1 month')::DATE;
+    END LOOP;
+END;
+$$;
+
+INSERT INTO seat_inventory_partitioned (id, show_id, seat_id, show_date, price, status, version,
+                                        locked_at, locked_by, lock_expires_at, booking_id,
+                                        created_at, updated_at)
+SELECT si.id, si.show_id, si.seat_id, sh.start_time::DATE, si.price, si.status, si.version,
+       si.locked_at, si.locked_by, si.lock_expires_at, si.booking_id,
+       si.created_at, si.updated_at
+FROM seat_inventory si
+         JOIN shows sh ON sh.id = si.show_id;
+
+-- Keep the id sequence (pooled, see V6) when the old table goes
+ALTER SEQUENCE seat_inventory_id_seq OWNED BY NONE;
+
+ALTER TABLE booking_seats DROP CONSTRAINT fk_booking_seat_inventory;
+
+DROP TABLE seat_inventory;
+
+ALTER TABLE seat_inventory_partitioned RENAME TO seat_inventory;
+
+ALTER TABLE seat_inventory
+    ALTER COLUMN id SET DEFAULT nextval('seat_inventory_id_seq');
+ALTER SEQUENCE seat_inventory_id_seq OWNED BY seat_inventory.id;
+
+ALTER TABLE seat_inventory
+    ADD CONSTRAINT seat_inventory_pkey PRIMARY KEY (id, show_date),
+    ADD CONSTRAINT uq_seat_per_show UNIQUE (show_id, seat_id, show_date),
+    ADD CONSTRAINT fk_inventory_show FOREIGN KEY (show_id)
+        REFERENCES shows(id) ON DELETE CASCADE,
+    ADD CONSTRAINT fk_inventory_seat FOREIGN KEY (seat_id)
+        REFERENCES seats(id) ON DELETE RESTRICT,
+    ADD CONSTRAINT chk_inventory_status CHECK (
+        status IN ('AVAILABLE', 'LOCKED', 'BOOKED', 'BLOCKED')
+        ),
+    ADD CONSTRAINT chk_inventory_price CHECK (price >= 0),
+    ADD CONSTRAINT chk_lock_consistency CHECK (
+        (status = 'LOCKED' AND locked_at IS NOT NULL AND lock_expires_at IS NOT NULL) OR
+        (status != 'LOCKED')
+        ),
+    ADD CONSTRAINT chk_booking_consistency CHECK (
+        (status = 'BOOKED' AND booking_id IS NOT NULL) OR
+        (status != 'BOOKED')
+        );
+
+-- Same indexes as V1, created on every partition
+-- (idx_inventory_show is gone: uq_seat_per_show starts with show_id)
+CREATE INDEX idx_inventory_show_status ON seat_inventory(show_id, status);
+
+CREATE INDEX idx_inventory_available ON seat_inventory(show_id, seat_id)
+    WHERE status = 'AVAILABLE';
+
+CREATE INDEX idx_inventory_expired_locks ON seat_inventory(status, lock_expires_at)
+    WHERE status = 'LOCKED';
+
+CREATE INDEX idx_inventory_locked_by ON seat_inventory(locked_by, show_id)
+    WHERE status = 'LOCKED';
+
+CREATE TRIGGER trg_seat_inventory_updated_at
+    BEFORE UPDATE ON seat_inventory
+    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
+
+COMMENT ON TABLE seat_inventory IS 'HOT table: Real-time seat status per show, one partition per show month';
+COMMENT ON COLUMN seat_inventory.show_date IS 'shows.start_time::DATE, partition key';
+COMMENT ON COLUMN seat_inventory.price IS 'Per-seat price override, NULL = show_price_tiers price';
+COMMENT ON COLUMN seat_inventory.version IS 'Optimistic locking for race condition prevention';
+COMMENT ON COLUMN seat_inventory.lock_expires_at IS 'TTL for automatic lock release';
+
+-- =====================================================
+-- TRIGGER: a rescheduled show moves its inventory along
+-- (UPDATE of the partition key moves the rows to the right partition)
+-- =====================================================
+CREATE OR REPLACE FUNCTION move_seat_inventory_with_show()
+    RETURNS TRIGGER
+AS $$
+BEGIN
+    PERFORM create_seat_inventory_partition(NEW.start_time::DATE);
+
+    UPDATE seat_inventory
+    SET show_date = NEW.start_time::DATE
+    WHERE show_id = NEW.id
+      AND show_date = OLD.start_time::DATE;
+
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_shows_move_seat_inventory
+    AFTER UPDATE OF start_time ON shows
+    FOR EACH ROW
+    WHEN (OLD.start_time::DATE IS DISTINCT FROM NEW.start_time::DATE)
+    EXECUTE FUNCTION move_seat_inventory_with_show();
+
+-- =====================================================
+-- END OF V9 MIGRATION
+-- =====================================================
@@ -0,0 +1,137 @@
+package com.raju.getmyshow.booking.archive;
+
+import com.raju.getmyshow.booking.entity.SeatInventoryArchive;
+import com.raju.getmyshow.booking.entity.SeatStatus;
+import com.raju.getmyshow.booking.repository.projection.InventorySeatRow;
+import com.raju.getmyshow.eventcatalog.domain.entity.Seat;
+import com.raju.getmyshow.eventcatalog.domain.enums.SeatType;
+import com.raju.getmyshow.eventcatalog.layout.ScreenLayout;
+import com.raju.getmyshow.shared.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Encode -> archive columns -> decode keeps every seat's position, status, booking and inventory id.
+ */
+class ArchivedSeatMapTest {
+
+    // Two runs of seat ids, 9 seats: the status bitmap spans three bytes
+    private static final long[] SEAT_IDS = {101, 102, 103, 104, 105, 201, 202, 203, 204};
+
+    @Test
+    void roundTripKeepsEverySeat() {
+        ScreenLayout layout = layout(SEAT_IDS);
+        List<InventorySeatRow> rows = List.of(
+                row(5001, 101, SeatStatus.AVAILABLE, null),
+                row(5002, 102, SeatStatus.BOOKED, 70L),
+                row(5003, 103, SeatStatus.BLOCKED, null),
+                row(5004, 104, SeatStatus.LOCKED, null),
+                row(5005, 105, SeatStatus.BOOKED, 70L),
+                // 201 never got a row (SPARSE)
+                row(9001, 202, SeatStatus.BOOKED, 71L),
+                row(9002, 203, SeatStatus.AVAILABLE, null),
+                row(9010, 204, SeatStatus.LOCKED, null));
+
+        ArchivedSeatMap encoded = ArchivedSeatMap.encode(layout, rows);
+        ArchivedSeatMap decoded = ArchivedSeatMap.decode(archive(encoded));
+
+        assertThat(encoded.seatIdRunsLiteral()).isEqualTo("{101,5,201,4}");
+        assertThat(encoded.inventoryIdRunsLiteral()).isEqualTo("{0,5001,5,6,9001,2,8,9010,1}");
+        assertThat(decoded.size()).isEqualTo(SEAT_IDS.length);
+        assertThat(decoded.getBookedSeats()).isEqualTo(3);
+
+        SeatStatus[] statuses = {SeatStatus.AVAILABLE, SeatStatus.BOOKED, SeatStatus.BLOCKED, SeatStatus.LOCKED,
+                SeatStatus.BOOKED, SeatStatus.AVAILABLE, SeatStatus.BOOKED, SeatStatus.AVAILABLE, SeatStatus.LOCKED};
+        long[] inventoryIds = {5001, 5002, 5003, 5004, 5005, 0, 9001, 9002, 9010};
+        Long[] bookingIds = {null, 70L, null, null, 70L, null, 71L, null, null};
+        for (int position = 0; position < SEAT_IDS.length; position++) {
+            assertThat(decoded.seatIdAt(position)).isEqualTo(SEAT_IDS[position]);
+            assertThat(decoded.indexOf(SEAT_IDS[position])).isEqualTo(position);
+            assertThat(decoded.statusAt(position)).as("status at %d", position).isEqualTo(statuses[position]);
+            assertThat(decoded.inventoryIdAt(position)).as("inventory id at %d", position).isEqualTo(inventoryIds[position]);
+            assertThat(decoded.bookingIdAt(position)).as("booking id at %d", position).isEqualTo(bookingIds[position]);
+        }
+        assertThat(decoded.indexOf(106)).isEqualTo(-1);
+    }
+
+    @Test
+    void rowOfASeatOutsideTheLayoutIsRejected() {
+        ScreenLayout layout = layout(new long[]{101, 102});
+
+        assertThatThrownBy(() -> ArchivedSeatMap.encode(layout, List.of(
+                row(5001, 101, SeatStatus.BOOKED, 70L),
+                row(5003, 103, SeatStatus.BOOKED, 70L))))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageStartingWith("ARCHIVE_SEAT_NOT_IN_LAYOUT");
+    }
+
+    private static ScreenLayout layout(long[] seatIds) {
+        List<Seat> seats = new ArrayList<>();
+        for (long seatId : seatIds) {
+            seats.add(Seat.builder()
+                    .id(seatId)
+                    .rowLabel(seatId < 200 ? "A" : "B")
+                    .seatNumber((int) (seatId % 100))
+                    .seatType(SeatType.REGULAR)
+                    .build());
+        }
+        return ScreenLayout.of(1L, seats);
+    }
+
+    /**
+     * The archive row as the insert query stores the encoded columns
+     */
+    private static SeatInventoryArchive archive(ArchivedSeatMap seatMap) {
+        SeatInventoryArchive archive = mock(SeatInventoryArchive.class);
+        when(archive.getSeatCount()).thenReturn(seatMap.size());
+        when(archive.getSeatIdRuns()).thenReturn(longs(seatMap.seatIdRunsLiteral()));
+        when(archive.getInventoryIdRuns()).thenReturn(longs(seatMap.inventoryIdRunsLiteral()));
+        when(archive.getStatuses()).thenReturn(seatMap.statuses());
+        when(archive.getBookingIds()).thenReturn(Arrays.stream(values(seatMap.bookingIdsLiteral()))
+                .map(value -> value.equals("NULL") ? null : Long.valueOf(value))
+                .toArray(Long[]::new));
+        when(archive.getBookedSeats()).thenReturn(seatMap.getBookedSeats());
+        return archive;
+    }
+
+    private static long[] longs(String literal) {
+        return Arrays.stream(values(literal)).mapToLong(Long::parseLong).toArray();
+    }
+
+    private static String[] values(String literal) {
+        String body = literal.substring(1, literal.length() - 1);
+        return body.isEmpty() ? new String[0] : body.split(",");
+    }
+
+    private static InventorySeatRow row(long seatInventoryId, long seatId, SeatStatus status, Long bookingId) {
+        return new InventorySeatRow() {
+            @Override
+            public Long getSeatInventoryId() {
+                return seatInventoryId;
+            }
+
+            @Override
+            public Long getSeatId() {
+                return seatId;
+            }
+
+            @Override
+            public String getStatus() {
+                return status.name();
+            }
+
+            @Override
+            public Long getBookingId() {
+                return bookingId;
+            }
+        };
+    }
+}
@@ -0,0 +1,159 @@
+package com.raju.getmyshow.booking.availability;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.raju.getmyshow.booking.dto.response.AvailableSeatsResponse;
+import com.raju.getmyshow.booking.dto.response.CompactSeatMapResponse;
+import com.raju.getmyshow.booking.dto.response.SeatDto;
+import com.raju.getmyshow.booking.entity.SeatStatus;
+import com.raju.getmyshow.booking.pricing.PriceTiers;
+import com.raju.getmyshow.eventcatalog.domain.entity.Seat;
+import com.raju.getmyshow.eventcatalog.domain.enums.SeatType;
+import com.raju.getmyshow.eventcatalog.layout.ScreenLayout;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JSON seat list vs compact bitmap seat map for a stadium-sized show (60k seats).
+ *
+ * No Spring context / DB needed. Not part of the normal build, run with:
+ *   ./gradlew benchmark --tests '*CompactSeatMapBenchmarkTest'
+ */
+@Tag("benchmark")
+class CompactSeatMapBenchmarkTest {
+
+    private static final int ROWS = 200;
+    private static final int SEATS_PER_ROW = 300;
+    private static final double BOOKED_RATIO = 0.4;
+    private static final int ITERATIONS = 50;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void compareJsonAndCompact() throws Exception {
+        ShowSeatMap seatMap = stadiumSeatMap();
+
+        Supplier<Object> json = () -> jsonResponse(seatMap);
+        Supplier<Object> compact = () -> CompactSeatMapEncoder.encode(seatMap);
+
+        Result jsonResult = measure(json);
+        Result compactResult = measure(compact);
+
+        System.out.printf("%n%-10s %12s %12s %12s%n", "format", "bytes", "gzip bytes", "encode ms");
+        System.out.printf("%-10s %12d %12d %12.2f%n", "json", jsonResult.bytes, jsonResult.gzipBytes, jsonResult.millis);
+        System.out.printf("%-10s %12d %12d %12.2f%n", "compact", compactResult.bytes, compactResult.gzipBytes, compactResult.millis);
+
+        assertThat(compactResult.bytes).isLessThan(jsonResult.bytes / 10);
+        assertThat(compactResult.gzipBytes).isLessThan(jsonResult.gzipBytes);
+    }
+
+    @Test
+    void compactBitmapMatchesSeatStates() {
+        ShowSeatMap seatMap = stadiumSeatMap();
+        CompactSeatMapResponse compact = CompactSeatMapEncoder.encode(seatMap);
+
+        int available = 0;
+        for (CompactSeatMapResponse.Row row : compact.getRows()) {
+            byte[] bits = Base64.getDecoder().decode(row.getAvailable());
+            for (int index = 0; index < row.getCount(); index++) {
+                boolean bit = (bits[index >>> 3] & (1 << (index & 7))) != 0;
+                int position = seatMap.indexOf(inventoryIdOf(compact, row.getStart() + index));
+                assertThat(bit).isEqualTo(seatMap.statusAt(position) == SeatStatus.AVAILABLE);
+                available += bit ? 1 : 0;
+            }
+        }
+        assertThat(available).isEqualTo(seatMap.getAvailableCount());
+        assertThat(compact.getInventoryIdRuns()).hasSize(1);
+    }
+
+    private long inventoryIdOf(CompactSeatMapResponse compact, int layoutPosition) {
+        for (long[] run : compact.getInventoryIdRuns()) {
+            if (layoutPosition >= run[0] && layoutPosition < run[0] + run[2]) {
+                return run[1] + (layoutPosition - run[0]);
+            }
+        }
+        throw new IllegalArgumentException("No inventory for position " + layoutPosition);
+    }
+
+    private AvailableSeatsResponse jsonResponse(ShowSeatMap seatMap) {
+        int[] availablePositions = seatMap.availablePositions();
+        List<SeatDto> seats = new ArrayList<>(availablePositions.length);
+        for (int position : availablePositions) {
+            seats.add(SeatMapViews.toSeatDto(seatMap, position, SeatStatus.AVAILABLE));
+        }
+        return AvailableSeatsResponse.builder()
+                .showId(seatMap.getShowId())
+                .eventTitle(seatMap.getEventTitle())
+                .totalSeats(seatMap.getTotalSeats())
+                .availableSeats(availablePositions.length)
+                .seats(seats)
+                .version(seatMap.getVersion())
+                .build();
+    }
+
+    private Result measure(Supplier<Object> response) throws Exception {
+        byte[] body = objectMapper.writeValueAsBytes(response.get());
+
+        // Warm up, then time build + serialize
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            objectMapper.writeValueAsBytes(response.get());
+        }
+        long started = System.nanoTime();
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            objectMapper.writeValueAsBytes(response.get());
+        }
+        double millis = (System.nanoTime() - started) / 1_000_000.0 / ITERATIONS;
+
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(gzipped)) {
+            gzip.write(body);
+        }
+        return new Result(body.length, gzipped.size(), millis);
+    }
+
+    private ShowSeatMap stadiumSeatMap() {
+        List<Seat> seats = new ArrayList<>(ROWS * SEATS_PER_ROW);
+        long seatId = 1;
+        for (int row = 0; row < ROWS; row++) {
+            String rowLabel = "R" + row;
+            for (int number = 1; number <= SEATS_PER_ROW; number++) {
+                seats.add(Seat.builder()
+                        .id(seatId++)
+                        .rowLabel(rowLabel)
+                        .seatNumber(number)
+                        .seatType(row < 20 ? SeatType.VIP : SeatType.REGULAR)
+                        .isAccessible(number == 1)
+                        .isAisle(number == 1 || number == SEATS_PER_ROW)
+                        .isBlocked(false)
+                        .build());
+            }
+        }
+        ScreenLayout layout = ScreenLayout.of(1L, seats);
+
+        Random random = new Random(42);
+        PriceTiers priceTiers = new PriceTiers(1L, new BigDecimal("800.00"),
+                Map.of(SeatType.REGULAR, new BigDecimal("800.00"), SeatType.VIP, new BigDecimal("2500.00")), 2);
+        ShowSeatMap.Builder builder = ShowSeatMap.builder(1L, "Stadium Final", seats.size(), layout,
+                seats.size(), 4096, 0, priceTiers);
+        long inventoryId = 1_000_000;
+        for (Seat seat : seats) {
+            SeatStatus status = random.nextDouble() < BOOKED_RATIO ? SeatStatus.BOOKED : SeatStatus.AVAILABLE;
+            builder.seat(inventoryId++, seat.getId(), null, status);
+        }
+        return builder.build();
+    }
+
+    private record Result(int bytes, int gzipBytes, double millis) {
+    }
+}
@@ -0,0 +1,248 @@
+package com.raju.getmyshow.booking.availability;
+
+import com.raju.getmyshow.booking.config.BookingProperties;
+import com.raju.getmyshow.booking.entity.SeatInventory;
+import com.raju.getmyshow.booking.entity.SeatStatus;
+import com.raju.getmyshow.booking.pricing.PriceTiers;
+import com.raju.getmyshow.booking.pricing.ShowPriceTierCache;
+import com.raju.getmyshow.booking.repository.SeatInventoryRepository;
+import com.raju.getmyshow.eventcatalog.config.EventCatalogProperties;
+import com.raju.getmyshow.eventcatalog.domain.entity.Screen;
+import com.raju.getmyshow.eventcatalog.domain.entity.Seat;
+import com.raju.getmyshow.eventcatalog.domain.entity.Show;
+import com.raju.getmyshow.eventcatalog.domain.enums.SeatType;
+import com.raju.getmyshow.eventcatalog.layout.ScreenLayoutCache;
+import com.raju.getmyshow.eventcatalog.repository.SeatRepository;
+import com.raju.getmyshow.eventcatalog.repository.ShowRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Loading and changes against mocked repositories: one load serves every read until it
+ * goes stale, a change committed while a load runs is not lost by publishing it, and a
+ * reload keeps the version clients hold.
+ */
+class SeatAvailabilityEngineTest {
+
+    private static final long SHOW_ID = 7L;
+    private static final long SCREEN_ID = 5L;
+    private static final LocalDateTime START = LocalDate.of(2030, 1, 1).atTime(18, 0);
+
+    private final SeatInventoryRepository seatInventoryRepository = mock(SeatInventoryRepository.class);
+    private final SeatRepository seatRepository = mock(SeatRepository.class);
+    private final ShowRepository showRepository = mock(ShowRepository.class);
+    private final BookingProperties bookingProperties = new BookingProperties();
+    private final ScreenLayoutCache screenLayoutCache = new ScreenLayoutCache(
+            seatRepository, new EventCatalogProperties());
+    private final ShowPriceTierCache showPriceTierCache = mock(ShowPriceTierCache.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final SeatAvailabilityEngine engine = new SeatAvailabilityEngine(
+            seatInventoryRepository, screenLayoutCache, showRepository, showPriceTierCache,
+            bookingProperties, eventPublisher);
+
+    @Test
+    void oneLoadServesEveryReadUntilItIsStale() {
+        givenShow();
+        when(seatInventoryRepository.findByShowIdAndShowDate(SHOW_ID, START.toLocalDate())).thenAnswer(invocation -> inventory());
+
+        ShowSeatMap seatMap = engine.getSeatMap(SHOW_ID);
+
+        assertThat(engine.getSeatMap(SHOW_ID)).isSameAs(seatMap);
+        assertThat(seatMap.availablePositions()).containsExactly(0, 1, 2);
+        verify(seatInventoryRepository, times(1)).findByShowIdAndShowDate(SHOW_ID, START.toLocalDate());
+
+        bookingProperties.getAvailability().setRefreshIntervalSeconds(-1);
+        assertThat(engine.getSeatMap(SHOW_ID)).isNotSameAs(seatMap);
+        verify(seatInventoryRepository, times(2)).findByShowIdAndShowDate(SHOW_ID, START.toLocalDate());
+    }
+
+    @Test
+    void invalidatedLayoutMakesTheMapStale() {
+        givenShow();
+        when(seatInventoryRepository.findByShowIdAndShowDate(SHOW_ID, START.toLocalDate())).thenAnswer(invocation -> inventory());
+        ShowSeatMap seatMap = engine.getSeatMap(SHOW_ID);
+
+        screenLayoutCache.invalidate(SCREEN_ID);
+
+        assertThat(seatMap.getLayout().isCurrent()).isFalse();
+        assertThat(engine.getSeatMap(SHOW_ID)).isNotSameAs(seatMap);
+        verify(seatRepository, times(2)).findByScreenIdOrderById(SCREEN_ID);
+    }
+
+    @Test
+    void changeCommittedDuringALoadIsReplayedOntoTheLoadedMap() {
+        givenShow();
+        when(seatInventoryRepository.findByShowIdAndShowDate(SHOW_ID, START.toLocalDate())).thenAnswer(invocation -> {
+            // Read before the booking committed: seat 20 still AVAILABLE in the rows
+            List<SeatInventory> rows = inventory();
+            engine.markLocked(SHOW_ID, List.of(20L));
+            return rows;
+        });
+
+        ShowSeatMap seatMap = engine.getSeatMap(SHOW_ID);
+
+        assertThat(seatMap.statusAt(seatMap.indexOf(20L))).isEqualTo(SeatStatus.LOCKED);
+        assertThat(seatMap.availablePositions()).containsExactly(0, 2);
+    }
+
+    @Test
+    void changesAfterTheLoadGoToTheLoadedMapOnly() {
+        givenShow();
+        when(seatInventoryRepository.findByShowIdAndShowDate(SHOW_ID, START.toLocalDate())).thenAnswer(invocation -> inventory());
+        ShowSeatMap seatMap = engine.getSeatMap(SHOW_ID);
+
+        engine.markBooked(SHOW_ID, List.of(10L, 30L));
+        engine.markReleased(SHOW_ID, List.of(30L));
+
+        assertThat(seatMap.availablePositions()).containsExactly(1, 2);
+        assertThat(engine.findLoaded(SHOW_ID)).containsSame(seatMap);
+
+        engine.evict(SHOW_ID);
+        assertThat(engine.findLoaded(SHOW_ID)).isEmpty();
+    }
+
+    @Test
+    void changedSeatsArePublishedWithTheNewVersion() {
+        givenShow();
+        when(seatInventoryRepository.findByShowIdAndShowDate(SHOW_ID, START.toLocalDate())).thenAnswer(invocation -> inventory());
+        engine.getSeatMap(SHOW_ID);
+
+        engine.markLocked(SHOW_ID, List.of(10L, 20L));
+        engine.markLocked(SHOW_ID, List.of(20L));
+
+        // Second call changed nothing: no event
+        verify(eventPublisher).publishEvent(new SeatMapChangedEvent(SHOW_ID, 2));
+        verify(eventPublisher, times(1)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void changeCommittedDuringAReloadIsNotJournaledAsReverted() {
+        givenShow();
+        AtomicInteger loads = new AtomicInteger();
+        when(seatInventoryRepository.findByShowIdAndShowDate(SHOW_ID, START.toLocalDate())).thenAnswer(invocation -> {
+            List<SeatInventory> rows = inventory();
+            if (loads.incrementAndGet() == 2) {
+                // Reload reads seat 20 LOCKED, seat 30 is booked right after the read
+                rows.get(1).lock("reload-test", 10);
+                engine.markBooked(SHOW_ID, List.of(30L));
+            }
+            return rows;
+        });
+        ShowSeatMap previous = engine.getSeatMap(SHOW_ID);
+        engine.markLocked(SHOW_ID, List.of(20L));
+
+        bookingProperties.getAvailability().setRefreshIntervalSeconds(-1);
+        ShowSeatMap reloaded = engine.getSeatMap(SHOW_ID);
+
+        assertThat(reloaded).isNotSameAs(previous);
+        assertThat(reloaded.getVersion()).isEqualTo(previous.getVersion()).isEqualTo(2);
+        assertThat(reloaded.changesSince(2).changes()).isEmpty();
+        assertThat(reloaded.statusAt(reloaded.indexOf(30L))).isEqualTo(SeatStatus.BOOKED);
+        verify(eventPublisher, never()).publishEvent(new SeatMapChangedEvent(SHOW_ID, 3));
+    }
+
+    @Test
+    void currentVersionNeverLoadsAMap() {
+        givenShow();
+        when(seatInventoryRepository.findByShowIdAndShowDate(SHOW_ID, START.toLocalDate())).thenAnswer(invocation -> inventory());
+
+        assertThat(engine.currentVersion(SHOW_ID)).isNull();
+        verify(seatInventoryRepository, never()).findByShowIdAndShowDate(SHOW_ID, START.toLocalDate());
+
+        ShowSeatMap seatMap = engine.getSeatMap(SHOW_ID);
+        engine.markLocked(SHOW_ID, List.of(10L));
+        assertThat(engine.currentVersion(SHOW_ID)).isEqualTo(new SeatMapVersion(seatMap.getEpoch(), 1, 3));
+    }
+
+    @Test
+    void reloadKeepsTheEpochEvictionStartsANewOne() {
+        givenShow();
+        when(seatInventoryRepository.findByShowIdAndShowDate(SHOW_ID, START.toLocalDate())).thenAnswer(invocation -> inventory());
+        long epoch = engine.getSeatMap(SHOW_ID).getEpoch();
+
+        bookingProperties.getAvailability().setRefreshIntervalSeconds(-1);
+        assertThat(engine.getSeatMap(SHOW_ID).getEpoch()).isEqualTo(epoch);
+
+        engine.evict(SHOW_ID);
+        assertThat(engine.getSeatMap(SHOW_ID).getEpoch()).isNotEqualTo(epoch);
+    }
+
+    @Test
+    void mapsLoadedLongestAgoAreEvictedFirst() {
+        bookingProperties.getAvailability().setMaxShows(2);
+        for (long showId = 1; showId <= 3; showId++) {
+            givenShow(showId);
+        }
+        when(seatInventoryRepository.findByShowIdAndShowDate(any(), any())).thenAnswer(invocation -> inventory());
+
+        engine.getSeatMap(1L);
+        engine.getSeatMap(2L);
+        engine.getSeatMap(3L);
+
+        assertThat(engine.findLoaded(1L)).isEmpty();
+        assertThat(engine.findLoaded(2L)).isPresent();
+        assertThat(engine.findLoaded(3L)).isPresent();
+    }
+
+    private void givenShow() {
+        givenShow(SHOW_ID);
+    }
+
+    private void givenShow(long showId) {
+        Screen screen = Screen.builder().build();
+        screen.setId(SCREEN_ID);
+        when(showRepository.findById(showId)).thenReturn(Optional.of(Show.builder()
+                .screen(screen)
+                .startTime(START)
+                .eventTitle("Show " + showId)
+                .totalSeats(3)
+                .build()));
+        when(seatRepository.findByScreenIdOrderById(SCREEN_ID)).thenReturn(List.of(seat(1L), seat(2L), seat(3L)));
+        when(showPriceTierCache.get(showId)).thenReturn(new PriceTiers(showId, BigDecimal.TEN, Map.of(), 3));
+    }
+
+    // Seats 1..3 with inventory ids 10, 20, 30, all AVAILABLE
+    private static List<SeatInventory> inventory() {
+        List<SeatInventory> rows = new ArrayList<>();
+        for (long seatId = 1; seatId <= 3; seatId++) {
+            SeatInventory row = SeatInventory.builder()
+                    .showId(SHOW_ID)
+                    .seatId(seatId)
+                    .price(BigDecimal.TEN)
+                    .seatStatus(SeatStatus.AVAILABLE)
+                    .version(0L)
+                    .build();
+            row.setId(seatId * 10);
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static Seat seat(long id) {
+        return Seat.builder()
+                .id(id)
+                .rowLabel("A")
+                .seatNumber((int) id)
+                .seatType(SeatType.REGULAR)
+                .isAccessible(false)
+                .isAisle(false)
+                .build();
+    }
+}
@@ -0,0 +1,143 @@
+package com.raju.getmyshow.booking.availability;
+
+import com.raju.getmyshow.booking.config.BookingProperties;
+import com.raju.getmyshow.booking.config.BookingWriteMode;
+import com.raju.getmyshow.booking.dto.request.CreateBookingRequest;
+import com.raju.getmyshow.booking.service.BookingService;
+import com.raju.getmyshow.support.BenchmarkFixture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Booking throughput on ONE show as threads grow: with striped counters the bookings
+ * no longer queue on the shows row, so throughput should rise with threads instead
+ * of flatlining. Also checks that folding loses no seats.
+ *
+ * Needs the dev Postgres (fixture rows are removed afterwards). Not part of the normal build, run with:
+ *   ./gradlew benchmark --tests '*ShowSeatCounterBenchmarkTest'
+ */
+@Tag("benchmark")
+@SpringBootTest
+class ShowSeatCounterBenchmarkTest {
+
+    private static final int SEATS = 2_000;
+    private static final int SEATS_PER_BOOKING = 4;
+    private static final int[] THREADS = {1, 2, 4, 8, 16};
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ShowSeatCounter showSeatCounter;
+
+    @Autowired
+    private BookingProperties bookingProperties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private BenchmarkFixture fixture;
+
+    @BeforeEach
+    void createFixture() {
+        fixture = new BenchmarkFixture(jdbcTemplate);
+        bookingProperties.setWriteMode(BookingWriteMode.STANDARD);
+    }
+
+    @AfterEach
+    void cleanup() {
+        fixture.cleanup();
+    }
+
+    @Test
+    void throughputOnOneShowScalesWithThreads() throws Exception {
+        long userId = fixture.user();
+
+        System.out.printf("%-8s %8s %10s %12s%n", "threads", "bookings", "ms", "bookings/s");
+        List<Double> throughput = new ArrayList<>();
+        for (int threads : THREADS) {
+            long showId = createShow();
+            long started = System.nanoTime();
+            int bookings = bookAllSeats(userId, showId, threads);
+            long elapsedMillis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+
+            double perSecond = bookings * 1000.0 / elapsedMillis;
+            throughput.add(perSecond);
+            System.out.printf("%-8d %8d %10d %12.0f%n", threads, bookings, elapsedMillis, perSecond);
+
+            assertThat(bookings).isEqualTo(SEATS / SEATS_PER_BOOKING);
+            assertThat(effectiveAvailableSeats(showId)).isZero();
+        }
+
+        assertThat(throughput.get(throughput.size() - 1)).isGreaterThan(throughput.get(0));
+    }
+
+    @Test
+    void foldKeepsTheEffectiveCount() throws Exception {
+        long userId = fixture.user();
+        long showId = createShow();
+        bookAllSeats(userId, showId, 8);
+
+        showSeatCounter.fold();
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT available_seats FROM shows WHERE id = ?", Integer.class, showId)).isZero();
+        assertThat(effectiveAvailableSeats(showId)).isZero();
+    }
+
+    private int bookAllSeats(long userId, long showId, int threads) throws Exception {
+        List<Long> seats = jdbcTemplate.queryForList(
+                "SELECT id FROM seat_inventory WHERE show_id = ? ORDER BY id", Long.class, showId);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int from = 0; from + SEATS_PER_BOOKING <= seats.size(); from += SEATS_PER_BOOKING) {
+            List<Long> chunk = seats.subList(from, from + SEATS_PER_BOOKING);
+            futures.add(pool.submit(() -> bookingService.createBooking(request(userId, showId, chunk))));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+        return futures.size();
+    }
+
+    private int effectiveAvailableSeats(long showId) {
+        return jdbcTemplate.queryForObject("""
+                SELECT s.available_seats + COALESCE(SUM(c.delta), 0)
+                FROM shows s
+                         LEFT JOIN show_seat_counters c ON c.show_id = s.id
+                WHERE s.id = ?
+                GROUP BY s.available_seats
+                """, Integer.class, showId);
+    }
+
+    private CreateBookingRequest request(long userId, long showId, List<Long> seatInventoryIds) {
+        return CreateBookingRequest.builder()
+                .userId(userId)
+                .showId(showId)
+                .seatInventoryIds(seatInventoryIds)
+                .sessionId("bench-" + UUID.randomUUID())
+                .build();
+    }
+
+    private long createShow() {
+        long eventId = fixture.event("Bench", "MOVIE");
+        long screenId = fixture.screen(fixture.venue("Bench Venue", "Dhaka", "STADIUM"), SEATS, 100);
+        return fixture.show(eventId, screenId, "Dhaka", SEATS);
+    }
+}
@@ -0,0 +1,111 @@
+package com.raju.getmyshow.booking.availability;
+
+import com.raju.getmyshow.booking.config.BookingProperties;
+import com.raju.getmyshow.eventcatalog.domain.entity.Show;
+import com.raju.getmyshow.eventcatalog.repository.ShowRepository;
+import com.raju.getmyshow.eventcatalog.repository.projection.SeatCounterFoldRow;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyShort;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.shortThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Striped writes and the fold against a mocked ShowRepository; the SQL side of the
+ * fold (FOLDED / DEFERRED / OUT_OF_RANGE) is fold_show_seat_counters in V4.
+ */
+class ShowSeatCounterTest {
+
+    private final ShowRepository showRepository = mock(ShowRepository.class);
+    private final BookingProperties bookingProperties = new BookingProperties();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ShowSeatCounter counter = new ShowSeatCounter(showRepository,
+            mock(PlatformTransactionManager.class), bookingProperties, meterRegistry);
+
+    @Test
+    void deltasLandOnAStripeWithinTheConfiguredCount() {
+        bookingProperties.getCounter().setStripes(4);
+
+        for (int i = 0; i < 100; i++) {
+            counter.decrement(7L, 2);
+        }
+        counter.increment(7L, 3);
+
+        verify(showRepository, times(100)).addSeatDelta(eq(7L), shortThat(slot -> slot >= 0 && slot < 4), eq(-2));
+        verify(showRepository).addSeatDelta(eq(7L), anyShort(), eq(3));
+    }
+
+    @Test
+    void zeroStripesStillWriteToOneStripe() {
+        bookingProperties.getCounter().setStripes(0);
+
+        counter.decrement(7L, 1);
+
+        verify(showRepository).addSeatDelta(7L, (short) 0, -1);
+    }
+
+    @Test
+    void onlyOutOfRangeDeltasCountAsRejected() {
+        when(showRepository.foldSeatCounters()).thenReturn(List.of(
+                fold(1L, -4L, "FOLDED"),
+                fold(2L, -9L, "DEFERRED"),
+                fold(3L, 12L, "OUT_OF_RANGE")));
+
+        counter.fold();
+
+        assertThat(meterRegistry.get("booking.counter.fold.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void emptyFoldRejectsNothing() {
+        when(showRepository.foldSeatCounters()).thenReturn(List.of());
+
+        counter.fold();
+
+        assertThat(meterRegistry.get("booking.counter.fold.rejected").counter().count()).isZero();
+    }
+
+    @Test
+    void effectiveAvailableSeatsAddTheUnfoldedStripes() {
+        Show show = Show.builder().totalSeats(100).availableSeats(80).build();
+        when(showRepository.findById(7L)).thenReturn(Optional.of(show));
+        when(showRepository.sumUnfoldedSeatDelta(7L)).thenReturn(-5);
+        when(showRepository.findWithAvailabilityById(7L)).thenCallRealMethod();
+
+        assertThat(showRepository.findWithAvailabilityById(7L))
+                .get()
+                .extracting(Show::getAvailableSeats)
+                .isEqualTo(75);
+    }
+
+    private static SeatCounterFoldRow fold(Long showId, Long delta, String outcome) {
+        return new SeatCounterFoldRow() {
+            @Override
+            public Long getShowId() {
+                return showId;
+            }
+
+            @Override
+            public Long getDelta() {
+                return delta;
+            }
+
+            @Override
+            public String getOutcome() {
+                return outcome;
+            }
+        };
+    }
+}
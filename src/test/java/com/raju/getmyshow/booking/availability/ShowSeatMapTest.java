@@ -0,0 +1,325 @@
+package com.raju.getmyshow.booking.availability;
+
+import com.raju.getmyshow.booking.entity.SeatStatus;
+import com.raju.getmyshow.booking.pricing.PriceTiers;
+import com.raju.getmyshow.eventcatalog.domain.entity.Seat;
+import com.raju.getmyshow.eventcatalog.domain.enums.SeatType;
+import com.raju.getmyshow.eventcatalog.layout.ScreenLayout;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Seat state of one show: positions in inventory id order (layout order for SPARSE shows),
+ * the available set kept in step with every status change, and the version journal
+ * behind seat stream deltas.
+ */
+class ShowSeatMapTest {
+
+    private static final int JOURNAL_SIZE = 16;
+    // Every seat without a price override costs 100.00
+    private static final PriceTiers TIERS = new PriceTiers(1L, new BigDecimal("100.00"), Map.of(), 1);
+
+    @Test
+    void applyMovesSeatsInAndOutOfTheAvailableSet() {
+        ShowSeatMap seatMap = seatMap(SeatStatus.AVAILABLE, SeatStatus.AVAILABLE, SeatStatus.BOOKED, SeatStatus.AVAILABLE);
+
+        seatMap.apply(List.of(10L, 40L), SeatStatus.LOCKED);
+
+        assertThat(seatMap.statusAt(0)).isEqualTo(SeatStatus.LOCKED);
+        assertThat(seatMap.availablePositions()).containsExactly(1);
+        assertThat(seatMap.getAvailableCount()).isEqualTo(1);
+
+        seatMap.apply(List.of(10L, 30L), SeatStatus.AVAILABLE);
+
+        assertThat(seatMap.availablePositions()).containsExactly(0, 1, 2);
+        assertThat(seatMap.getAvailableCount()).isEqualTo(3);
+    }
+
+    @Test
+    void applyingTheCurrentStatusChangesNothing() {
+        ShowSeatMap seatMap = seatMap(SeatStatus.AVAILABLE, SeatStatus.LOCKED);
+
+        seatMap.apply(List.of(10L), SeatStatus.AVAILABLE);
+        seatMap.apply(List.of(20L), SeatStatus.LOCKED);
+
+        assertThat(seatMap.availablePositions()).containsExactly(0);
+        assertThat(seatMap.getAvailableCount()).isEqualTo(1);
+    }
+
+    @Test
+    void unknownIdsAreIgnoredAndReportedUnavailable() {
+        ShowSeatMap seatMap = seatMap(SeatStatus.AVAILABLE, SeatStatus.BOOKED);
+
+        seatMap.apply(List.of(99L), SeatStatus.LOCKED);
+
+        assertThat(seatMap.indexOf(99L)).isEqualTo(-1);
+        assertThat(seatMap.findUnavailable(List.of(10L, 20L, 99L))).containsExactly(20L, 99L);
+        assertThat(seatMap.getAvailableCount()).isEqualTo(1);
+    }
+
+    @Test
+    void availableSetSpansSeveralWords() {
+        SeatStatus[] statuses = new SeatStatus[200];
+        for (int position = 0; position < statuses.length; position++) {
+            statuses[position] = position % 3 == 0 ? SeatStatus.AVAILABLE : SeatStatus.BOOKED;
+        }
+        ShowSeatMap seatMap = seatMap(statuses);
+
+        assertThat(seatMap.availablePositions()).hasSize(67).startsWith(0, 3).endsWith(195, 198);
+
+        seatMap.apply(List.of(1990L), SeatStatus.BOOKED);
+        assertThat(seatMap.availablePositions()).hasSize(66).endsWith(195);
+    }
+
+    @Test
+    void seatsMustBeOnTheShowsScreen() {
+        ShowSeatMap.Builder builder = ShowSeatMap.builder(1L, "Show", 1, layout(1), 1, JOURNAL_SIZE, 0, TIERS);
+
+        assertThatThrownBy(() -> seat(builder, 20L, SeatStatus.AVAILABLE))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void seatDetailsComeFromTheSharedLayout() {
+        ShowSeatMap seatMap = seatMap(SeatStatus.AVAILABLE, SeatStatus.AVAILABLE);
+
+        assertThat(seatMap.seatIdAt(1)).isEqualTo(1020L);
+        assertThat(seatMap.displayLabelAt(1)).isEqualTo("A2");
+        assertThat(seatMap.priceAt(1)).isEqualByComparingTo(BigDecimal.TEN);
+    }
+
+    @Test
+    void repriceSwapsTierPricesAndKeepsOverrides() {
+        ShowSeatMap.Builder builder = ShowSeatMap.builder(1L, "Show", 2, layout(2), 2, JOURNAL_SIZE, 0, TIERS);
+        builder.seat(10L, 1010L, null, SeatStatus.AVAILABLE);
+        builder.seat(20L, 1020L, new BigDecimal("75.00"), SeatStatus.AVAILABLE);
+        ShowSeatMap seatMap = builder.build();
+
+        seatMap.setPriceTiers(new PriceTiers(1L, BigDecimal.ONE, Map.of(SeatType.REGULAR, new BigDecimal("120.00")), 2));
+
+        assertThat(seatMap.priceAt(0)).isEqualByComparingTo("120.00");
+        assertThat(seatMap.priceAt(1)).isEqualByComparingTo("75.00");
+        assertThat(seatMap.getPriceRevision()).isEqualTo(2);
+
+        // A reprice that arrives late never rolls the prices back
+        seatMap.setPriceTiers(TIERS);
+        assertThat(seatMap.priceAt(0)).isEqualByComparingTo("120.00");
+    }
+
+    @Test
+    void seatsMustBeAddedInInventoryIdOrder() {
+        ShowSeatMap.Builder builder = ShowSeatMap.builder(1L, "Show", 2, layout(2), 2, JOURNAL_SIZE, 0, TIERS);
+        seat(builder, 20L, SeatStatus.AVAILABLE);
+
+        assertThatThrownBy(() -> seat(builder, 10L, SeatStatus.AVAILABLE))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void changesSinceCoalescesToTheLatestStatusPerSeat() {
+        ShowSeatMap seatMap = seatMap(SeatStatus.AVAILABLE, SeatStatus.AVAILABLE, SeatStatus.AVAILABLE);
+
+        seatMap.apply(List.of(10L), SeatStatus.LOCKED);
+        seatMap.apply(List.of(20L), SeatStatus.LOCKED);
+        seatMap.apply(List.of(10L), SeatStatus.AVAILABLE);
+
+        ShowSeatMap.Delta delta = seatMap.changesSince(0);
+        assertThat(delta.fromVersion()).isZero();
+        assertThat(delta.toVersion()).isEqualTo(3);
+        assertThat(delta.changes()).containsExactly(
+                new ShowSeatMap.Change(20L, 1, SeatStatus.LOCKED),
+                new ShowSeatMap.Change(10L, 0, SeatStatus.AVAILABLE));
+        assertThat(seatMap.changesSince(3).changes()).isEmpty();
+    }
+
+    @Test
+    void versionsTheJournalNoLongerCoversNeedAFullMap() {
+        ShowSeatMap seatMap = seatMap(2, 0, SeatStatus.AVAILABLE, SeatStatus.AVAILABLE);
+
+        seatMap.apply(List.of(10L), SeatStatus.LOCKED);
+        seatMap.apply(List.of(20L), SeatStatus.LOCKED);
+        seatMap.apply(List.of(10L), SeatStatus.BOOKED);
+
+        assertThat(seatMap.changesSince(0)).isNull();
+        assertThat(seatMap.changesSince(1).changes()).hasSize(2);
+        // A version this map never had (e.g. from another node)
+        assertThat(seatMap.changesSince(4)).isNull();
+    }
+
+    @Test
+    void reloadContinuesTheVersionAndJournalsOnlyTheDifferences() {
+        ShowSeatMap previous = seatMap(SeatStatus.AVAILABLE, SeatStatus.AVAILABLE);
+        previous.apply(List.of(10L), SeatStatus.BOOKED);
+
+        // Reloaded from the DB: seat 20 was locked by another node meanwhile
+        ShowSeatMap reloaded = seatMap(SeatStatus.BOOKED, SeatStatus.LOCKED);
+        reloaded.continueFrom(previous);
+
+        assertThat(reloaded.getVersion()).isEqualTo(2);
+        assertThat(reloaded.changesSince(1).changes())
+                .containsExactly(new ShowSeatMap.Change(20L, 1, SeatStatus.LOCKED));
+        // Older than the reload: the journal before it is gone
+        assertThat(reloaded.changesSince(0)).isNull();
+    }
+
+    @Test
+    void reloadWithOtherSeatsForcesAFullMap() {
+        ShowSeatMap previous = seatMap(SeatStatus.AVAILABLE, SeatStatus.AVAILABLE);
+        previous.apply(List.of(10L), SeatStatus.BOOKED);
+
+        ShowSeatMap reloaded = seatMap(SeatStatus.BOOKED, SeatStatus.AVAILABLE, SeatStatus.AVAILABLE);
+        reloaded.continueFrom(previous);
+
+        assertThat(reloaded.getVersion()).isEqualTo(2);
+        assertThat(reloaded.changesSince(1)).isNull();
+        assertThat(reloaded.changesSince(2).changes()).isEmpty();
+    }
+
+    @Test
+    void reloadCatchesUpWithTheVersionItWasLoadedAt() {
+        ShowSeatMap previous = seatMap(SeatStatus.AVAILABLE, SeatStatus.AVAILABLE);
+        previous.apply(List.of(10L), SeatStatus.LOCKED);
+
+        // The DB saw 5 bumps meanwhile (other nodes), one of them locked seat 20
+        ShowSeatMap reloaded = seatMap(JOURNAL_SIZE, 5, SeatStatus.LOCKED, SeatStatus.LOCKED);
+        reloaded.continueFrom(previous);
+
+        assertThat(reloaded.getVersion()).isEqualTo(5);
+        assertThat(reloaded.changesSince(1).changes())
+                .containsExactly(new ShowSeatMap.Change(20L, 1, SeatStatus.LOCKED));
+    }
+
+    @Test
+    void reloadKeepsTheEpochAFreshLoadDrawsANewOne() {
+        ShowSeatMap previous = seatMap(SeatStatus.AVAILABLE);
+        ShowSeatMap fresh = seatMap(SeatStatus.AVAILABLE);
+        ShowSeatMap reloaded = seatMap(SeatStatus.AVAILABLE);
+
+        reloaded.continueFrom(previous);
+
+        assertThat(reloaded.getEpoch()).isEqualTo(previous.getEpoch());
+        assertThat(fresh.getEpoch()).isNotEqualTo(previous.getEpoch());
+    }
+
+    @Test
+    void sparseSeatsWithoutARowAreAvailableAtTheTierPrice() {
+        ScreenLayout layout = layout(3);
+        ShowSeatMap seatMap = sparseBuilder(layout)
+                .seat(500L, 1020L, new BigDecimal("150.00"), SeatStatus.LOCKED)
+                .build();
+
+        assertThat(seatMap.isSparse()).isTrue();
+        assertThat(seatMap.inventoryIdAt(0)).isZero();
+        assertThat(seatMap.priceAt(0)).isEqualByComparingTo("100.00");
+        assertThat(seatMap.statusAt(1)).isEqualTo(SeatStatus.LOCKED);
+        assertThat(seatMap.priceAt(1)).isEqualByComparingTo("150.00");
+        assertThat(seatMap.indexOf(500L)).isEqualTo(1);
+        assertThat(seatMap.availablePositions()).containsExactly(0, 2);
+    }
+
+    @Test
+    void sparseLayoutBlockedSeatsStartBlocked() {
+        ShowSeatMap seatMap = sparseBuilder(ScreenLayout.of(5L, List.of(layoutSeat(1, false), layoutSeat(2, true))))
+                .build();
+
+        assertThat(seatMap.statusAt(1)).isEqualTo(SeatStatus.BLOCKED);
+        assertThat(seatMap.getAvailableCount()).isEqualTo(1);
+    }
+
+    @Test
+    void attachedRowsAreFoundByInventoryIdOnce() {
+        ShowSeatMap seatMap = sparseBuilder(layout(2)).build();
+
+        seatMap.attachInventory(Map.of(1010L, 700L));
+        // A row is attached once: a later id for the same seat is ignored
+        seatMap.attachInventory(Map.of(1010L, 800L, 9999L, 900L));
+        seatMap.apply(List.of(700L), SeatStatus.LOCKED);
+
+        assertThat(seatMap.inventoryIdAt(0)).isEqualTo(700L);
+        assertThat(seatMap.indexOf(800L)).isEqualTo(-1);
+        assertThat(seatMap.indexOf(900L)).isEqualTo(-1);
+        assertThat(seatMap.statusAt(0)).isEqualTo(SeatStatus.LOCKED);
+        assertThat(seatMap.changesSince(0).changes())
+                .containsExactly(new ShowSeatMap.Change(700L, 0, SeatStatus.LOCKED));
+    }
+
+    @Test
+    void sparseReloadOnTheSameLayoutJournalsOnlyTheDifferences() {
+        ScreenLayout layout = layout(2);
+        ShowSeatMap previous = sparseBuilder(layout).build();
+        previous.attachInventory(Map.of(1010L, 700L));
+        previous.apply(List.of(700L), SeatStatus.LOCKED);
+
+        // Reloaded: seat 1020 got a row and was booked by another node meanwhile
+        ShowSeatMap reloaded = sparseBuilder(layout)
+                .seat(700L, 1010L, new BigDecimal("100.00"), SeatStatus.LOCKED)
+                .seat(701L, 1020L, new BigDecimal("100.00"), SeatStatus.BOOKED)
+                .build();
+        reloaded.continueFrom(previous);
+
+        assertThat(reloaded.getVersion()).isEqualTo(2);
+        assertThat(reloaded.changesSince(1).changes())
+                .containsExactly(new ShowSeatMap.Change(701L, 1, SeatStatus.BOOKED));
+    }
+
+    @Test
+    void sparseReloadOnAnotherLayoutForcesAFullMap() {
+        ShowSeatMap previous = sparseBuilder(layout(2)).build();
+        previous.attachInventory(Map.of(1010L, 700L));
+        previous.apply(List.of(700L), SeatStatus.LOCKED);
+
+        ShowSeatMap reloaded = sparseBuilder(layout(2)).build();
+        reloaded.continueFrom(previous);
+
+        assertThat(reloaded.getVersion()).isEqualTo(2);
+        assertThat(reloaded.changesSince(1)).isNull();
+    }
+
+    // Inventory ids 10, 20, 30, ... in position order, on seats 1010, 1020, 1030, ...
+    static ShowSeatMap seatMap(SeatStatus... statuses) {
+        return seatMap(JOURNAL_SIZE, 0, statuses);
+    }
+
+    static ShowSeatMap seatMap(int journalSize, long baseVersion, SeatStatus... statuses) {
+        ShowSeatMap.Builder builder = ShowSeatMap.builder(
+                1L, "Show", statuses.length, layout(statuses.length), statuses.length, journalSize, baseVersion, TIERS);
+        for (int position = 0; position < statuses.length; position++) {
+            seat(builder, 10L * (position + 1), statuses[position]);
+        }
+        return builder.build();
+    }
+
+    private static ShowSeatMap.Builder sparseBuilder(ScreenLayout layout) {
+        return ShowSeatMap.sparseBuilder(1L, "Show", layout.size(), layout, JOURNAL_SIZE, 0, TIERS);
+    }
+
+    // Screen 5, seats A1, A2, ... with ids 1010, 1020, ...
+    static ScreenLayout layout(int size) {
+        List<Seat> seats = new ArrayList<>();
+        for (int number = 1; number <= size; number++) {
+            seats.add(layoutSeat(number, false));
+        }
+        return ScreenLayout.of(5L, seats);
+    }
+
+    private static Seat layoutSeat(int number, boolean blocked) {
+        return Seat.builder()
+                .id(1000L + 10L * number)
+                .rowLabel("A")
+                .seatNumber(number)
+                .seatType(SeatType.REGULAR)
+                .isBlocked(blocked)
+                .build();
+    }
+
+    private static void seat(ShowSeatMap.Builder builder, long inventoryId, SeatStatus status) {
+        builder.seat(inventoryId, inventoryId + 1000, BigDecimal.TEN, status);
+    }
+}
@@ -0,0 +1,208 @@
+package com.raju.getmyshow.booking.executor;
+
+import com.raju.getmyshow.booking.config.BookingProperties;
+import com.raju.getmyshow.booking.config.BookingWriteMode;
+import com.raju.getmyshow.booking.dto.request.CreateBookingRequest;
+import com.raju.getmyshow.booking.dto.response.BookingResponse;
+import com.raju.getmyshow.booking.entity.SeatInventory;
+import com.raju.getmyshow.booking.locking.SeatLockStrategies;
+import com.raju.getmyshow.booking.locking.SeatLockStrategy;
+import com.raju.getmyshow.booking.repository.SeatInventoryRepository;
+import com.raju.getmyshow.booking.service.BookingWriter;
+import com.raju.getmyshow.eventcatalog.domain.entity.Show;
+import com.raju.getmyshow.shared.exception.BusinessException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * One shard against mocked writers: what piles up behind a booking of the same show is
+ * written in one transaction, a failed batch is retried booking by booking, and a caller
+ * that gave up is never written.
+ */
+class ShardedBookingExecutorTest {
+
+    private static final long SHOW_ID = 7L;
+
+    private final BookingWriter bookingWriter = mock(BookingWriter.class);
+    private final SeatInventoryRepository seatInventoryRepository = mock(SeatInventoryRepository.class);
+    private final SeatLockStrategies seatLockStrategies = mock(SeatLockStrategies.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final BookingProperties bookingProperties = new BookingProperties();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CountDownLatch shardBusy = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorService callers = Executors.newFixedThreadPool(8);
+    private ShardedBookingExecutor executor;
+
+    @BeforeEach
+    void startOneShard() {
+        bookingProperties.setWriteMode(BookingWriteMode.SHARDED);
+        bookingProperties.getExecutor().setShards(1);
+        when(bookingWriter.loadShow(SHOW_ID)).thenReturn(Show.builder().build());
+
+        executor = new ShardedBookingExecutor(bookingWriter, seatInventoryRepository, seatLockStrategies,
+                transactionManager, bookingProperties, meterRegistry);
+        executor.start();
+    }
+
+    @AfterEach
+    void stop() throws InterruptedException {
+        release.countDown();
+        executor.stop();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void bookingsQueuedBehindTheSameShowAreWrittenInOneTransaction() throws Exception {
+        BookingResponse booked = BookingResponse.builder().build();
+        when(bookingWriter.placeBooking(any(), any(), any())).thenAnswer(invocation -> {
+            CreateBookingRequest request = invocation.getArgument(0);
+            if (request.getSeatInventoryIds().contains(1L)) {
+                shardBusy.countDown();
+                release.await();  // the others queue up meanwhile
+            }
+            return booked;
+        });
+
+        List<Future<BookingResponse>> results = new ArrayList<>();
+        results.add(submit(1L));
+        assertThat(shardBusy.await(5, TimeUnit.SECONDS)).isTrue();
+        for (long seat = 2; seat <= 4; seat++) {
+            results.add(submit(seat));
+        }
+        awaitQueueDepth(3);
+        release.countDown();
+
+        for (Future<BookingResponse> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(booked);
+        }
+        // One transaction for the first booking, one for the three behind it
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(seatInventoryRepository).findAllById(argThat(ids ->
+                ids instanceof List<Long> list && list.size() == 3 && list.containsAll(List.of(2L, 3L, 4L))));
+        assertThat(meterRegistry.get("booking.executor.batch.size").summary().max()).isEqualTo(3);
+    }
+
+    @Test
+    void aRejectedBookingDoesNotFailTheRestOfItsBatch() throws Exception {
+        BookingResponse booked = BookingResponse.builder().build();
+        when(bookingWriter.placeBooking(any(), any(), any())).thenAnswer(invocation -> {
+            CreateBookingRequest request = invocation.getArgument(0);
+            if (request.getSeatInventoryIds().contains(1L)) {
+                shardBusy.countDown();
+                release.await();
+            }
+            if (request.getSeatInventoryIds().contains(3L)) {
+                throw new BusinessException("SEAT_UNAVAILABLE", "Seat 3 is taken");
+            }
+            return booked;
+        });
+
+        Future<BookingResponse> first = submit(1L);
+        assertThat(shardBusy.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<BookingResponse> second = submit(2L);
+        Future<BookingResponse> rejected = submit(3L);
+        Future<BookingResponse> fourth = submit(4L);
+        awaitQueueDepth(3);
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(booked);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(booked);
+        assertThat(fourth.get(5, TimeUnit.SECONDS)).isSameAs(booked);
+        assertThatThrownBy(() -> rejected.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(BusinessException.class)
+                .hasMessageContaining("SEAT_UNAVAILABLE");
+        verify(transactionManager, never()).rollback(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void aFailedBatchIsRetriedOneByOneUnderTheShowsStrategy() throws Exception {
+        BookingResponse booked = BookingResponse.builder().build();
+        when(bookingWriter.placeBooking(any(), any(), any())).thenReturn(booked);
+        doThrow(new OptimisticLockingFailureException("seat changed on another node"))
+                .when(transactionManager).commit(any());
+
+        SeatLockStrategy strategy = mock(SeatLockStrategy.class);
+        when(seatLockStrategies.forShow(SHOW_ID)).thenReturn(strategy);
+        when(strategy.execute(eq(SHOW_ID), any(), any())).thenAnswer(invocation ->
+                ((Function<List<SeatInventory>, Object>) invocation.getArgument(2)).apply(List.of()));
+
+        assertThat(submit(1L).get(5, TimeUnit.SECONDS)).isSameAs(booked);
+        verify(strategy).execute(eq(SHOW_ID), eq(List.of(1L)), any());
+        assertThat(meterRegistry.get("booking.executor.batch.fallbacks").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void aBookingWhoseCallerTimedOutIsNeverWritten() throws Exception {
+        bookingProperties.getExecutor().setTimeoutMillis(100);
+        BookingResponse booked = BookingResponse.builder().build();
+        when(bookingWriter.placeBooking(any(), any(), any())).thenAnswer(invocation -> {
+            shardBusy.countDown();
+            release.await();
+            return booked;
+        });
+
+        Future<BookingResponse> first = submit(1L);
+        assertThat(shardBusy.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThatThrownBy(() -> executor.submit(request(2L)))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageStartingWith("BOOKING_TIMEOUT");
+        release.countDown();
+
+        // The first one was claimed by the shard before the timeout: its caller waits it out
+        assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(booked);
+        executor.stop();
+        verify(bookingWriter, times(1)).placeBooking(any(), any(), any());
+    }
+
+    private Future<BookingResponse> submit(long seatInventoryId) {
+        return callers.submit(() -> executor.submit(request(seatInventoryId)));
+    }
+
+    private static CreateBookingRequest request(long seatInventoryId) {
+        return CreateBookingRequest.builder()
+                .userId(1L)
+                .showId(SHOW_ID)
+                .seatInventoryIds(List.of(seatInventoryId))
+                .sessionId("session-" + seatInventoryId)
+                .build();
+    }
+
+    private void awaitQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("booking.executor.queue.depth").gauge().value() != depth) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Queue depth never reached " + depth);
+            }
+            Thread.sleep(5);
+        }
+    }
+}
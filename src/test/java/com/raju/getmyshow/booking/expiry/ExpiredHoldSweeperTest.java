@@ -0,0 +1,134 @@
+package com.raju.getmyshow.booking.expiry;
+
+import com.raju.getmyshow.booking.availability.SeatAvailabilityEngine;
+import com.raju.getmyshow.booking.availability.ShowSeatCounter;
+import com.raju.getmyshow.booking.config.BookingProperties;
+import com.raju.getmyshow.booking.repository.BookingRepository;
+import com.raju.getmyshow.booking.repository.SeatInventoryRepository;
+import com.raju.getmyshow.booking.repository.projection.ReleasedSeatRow;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Sweep runs against mocked repositories: batches stop once drained or at
+ * max-batches-per-run, and released seats add one counter delta per show.
+ */
+class ExpiredHoldSweeperTest {
+
+    private final SeatInventoryRepository seatInventoryRepository = mock(SeatInventoryRepository.class);
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final ShowSeatCounter showSeatCounter = mock(ShowSeatCounter.class);
+    private final SeatAvailabilityEngine seatAvailabilityEngine = mock(SeatAvailabilityEngine.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final BookingProperties bookingProperties = new BookingProperties();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ExpiredHoldSweeper sweeper;
+
+    @BeforeEach
+    void createSweeper() {
+        BookingProperties.Sweeper config = bookingProperties.getSweeper();
+        config.setBatchSize(2);
+        config.setMaxBatchesPerRun(3);
+        config.setPauseBetweenBatchesMillis(0);
+
+        sweeper = new ExpiredHoldSweeper(seatInventoryRepository, bookingRepository, showSeatCounter,
+                seatAvailabilityEngine, transactionManager, bookingProperties, meterRegistry);
+    }
+
+    @Test
+    void releasedSeatsRestoreOneCounterPerShowInShowIdOrder() {
+        when(seatInventoryRepository.releaseExpiredLocks(2))
+                .thenReturn(List.of(row(101L, 9L), row(102L, 3L)), List.of(row(103L, 9L)));
+        when(bookingRepository.expireOverduePendingBookings(2)).thenReturn(List.of());
+
+        sweeper.sweep();
+
+        // Second batch: 1 < batch size -> drained
+        verify(seatInventoryRepository, times(2)).releaseExpiredLocks(2);
+        InOrder inOrder = inOrder(showSeatCounter);
+        inOrder.verify(showSeatCounter).increment(3L, 1);
+        inOrder.verify(showSeatCounter).increment(9L, 1);
+        inOrder.verify(showSeatCounter).increment(9L, 1);
+        verify(seatAvailabilityEngine).markReleased(9L, List.of(101L));
+        verify(seatAvailabilityEngine).markReleased(3L, List.of(102L));
+        verify(seatAvailabilityEngine).markReleased(9L, List.of(103L));
+    }
+
+    @Test
+    void seatsOfOneShowInABatchAreOneCounterUpdate() {
+        when(bookingRepository.expireOverduePendingBookings(2)).thenReturn(List.of());
+        when(seatInventoryRepository.releaseExpiredLocks(2))
+                .thenReturn(List.of(row(101L, 9L), row(102L, 9L)), List.of());
+
+        sweeper.sweep();
+
+        verify(showSeatCounter).increment(9L, 2);
+        verify(seatAvailabilityEngine).markReleased(9L, List.of(101L, 102L));
+    }
+
+    @Test
+    void fullBatchesStopAtMaxBatchesPerRun() {
+        when(bookingRepository.expireOverduePendingBookings(2)).thenReturn(List.of(1L, 2L));
+        when(seatInventoryRepository.releaseExpiredLocks(2)).thenReturn(List.of());
+
+        sweeper.sweep();
+
+        verify(bookingRepository, times(3)).expireOverduePendingBookings(2);
+        verify(seatInventoryRepository, times(3)).releaseExpiredLocks(2);
+        assertThat(meterRegistry.get("booking.sweeper.batch.size").tag("kind", "bookings")
+                .summary().totalAmount()).isEqualTo(6);
+    }
+
+    @Test
+    void lagGaugeReportsTheOldestOverdueLock() {
+        when(bookingRepository.expireOverduePendingBookings(2)).thenReturn(List.of());
+        when(seatInventoryRepository.releaseExpiredLocks(2)).thenReturn(List.of());
+        when(seatInventoryRepository.findExpiredLockLagSeconds()).thenReturn(2.5);
+
+        sweeper.sweep();
+
+        assertThat(meterRegistry.get("booking.sweeper.lag").gauge().value()).isEqualTo(2.5);
+        verify(showSeatCounter, never()).increment(anyLong(), anyInt());
+    }
+
+    @Test
+    void disabledSweeperTouchesNothing() {
+        bookingProperties.getSweeper().setEnabled(false);
+
+        sweeper.sweep();
+
+        verifyNoInteractions(bookingRepository, seatInventoryRepository, showSeatCounter, transactionManager);
+    }
+
+    private static ReleasedSeatRow row(Long seatInventoryId, Long showId) {
+        return new ReleasedSeatRow() {
+            @Override
+            public Long getSeatInventoryId() {
+                return seatInventoryId;
+            }
+
+            @Override
+            public Long getShowId() {
+                return showId;
+            }
+        };
+    }
+}
@@ -0,0 +1,113 @@
+package com.raju.getmyshow.booking.history;
+
+import com.raju.getmyshow.booking.config.BookingProperties;
+import com.raju.getmyshow.booking.dto.response.UserBookingsResponse;
+import com.raju.getmyshow.booking.repository.BookingRepository;
+import com.raju.getmyshow.booking.repository.projection.BookingHistoryRow;
+import com.raju.getmyshow.shared.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Keyset cursor of the booking history: a page's cursor resumes exactly after its last row.
+ */
+class BookingHistoryServiceTest {
+
+    private static final long USER_ID = 7L;
+
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final BookingHistoryService service = new BookingHistoryService(bookingRepository, new BookingProperties());
+
+    @Test
+    void cursorResumesAfterTheLastRowOfThePage() {
+        // Sub-second created_at: the cursor must not round it, or a booking would be skipped / repeated
+        LocalDateTime lastCreatedAt = LocalDateTime.of(2026, 10, 17, 9, 30, 15, 123_456_000);
+        when(bookingRepository.findLatestByUser(USER_ID, 3)).thenReturn(List.of(
+                row(30L, lastCreatedAt.plusMinutes(5)),
+                row(29L, lastCreatedAt),
+                row(28L, lastCreatedAt.minusMinutes(5))));
+
+        UserBookingsResponse first = service.getUserBookings(USER_ID, null, 2);
+
+        assertThat(first.getBookings()).hasSize(2);
+        assertThat(first.getNextCursor()).isNotNull().doesNotContain("=", "+", "/");
+
+        when(bookingRepository.findByUserBefore(USER_ID, lastCreatedAt, 29L, 3))
+                .thenReturn(List.of(row(28L, lastCreatedAt.minusMinutes(5))));
+
+        UserBookingsResponse second = service.getUserBookings(USER_ID, first.getNextCursor(), 2);
+
+        verify(bookingRepository).findByUserBefore(USER_ID, lastCreatedAt, 29L, 3);
+        assertThat(second.getBookings()).hasSize(1);
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @Test
+    void cursorOfAWholeMinuteRoundTrips() {
+        // LocalDateTime.toString drops zero seconds ("2026-10-17T09:30")
+        LocalDateTime createdAt = LocalDateTime.of(2026, 10, 17, 9, 30);
+        when(bookingRepository.findLatestByUser(USER_ID, 2)).thenReturn(List.of(
+                row(5L, createdAt), row(4L, createdAt)));
+
+        String cursor = service.getUserBookings(USER_ID, null, 1).getNextCursor();
+        service.getUserBookings(USER_ID, cursor, 1);
+
+        verify(bookingRepository).findByUserBefore(USER_ID, createdAt, 5L, 2);
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        when(bookingRepository.findLatestByUser(USER_ID, 21)).thenReturn(new ArrayList<>(List.of(
+                row(2L, LocalDateTime.of(2026, 1, 2, 10, 0)))));
+
+        assertThat(service.getUserBookings(USER_ID, " ", null).getNextCursor()).isNull();
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        for (String cursor : List.of("%%%", encoded("no separator"), encoded("yesterday~12"),
+                encoded("2026-10-17T09:30~twelve"))) {
+            assertThatThrownBy(() -> service.getUserBookings(USER_ID, cursor, 10))
+                    .as(cursor)
+                    .isInstanceOf(BusinessException.class)
+                    .hasMessageStartingWith("INVALID_CURSOR");
+        }
+        verify(bookingRepository, never()).findByUserBefore(anyLong(), any(), anyLong(), anyInt());
+    }
+
+    @Test
+    void pageSizeIsCappedAndValidated() {
+        service.getUserBookings(USER_ID, null, 10_000);
+        verify(bookingRepository).findLatestByUser(USER_ID, new BookingProperties().getHistory().getMaxPageSize() + 1);
+
+        assertThatThrownBy(() -> service.getUserBookings(USER_ID, null, 0))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageStartingWith("INVALID_PAGE_SIZE");
+    }
+
+    private static String encoded(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static BookingHistoryRow row(Long bookingId, LocalDateTime createdAt) {
+        BookingHistoryRow row = mock(BookingHistoryRow.class);
+        when(row.getBookingId()).thenReturn(bookingId);
+        when(row.getCreatedAt()).thenReturn(createdAt);
+        return row;
+    }
+}
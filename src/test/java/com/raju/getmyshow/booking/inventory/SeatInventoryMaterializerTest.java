@@ -0,0 +1,233 @@
+package com.raju.getmyshow.booking.inventory;
+
+import com.raju.getmyshow.booking.availability.SeatAvailabilityEngine;
+import com.raju.getmyshow.booking.availability.ShowSeatCounter;
+import com.raju.getmyshow.booking.config.BookingProperties;
+import com.raju.getmyshow.booking.entity.SeatInventory;
+import com.raju.getmyshow.booking.pricing.ShowPricingService;
+import com.raju.getmyshow.booking.repository.SeatInventoryRepository;
+import com.raju.getmyshow.booking.repository.projection.MaterializedChunkRow;
+import com.raju.getmyshow.eventcatalog.domain.entity.Screen;
+import com.raju.getmyshow.eventcatalog.domain.entity.Show;
+import com.raju.getmyshow.eventcatalog.repository.SeatRepository;
+import com.raju.getmyshow.eventcatalog.repository.ShowRepository;
+import com.raju.getmyshow.shared.exception.BusinessException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Chunking, progress, blocked-seat accounting and failure reporting of the materializer,
+ * against mocked repositories (the SQL itself runs in the benchmark tests).
+ */
+class SeatInventoryMaterializerTest {
+
+    private static final LocalDateTime START = LocalDate.of(2030, 1, 1).atTime(18, 0);
+
+    private final SeatInventoryRepository seatInventoryRepository = mock(SeatInventoryRepository.class);
+    private final ShowRepository showRepository = mock(ShowRepository.class);
+    private final SeatRepository seatRepository = mock(SeatRepository.class);
+    private final ShowSeatCounter showSeatCounter = mock(ShowSeatCounter.class);
+    private final SeatAvailabilityEngine seatAvailabilityEngine = mock(SeatAvailabilityEngine.class);
+    private final ShowPricingService showPricingService = mock(ShowPricingService.class);
+    private final SeatInventoryPartitionManager partitionManager = mock(SeatInventoryPartitionManager.class);
+
+    private final SeatInventoryMaterializer materializer = new SeatInventoryMaterializer(
+            seatInventoryRepository, showRepository, seatRepository, showSeatCounter, seatAvailabilityEngine,
+            mock(PlatformTransactionManager.class), showPricingService, partitionManager,
+            new BookingProperties(), new SimpleMeterRegistry());
+
+    @Test
+    void materializesInChunksUntilTheScreenRunsOutOfSeats() {
+        Show show = show(1L, false);
+        when(seatRepository.countByScreenId(10L)).thenReturn(1_200L);
+        when(seatInventoryRepository.materializeChunk(eq(1L), eq(START.toLocalDate()), eq(10L), anyLong(), anyInt()))
+                .thenReturn(chunk(500L, 500, 500, 498))
+                .thenReturn(chunk(1_000L, 500, 500, 500))
+                .thenReturn(chunk(1_200L, 200, 150, 150));
+
+        List<int[]> progress = new ArrayList<>();
+        SeatInventoryMaterializer.Result result = materializer.materialize(show.getId(),
+                (showId, seatsDone, totalSeats, inserted) -> progress.add(new int[]{seatsDone, totalSeats, inserted}));
+
+        assertThat(result.seats()).isEqualTo(1_200);
+        assertThat(result.inserted()).isEqualTo(1_150);
+        assertThat(progress).extracting(p -> p[0]).containsExactly(500, 1_000, 1_200);
+        assertThat(progress).extracting(p -> p[1]).containsOnly(1_200);
+
+        verify(seatInventoryRepository).materializeChunk(1L, START.toLocalDate(), 10L, 0L, SeatInventoryMaterializer.CHUNK_SIZE);
+        verify(seatInventoryRepository).materializeChunk(1L, START.toLocalDate(), 10L, 500L, SeatInventoryMaterializer.CHUNK_SIZE);
+        verify(seatInventoryRepository).materializeChunk(1L, START.toLocalDate(), 10L, 1_000L, SeatInventoryMaterializer.CHUNK_SIZE);
+        // Prices and partition exist before the first row
+        verify(showPricingService).createDefaultTiers(show);
+        verify(partitionManager, atLeastOnce()).ensurePartition(START.toLocalDate());
+        // 2 inserted seats were BLOCKED
+        verify(showSeatCounter).decrement(1L, 2);
+        verify(seatAvailabilityEngine).evict(1L);
+    }
+
+    @Test
+    void rerunInsertsNothingAndKeepsTheCachedMap() {
+        show(1L, false);
+        when(seatRepository.countByScreenId(10L)).thenReturn(300L);
+        when(seatInventoryRepository.materializeChunk(eq(1L), any(), eq(10L), anyLong(), anyInt()))
+                .thenReturn(chunk(300L, 300, 0, 0));
+
+        SeatInventoryMaterializer.Result result = materializer.materialize(1L);
+
+        assertThat(result.inserted()).isZero();
+        verify(showSeatCounter, never()).decrement(anyLong(), anyInt());
+        verify(seatAvailabilityEngine, never()).evict(anyLong());
+    }
+
+    @Test
+    void sparseShowsOnlyGetRowsForBlockedSeats() {
+        show(2L, true);
+        when(seatInventoryRepository.materializeBlockedSeats(2L, START.toLocalDate(), 10L)).thenReturn(3);
+
+        SeatInventoryMaterializer.Result result = materializer.materialize(2L);
+
+        assertThat(result.inserted()).isEqualTo(3);
+        verify(partitionManager, atLeastOnce()).ensurePartition(START.toLocalDate());
+        verify(seatInventoryRepository, never()).materializeChunk(any(), any(), any(), anyLong(), anyInt());
+        // Blocked layout seats come off the counter, like BLOCKED rows of a FULL show
+        verify(showSeatCounter).decrement(2L, 3);
+    }
+
+    @Test
+    void sparseRerunDoesNotSubtractBlockedSeatsAgain() {
+        show(2L, true);
+        when(seatInventoryRepository.materializeBlockedSeats(2L, START.toLocalDate(), 10L)).thenReturn(0);
+
+        materializer.materialize(2L);
+
+        verify(showSeatCounter, never()).decrement(anyLong(), anyInt());
+    }
+
+    @Test
+    void chunksAfterARescheduleGoToTheNewDatesPartition() {
+        show(1L, false);
+        LocalDate rescheduled = START.toLocalDate().plusMonths(1);
+        when(showRepository.lockShowDate(1L)).thenReturn(START.toLocalDate(), rescheduled);
+        when(seatInventoryRepository.materializeChunk(eq(1L), any(), eq(10L), anyLong(), anyInt()))
+                .thenReturn(chunk(500L, 500, 500, 500))
+                .thenReturn(chunk(800L, 300, 300, 300));
+
+        materializer.materialize(1L);
+
+        verify(seatInventoryRepository).materializeChunk(1L, START.toLocalDate(), 10L, 0L, SeatInventoryMaterializer.CHUNK_SIZE);
+        verify(seatInventoryRepository).materializeChunk(1L, rescheduled, 10L, 500L, SeatInventoryMaterializer.CHUNK_SIZE);
+        verify(partitionManager).ensurePartition(rescheduled);
+    }
+
+    @Test
+    void materializeAllReportsFailedShowsAfterFinishingTheOthers() {
+        show(1L, false);
+        when(seatInventoryRepository.materializeChunk(eq(1L), any(), eq(10L), anyLong(), anyInt()))
+                .thenReturn(chunk(10L, 10, 10, 10));
+        when(showRepository.findById(3L)).thenThrow(new IllegalStateException("DB down"));
+
+        assertThatThrownBy(() -> materializer.materializeAll(List.of(1L, 3L), SeatInventoryMaterializer.ProgressListener.NONE))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageStartingWith("INVENTORY_MATERIALIZATION_FAILED")
+                .hasMessageEndingWith("[3]");
+        verify(seatAvailabilityEngine).evict(1L);
+    }
+
+    @Test
+    void seatsOfAnotherScreenAreRejected() {
+        Show show = show(1L, false);
+        when(seatInventoryRepository.findByShowIdAndSeatIdIn(eq(1L), anyCollection()))
+                .thenReturn(List.of(SeatInventory.builder().id(900L).showId(1L).seatId(101L).build()));
+
+        assertThat(materializer.inventoryIdsForSeats(show, List.of(101L))).containsExactly(900L);
+        assertThatThrownBy(() -> materializer.inventoryIdsForSeats(show, List.of(101L, 555L)))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageStartingWith("INVALID_SEATS");
+    }
+
+    @Test
+    void sparseShowCreatesTheRequestedRowsAndAttachesThem() {
+        Show show = show(2L, true);
+        when(seatInventoryRepository.findByShowIdAndSeatIdIn(eq(2L), anyCollection()))
+                .thenReturn(List.of(
+                        SeatInventory.builder().id(901L).showId(2L).seatId(101L).build(),
+                        SeatInventory.builder().id(902L).showId(2L).seatId(102L).build()));
+
+        assertThat(materializer.inventoryIdsForSeats(show, List.of(102L, 101L))).containsExactly(902L, 901L);
+        verify(seatInventoryRepository).materializeSeats(eq(2L), eq(START.toLocalDate()), eq(10L), anyString());
+        verify(seatAvailabilityEngine).attachInventory(2L, Map.of(101L, 901L, 102L, 902L));
+    }
+
+    @Test
+    void tooManySeatsForOneSparseRequestAreRejected() {
+        Show show = show(2L, true);
+        Collection<Long> seatIds = new ArrayList<>();
+        for (long seatId = 1; seatId <= SeatInventoryMaterializer.CHUNK_SIZE + 1; seatId++) {
+            seatIds.add(seatId);
+        }
+
+        assertThatThrownBy(() -> materializer.materializeSeats(show, seatIds))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageStartingWith("TOO_MANY_SEATS");
+    }
+
+    private Show show(Long showId, boolean sparse) {
+        Screen screen = mock(Screen.class);
+        when(screen.getId()).thenReturn(10L);
+        Show show = mock(Show.class);
+        when(show.getId()).thenReturn(showId);
+        when(show.getScreen()).thenReturn(screen);
+        when(show.getStartTime()).thenReturn(START);
+        when(show.hasSparseInventory()).thenReturn(sparse);
+        when(showRepository.findById(showId)).thenReturn(Optional.of(show));
+        when(showRepository.lockShowDate(showId)).thenReturn(START.toLocalDate());
+        return show;
+    }
+
+    private static MaterializedChunkRow chunk(Long lastSeatId, long seats, long inserted, long available) {
+        return new MaterializedChunkRow() {
+            @Override
+            public Long getLastSeatId() {
+                return lastSeatId;
+            }
+
+            @Override
+            public Long getSeats() {
+                return seats;
+            }
+
+            @Override
+            public Long getInserted() {
+                return inserted;
+            }
+
+            @Override
+            public Long getAvailable() {
+                return available;
+            }
+        };
+    }
+}
@@ -0,0 +1,150 @@
+package com.raju.getmyshow.booking.locking;
+
+import com.raju.getmyshow.booking.config.BookingProperties;
+import com.raju.getmyshow.booking.entity.SeatInventory;
+import com.raju.getmyshow.booking.repository.SeatInventoryRepository;
+import com.raju.getmyshow.shared.exception.BusinessException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The three strategies against a mocked repository and transaction manager: what each
+ * one asks the database for, and how contention surfaces (retry, fail fast, queue).
+ */
+class SeatLockStrategyTest {
+
+    private static final long SHOW_ID = 7L;
+
+    private final SeatInventoryRepository seatInventoryRepository = mock(SeatInventoryRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final BookingProperties bookingProperties = new BookingProperties();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SeatLockMetrics metrics = new SeatLockMetrics(meterRegistry);
+
+    @Test
+    void optimisticRetriesVersionClashesInAFreshTransaction() {
+        OptimisticSeatLockStrategy strategy = new OptimisticSeatLockStrategy(
+                seatInventoryRepository, transactionManager, bookingProperties, metrics);
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = strategy.execute(SHOW_ID, List.of(1L, 2L), seats -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new OptimisticLockingFailureException("version clash");
+            }
+            return "booked";
+        });
+
+        assertThat(result).isEqualTo("booked");
+        verify(seatInventoryRepository, times(3)).findAllById(List.of(1L, 2L));
+        verify(transactionManager, times(3)).getTransaction(any());
+        assertThat(count("booking.seat.lock.contention", SeatLockStrategyType.OPTIMISTIC)).isEqualTo(2);
+        assertThat(count("booking.seat.lock.retries", SeatLockStrategyType.OPTIMISTIC)).isEqualTo(2);
+    }
+
+    @Test
+    void optimisticGivesUpAfterMaxAttempts() {
+        bookingProperties.getLocking().setMaxAttempts(2);
+        OptimisticSeatLockStrategy strategy = new OptimisticSeatLockStrategy(
+                seatInventoryRepository, transactionManager, bookingProperties, metrics);
+
+        assertThatThrownBy(() -> strategy.execute(SHOW_ID, List.of(1L), seats -> {
+            throw new OptimisticLockingFailureException("version clash");
+        }))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageStartingWith("SEAT_LOCK_CONTENDED");
+        verify(seatInventoryRepository, times(2)).findAllById(List.of(1L));
+        assertThat(count("booking.seat.lock.retries", SeatLockStrategyType.OPTIMISTIC)).isEqualTo(1);
+    }
+
+    @Test
+    void noWaitLocksTheRowsInIdOrder() {
+        PessimisticNoWaitSeatLockStrategy strategy = new PessimisticNoWaitSeatLockStrategy(
+                seatInventoryRepository, transactionManager, metrics);
+        List<SeatInventory> rows = List.of(new SeatInventory());
+        when(seatInventoryRepository.findByShowIdAndIdsForUpdateNoWait(SHOW_ID, List.of(1L, 2L, 3L))).thenReturn(rows);
+
+        List<SeatInventory> seen = strategy.execute(SHOW_ID, List.of(3L, 1L, 2L), seats -> seats);
+
+        assertThat(seen).isSameAs(rows);
+        assertThat(count("booking.seat.lock.contention", SeatLockStrategyType.PESSIMISTIC_NOWAIT)).isZero();
+    }
+
+    @Test
+    void noWaitFailsFastWhenARowIsLockedElsewhere() {
+        PessimisticNoWaitSeatLockStrategy strategy = new PessimisticNoWaitSeatLockStrategy(
+                seatInventoryRepository, transactionManager, metrics);
+        when(seatInventoryRepository.findByShowIdAndIdsForUpdateNoWait(any(), any()))
+                .thenThrow(new PessimisticLockingFailureException("could not obtain lock"));
+        AtomicInteger worked = new AtomicInteger();
+
+        assertThatThrownBy(() -> strategy.execute(SHOW_ID, List.of(1L), seats -> worked.incrementAndGet()))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageStartingWith("SEAT_LOCK_CONTENDED");
+        assertThat(worked).hasValue(0);
+        verify(seatInventoryRepository, times(1)).findByShowIdAndIdsForUpdateNoWait(any(), any());
+        assertThat(count("booking.seat.lock.contention", SeatLockStrategyType.PESSIMISTIC_NOWAIT)).isEqualTo(1);
+    }
+
+    @Test
+    void advisoryOnlyQueuesWhenTheShowLockIsHeld() {
+        AdvisorySeatLockStrategy strategy = new AdvisorySeatLockStrategy(
+                seatInventoryRepository, transactionManager, bookingProperties, metrics);
+        when(seatInventoryRepository.tryAcquireShowAdvisoryLock(SHOW_ID)).thenReturn(true, false);
+
+        strategy.execute(SHOW_ID, List.of(1L), seats -> seats);
+        verify(seatInventoryRepository, never()).acquireShowAdvisoryLock(SHOW_ID);
+
+        strategy.execute(SHOW_ID, List.of(1L), seats -> seats);
+        verify(seatInventoryRepository, times(1)).acquireShowAdvisoryLock(SHOW_ID);
+        verify(seatInventoryRepository, times(2)).findAllById(List.of(1L));
+        assertThat(count("booking.seat.lock.contention", SeatLockStrategyType.ADVISORY)).isEqualTo(1);
+    }
+
+    @Test
+    void advisoryLockTimeoutIsReportedAsContention() {
+        AdvisorySeatLockStrategy strategy = new AdvisorySeatLockStrategy(
+                seatInventoryRepository, transactionManager, bookingProperties, metrics);
+        when(seatInventoryRepository.tryAcquireShowAdvisoryLock(SHOW_ID)).thenReturn(false);
+        when(seatInventoryRepository.acquireShowAdvisoryLock(SHOW_ID))
+                .thenThrow(new QueryTimeoutException("canceling statement due to statement timeout"));
+        AtomicInteger worked = new AtomicInteger();
+
+        assertThatThrownBy(() -> strategy.execute(SHOW_ID, List.of(1L), seats -> worked.incrementAndGet()))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageStartingWith("SEAT_LOCK_CONTENDED");
+        assertThat(worked).hasValue(0);
+    }
+
+    @Test
+    void showOverrideWinsOverTheDefaultStrategy() {
+        bookingProperties.getLocking().getShowStrategies().put(42L, SeatLockStrategyType.ADVISORY);
+        SeatLockStrategies strategies = new SeatLockStrategies(List.of(
+                new OptimisticSeatLockStrategy(seatInventoryRepository, transactionManager, bookingProperties, metrics),
+                new AdvisorySeatLockStrategy(seatInventoryRepository, transactionManager, bookingProperties, metrics)),
+                bookingProperties);
+
+        assertThat(strategies.forShow(42L).type()).isEqualTo(SeatLockStrategyType.ADVISORY);
+        assertThat(strategies.forShow(SHOW_ID).type()).isEqualTo(SeatLockStrategyType.OPTIMISTIC);
+    }
+
+    private double count(String name, SeatLockStrategyType type) {
+        return meterRegistry.get(name).tag("strategy", type.name()).counter().count();
+    }
+}
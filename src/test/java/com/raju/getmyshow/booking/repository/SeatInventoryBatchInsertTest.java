@@ -0,0 +1,85 @@
+package com.raju.getmyshow.booking.repository;
+
+import com.raju.getmyshow.booking.entity.SeatInventory;
+import com.raju.getmyshow.booking.entity.SeatStatus;
+import com.raju.getmyshow.eventcatalog.domain.entity.Seat;
+import com.raju.getmyshow.eventcatalog.repository.SeatRepository;
+import com.raju.getmyshow.support.BenchmarkFixture;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Materializing inventory for a 50k-seat show must go out as JDBC batches
+ * (pooled sequence ids + hibernate.jdbc.batch_size), not one INSERT per row.
+ *
+ * Needs the dev Postgres; everything, fixture rows included, is rolled back. Not part of the normal build, run with:
+ *   ./gradlew benchmark --tests '*SeatInventoryBatchInsertTest'
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class SeatInventoryBatchInsertTest {
+
+    private static final int ROWS = 500;
+    private static final int SEATS_PER_ROW = 100;
+    private static final int SEATS = ROWS * SEATS_PER_ROW;
+
+    @Autowired
+    private SeatInventoryRepository seatInventoryRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void inventoryForLargeShowIsInsertedInBatches() {
+        // Same transaction as the test: the fixture's inserts roll back with it
+        BenchmarkFixture fixture = new BenchmarkFixture(jdbcTemplate);
+        long screenId = fixture.screen(fixture.venue("Bench Arena", "Dhaka", "STADIUM"), SEATS, SEATS_PER_ROW);
+        long showId = fixture.showWithoutInventory(fixture.event("Bench", "SPORTS"), screenId, "Dhaka", SEATS);
+        List<Seat> seats = seatRepository.findByScreenIdOrderById(screenId);
+        LocalDate showDate = jdbcTemplate.queryForObject(
+                "SELECT CAST(start_time AS DATE) FROM shows WHERE id = ?", LocalDate.class, showId);
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        List<SeatInventory> inventory = new ArrayList<>(SEATS);
+        for (Seat seat : seats) {
+            inventory.add(SeatInventory.builder()
+                    .showId(showId)
+                    .seatId(seat.getId())
+                    .showDate(showDate)
+                    .seatStatus(SeatStatus.AVAILABLE)
+                    .build());
+        }
+        seatInventoryRepository.saveAll(inventory);
+        entityManager.flush();
+
+        long statements = statistics.getPrepareStatementCount();
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(SEATS);
+        // 50k rows / batch_size 100 = 500 batches + 100 sequence calls (allocationSize 500)
+        assertThat(statements).isLessThan(SEATS / 50);
+    }
+}
@@ -0,0 +1,173 @@
+package com.raju.getmyshow.booking.repository;
+
+import com.raju.getmyshow.support.BenchmarkFixture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plans and latencies of the hot seat_inventory reads on a large partitioned table (V9).
+ *
+ * Fills seat_inventory with -Dbenchmark.inventory.rows rows (default 20M) spread over
+ * 24 monthly partitions, then compares reading tonight's show with and without the
+ * partition key, and the expiry sweeper's lag query.
+ *
+ * Needs the dev Postgres and a lot of disk. Fixture rows are removed afterwards, and so are
+ * the partitions the fixture had to create. Not part of the normal build, run with:
+ *   ./gradlew benchmark --tests '*SeatInventoryPartitionBenchmarkTest' -Dbenchmark.inventory.rows=20000000
+ */
+@Tag("benchmark")
+@SpringBootTest
+class SeatInventoryPartitionBenchmarkTest {
+
+    private static final long ROWS = Long.getLong("benchmark.inventory.rows", 20_000_000L);
+    private static final int SEATS_PER_SHOW = 2_000;
+    private static final int MONTHS = 24;
+    private static final int SHOWS_PER_INSERT = 250;
+    private static final int RUNS = 25;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private BenchmarkFixture fixture;
+    private List<String> partitionsBefore;
+    private long eventId;
+
+    @BeforeEach
+    void createFixture() {
+        fixture = new BenchmarkFixture(jdbcTemplate);
+        partitionsBefore = partitions();
+    }
+
+    @AfterEach
+    void removeFixture() {
+        fixture.cleanup();
+
+        // Partitions of the fixture's months the app had no use for (empty once the shows are gone)
+        for (String partition : partitions()) {
+            if (!partitionsBefore.contains(partition)
+                    && !jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM " + partition + ")", Boolean.class)) {
+                jdbcTemplate.execute("DROP TABLE " + partition);
+            }
+        }
+    }
+
+    @Test
+    void partitionPruningOnLargeInventory() {
+        long screenId = createShows();
+
+        Long showId = jdbcTemplate.queryForObject("""
+                SELECT id FROM shows
+                WHERE event_id = ? AND start_time >= NOW()
+                ORDER BY start_time LIMIT 1
+                """, Long.class, eventId);
+        LocalDate showDate = jdbcTemplate.queryForObject(
+                "SELECT start_time::DATE FROM shows WHERE id = ?", LocalDate.class, showId);
+        jdbcTemplate.execute("ANALYZE seat_inventory");
+
+        String pruned = "SELECT * FROM seat_inventory WHERE show_id = " + showId + " AND show_date = '" + showDate + "'";
+        String unpruned = "SELECT * FROM seat_inventory WHERE show_id = " + showId;
+        String sweeperLag = """
+                SELECT MIN(lock_expires_at) FROM seat_inventory
+                WHERE status = 'LOCKED' AND lock_expires_at < CURRENT_TIMESTAMP
+                """;
+
+        Long total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM seat_inventory", Long.class);
+        System.out.printf("seat_inventory: %d rows, screen %d, show %d on %s%n", total, screenId, showId, showDate);
+        System.out.printf("%-28s %10s %10s %12s%n", "query", "p50 ms", "p95 ms", "partitions");
+        report("seat map load (show_date)", pruned);
+        report("seat map load (show_id)", unpruned);
+        report("sweeper lag", sweeperLag);
+
+        assertThat(partitionsScanned(pruned)).isEqualTo(1);
+    }
+
+    private void report(String name, String sql) {
+        double[] millis = new double[RUNS];
+        for (int run = 0; run < RUNS; run++) {
+            long started = System.nanoTime();
+            jdbcTemplate.queryForList(sql);
+            millis[run] = (System.nanoTime() - started) / 1_000_000.0;
+        }
+        Arrays.sort(millis);
+        System.out.printf("%-28s %10.2f %10.2f %12d%n", name,
+                millis[RUNS / 2], millis[(int) (RUNS * 0.95)], partitionsScanned(sql));
+    }
+
+    private long partitionsScanned(String sql) {
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN (ANALYZE, BUFFERS) " + sql, String.class);
+        return plan.stream()
+                .filter(line -> line.contains(" on seat_inventory_p"))
+                .map(line -> line.substring(line.indexOf(" on seat_inventory_p") + 4).split(" ")[0])
+                .distinct()
+                .count();
+    }
+
+    //=======================================
+    //    Fixture
+    //=======================================
+
+    private long createShows() {
+        eventId = fixture.event("Partition bench", "MOVIE");
+        long venueId = fixture.venue("Partition Venue", "Dhaka", "STADIUM");
+        long screenId = fixture.screen(venueId, SEATS_PER_SHOW, 100);
+
+        // Shows spread over 12 past and 12 coming months
+        long shows = Math.max(MONTHS, ROWS / SEATS_PER_SHOW);
+        jdbcTemplate.update("""
+                INSERT INTO shows (event_id, screen_id, city, event_title, venue_name, event_type,
+                                   start_time, end_time, base_price, total_seats, available_seats, status)
+                SELECT ?, ?, 'Dhaka', 'Partition bench', 'Partition Venue', 'MOVIE',
+                       t.start_time, t.start_time + INTERVAL '3 hours', 250, ?, ?,
+                       CASE WHEN t.start_time < NOW() THEN 'COMPLETED' ELSE 'BOOKING_OPEN' END
+                FROM generate_series(0, ? - 1) AS n,
+                     LATERAL (SELECT date_trunc('month', NOW()) - INTERVAL '12 months'
+                                     + make_interval(months => (n % ?)::INT, hours => (n / ?) % 600)
+                                     + INTERVAL '1 day' AS start_time) t
+                """, eventId, screenId, SEATS_PER_SHOW, SEATS_PER_SHOW, shows, MONTHS, MONTHS);
+
+        jdbcTemplate.queryForList("""
+                SELECT DISTINCT create_seat_inventory_partition(start_time::DATE)
+                FROM shows WHERE event_id = ?
+                """, String.class, eventId);
+
+        List<Long> showIds = jdbcTemplate.queryForList(
+                "SELECT id FROM shows WHERE event_id = ? ORDER BY id", Long.class, eventId);
+        for (int from = 0; from < showIds.size(); from += SHOWS_PER_INSERT) {
+            List<Long> batch = showIds.subList(from, Math.min(showIds.size(), from + SHOWS_PER_INSERT));
+            // A few expired locks per show for the sweeper query
+            jdbcTemplate.update("""
+                    INSERT INTO seat_inventory (show_id, seat_id, show_date, status, locked_at, locked_by, lock_expires_at)
+                    SELECT sh.id, s.id, sh.start_time::DATE,
+                           CASE WHEN s.seat_number = 1 THEN 'LOCKED' ELSE 'AVAILABLE' END,
+                           CASE WHEN s.seat_number = 1 THEN NOW() - INTERVAL '1 hour' END,
+                           CASE WHEN s.seat_number = 1 THEN 'bench' END,
+                           CASE WHEN s.seat_number = 1 THEN NOW() - INTERVAL '45 minutes' END
+                    FROM shows sh
+                             JOIN seats s ON s.screen_id = sh.screen_id
+                    WHERE sh.id BETWEEN ? AND ?
+                      AND sh.event_id = ?
+                    """, batch.get(0), batch.get(batch.size() - 1), eventId);
+        }
+        return screenId;
+    }
+
+    private List<String> partitions() {
+        return jdbcTemplate.queryForList("""
+                SELECT c.relname
+                FROM pg_inherits i
+                         JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = 'seat_inventory'::regclass
+                """, String.class);
+    }
+}
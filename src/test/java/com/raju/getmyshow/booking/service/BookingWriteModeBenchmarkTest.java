@@ -0,0 +1,160 @@
+package com.raju.getmyshow.booking.service;
+
+import com.raju.getmyshow.booking.config.BookingProperties;
+import com.raju.getmyshow.booking.config.BookingWriteMode;
+import com.raju.getmyshow.booking.dto.request.CreateBookingRequest;
+import com.raju.getmyshow.shared.exception.SeatConflictException;
+import com.raju.getmyshow.support.BenchmarkFixture;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Compares the STANDARD (JPA) and ATOMIC (book_seats_atomic) booking paths.
+ *
+ * Needs the dev Postgres (fixture rows are removed afterwards). Not part of the normal build, run with:
+ *   ./gradlew benchmark --tests '*BookingWriteModeBenchmarkTest'
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BookingWriteModeBenchmarkTest {
+
+    private static final int SEATS = 4_000;
+    private static final int SEATS_PER_BOOKING = 4;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingProperties bookingProperties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private BenchmarkFixture fixture;
+
+    @BeforeEach
+    void createFixture() {
+        fixture = new BenchmarkFixture(jdbcTemplate);
+    }
+
+    @AfterEach
+    void restoreWriteMode() {
+        bookingProperties.setWriteMode(BookingWriteMode.STANDARD);
+        fixture.cleanup();
+    }
+
+    @Test
+    void compareWriteModes() throws Exception {
+        long userId = fixture.user();
+
+        Result standard = run(BookingWriteMode.STANDARD, userId);
+        Result atomic = run(BookingWriteMode.ATOMIC, userId);
+
+        System.out.printf("%-9s %8s %10s %12s %14s%n", "mode", "bookings", "ms", "bookings/s", "stmts/booking");
+        standard.print();
+        atomic.print();
+
+        assertThat(atomic.bookings).isEqualTo(standard.bookings);
+        assertThat(atomic.statementsPerBooking()).isLessThan(standard.statementsPerBooking());
+    }
+
+    @Test
+    void atomicModeReportsEveryConflictingSeat() {
+        long userId = fixture.user();
+        long showId = createShow();
+        List<Long> seats = jdbcTemplate.queryForList(
+                "SELECT id FROM seat_inventory WHERE show_id = ? ORDER BY id LIMIT 3", Long.class, showId);
+
+        bookingProperties.setWriteMode(BookingWriteMode.ATOMIC);
+        bookingService.createBooking(request(userId, showId, seats.subList(0, 2)));
+
+        assertThatThrownBy(() -> bookingService.createBooking(request(userId, showId, seats)))
+                .isInstanceOfSatisfying(SeatConflictException.class, ex -> assertThat(ex.getConflictingSeatInventoryIds())
+                        .containsExactlyElementsOf(seats.subList(0, 2)));
+    }
+
+    private Result run(BookingWriteMode mode, long userId) throws Exception {
+        long showId = createShow();
+        List<Long> seats = jdbcTemplate.queryForList(
+                "SELECT id FROM seat_inventory WHERE show_id = ? ORDER BY id", Long.class, showId);
+
+        bookingProperties.setWriteMode(mode);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        AtomicInteger booked = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        long started = System.nanoTime();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int from = 0; from + SEATS_PER_BOOKING <= seats.size(); from += SEATS_PER_BOOKING) {
+            List<Long> chunk = seats.subList(from, from + SEATS_PER_BOOKING);
+            futures.add(pool.submit(() -> {
+                bookingService.createBooking(request(userId, showId, chunk));
+                booked.incrementAndGet();
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        pool.shutdown();
+
+        return new Result(mode, booked.get(), elapsedMillis, statistics.getPrepareStatementCount());
+    }
+
+    private CreateBookingRequest request(long userId, long showId, List<Long> seatInventoryIds) {
+        return CreateBookingRequest.builder()
+                .userId(userId)
+                .showId(showId)
+                .seatInventoryIds(seatInventoryIds)
+                .sessionId("bench-" + UUID.randomUUID())
+                .build();
+    }
+
+    //=======================================
+    //    Fixture
+    //=======================================
+
+    private long createShow() {
+        long eventId = fixture.event("Bench", "MOVIE");
+        long screenId = fixture.screen(fixture.venue("Bench Venue", "Dhaka", "STADIUM"), SEATS, 100);
+        return fixture.show(eventId, screenId, "Dhaka", SEATS);
+    }
+
+    private record Result(BookingWriteMode mode, int bookings, long elapsedMillis, long statements) {
+
+        double statementsPerBooking() {
+            return bookings == 0 ? 0 : (double) statements / bookings;
+        }
+
+        void print() {
+            System.out.printf("%-9s %8d %10d %12.0f %14.1f%n", mode, bookings, elapsedMillis,
+                    bookings * 1000.0 / Math.max(1, elapsedMillis), statementsPerBooking());
+        }
+    }
+}
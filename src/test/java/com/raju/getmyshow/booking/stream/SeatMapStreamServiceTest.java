@@ -0,0 +1,265 @@
+package com.raju.getmyshow.booking.stream;
+
+import com.raju.getmyshow.booking.availability.SeatAvailabilityEngine;
+import com.raju.getmyshow.booking.availability.SeatMapChangedEvent;
+import com.raju.getmyshow.booking.availability.ShowSeatMap;
+import com.raju.getmyshow.booking.config.BookingProperties;
+import com.raju.getmyshow.booking.dto.response.SeatMapDeltaResponse;
+import com.raju.getmyshow.booking.dto.response.SeatMapSnapshotResponse;
+import com.raju.getmyshow.booking.entity.SeatStatus;
+import com.raju.getmyshow.booking.pricing.PriceTiers;
+import com.raju.getmyshow.eventcatalog.domain.entity.Seat;
+import com.raju.getmyshow.eventcatalog.domain.enums.SeatType;
+import com.raju.getmyshow.eventcatalog.layout.ScreenLayout;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Fan-out against a mocked engine and recording emitters: changes between flushes
+ * coalesce into one delta, snapshots are shared, and busy or blocked subscribers
+ * are dropped instead of holding the stream up.
+ */
+class SeatMapStreamServiceTest {
+
+    private static final long SHOW_ID = 7L;
+
+    private final SeatAvailabilityEngine seatAvailabilityEngine = mock(SeatAvailabilityEngine.class);
+    private final BookingProperties bookingProperties = new BookingProperties();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // Handed out by subscribe in order; all of them are released after each test
+    private final Queue<RecordingEmitter> emitters = new ConcurrentLinkedQueue<>();
+    private final List<RecordingEmitter> created = new CopyOnWriteArrayList<>();
+
+    private ShowSeatMap seatMap;
+    private SeatMapStreamService service;
+
+    @BeforeEach
+    void createService() {
+        seatMap = seatMap(4);
+        when(seatAvailabilityEngine.getSeatMap(SHOW_ID)).thenReturn(seatMap);
+        when(seatAvailabilityEngine.findLoaded(SHOW_ID)).thenReturn(Optional.of(seatMap));
+
+        service = new SeatMapStreamService(seatAvailabilityEngine, bookingProperties, meterRegistry) {
+            @Override
+            SseEmitter newEmitter(long timeoutMillis) {
+                return emitters.remove();
+            }
+        };
+    }
+
+    @AfterEach
+    void shutdown() {
+        created.forEach(emitter -> emitter.release.countDown());
+        service.shutdown();
+    }
+
+    @Test
+    void subscribersOfOneVersionShareOneSnapshot() throws Exception {
+        RecordingEmitter first = subscribe(Integer.MAX_VALUE);
+        RecordingEmitter second = subscribe(Integer.MAX_VALUE);
+
+        Object snapshot = first.next();
+        assertThat(snapshot).isInstanceOf(SeatMapSnapshotResponse.class);
+        assertThat(((SeatMapSnapshotResponse) snapshot).getAvailableSeats()).isEqualTo(4);
+        assertThat(second.next()).isSameAs(snapshot);
+
+        change(10L, SeatStatus.LOCKED);
+        RecordingEmitter third = subscribe(Integer.MAX_VALUE);
+        assertThat(third.next()).isNotSameAs(snapshot)
+                .extracting(response -> ((SeatMapSnapshotResponse) response).getVersion())
+                .isEqualTo(1L);
+    }
+
+    @Test
+    void changesBetweenFlushesArriveAsOneDelta() throws Exception {
+        RecordingEmitter emitter = subscribe(Integer.MAX_VALUE);
+        emitter.next();
+
+        change(10L, SeatStatus.LOCKED);
+        change(20L, SeatStatus.LOCKED);
+        change(10L, SeatStatus.BOOKED);
+        service.flush();
+
+        SeatMapDeltaResponse delta = (SeatMapDeltaResponse) emitter.next();
+        assertThat(delta.getFromVersion()).isZero();
+        assertThat(delta.getToVersion()).isEqualTo(3);
+        assertThat(delta.getChanges()).hasSize(2);
+
+        service.flush();
+        assertThat(emitter.payloads.poll(100, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void busySubscriberIsSkippedThenDropped() throws Exception {
+        bookingProperties.getStream().setMaxSkippedFlushes(2);
+        RecordingEmitter emitter = subscribe(1);
+
+        change(10L, SeatStatus.LOCKED);
+        service.flush();
+        assertThat(emitter.blocked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        for (int flush = 0; flush < 2; flush++) {
+            change(20L + 10L * flush, SeatStatus.LOCKED);
+            service.flush();
+            assertThat(emitter.completed).isFalse();
+        }
+        change(40L, SeatStatus.LOCKED);
+        service.flush();
+
+        assertThat(emitter.completed).isTrue();
+        assertThat(dropped()).isEqualTo(1);
+        assertThat(subscribers()).isZero();
+    }
+
+    @Test
+    void sendBlockedPastTheTimeoutIsCancelledAndDropped() throws Exception {
+        bookingProperties.getStream().setSendTimeoutMillis(50);
+        RecordingEmitter emitter = subscribe(1);
+
+        change(10L, SeatStatus.LOCKED);
+        service.flush();
+        assertThat(emitter.blocked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Thread.sleep(100);
+        change(20L, SeatStatus.LOCKED);
+        service.flush();
+
+        assertThat(emitter.interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(dropped()).isEqualTo(1);
+        assertThat(subscribers()).isZero();
+    }
+
+    @Test
+    void snapshotSentOnSubscribeIsTimedFromItsStart() throws Exception {
+        bookingProperties.getStream().setSendTimeoutMillis(60_000);
+        RecordingEmitter emitter = emitter(0);
+        CompletableFuture<SseEmitter> subscribing = CompletableFuture.supplyAsync(() -> service.subscribe(SHOW_ID, null));
+        assertThat(emitter.blocked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        change(10L, SeatStatus.LOCKED);
+        service.flush();
+
+        assertThat(dropped()).isZero();
+        emitter.release.countDown();
+        assertThat(subscribing.get(5, TimeUnit.SECONDS)).isSameAs(emitter);
+        assertThat(subscribers()).isEqualTo(1);
+    }
+
+    private RecordingEmitter subscribe(int freeSends) {
+        RecordingEmitter emitter = emitter(freeSends);
+        service.subscribe(SHOW_ID, null);
+        return emitter;
+    }
+
+    private RecordingEmitter emitter(int freeSends) {
+        RecordingEmitter emitter = new RecordingEmitter(freeSends);
+        emitters.add(emitter);
+        created.add(emitter);
+        return emitter;
+    }
+
+    private void change(long seatInventoryId, SeatStatus status) {
+        seatMap.apply(List.of(seatInventoryId), status);
+        service.onSeatMapChanged(new SeatMapChangedEvent(SHOW_ID, seatMap.getVersion()));
+    }
+
+    private double dropped() {
+        return meterRegistry.get("booking.seatstream.dropped").counter().count();
+    }
+
+    private double subscribers() {
+        return meterRegistry.get("booking.seatstream.subscribers").gauge().value();
+    }
+
+    // Inventory ids 10, 20, 30, ... all AVAILABLE, on seats 1, 2, 3, ...
+    private static ShowSeatMap seatMap(int size) {
+        List<Seat> seats = new ArrayList<>();
+        for (int number = 1; number <= size; number++) {
+            seats.add(Seat.builder()
+                    .id((long) number)
+                    .rowLabel("A")
+                    .seatNumber(number)
+                    .seatType(SeatType.REGULAR)
+                    .build());
+        }
+        ShowSeatMap.Builder builder = ShowSeatMap.builder(
+                SHOW_ID, "Show", size, ScreenLayout.of(5L, seats), size, 16, 0,
+                new PriceTiers(SHOW_ID, BigDecimal.TEN, Map.of(), 1));
+        for (int number = 1; number <= size; number++) {
+            builder.seat(10L * number, number, BigDecimal.TEN, SeatStatus.AVAILABLE);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Keeps what was sent; sends beyond the first {@code freeSends} block until released
+     * (a client that stopped reading its socket).
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final BlockingQueue<Object> payloads = new LinkedBlockingQueue<>();
+        private final CountDownLatch blocked = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final CountDownLatch interrupted = new CountDownLatch(1);
+        // Sends to one subscriber never overlap
+        private volatile int freeSends;
+        private volatile boolean completed;
+
+        private RecordingEmitter(int freeSends) {
+            this.freeSends = freeSends;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (freeSends-- <= 0) {
+                blocked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    interrupted.countDown();
+                    throw new IOException("Send interrupted", ex);
+                }
+            }
+            for (ResponseBodyEmitter.DataWithMediaType part : builder.build()) {
+                if (!(part.getData() instanceof String)) {
+                    payloads.add(part.getData());
+                }
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        private Object next() throws InterruptedException {
+            Object payload = payloads.poll(5, TimeUnit.SECONDS);
+            assertThat(payload).as("event sent").isNotNull();
+            return payload;
+        }
+    }
+}
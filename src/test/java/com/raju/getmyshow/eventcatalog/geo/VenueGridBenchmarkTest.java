@@ -0,0 +1,79 @@
+package com.raju.getmyshow.eventcatalog.geo;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Nearest-venue lookups on a country-sized VenueGrid (50k venues clustered around
+ * cities), 8 reader threads sharing the one grid. Correctness: VenueGridTest.
+ *
+ * No Spring context / DB needed. Not part of the normal build, run with:
+ *   ./gradlew benchmark --tests '*VenueGridBenchmarkTest'
+ */
+@Tag("benchmark")
+class VenueGridBenchmarkTest {
+
+    private static final int VENUES = 50_000;
+    private static final int LOOKUPS_PER_THREAD = 50_000;
+    private static final int THREADS = 8;
+    private static final int LIMIT = 20;
+
+    @Test
+    void nearestLatency() throws Exception {
+        Random random = new Random(42);
+        List<GeoVenue> venues = VenueGridTest.venues(random, VENUES);
+
+        long started = System.nanoTime();
+        VenueGrid grid = VenueGrid.build(venues, 0.05);
+        double buildMillis = (System.nanoTime() - started) / 1_000_000.0;
+
+        double[][] points = new double[THREADS * LOOKUPS_PER_THREAD][];
+        for (int lookup = 0; lookup < points.length; lookup++) {
+            double[] city = VenueGridTest.CITIES[random.nextInt(VenueGridTest.CITIES.length)];
+            points[lookup] = VenueGridTest.around(random, city, 0.3);
+        }
+
+        // Warm up, then every thread times its own share of lookups
+        for (double[] point : points) {
+            grid.nearest(point[0], point[1], 10, LIMIT);
+        }
+        ExecutorService readers = Executors.newFixedThreadPool(THREADS);
+        List<Future<long[]>> timings = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            int first = thread * LOOKUPS_PER_THREAD;
+            timings.add(readers.submit(() -> {
+                long[] nanos = new long[LOOKUPS_PER_THREAD];
+                for (int lookup = 0; lookup < LOOKUPS_PER_THREAD; lookup++) {
+                    double[] point = points[first + lookup];
+                    long lookupStarted = System.nanoTime();
+                    grid.nearest(point[0], point[1], 10, LIMIT);
+                    nanos[lookup] = System.nanoTime() - lookupStarted;
+                }
+                return nanos;
+            }));
+        }
+        long[] nanos = new long[points.length];
+        for (int thread = 0; thread < THREADS; thread++) {
+            System.arraycopy(timings.get(thread).get(), 0, nanos, thread * LOOKUPS_PER_THREAD, LOOKUPS_PER_THREAD);
+        }
+        readers.shutdown();
+        Arrays.sort(nanos);
+
+        System.out.printf("%nvenues: %d, build: %.0f ms, readers: %d%n", grid.size(), buildMillis, THREADS);
+        System.out.printf("%-12s %10s %10s %10s%n", "nearest " + LIMIT, "p50 us", "p99 us", "max us");
+        System.out.printf("%-12s %10.1f %10.1f %10.1f%n", "",
+                nanos[nanos.length / 2] / 1000.0, nanos[(int) (nanos.length * 0.99)] / 1000.0, nanos[nanos.length - 1] / 1000.0);
+
+        assertThat(nanos[(int) (nanos.length * 0.99)]).isLessThan(1_000_000L);
+    }
+}
@@ -0,0 +1,125 @@
+package com.raju.getmyshow.eventcatalog.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * VenueGrid must return what a scan of every venue returns: the ones within the radius,
+ * nearest first (ties by id), at most limit.
+ */
+class VenueGridTest {
+
+    static final double[][] CITIES = {
+            {23.8103, 90.4125}, {22.3569, 91.7832}, {24.8949, 91.8687}, {22.8456, 89.5403},
+            {24.3745, 88.6042}, {19.0760, 72.8777}, {28.6139, 77.2090}, {12.9716, 77.5946}};
+
+    @Test
+    void nearestMatchesBruteForce() {
+        Random random = new Random(7);
+        List<GeoVenue> venues = venues(random, 5_000);
+        VenueGrid grid = VenueGrid.build(venues, 0.05);
+
+        for (int lookup = 0; lookup < 500; lookup++) {
+            double[] point = around(random, CITIES[random.nextInt(CITIES.length)], 0.5);
+            double radiusKm = 1 + random.nextInt(50);
+            int limit = 1 + random.nextInt(30);
+
+            assertThat(ids(grid.nearest(point[0], point[1], radiusKm, limit)))
+                    .containsExactlyElementsOf(bruteForce(venues, point, radiusKm, limit));
+        }
+        assertThat(grid.nearest(0, 0, 100, 20)).isEmpty();
+        assertThat(VenueGrid.EMPTY.nearest(23.8103, 90.4125, 10, 20)).isEmpty();
+    }
+
+    @Test
+    void nearestMatchesBruteForceWhereColumnsNarrow() {
+        // 64 degrees north: a cell is half as wide as it is high
+        Random random = new Random(11);
+        double[] reykjavik = {64.1466, -21.9426};
+        List<GeoVenue> venues = new ArrayList<>();
+        for (int id = 1; id <= 2_000; id++) {
+            double[] point = around(random, reykjavik, 0.6);
+            venues.add(venue(id, point[0], point[1]));
+        }
+        VenueGrid grid = VenueGrid.build(venues, 0.05);
+
+        for (int lookup = 0; lookup < 200; lookup++) {
+            double[] point = around(random, reykjavik, 0.4);
+            double radiusKm = 1 + random.nextInt(40);
+            int limit = 1 + random.nextInt(20);
+
+            assertThat(ids(grid.nearest(point[0], point[1], radiusKm, limit)))
+                    .containsExactlyElementsOf(bruteForce(venues, point, radiusKm, limit));
+        }
+    }
+
+    @Test
+    void closerVenueInTheNextCellComesFirst() {
+        // Cells are 0.05 degrees from -90 / -180: 23.80 is a row boundary
+        VenueGrid grid = VenueGrid.build(List.of(
+                venue(1, 23.8490, 90.4100),
+                venue(2, 23.7995, 90.4100)), 0.05);
+
+        assertThat(ids(grid.nearest(23.8005, 90.4100, 10, 1))).containsExactly(2L);
+        assertThat(ids(grid.nearest(23.8005, 90.4100, 10, 5))).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void radiusIsInclusiveAndNothingBeyondIt() {
+        double kmNorth = 1 / GeoDistance.KM_PER_DEGREE;
+        VenueGrid grid = VenueGrid.build(List.of(
+                venue(1, 23.0 + 4.9 * kmNorth, 90.0),
+                venue(2, 23.0 + 5.1 * kmNorth, 90.0),
+                venue(3, 23.0 + 40 * kmNorth, 90.0)), 0.05);
+
+        assertThat(ids(grid.nearest(23.0, 90.0, 5, 10))).containsExactly(1L);
+        assertThat(ids(grid.nearest(23.0, 90.0, 50, 10))).containsExactly(1L, 2L, 3L);
+        assertThat(grid.nearest(23.0, 90.0, 50, 10).get(0).distanceKm()).isCloseTo(4.9, within(0.01));
+    }
+
+    private static List<Long> bruteForce(List<GeoVenue> venues, double[] point, double radiusKm, int limit) {
+        return venues.stream()
+                .filter(venue -> distance(point, venue) <= radiusKm)
+                .sorted(Comparator.comparingDouble((GeoVenue venue) -> distance(point, venue))
+                        .thenComparingLong(GeoVenue::id))
+                .limit(limit)
+                .map(GeoVenue::id)
+                .toList();
+    }
+
+    private static List<Long> ids(List<VenueGrid.Nearby> nearest) {
+        return nearest.stream().map(nearby -> nearby.venue().id()).toList();
+    }
+
+    private static double distance(double[] point, GeoVenue venue) {
+        return GeoDistance.km(point[0], point[1], venue.latitude(), venue.longitude());
+    }
+
+    // Most venues within ~20 km of a city center, denser toward it
+    static List<GeoVenue> venues(Random random, int size) {
+        List<GeoVenue> venues = new ArrayList<>(size);
+        for (int id = 1; id <= size; id++) {
+            double[] city = CITIES[random.nextInt(CITIES.length)];
+            double[] point = around(random, city, 0.2 * Math.abs(random.nextGaussian()));
+            venues.add(venue(id, point[0], point[1]));
+        }
+        return venues;
+    }
+
+    static double[] around(Random random, double[] center, double spreadDegrees) {
+        return new double[]{
+                center[0] + (random.nextDouble() * 2 - 1) * spreadDegrees,
+                center[1] + (random.nextDouble() * 2 - 1) * spreadDegrees};
+    }
+
+    private static GeoVenue venue(long id, double latitude, double longitude) {
+        return new GeoVenue(id, "Venue " + id, "City", "Area", "CINEMA", latitude, longitude);
+    }
+}
@@ -0,0 +1,108 @@
+package com.raju.getmyshow.eventcatalog.layout;
+
+import com.raju.getmyshow.eventcatalog.config.EventCatalogProperties;
+import com.raju.getmyshow.eventcatalog.domain.entity.Seat;
+import com.raju.getmyshow.eventcatalog.domain.enums.SeatType;
+import com.raju.getmyshow.eventcatalog.repository.SeatRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Invalidation against a mocked SeatRepository: a load raced by an invalidation is never
+ * cached, and a transaction invalidates each screen once, after commit.
+ */
+class ScreenLayoutCacheTest {
+
+    private final SeatRepository seatRepository = mock(SeatRepository.class);
+    private final ScreenLayoutCache cache = new ScreenLayoutCache(seatRepository, new EventCatalogProperties());
+
+    @AfterEach
+    void clearTransaction() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(cache);
+    }
+
+    @Test
+    void layoutIsLoadedOnceAndSharedUntilInvalidated() {
+        when(seatRepository.findByScreenIdOrderById(5L)).thenReturn(List.of(seat(1L)));
+
+        ScreenLayout layout = cache.get(5L);
+
+        assertThat(cache.get(5L)).isSameAs(layout);
+        cache.invalidate(5L);
+        assertThat(layout.isCurrent()).isFalse();
+        assertThat(cache.get(5L)).isNotSameAs(layout).matches(ScreenLayout::isCurrent);
+        verify(seatRepository, times(2)).findByScreenIdOrderById(5L);
+    }
+
+    @Test
+    void loadRacedByAnInvalidationIsNotCached() {
+        when(seatRepository.findByScreenIdOrderById(5L)).thenAnswer(invocation -> {
+            // The seat edit commits while this load is reading
+            cache.invalidate(5L);
+            return List.of(seat(1L));
+        });
+
+        ScreenLayout raced = cache.get(5L);
+
+        assertThat(raced.isCurrent()).isFalse();
+        when(seatRepository.findByScreenIdOrderById(5L)).thenReturn(List.of(seat(1L), seat(2L)));
+        assertThat(cache.get(5L).size()).isEqualTo(2);
+    }
+
+    @Test
+    void unknownScreenIsNotCached() {
+        when(seatRepository.findByScreenIdOrderById(99L)).thenReturn(List.of());
+
+        assertThat(cache.get(99L).size()).isZero();
+        cache.get(99L);
+
+        verify(seatRepository, times(2)).findByScreenIdOrderById(99L);
+    }
+
+    @Test
+    void transactionInvalidatesEachScreenOnceAfterCommit() {
+        when(seatRepository.findByScreenIdOrderById(5L)).thenReturn(List.of(seat(1L)));
+        when(seatRepository.findByScreenIdOrderById(6L)).thenReturn(List.of(seat(2L)));
+        ScreenLayout screen5 = cache.get(5L);
+        ScreenLayout screen6 = cache.get(6L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        for (int seat = 0; seat < 100; seat++) {
+            cache.invalidate(5L);
+        }
+        cache.invalidate(6L);
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertThat(synchronizations).hasSize(1);
+        assertThat(screen5.isCurrent()).isTrue();
+
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertThat(screen5.isCurrent()).isFalse();
+        assertThat(screen6.isCurrent()).isFalse();
+        assertThat(TransactionSynchronizationManager.hasResource(cache)).isFalse();
+    }
+
+    private static Seat seat(long id) {
+        return Seat.builder()
+                .id(id)
+                .rowLabel("A")
+                .seatNumber((int) id)
+                .seatType(SeatType.REGULAR)
+                .build();
+    }
+}
@@ -0,0 +1,87 @@
+package com.raju.getmyshow.eventcatalog.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CityShowIndex must return what ShowRepository.searchShows returns: same rows, same
+ * (start time, id) order, same keyset paging; null whenever it cannot be sure.
+ */
+class CityShowIndexTest {
+
+    private static final LocalDateTime DAY = LocalDate.of(2030, 1, 1).atStartOfDay();
+    private static final long FROM = IndexedShow.startKey(DAY);
+    private static final long HORIZON = IndexedShow.startKey(DAY.plusDays(30));
+
+    @Test
+    void pagesInStartTimeThenIdOrderAcrossBitmapWords() {
+        List<IndexedShow> shows = new ArrayList<>();
+        for (int i = 1; i <= 200; i++) {
+            // two shows per start time, inserted out of order
+            shows.add(show(201 - i, DAY.plusHours((201 - i) / 2), i % 3 == 0 ? "Bengali" : "English", "2D,IMAX", 10));
+        }
+        CityShowIndex index = CityShowIndex.build(shows, FROM, HORIZON);
+
+        List<Long> seen = new ArrayList<>();
+        long afterStart = FROM;
+        long afterId = 0;
+        List<IndexedShow> page;
+        do {
+            page = index.search(query(FROM, IndexedShow.startKey(DAY.plusDays(30)), afterStart, afterId, null, null, false, 70));
+            page.forEach(show -> seen.add(show.showId()));
+            if (!page.isEmpty()) {
+                afterStart = page.get(page.size() - 1).startKey();
+                afterId = page.get(page.size() - 1).showId();
+            }
+        } while (page.size() == 70);
+
+        assertThat(seen).hasSize(200);
+        List<Long> sorted = new ArrayList<>(seen);
+        sorted.sort(null);
+        assertThat(seen).isEqualTo(sorted);
+    }
+
+    @Test
+    void filtersAreAnded() {
+        CityShowIndex index = CityShowIndex.build(List.of(
+                show(1, DAY.plusHours(1), "Bengali", "2D", 10),
+                show(2, DAY.plusHours(2), "Bengali", "IMAX", 10),
+                show(3, DAY.plusHours(3), "Bengali", "2D,IMAX", 0),
+                show(4, DAY.plusHours(4), "English", "IMAX", 10)), FROM, HORIZON);
+
+        List<IndexedShow> page = index.search(query(FROM, HORIZON, FROM, 0, "Bengali", "IMAX", true, 20));
+
+        assertThat(page).extracting(IndexedShow::showId).containsExactly(2L);
+        assertThat(index.search(query(FROM, HORIZON, FROM, 0, "Tamil", null, false, 20))).isEmpty();
+    }
+
+    @Test
+    void cannotAnswerOutsideWhatItHolds() {
+        CityShowIndex index = CityShowIndex.build(List.of(show(1, DAY.plusHours(1), "Bengali", "2D", 10)), FROM, HORIZON);
+
+        // before coverage
+        assertThat(index.search(query(FROM - 1, HORIZON, FROM - 1, 0, null, null, false, 20))).isNull();
+        // open-ended, short page: more shows may start after the horizon
+        assertThat(index.search(query(FROM, Long.MAX_VALUE, FROM, 0, null, null, false, 20))).isNull();
+        // open-ended, full page: nothing beyond the horizon can come first
+        assertThat(index.search(query(FROM, Long.MAX_VALUE, FROM, 0, null, null, false, 1))).hasSize(1);
+    }
+
+    private static ShowIndexQuery query(long fromKey, long toKey, long afterStartKey, long afterShowId,
+                                        String language, String format, boolean onlyAvailable, int limit) {
+        return new ShowIndexQuery(fromKey, toKey, afterStartKey, afterShowId,
+                null, language, null, format, onlyAvailable, limit);
+    }
+
+    private static IndexedShow show(long id, LocalDateTime start, String language, String formats, int seats) {
+        return new IndexedShow(id, 1L, 1L, "Title", "MOVIE", "Venue", "Dhaka", start, start.plusHours(2),
+                BigDecimal.TEN, 100, seats, "BOOKING_OPEN", language, "Drama", formats);
+    }
+}
@@ -0,0 +1,204 @@
+package com.raju.getmyshow.eventcatalog.service;
+
+import com.raju.getmyshow.eventcatalog.config.EventCatalogProperties;
+import com.raju.getmyshow.eventcatalog.dto.EventSearchResponse;
+import com.raju.getmyshow.eventcatalog.dto.EventSearchResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Latency of EventCatalogService.searchEvents (full text over events.search_vector)
+ * as the catalog grows.
+ *
+ * Inserts PUBLISHED events in steps up to -Dbenchmark.events.rows (default 2M), every
+ * other one a movie with director / cast / formats, through the V15 triggers. After each
+ * step times selective, multi-word, phrase and very broad queries, and checks the
+ * matches come from idx_events_search_vector, that the pages of a broad query never
+ * repeat an event, and that deleting a movie row re-indexes its event.
+ *
+ * Needs the dev Postgres. Not part of the normal build, run with:
+ *   ./gradlew benchmark --tests '*EventSearchBenchmarkTest' -Dbenchmark.events.rows=2000000
+ */
+@Tag("benchmark")
+@SpringBootTest
+class EventSearchBenchmarkTest {
+
+    private static final long ROWS = Long.getLong("benchmark.events.rows", 2_000_000L);
+    private static final int ROWS_PER_INSERT = 250_000;
+    private static final int RUNS = 200;
+    private static final int DIRECTORS = 500;
+
+    // Title words: each is in ~1 of 20 titles, "common" words in most of them
+    private static final String[] WORDS = {
+            "midnight", "heist", "river", "storm", "kingdom", "shadow", "garden", "empire", "ocean", "winter",
+            "express", "legend", "mirror", "harbor", "falcon", "desert", "silver", "echo", "summit", "orchid"};
+    private static final String[] GENRES = {"Thriller", "Drama", "Comedy", "Action", "Romance"};
+
+    @Autowired
+    private EventCatalogService eventCatalogService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String marker;
+
+    @AfterEach
+    void removeFixture() {
+        if (marker != null) {
+            // movies cascade
+            jdbcTemplate.update("DELETE FROM events WHERE tags @> ARRAY[?]", marker);
+        }
+    }
+
+    @Test
+    void searchLatencyAsCatalogGrows() {
+        marker = "bench" + UUID.randomUUID().toString().replace("-", "").substring(0, 12);
+        Random random = new Random(42);
+
+        long inserted = 0;
+        for (long step : new long[]{ROWS / 8, ROWS / 2, ROWS}) {
+            long started = System.nanoTime();
+            for (; inserted < step; inserted += ROWS_PER_INSERT) {
+                insertEvents(inserted, Math.min(step, inserted + ROWS_PER_INSERT));
+            }
+            double loadSeconds = (System.nanoTime() - started) / 1e9;
+            jdbcTemplate.execute("ANALYZE events");
+            jdbcTemplate.execute("ANALYZE movies");
+
+            System.out.printf("%nevents: %d (step loaded in %.1f s through the triggers)%n", step, loadSeconds);
+            System.out.printf("%-28s %10s %10s %10s %8s%n", "query", "p50 ms", "p95 ms", "p99 ms", "rows");
+
+            long size = step;
+            report("one event (title number)", run -> "saga " + (Math.floorMod(random.nextLong(), size)));
+            report("two title words", run -> word(random) + " " + word(random));
+            report("director genre format", run -> "director" + random.nextInt(DIRECTORS) + " "
+                    + GENRES[random.nextInt(GENRES.length)] + " imax");
+            report("phrase", run -> "\"" + word(random) + " " + word(random) + "\"");
+            report("one word (broad, capped)", run -> word(random));
+        }
+
+        String plan = String.join("\n", jdbcTemplate.queryForList("""
+                EXPLAIN SELECT e.id FROM events e
+                WHERE e.status = 'PUBLISHED' AND e.search_vector @@ websearch_to_tsquery('english', 'midnight heist')
+                LIMIT 10000
+                """, String.class));
+        System.out.println(plan);
+        assertThat(plan).contains("idx_events_search_vector");
+
+        EventSearchResponse hit = eventCatalogService.searchEvents("saga 7 " + marker, null, null, null, 10);
+        assertThat(hit.getEvents()).extracting("title").containsExactly(title(7));
+
+        // Keyset pages of a broad query: every capped candidate once, none repeated or skipped
+        List<Long> paged = new ArrayList<>();
+        EventSearchResponse page = eventCatalogService.searchEvents(marker + " midnight", null, null, null, 50);
+        paged.addAll(eventIds(page));
+        while (page.getNextAfterEventId() != null) {
+            page = eventCatalogService.searchEvents(marker + " midnight", null,
+                    page.getNextAfterRank(), page.getNextAfterEventId(), 50);
+            paged.addAll(eventIds(page));
+        }
+        assertThat(paged).doesNotHaveDuplicates()
+                .hasSizeLessThanOrEqualTo(new EventCatalogProperties().getEventSearch().getMaxCandidates());
+
+        // A deleted movie row takes its director out of the event's document (V15)
+        Long movieEventId = hit(8).getEventId();
+        String director = jdbcTemplate.queryForObject(
+                "SELECT director FROM movies WHERE event_id = ?", String.class, movieEventId);
+        jdbcTemplate.update("DELETE FROM movies WHERE event_id = ?", movieEventId);
+        assertThat(eventCatalogService.searchEvents("saga 8 " + marker + " " + director, null, null, null, 10)
+                .getEvents()).isEmpty();
+        assertThat(hit(8).getEventId()).isEqualTo(movieEventId);
+    }
+
+    private EventSearchResult hit(long n) {
+        List<EventSearchResult> events = eventCatalogService.searchEvents("saga " + n + " " + marker, null, null, null, 10)
+                .getEvents();
+        assertThat(events).hasSize(1);
+        return events.get(0);
+    }
+
+    private static List<Long> eventIds(EventSearchResponse page) {
+        return page.getEvents().stream().map(EventSearchResult::getEventId).toList();
+    }
+
+    private void report(String name, IntFunction<String> queries) {
+        double[] millis = new double[RUNS];
+        long rows = 0;
+        for (int run = 0; run < RUNS; run++) {
+            String query = queries.apply(run);
+            long started = System.nanoTime();
+            EventSearchResponse page = eventCatalogService.searchEvents(query, null, null, null, 10);
+            millis[run] = (System.nanoTime() - started) / 1_000_000.0;
+            rows += page.getEvents().size();
+        }
+        Arrays.sort(millis);
+        System.out.printf("%-28s %10.2f %10.2f %10.2f %8d%n", name,
+                millis[RUNS / 2], millis[(int) (RUNS * 0.95)], millis[(int) (RUNS * 0.99)], rows / RUNS);
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    // Same title the SQL below builds for event n
+    private static String title(long n) {
+        return "The " + capitalize(WORDS[(int) (n * 7 % WORDS.length)]) + " "
+                + capitalize(WORDS[(int) ((n * 13 + 5) % WORDS.length)]) + " Saga " + n;
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    //=======================================
+    //    Fixture
+    //=======================================
+
+    private void insertEvents(long from, long to) {
+        String words = "{" + String.join(",", WORDS) + "}";
+        String genres = "{" + String.join(",", GENRES) + "}";
+
+        // Titles "The <Word> <Word> Saga <n>", so "saga <n>" finds exactly one event
+        jdbcTemplate.update("""
+                INSERT INTO events (title, description, event_type, status, is_featured, tags)
+                SELECT 'The ' || initcap(w.words[(n * 7 % ?)::INT + 1]) || ' '
+                           || initcap(w.words[((n * 13 + 5) % ?)::INT + 1]) || ' Saga ' || n,
+                       'A story of ' || w.words[((n * 3 + 1) % ?)::INT + 1] || ' and '
+                           || w.words[((n * 11 + 2) % ?)::INT + 1] || ', told over one long night.',
+                       CASE WHEN n % 2 = 0 THEN 'MOVIE' ELSE 'CONCERT' END,
+                       'PUBLISHED', FALSE,
+                       ARRAY[?, w.words[((n * 17 + 3) % ?)::INT + 1]]
+                FROM generate_series(?::BIGINT, ?::BIGINT - 1) AS n,
+                     (SELECT CAST(? AS TEXT[]) AS words) w
+                """, WORDS.length, WORDS.length, WORDS.length, WORDS.length, marker, WORDS.length,
+                from, to, words);
+
+        // Movie details for the MOVIE half: re-indexes those events (trg_movies_search_vector_insert)
+        jdbcTemplate.update("""
+                INSERT INTO movies (event_id, duration, genre, language, director, cast_members, formats,
+                                    release_date, original_language, country_of_origin)
+                SELECT e.id, 140, g.genres[(e.id % ?)::INT + 1], 'English', 'Director' || (e.id % ?),
+                       jsonb_build_array(jsonb_build_object('name', 'Actor' || (e.id % 5000), 'role', 'Lead')),
+                       CASE WHEN e.id % 3 = 0 THEN ARRAY['2D', 'IMAX'] ELSE ARRAY['2D'] END,
+                       CURRENT_DATE, 'English', 'USA'
+                FROM events e,
+                     (SELECT CAST(? AS TEXT[]) AS genres) g
+                WHERE e.tags @> ARRAY[?]
+                  AND e.event_type = 'MOVIE'
+                  AND NOT EXISTS (SELECT 1 FROM movies m WHERE m.event_id = e.id)
+                """, GENRES.length, DIRECTORS, genres, marker);
+    }
+}
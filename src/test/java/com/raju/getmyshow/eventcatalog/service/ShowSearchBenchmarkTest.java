@@ -0,0 +1,181 @@
+package com.raju.getmyshow.eventcatalog.service;
+
+import com.raju.getmyshow.eventcatalog.api.dto.SearchShowsRequest;
+import com.raju.getmyshow.eventcatalog.api.dto.ShowDto;
+import com.raju.getmyshow.eventcatalog.domain.enums.EventType;
+import com.raju.getmyshow.support.BenchmarkFixture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Latency of EventCatalogFacade.searchShows (one statement per page, keyset cursor)
+ * on a large shows table.
+ *
+ * Fills shows with -Dbenchmark.shows.rows rows (default 3M) over 50 cities and the
+ * next 90 days, then times first pages, filtered pages and deep pages, and checks
+ * every page is read from idx_shows_search_primary. ShowSearchIndex is switched off:
+ * this measures the SQL path it falls back to.
+ *
+ * Needs the dev Postgres. Not part of the normal build, run with:
+ *   ./gradlew benchmark --tests '*ShowSearchBenchmarkTest' -Dbenchmark.shows.rows=3000000
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "eventcatalog.search-index.enabled=false")
+class ShowSearchBenchmarkTest {
+
+    private static final long ROWS = Long.getLong("benchmark.shows.rows", 3_000_000L);
+    private static final int CITIES = 50;
+    private static final int DAYS = 90;
+    private static final int ROWS_PER_INSERT = 500_000;
+    private static final int RUNS = 200;
+    private static final String[] LANGUAGES = {"Bengali", "English", "Hindi", "Tamil", "Korean"};
+    private static final String[] GENRES = {"Drama", "Thriller", "Comedy", "Action"};
+
+    @Autowired
+    private EventCatalogService eventCatalogService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private BenchmarkFixture fixture;
+    private String cityPrefix;
+
+    @AfterEach
+    void removeFixture() {
+        if (fixture != null) {
+            fixture.cleanup();
+        }
+    }
+
+    @Test
+    void searchLatencyOnLargeCatalog() {
+        createFixture();
+        jdbcTemplate.execute("ANALYZE shows");
+
+        Random random = new Random(42);
+        LocalDate today = LocalDate.now();
+
+        System.out.printf("shows: %d rows, %d cities%n",
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM shows", Long.class), CITIES);
+        System.out.printf("%-28s %10s %10s %10s %8s%n", "search", "p50 ms", "p95 ms", "p99 ms", "rows");
+
+        report("city, upcoming", run -> request(random).build());
+        report("city + date", run -> request(random)
+                .fromDate(today.plusDays(random.nextInt(DAYS)))
+                .toDate(today.plusDays(random.nextInt(DAYS)).plusDays(DAYS))
+                .build());
+        report("city + type + available", run -> request(random)
+                .eventType(EventType.MOVIE)
+                .onlyAvailable(true)
+                .build());
+        report("city + language + genre", run -> request(random)
+                .language(LANGUAGES[random.nextInt(LANGUAGES.length)])
+                .genre(GENRES[random.nextInt(GENRES.length)])
+                .build());
+        report("page 50 (cursor)", run -> deepPageRequest(random, 50));
+
+        String city = cityPrefix + "0";
+        String plan = String.join("\n", jdbcTemplate.queryForList("""
+                EXPLAIN SELECT s.id FROM shows s LEFT JOIN movies m ON m.event_id = s.event_id
+                WHERE s.city = ? AND s.status IN ('SCHEDULED', 'BOOKING_OPEN')
+                  AND (s.start_time, s.id) > (NOW(), 0) AND s.start_time >= NOW()
+                ORDER BY s.start_time, s.id LIMIT 20
+                """, String.class, city));
+        System.out.println(plan);
+        assertThat(plan).contains("idx_shows_search_primary").doesNotContain("Sort");
+    }
+
+    private void report(String name, IntFunction<SearchShowsRequest> requests) {
+        double[] millis = new double[RUNS];
+        long rows = 0;
+        for (int run = 0; run < RUNS; run++) {
+            SearchShowsRequest request = requests.apply(run);
+            long started = System.nanoTime();
+            List<ShowDto> page = eventCatalogService.searchShows(request);
+            millis[run] = (System.nanoTime() - started) / 1_000_000.0;
+            rows += page.size();
+        }
+        Arrays.sort(millis);
+        System.out.printf("%-28s %10.2f %10.2f %10.2f %8d%n", name,
+                millis[RUNS / 2], millis[(int) (RUNS * 0.95)], millis[(int) (RUNS * 0.99)], rows / RUNS);
+    }
+
+    private SearchShowsRequest.SearchShowsRequestBuilder request(Random random) {
+        return SearchShowsRequest.builder()
+                .city(cityPrefix + random.nextInt(CITIES))
+                .size(20);
+    }
+
+    // Walks 50 pages untimed, the request for the next one is what gets timed
+    private SearchShowsRequest deepPageRequest(Random random, int pages) {
+        SearchShowsRequest request = request(random).build();
+        for (int page = 0; page < pages; page++) {
+            List<ShowDto> shows = eventCatalogService.searchShows(request);
+            if (shows.isEmpty()) {
+                break;
+            }
+            ShowDto last = shows.get(shows.size() - 1);
+            request.setAfterStartTime(last.getStartTime());
+            request.setAfterShowId(last.getId());
+        }
+        return request;
+    }
+
+    //=======================================
+    //    Fixture
+    //=======================================
+
+    private void createFixture() {
+        fixture = new BenchmarkFixture(jdbcTemplate);
+        cityPrefix = "Bench-" + fixture.suffix().substring(0, 8) + "-";
+        long screenId = fixture.screen(fixture.venue("Search Venue", cityPrefix + "0", "CINEMA"), 200, 20);
+
+        // One movie per language x genre, a few non-movie events
+        for (String language : LANGUAGES) {
+            for (String genre : GENRES) {
+                fixture.movie("Search bench " + language + " " + genre, genre, language);
+            }
+        }
+        for (int concert = 0; concert < 5; concert++) {
+            fixture.event("Search bench concert " + concert, "CONCERT");
+        }
+
+        List<Long> eventIds = fixture.eventIds();
+        String events = eventIds.stream().map(String::valueOf).collect(Collectors.joining(",", "{", "}"));
+        for (long from = 0; from < ROWS; from += ROWS_PER_INSERT) {
+            // Pseudo-random start within [-1 day, +DAYS days), every 7th show sold out,
+            // past and every 20th show not searchable
+            jdbcTemplate.update("""
+                    INSERT INTO shows (event_id, screen_id, city, event_title, venue_name, event_type,
+                                       start_time, end_time, base_price, total_seats, available_seats, status)
+                    SELECT e.event_id, ?, ? || (n % ?), e.title, 'Search Venue', e.event_type,
+                           t.start_time, t.start_time + INTERVAL '3 hours', 250, 200,
+                           CASE WHEN n % 7 = 0 THEN 0 ELSE 200 END,
+                           CASE WHEN t.start_time < NOW() THEN 'COMPLETED'
+                                WHEN n % 20 = 0 THEN 'CANCELLED'
+                                ELSE 'BOOKING_OPEN' END
+                    FROM generate_series(?::BIGINT, ?::BIGINT - 1) AS n,
+                         LATERAL (SELECT ev.id AS event_id, ev.title, ev.event_type
+                                  FROM events ev
+                                  WHERE ev.id = (CAST(? AS BIGINT[]))[(n % ?)::INT + 1]) e,
+                         LATERAL (SELECT date_trunc('hour', NOW()) - INTERVAL '1 day'
+                                         + make_interval(secs => ((n * 7919) % (? * 86400))::DOUBLE PRECISION)
+                                             AS start_time) t
+                    """, screenId, cityPrefix, CITIES, from, Math.min(ROWS, from + ROWS_PER_INSERT),
+                    events, eventIds.size(), DAYS + 1);
+        }
+    }
+}
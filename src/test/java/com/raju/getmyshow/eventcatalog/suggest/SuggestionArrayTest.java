@@ -0,0 +1,134 @@
+package com.raju.getmyshow.eventcatalog.suggest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SuggestionArray must return what a scan of every suggestion returns: the ones with a
+ * word starting with the prefix, most popular first.
+ */
+class SuggestionArrayTest {
+
+    private static final int K = 8;
+    private static final String[] WORDS = {
+            "the", "dark", "knight", "inception", "interstellar", "dhaka", "dynamites", "premier", "league",
+            "gulshan", "star", "cineplex", "blockbuster", "jamuna", "future", "park", "royal", "challengers",
+            "mumbai", "indians", "concert", "live", "night", "comedy", "tour", "world", "cup", "final"};
+
+    @Test
+    void topKMatchesBruteForce() {
+        Random random = new Random(7);
+        List<Suggestion> suggestions = catalog(random, 5_000);
+        SuggestionArray index = SuggestionArray.build(suggestions, 6);
+
+        for (String word : WORDS) {
+            for (int length = 1; length <= Math.min(4, word.length()); length++) {
+                String prefix = word.substring(0, length);
+                List<Long> expected = suggestions.stream()
+                        .filter(suggestion -> (" " + suggestion.normalized()).contains(" " + prefix))
+                        .map(Suggestion::popularity)
+                        .sorted(Comparator.reverseOrder())
+                        .limit(K)
+                        .toList();
+
+                // Same popularity at every rank (ties may come in another order)
+                assertThat(top(index, prefix, K)).extracting(Suggestion::popularity)
+                        .as("prefix %s", prefix)
+                        .containsExactlyElementsOf(expected);
+            }
+        }
+        assertThat(top(index, "Café Dhaka", K)).isEmpty();
+        assertThat(top(index, "zzz", K)).isEmpty();
+    }
+
+    @Test
+    void matchesTheStartOfAnyWordOnly() {
+        SuggestionArray index = SuggestionArray.build(List.of(
+                event(1, "The Dark Knight", 10),
+                event(2, "Knightfall", 5),
+                event(3, "Darkness", 1)), 6);
+
+        assertThat(texts(index, "knig")).containsExactly("The Dark Knight", "Knightfall");
+        assertThat(texts(index, "dark k")).containsExactly("The Dark Knight");
+        assertThat(texts(index, "ight")).isEmpty();
+    }
+
+    @Test
+    void caseAndAccentsAreIgnored() {
+        SuggestionArray index = SuggestionArray.build(List.of(event(1, "Café Dhaka", 1)), 6);
+
+        assertThat(texts(index, "CAFE")).containsExactly("Café Dhaka");
+        assertThat(texts(index, "café  dh")).containsExactly("Café Dhaka");
+    }
+
+    @Test
+    void mostPopularFirstAndEachSuggestionOnce() {
+        SuggestionArray index = SuggestionArray.build(List.of(
+                event(1, "Dhaka Dynamites", 30),
+                event(2, "Dhaka Derby", 50),
+                event(3, "Royal Dhaka Nights", 40)), 6);
+
+        // "d" starts two words of every title
+        assertThat(texts(index, "d")).containsExactly("Dhaka Derby", "Royal Dhaka Nights", "Dhaka Dynamites");
+    }
+
+    @Test
+    void wordsPastMaxWordsAreNotMatched() {
+        SuggestionArray index = SuggestionArray.build(List.of(event(1, "One Two Three Four", 1)), 2);
+
+        assertThat(texts(index, "two")).containsExactly("One Two Three Four");
+        assertThat(texts(index, "three")).isEmpty();
+        assertThat(index.entries()).isEqualTo(2);
+    }
+
+    private static List<String> texts(SuggestionArray index, String query) {
+        return top(index, query, K).stream().map(Suggestion::text).toList();
+    }
+
+    // What TypeaheadIndex.suggest does for one array: most popular first, each suggestion once
+    static List<Suggestion> top(SuggestionArray index, String query, int k) {
+        SuggestionArray.Cursor cursor = index.cursor(Suggestion.normalize(query));
+        Set<Suggestion> top = new LinkedHashSet<>();
+        Suggestion next;
+        while (top.size() < k && (next = cursor.next()) != null) {
+            top.add(next);
+        }
+        return new ArrayList<>(top);
+    }
+
+    // Titles of 2 to 4 words, popularity skewed: a few very popular, a long tail
+    static List<Suggestion> catalog(Random random, int size) {
+        List<Suggestion> suggestions = new ArrayList<>(size);
+        for (int id = 1; id <= size; id++) {
+            StringBuilder title = new StringBuilder();
+            int words = 2 + random.nextInt(3);
+            for (int word = 0; word < words; word++) {
+                title.append(word == 0 ? "" : " ").append(capitalize(WORDS[random.nextInt(WORDS.length)]));
+            }
+            title.append(' ').append(id);
+            long popularity = (long) (1_000_000 * Math.pow(random.nextDouble(), 8));
+            suggestions.add(event(id, title.toString(), popularity));
+        }
+        return suggestions;
+    }
+
+    static String randomWord(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private static Suggestion event(long id, String title, long popularity) {
+        return Suggestion.of(SuggestionType.EVENT, id, title, "MOVIE", popularity);
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
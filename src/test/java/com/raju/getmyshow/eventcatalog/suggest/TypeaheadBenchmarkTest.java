@@ -0,0 +1,61 @@
+package com.raju.getmyshow.eventcatalog.suggest;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Top-k typeahead lookups on a catalog-sized SuggestionArray (500k suggestions),
+ * prefixes of 1 to 6 characters. Correctness: SuggestionArrayTest.
+ *
+ * No Spring context / DB needed. Not part of the normal build, run with:
+ *   ./gradlew benchmark --tests '*TypeaheadBenchmarkTest'
+ */
+@Tag("benchmark")
+class TypeaheadBenchmarkTest {
+
+    private static final int SUGGESTIONS = 500_000;
+    private static final int LOOKUPS = 200_000;
+    private static final int K = 8;
+
+    @Test
+    void topKLatency() {
+        Random random = new Random(42);
+        List<Suggestion> suggestions = SuggestionArrayTest.catalog(random, SUGGESTIONS);
+
+        long started = System.nanoTime();
+        SuggestionArray index = SuggestionArray.build(suggestions, 6);
+        double buildMillis = (System.nanoTime() - started) / 1_000_000.0;
+
+        String[] prefixes = new String[LOOKUPS];
+        for (int lookup = 0; lookup < LOOKUPS; lookup++) {
+            String word = SuggestionArrayTest.randomWord(random);
+            prefixes[lookup] = word.substring(0, 1 + random.nextInt(Math.min(6, word.length())));
+        }
+
+        // Warm up, then time every lookup
+        for (String prefix : prefixes) {
+            SuggestionArrayTest.top(index, prefix, K);
+        }
+        long[] nanos = new long[LOOKUPS];
+        for (int lookup = 0; lookup < LOOKUPS; lookup++) {
+            long lookupStarted = System.nanoTime();
+            SuggestionArrayTest.top(index, prefixes[lookup], K);
+            nanos[lookup] = System.nanoTime() - lookupStarted;
+        }
+        Arrays.sort(nanos);
+
+        System.out.printf("%nsuggestions: %d, word starts: %d, build: %.0f ms, ~%d MB%n",
+                index.suggestions(), index.entries(), buildMillis, index.estimatedBytes(0) / (1024 * 1024));
+        System.out.printf("%-10s %10s %10s %10s%n", "top " + K, "p50 us", "p99 us", "max us");
+        System.out.printf("%-10s %10.1f %10.1f %10.1f%n", "",
+                nanos[LOOKUPS / 2] / 1000.0, nanos[(int) (LOOKUPS * 0.99)] / 1000.0, nanos[LOOKUPS - 1] / 1000.0);
+
+        assertThat(nanos[(int) (LOOKUPS * 0.99)]).isLessThan(1_000_000L);
+    }
+}
@@ -0,0 +1,151 @@
+package com.raju.getmyshow.eventcatalog.suggest;
+
+import com.raju.getmyshow.eventcatalog.config.EventCatalogProperties;
+import com.raju.getmyshow.eventcatalog.dto.SuggestionDto;
+import com.raju.getmyshow.eventcatalog.repository.EventRepository;
+import com.raju.getmyshow.eventcatalog.repository.SportsEventRepository;
+import com.raju.getmyshow.eventcatalog.repository.VenueRepository;
+import com.raju.getmyshow.eventcatalog.repository.projection.EventSuggestionRow;
+import com.raju.getmyshow.eventcatalog.repository.projection.SportsSuggestionRow;
+import com.raju.getmyshow.eventcatalog.repository.projection.VenueSuggestionRow;
+import com.raju.getmyshow.shared.change.ChangeFeed;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Base + overlay as readers see them, against mocked repositories: most popular first,
+ * each suggestion once, replaced and removed rows masked; refreshes read through the
+ * change cursors from the build's horizon on.
+ */
+class TypeaheadIndexTest {
+
+    private static final LocalDateTime BUILT = LocalDateTime.of(2026, 10, 17, 9, 0);
+    private static final LocalDateTime POLLED = BUILT.plusSeconds(5);
+
+    private final EventRepository eventRepository = mock(EventRepository.class);
+    private final VenueRepository venueRepository = mock(VenueRepository.class);
+    private final SportsEventRepository sportsEventRepository = mock(SportsEventRepository.class);
+    private final ChangeFeed changeFeed = mock(ChangeFeed.class);
+    private final TypeaheadIndex index = new TypeaheadIndex(eventRepository, venueRepository, sportsEventRepository,
+            new EventCatalogProperties(), changeFeed, new SimpleMeterRegistry());
+
+    @BeforeEach
+    void buildTheBase() {
+        when(changeFeed.horizon()).thenReturn(BUILT, POLLED);
+        when(eventRepository.findSuggestionSources(any())).thenReturn(List.of(
+                event(1, "Dhaka Derby", true, 50),
+                event(2, "Dhaka Dynamites", true, 30)));
+        when(venueRepository.findSuggestionSources(any())).thenReturn(List.of(
+                venue(1, "Dhaka Arena", "Dhaka", true, 20),
+                venue(2, "Gulshan Hall", "Dhaka", true, 15)));
+        when(sportsEventRepository.findSuggestionSources(any())).thenReturn(List.of(
+                sports(2, null, "Dhaka Dynamites", null, true, 25)));
+
+        assertThat(index.suggest("dhaka", 8)).isEmpty();
+        index.rebuild();
+        assertThat(index.isReady()).isTrue();
+    }
+
+    @Test
+    void mostPopularFirstAndEachSuggestionOnce() {
+        // "d" starts two words of "Dhaka Derby", "Dhaka Dynamites"...; the city sums its venues
+        assertThat(texts(index.suggest("d", 8))).containsExactly(
+                "Dhaka Derby", "Dhaka", "Dhaka Dynamites", "Dhaka Dynamites", "Dhaka Arena");
+        assertThat(index.suggest("dhaka", 8)).filteredOn(suggestion -> "Dhaka Dynamites".equals(suggestion.getText()))
+                .extracting(SuggestionDto::getType)
+                .containsExactlyInAnyOrder(SuggestionType.EVENT, SuggestionType.TEAM);
+        assertThat(texts(index.suggest("d", 2))).containsExactly("Dhaka Derby", "Dhaka");
+    }
+
+    @Test
+    void refreshedRowsReplaceOrRemoveTheirBaseSuggestions() {
+        when(eventRepository.findSuggestionChanges(any(), anyLong(), any(), any(), anyInt())).thenReturn(List.of(
+                event(1, "Dhaka Derby", false, 50),
+                event(2, "Dhaka Dynamites Final", true, 60)), List.of());
+        when(venueRepository.findSuggestionChanges(any(), anyLong(), any(), any(), anyInt())).thenReturn(List.of(
+                venue(3, "Banani Stage", "Dhaka", true, 1)), List.of());
+
+        index.refresh();
+
+        assertThat(index.suggest("dha", 8)).extracting(SuggestionDto::getText, SuggestionDto::getType).containsExactly(
+                tuple("Dhaka Dynamites Final", SuggestionType.EVENT),
+                tuple("Dhaka", SuggestionType.CITY),
+                tuple("Dhaka Dynamites", SuggestionType.TEAM),
+                tuple("Dhaka Arena", SuggestionType.VENUE));
+        assertThat(texts(index.suggest("ban", 8))).containsExactly("Banani Stage");
+        // The city is known already: its popularity waits for the next full build
+        assertThat(index.suggest("dhaka", 8)).filteredOn(suggestion -> suggestion.getType() == SuggestionType.CITY)
+                .hasSize(1);
+    }
+
+    @Test
+    void refreshReadsFromTheBuildHorizonUpToTheCurrentOne() {
+        when(eventRepository.findSuggestionChanges(any(), anyLong(), any(), any(), anyInt())).thenReturn(List.of(
+                event(7, "Live Tonight", true, 1)), List.of());
+
+        index.refresh();
+        index.refresh();
+
+        verify(eventRepository).findSuggestionChanges(eq(BUILT), eq(0L), eq(POLLED), any(), anyInt());
+        verify(eventRepository).findSuggestionChanges(eq(BUILT.plusSeconds(1)), eq(7L), eq(POLLED), any(), anyInt());
+        // Nothing new there: both polls start at the build's horizon
+        verify(venueRepository, times(2)).findSuggestionChanges(eq(BUILT), eq(0L), eq(POLLED), any(), anyInt());
+        verify(sportsEventRepository, times(2)).findSuggestionChanges(eq(BUILT), eq(0L), eq(POLLED), any(), anyInt());
+        assertThat(texts(index.suggest("live", 8))).containsExactly("Live Tonight");
+    }
+
+    private static List<String> texts(List<SuggestionDto> suggestions) {
+        return suggestions.stream().map(SuggestionDto::getText).toList();
+    }
+
+    private static EventSuggestionRow event(long id, String title, boolean active, long popularity) {
+        EventSuggestionRow row = mock(EventSuggestionRow.class);
+        when(row.getId()).thenReturn(id);
+        when(row.getTitle()).thenReturn(title);
+        when(row.getEventType()).thenReturn("SPORTS");
+        when(row.getPopularity()).thenReturn(popularity);
+        when(row.getActive()).thenReturn(active);
+        when(row.getUpdatedAt()).thenReturn(BUILT.plusSeconds(1));
+        return row;
+    }
+
+    private static VenueSuggestionRow venue(long id, String name, String city, boolean active, long popularity) {
+        VenueSuggestionRow row = mock(VenueSuggestionRow.class);
+        when(row.getId()).thenReturn(id);
+        when(row.getName()).thenReturn(name);
+        when(row.getCity()).thenReturn(city);
+        when(row.getPopularity()).thenReturn(popularity);
+        when(row.getActive()).thenReturn(active);
+        when(row.getUpdatedAt()).thenReturn(BUILT.plusSeconds(1));
+        return row;
+    }
+
+    private static SportsSuggestionRow sports(long eventId, String tournament, String teamHome, String teamAway,
+                                              boolean active, long popularity) {
+        SportsSuggestionRow row = mock(SportsSuggestionRow.class);
+        when(row.getEventId()).thenReturn(eventId);
+        when(row.getSportType()).thenReturn("CRICKET");
+        when(row.getTournamentName()).thenReturn(tournament);
+        when(row.getTeamHome()).thenReturn(teamHome);
+        when(row.getTeamAway()).thenReturn(teamAway);
+        when(row.getPopularity()).thenReturn(popularity);
+        when(row.getActive()).thenReturn(active);
+        when(row.getUpdatedAt()).thenReturn(BUILT.plusSeconds(1));
+        return row;
+    }
+}
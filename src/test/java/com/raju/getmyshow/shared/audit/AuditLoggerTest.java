@@ -0,0 +1,197 @@
+package com.raju.getmyshow.shared.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.raju.getmyshow.shared.config.AuditProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Writer thread, back-pressure and shutdown of the audit logger, against a mocked JdbcTemplate
+ * that records (userId, entityId) of every row it is asked to insert.
+ */
+class AuditLoggerTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final AuditProperties auditProperties = new AuditProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<long[]> rows = Collections.synchronizedList(new ArrayList<>());
+
+    private AuditLogger auditLogger;
+
+    @AfterEach
+    void stopWriter() {
+        if (auditLogger != null) {
+            auditLogger.stop();
+        }
+    }
+
+    @Test
+    void concurrentEventsAreWrittenOnceInEachProducersOrder() throws Exception {
+        auditProperties.setBufferCapacity(256);
+        auditProperties.setBatchSize(50);
+        auditProperties.setFlushIntervalMillis(5);
+        auditProperties.setOverflowPolicy(AuditOverflowPolicy.BLOCK);
+        auditProperties.setBlockTimeoutMillis(10_000);
+        recordRows();
+        start();
+
+        int producers = 6;
+        int perProducer = 5_000;
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (long producer = 0; producer < producers; producer++) {
+                long userId = producer;
+                futures.add(pool.submit(() -> {
+                    for (long sequence = 0; sequence < perProducer; sequence++) {
+                        auditLogger.record(userId, "TEST", "Sequence", sequence);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        auditLogger.stop();
+
+        assertThat(rows).hasSize(producers * perProducer);
+        long[] next = new long[producers];
+        for (long[] row : rows) {
+            int producer = (int) row[0];
+            assertThat(row[1]).as("producer %d", producer).isEqualTo(next[producer]);
+            next[producer]++;
+        }
+        assertThat(counter("audit.events.recorded")).isEqualTo(producers * perProducer);
+        assertThat(counter("audit.events.written")).isEqualTo(producers * perProducer);
+        assertThat(meterRegistry.find("audit.events.dropped").counters())
+                .allSatisfy(dropped -> assertThat(dropped.count()).isZero());
+    }
+
+    @Test
+    void eventsAfterStopAreRefusedAndCounted() {
+        recordRows();
+        start();
+        auditLogger.record(1L, "TEST", "Sequence", 1L);
+        auditLogger.stop();
+
+        auditLogger.record(1L, "TEST", "Sequence", 2L);
+
+        assertThat(rows).extracting(row -> row[1]).containsExactly(1L);
+        assertThat(dropped("shutdown")).isEqualTo(1);
+    }
+
+    @Test
+    void failedBatchIsCountedAndTheWriterCarriesOn() throws Exception {
+        CountDownLatch firstAttempt = failFirstBatchWith(new IllegalStateException("bad row"));
+        start();
+
+        auditLogger.record(1L, "TEST", "Sequence", 1L);
+        assertThat(firstAttempt.await(5, TimeUnit.SECONDS)).isTrue();
+        auditLogger.record(1L, "TEST", "Sequence", 2L);
+        auditLogger.stop();
+
+        assertThat(rows).extracting(row -> row[1]).containsExactly(2L);
+        assertThat(dropped("write_error")).isEqualTo(1);
+        assertThat(counter("audit.writer.restarts")).isZero();
+    }
+
+    @Test
+    void writerKilledByAnErrorIsReplaced() throws Exception {
+        CountDownLatch firstAttempt = failFirstBatchWith(new StackOverflowError());
+        start();
+
+        auditLogger.record(1L, "TEST", "Sequence", 1L);
+        assertThat(firstAttempt.await(5, TimeUnit.SECONDS)).isTrue();
+        auditLogger.record(1L, "TEST", "Sequence", 2L);
+        auditLogger.stop();
+
+        assertThat(rows).extracting(row -> row[1]).containsExactly(2L);
+        assertThat(dropped("write_error")).isEqualTo(1);
+        assertThat(counter("audit.writer.restarts")).isEqualTo(1);
+    }
+
+    @Test
+    void disabledAuditNeverTouchesTheDatabase() {
+        auditProperties.setEnabled(false);
+        start();
+
+        auditLogger.record(1L, "TEST", "Sequence", 1L);
+        auditLogger.stop();
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), any(BatchPreparedStatementSetter.class));
+        assertThat(counter("audit.events.recorded")).isZero();
+    }
+
+    private void start() {
+        auditLogger = new AuditLogger(jdbcTemplate, new ObjectMapper(), auditProperties, meterRegistry);
+        auditLogger.start();
+    }
+
+    /**
+     * Every batch handed to the JdbcTemplate ends up in {@link #rows}
+     */
+    private void recordRows() {
+        when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> insert(invocation.getArgument(1)));
+    }
+
+    private CountDownLatch failFirstBatchWith(Throwable failure) {
+        CountDownLatch firstAttempt = new CountDownLatch(1);
+        when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    firstAttempt.countDown();
+                    throw failure;
+                })
+                .thenAnswer(invocation -> insert(invocation.getArgument(1)));
+        return firstAttempt;
+    }
+
+    private int[] insert(BatchPreparedStatementSetter setter) throws Exception {
+        long[] row = new long[2];
+        PreparedStatement statement = mock(PreparedStatement.class);
+        doAnswer(invocation -> row[0] = invocation.<Long>getArgument(1))
+                .when(statement).setObject(eq(1), any(), eq(Types.BIGINT));
+        doAnswer(invocation -> row[1] = invocation.<Long>getArgument(1))
+                .when(statement).setObject(eq(4), any(), eq(Types.BIGINT));
+
+        for (int i = 0; i < setter.getBatchSize(); i++) {
+            setter.setValues(statement, i);
+            rows.add(row.clone());
+        }
+        return new int[setter.getBatchSize()];
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    private double dropped(String reason) {
+        return meterRegistry.get("audit.events.dropped").tag("reason", reason).counter().count();
+    }
+}
@@ -0,0 +1,129 @@
+package com.raju.getmyshow.shared.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Many producers against the single consumer, over many laps of a small ring.
+ */
+class AuditRingBufferTest {
+
+    private static final int PRODUCERS = 8;
+    private static final int PER_PRODUCER = 50_000;
+
+    @Test
+    void nothingLostOrDuplicatedAndEachProducerKeepsItsOrder() throws Exception {
+        AuditRingBuffer<long[]> buffer = new AuditRingBuffer<>(64);
+        ExecutorService producers = Executors.newFixedThreadPool(PRODUCERS);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try {
+            for (int producer = 0; producer < PRODUCERS; producer++) {
+                long producerId = producer;
+                producers.submit(() -> {
+                    start.await();
+                    for (long sequence = 0; sequence < PER_PRODUCER; sequence++) {
+                        while (!buffer.offer(new long[]{producerId, sequence})) {
+                            Thread.onSpinWait();  // full: the consumer makes room
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+
+            long[] next = new long[PRODUCERS];
+            int received = 0;
+            List<long[]> batch = new ArrayList<>();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (received < PRODUCERS * PER_PRODUCER && System.nanoTime() < deadline) {
+                batch.clear();
+                buffer.drainTo(batch, 100);
+                for (long[] element : batch) {
+                    int producer = (int) element[0];
+                    assertThat(element[1]).as("producer %d", producer).isEqualTo(next[producer]);
+                    next[producer]++;
+                }
+                received += batch.size();
+            }
+
+            assertThat(received).isEqualTo(PRODUCERS * PER_PRODUCER);
+            assertThat(next).containsOnly(PER_PRODUCER);
+            assertThat(buffer.size()).isZero();
+        } finally {
+            producers.shutdownNow();
+        }
+    }
+
+    @Test
+    void closeRefusesLaterOffersAndKeepsEarlierOnes() throws Exception {
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(1 << 16);
+        ExecutorService producers = Executors.newFixedThreadPool(PRODUCERS);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try {
+            List<Future<Integer>> accepted = new ArrayList<>();
+            for (int producer = 0; producer < PRODUCERS; producer++) {
+                accepted.add(producers.submit(() -> {
+                    start.await();
+                    int count = 0;
+                    for (int element = 0; element < 1_000_000; element++) {
+                        if (buffer.offer(element)) {
+                            count++;
+                        } else if (buffer.isClosed()) {
+                            break;
+                        }
+                    }
+                    return count;
+                }));
+            }
+
+            start.countDown();
+            int drained = 0;
+            List<Integer> batch = new ArrayList<>();
+            for (int round = 0; round < 50; round++) {
+                batch.clear();
+                drained += buffer.drainTo(batch, 1_000);
+            }
+            buffer.close();
+
+            int offered = 0;
+            for (Future<Integer> future : accepted) {
+                offered += future.get(30, TimeUnit.SECONDS);
+            }
+            while (!buffer.isDrained()) {
+                batch.clear();
+                drained += buffer.drainTo(batch, 1_000);
+            }
+
+            // Every accepted offer came out, nothing was accepted after the close
+            assertThat(drained).isEqualTo(offered);
+            assertThat(buffer.offer(1)).isFalse();
+            assertThat(buffer.size()).isZero();
+        } finally {
+            producers.shutdownNow();
+        }
+    }
+
+    @Test
+    void capacityIsRoundedUpToAPowerOfTwo() {
+        assertThat(new AuditRingBuffer<>(1000).capacity()).isEqualTo(1024);
+        assertThat(new AuditRingBuffer<>(1024).capacity()).isEqualTo(1024);
+
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(4);
+        for (int element = 0; element < 4; element++) {
+            assertThat(buffer.offer(element)).isTrue();
+        }
+        assertThat(buffer.offer(4)).as("full").isFalse();
+        assertThat(buffer.isClosed()).isFalse();
+    }
+}
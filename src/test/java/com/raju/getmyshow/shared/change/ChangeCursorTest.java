@@ -0,0 +1,128 @@
+package com.raju.getmyshow.shared.change;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The cursor against an in-memory feed that answers pages like the (updated_at, id) queries.
+ */
+class ChangeCursorTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 10, 17, 9, 0);
+
+    private final List<Change> feed = new ArrayList<>();
+    private int queries;
+
+    @Test
+    void rowsSharingATimestampAcrossAPageBoundaryAreAllReadOnce() {
+        // More rows with the same timestamp than fit in one page
+        for (long id = 1; id <= ChangeCursor.PAGE_SIZE + 500; id++) {
+            write(id, T0.plusSeconds(1));
+        }
+        write(5_000, T0.plusSeconds(2));
+
+        List<Long> applied = new ArrayList<>();
+        int count = new ChangeCursor(T0).poll(T0.plusMinutes(1), Integer.MAX_VALUE,
+                this::page, Change::id, change -> applied.add(change.id()));
+
+        assertThat(count).isEqualTo(ChangeCursor.PAGE_SIZE + 501);
+        assertThat(applied).doesNotHaveDuplicates().hasSize(count).endsWith(5_000L);
+        assertThat(queries).isEqualTo(2);
+    }
+
+    @Test
+    void rowsAtOrAboveTheHorizonWaitForALaterPoll() {
+        ChangeCursor cursor = new ChangeCursor(T0);
+        write(1, T0.plusSeconds(1));
+        write(2, T0.plusSeconds(5));
+
+        List<Long> applied = new ArrayList<>();
+        cursor.poll(T0.plusSeconds(5), 100, this::page, Change::id, change -> applied.add(change.id()));
+        assertThat(applied).containsExactly(1L);
+
+        // Committed late, stamped before the row already applied: the horizon held it back
+        write(3, T0.plusSeconds(4));
+        cursor.poll(T0.plusSeconds(10), 100, this::page, Change::id, change -> applied.add(change.id()));
+        assertThat(applied).containsExactly(1L, 3L, 2L);
+    }
+
+    @Test
+    void maxRowsStopsThePollAndTheNextOneContinues() {
+        for (long id = 1; id <= 10; id++) {
+            write(id, T0.plusSeconds(1));
+        }
+        ChangeCursor cursor = new ChangeCursor(T0);
+        List<Long> applied = new ArrayList<>();
+
+        assertThat(cursor.poll(T0.plusMinutes(1), 4, this::page, Change::id, change -> applied.add(change.id())))
+                .isEqualTo(4);
+        assertThat(cursor.poll(T0.plusMinutes(1), 100, this::page, Change::id, change -> applied.add(change.id())))
+                .isEqualTo(6);
+        assertThat(applied).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+    }
+
+    @Test
+    void failedApplyResumesAtTheFailedRow() {
+        write(1, T0.plusSeconds(1));
+        write(2, T0.plusSeconds(1));
+        write(3, T0.plusSeconds(2));
+        ChangeCursor cursor = new ChangeCursor(T0);
+        List<Long> applied = new ArrayList<>();
+
+        assertThatThrownBy(() -> cursor.poll(T0.plusMinutes(1), 100, this::page, Change::id, change -> {
+            if (change.id() == 2) {
+                throw new IllegalStateException("bad row");
+            }
+            applied.add(change.id());
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(cursor.afterTime()).isEqualTo(T0.plusSeconds(1));
+        assertThat(cursor.afterId()).isEqualTo(1);
+        cursor.poll(T0.plusMinutes(1), 100, this::page, Change::id, change -> applied.add(change.id()));
+        assertThat(applied).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void resetStartsAtTheRowsStampedAtItsTime() {
+        write(1, T0);
+        write(2, T0.minusNanos(1));
+        ChangeCursor cursor = new ChangeCursor(T0.minusDays(1));
+        cursor.reset(T0);
+
+        List<Long> applied = new ArrayList<>();
+        cursor.poll(T0.plusMinutes(1), 100, this::page, Change::id, change -> applied.add(change.id()));
+
+        assertThat(applied).containsExactly(1L);
+    }
+
+    private void write(long id, LocalDateTime updatedAt) {
+        feed.add(new Change(id, updatedAt));
+    }
+
+    // (updated_at, id) > (afterTime, afterId) AND updated_at < horizon ORDER BY updated_at, id LIMIT limit
+    private List<Change> page(LocalDateTime afterTime, long afterId, LocalDateTime horizon, int limit) {
+        queries++;
+        return feed.stream()
+                .filter(change -> change.updatedAt().isAfter(afterTime)
+                        || (change.updatedAt().isEqual(afterTime) && change.id() > afterId))
+                .filter(change -> change.updatedAt().isBefore(horizon))
+                .sorted(Comparator.comparing(Change::updatedAt).thenComparingLong(Change::id))
+                .limit(limit)
+                .toList();
+    }
+
+    private record Change(long id, LocalDateTime updatedAt) implements ChangeRow {
+
+        @Override
+        public LocalDateTime getUpdatedAt() {
+            return updatedAt;
+        }
+    }
+}
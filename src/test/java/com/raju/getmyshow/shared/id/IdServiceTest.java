@@ -0,0 +1,101 @@
+package com.raju.getmyshow.shared.id;
+
+import com.raju.getmyshow.shared.config.IdProperties;
+import com.raju.getmyshow.shared.repository.NodeIdLeaseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyShort;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The node issues IDs only while its lease is valid on the monotonic clock,
+ * whatever the wall clock does.
+ */
+class IdServiceTest {
+
+    private final NodeIdLeaseRepository repository = mock(NodeIdLeaseRepository.class);
+    private final IdProperties properties = new IdProperties();
+    private final AtomicLong wallMillis = new AtomicLong(SnowflakeIdGenerator.EPOCH_MILLIS + 1_000_000);
+    private final AtomicLong monotonicNanos = new AtomicLong();
+
+    private IdService idService;
+
+    @BeforeEach
+    void setUp() {
+        properties.getLease().setDurationSeconds(60);
+        properties.getLease().setExpiryMarginMillis(5_000);
+        when(repository.claim(anyString(), anyInt())).thenReturn((short) 3);
+        idService = new IdService(repository, mock(PlatformTransactionManager.class), properties,
+                wallMillis::get, monotonicNanos::get);
+        idService.start();
+    }
+
+    @Test
+    void issuesIdsWithTheLeasedNodeId() {
+        assertThat(SnowflakeIdGenerator.nodeIdOf(idService.nextId())).isEqualTo(3);
+        assertThat(idService.nextBookingReference()).startsWith(IdService.BOOKING_PREFIX).hasSize(15);
+    }
+
+    @Test
+    void stopsIssuingBeforeTheLeaseEnds() {
+        advance(54);
+        idService.nextId();
+
+        advance(2);
+        assertThatThrownBy(idService::nextId).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void renewalExtendsTheLease() {
+        advance(30);
+        when(repository.renew(anyShort(), anyString(), anyInt())).thenReturn(1);
+        idService.renewLease();
+
+        advance(50);
+        assertThat(SnowflakeIdGenerator.nodeIdOf(idService.nextId())).isEqualTo(3);
+    }
+
+    @Test
+    void failedRenewalKeepsTheLeaseOnlyUntilItRunsOut() {
+        advance(30);
+        when(repository.renew(anyShort(), anyString(), anyInt())).thenThrow(new IllegalStateException("DB down"));
+        idService.renewLease();
+        idService.nextId();
+
+        advance(30);
+        assertThatThrownBy(idService::nextId).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void lostLeaseClaimsANewNodeId() {
+        when(repository.renew(anyShort(), anyString(), anyInt())).thenReturn(0);
+        when(repository.claim(anyString(), anyInt())).thenReturn((short) 9);
+        idService.renewLease();
+
+        assertThat(SnowflakeIdGenerator.nodeIdOf(idService.nextId())).isEqualTo(9);
+    }
+
+    @Test
+    void wallClockJumpDoesNotExtendTheLease() {
+        // Wall clock stepped back an hour: the lease still ends 55 s after it was claimed
+        wallMillis.addAndGet(-TimeUnit.HOURS.toMillis(1));
+        advance(56);
+
+        assertThatThrownBy(idService::nextId).isInstanceOf(IllegalStateException.class);
+    }
+
+    private void advance(long seconds) {
+        monotonicNanos.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+        wallMillis.addAndGet(TimeUnit.SECONDS.toMillis(seconds));
+    }
+}
@@ -0,0 +1,77 @@
+package com.raju.getmyshow.shared.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * IDs stay unique and increasing when the wall clock stalls or moves backwards,
+ * and are refused once it moved back further than max-backward-millis.
+ */
+class SnowflakeIdGeneratorTest {
+
+    private static final long NOW = SnowflakeIdGenerator.EPOCH_MILLIS + 1_000_000;
+
+    @Test
+    void burstWithinOneMillisecondBorrowsTheNextOnes() {
+        AtomicLong clock = new AtomicLong(NOW);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7, clock::get, 10, 1_000);
+
+        Set<Long> ids = new HashSet<>();
+        long previous = 0;
+        for (int i = 0; i < 3 * 4096; i++) {
+            long id = generator.nextId();
+            assertThat(id).isGreaterThan(previous);
+            assertThat(SnowflakeIdGenerator.nodeIdOf(id)).isEqualTo(7);
+            ids.add(id);
+            previous = id;
+        }
+        assertThat(ids).hasSize(3 * 4096);
+        assertThat(SnowflakeIdGenerator.timestampMillisOf(previous)).isEqualTo(NOW + 2);
+    }
+
+    @Test
+    void smallRollbackKeepsIssuingOnTheLogicalClock() {
+        AtomicLong clock = new AtomicLong(NOW);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, clock::get, 10, 1_000);
+
+        long before = generator.nextId();
+        clock.set(NOW - 5);
+        long after = generator.nextId();
+
+        assertThat(after).isGreaterThan(before);
+        assertThat(SnowflakeIdGenerator.timestampMillisOf(after)).isEqualTo(NOW);
+    }
+
+    @Test
+    void rollbackBeyondBorrowWaitsForTheClock() {
+        AtomicLong clock = new AtomicLong(NOW);
+        // Every read of the clock advances it by 1 ms, as a real clock catching up would
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, () -> clock.getAndIncrement(), 10, 1_000);
+
+        long before = generator.nextId();
+        clock.set(NOW - 50);
+        long after = generator.nextId();
+
+        assertThat(after).isGreaterThan(before);
+        assertThat(SnowflakeIdGenerator.timestampMillisOf(after)).isGreaterThan(NOW);
+    }
+
+    @Test
+    void rollbackBeyondMaxBackwardIsRefused() {
+        AtomicLong clock = new AtomicLong(NOW);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, clock::get, 10, 1_000);
+
+        generator.nextId();
+        clock.set(NOW - 5_000);
+
+        assertThatThrownBy(generator::nextId)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Clock moved backwards");
+    }
+}
@@ -0,0 +1,165 @@
+package com.raju.getmyshow.shared.outbox;
+
+import com.raju.getmyshow.shared.entity.OutboxEvent;
+import com.raju.getmyshow.shared.repository.OutboxEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The relay against an in-memory broker stand-in (no RabbitMQ needed):
+ * confirmed batches leave the outbox in id order, unconfirmed ones stay for the retry.
+ *
+ * Needs the dev Postgres; the scheduled relay is off, batches are driven by the test and
+ * only relay this run's own aggregate type, other events in the outbox are never touched.
+ * Not part of the normal build, run with:
+ *   ./gradlew benchmark --tests '*OutboxRelayTest'
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "outbox.relay.enabled=false")
+class OutboxRelayTest {
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final String AGGREGATE_TYPE = "RelayTest-" + UUID.randomUUID().toString().substring(0, 8);
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private StandInBroker broker;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Long> written = new ArrayList<>();
+
+    @BeforeEach
+    void resetBroker() {
+        broker.confirm = true;
+        broker.received.clear();
+        broker.duringPublish = () -> { };
+    }
+
+    @AfterEach
+    void removeLeftovers() {
+        outboxEventRepository.deleteAllById(written);
+    }
+
+    @Test
+    void confirmedEventsArePublishedInIdOrderAndRemoved() {
+        List<Long> ids = writeEvents(3);
+
+        drain();
+
+        assertThat(broker.received).extracting(OutboxEvent::getId).containsExactlyElementsOf(ids);
+        assertThat(outboxEventRepository.findAllById(ids)).isEmpty();
+    }
+
+    @Test
+    void unconfirmedBatchStaysInOutboxAndIsRetried() {
+        List<Long> ids = writeEvents(2);
+
+        broker.confirm = false;
+        assertThatThrownBy(() -> outboxRelay.relayBatch(BATCH_SIZE, AGGREGATE_TYPE))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(outboxEventRepository.findAllById(ids)).hasSize(2);
+
+        broker.confirm = true;
+        drain();
+
+        assertThat(broker.received).extracting(OutboxEvent::getId).containsExactlyElementsOf(ids);
+        assertThat(outboxEventRepository.findAllById(ids)).isEmpty();
+    }
+
+    @Test
+    void brokerIsAwaitedOutsideAnyTransactionAndTheClaimKeepsOtherRelaysOff() {
+        List<Long> ids = writeEvents(2);
+        List<Integer> relayedMeanwhile = new ArrayList<>();
+        broker.duringPublish = () -> {
+            assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
+            relayedMeanwhile.add(outboxRelay.relayBatch(BATCH_SIZE, AGGREGATE_TYPE));
+        };
+
+        assertThat(outboxRelay.relayBatch(BATCH_SIZE, AGGREGATE_TYPE)).isEqualTo(2);
+
+        // The nested relay ran while the batch was unconfirmed: claimed, so not published twice
+        assertThat(relayedMeanwhile).containsExactly(0);
+        assertThat(broker.received).extracting(OutboxEvent::getId).containsExactlyElementsOf(ids);
+        assertThat(outboxEventRepository.findAllById(ids)).isEmpty();
+    }
+
+    private List<Long> writeEvents(int count) {
+        long aggregateId = ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                OutboxEvent event = outboxEventRepository.save(OutboxEvent.builder()
+                        .aggregateType(AGGREGATE_TYPE)
+                        .aggregateId(aggregateId)
+                        .eventType("TEST_EVENT")
+                        .payload("{\"sequence\": " + i + "}")
+                        .build());
+                ids.add(event.getId());
+            }
+            written.addAll(ids);
+            return ids;
+        });
+    }
+
+    private void drain() {
+        while (outboxRelay.relayBatch(BATCH_SIZE, AGGREGATE_TYPE) > 0) {
+            // this run's events only
+        }
+    }
+
+    /**
+     * Takes a batch only when "confirming", like a broker acking or nacking it
+     */
+    static class StandInBroker implements OutboxPublisher {
+
+        final List<OutboxEvent> received = new ArrayList<>();
+        volatile boolean confirm = true;
+        volatile Runnable duringPublish = () -> { };
+
+        @Override
+        public void publish(List<OutboxEvent> batch) {
+            Runnable waitingForConfirms = duringPublish;
+            duringPublish = () -> { };
+            waitingForConfirms.run();
+            if (!confirm) {
+                throw new IllegalStateException("nack");
+            }
+            received.addAll(batch);
+        }
+    }
+
+    @TestConfiguration
+    static class BrokerStandInConfig {
+
+        @Bean
+        @Primary
+        StandInBroker standInBroker() {
+            return new StandInBroker();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.raju.getmyshow.shared.outbox;
+
+import com.raju.getmyshow.shared.config.OutboxProperties;
+import com.raju.getmyshow.shared.entity.OutboxEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.amqp.AmqpIOException;
+import org.springframework.amqp.AmqpTimeoutException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * One channel per batch, every event sent before the single confirm wait; a nack or a
+ * confirm timeout reaches the relay as an exception (the batch stays in the outbox).
+ */
+class RabbitOutboxPublisherTest {
+
+    private static final String EXCHANGE = "getmyshow.events";
+
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final RabbitOperations channel = mock(RabbitOperations.class);
+    private final OutboxProperties outboxProperties = new OutboxProperties();
+    private final RabbitOutboxPublisher publisher = new RabbitOutboxPublisher(rabbitTemplate, outboxProperties);
+
+    @BeforeEach
+    void runCallbacksOnOneChannel() {
+        outboxProperties.getRelay().setConfirmTimeoutMillis(1_500);
+        when(rabbitTemplate.invoke(any())).thenAnswer(invocation ->
+                invocation.<RabbitOperations.OperationsCallback<?>>getArgument(0).doInRabbit(channel));
+    }
+
+    @Test
+    void batchIsSentInOrderThenConfirmedOnce() {
+        publisher.publish(List.of(
+                event(11L, "BOOKING_CREATED", "{\"bookingId\": 1}"),
+                event(12L, "BOOKING_EXPIRED", "{\"bookingId\": 2}")));
+
+        ArgumentCaptor<Message> messages = ArgumentCaptor.forClass(Message.class);
+        InOrder inOrder = inOrder(channel);
+        inOrder.verify(channel).send(eq(EXCHANGE), eq("booking.created"), messages.capture());
+        inOrder.verify(channel).send(eq(EXCHANGE), eq("booking.expired"), messages.capture());
+        inOrder.verify(channel).waitForConfirmsOrDie(1_500);
+        verify(rabbitTemplate, times(1)).invoke(any());
+
+        Message first = messages.getAllValues().get(0);
+        assertThat(new String(first.getBody(), StandardCharsets.UTF_8)).isEqualTo("{\"bookingId\": 1}");
+        assertThat(first.getMessageProperties().getMessageId()).isEqualTo("11");
+        assertThat(first.getMessageProperties().getType()).isEqualTo("BOOKING_CREATED");
+        assertThat(first.getMessageProperties().getDeliveryMode()).isEqualTo(MessageDeliveryMode.PERSISTENT);
+        assertThat(first.getMessageProperties().<Long>getHeader("aggregateId")).isEqualTo(7L);
+        assertThat(messages.getAllValues().get(1).getMessageProperties().getMessageId()).isEqualTo("12");
+    }
+
+    @Test
+    void nackedBatchFailsThePublish() {
+        // Channel.waitForConfirmsOrDie reports a nack as an IOException
+        doThrow(new AmqpIOException(new IOException("nack received")))
+                .when(channel).waitForConfirmsOrDie(anyLong());
+
+        assertThatThrownBy(() -> publisher.publish(List.of(event(21L, "BOOKING_CREATED", "{}"))))
+                .isInstanceOf(AmqpIOException.class);
+        verify(channel).send(eq(EXCHANGE), eq("booking.created"), any(Message.class));
+    }
+
+    @Test
+    void unansweredConfirmFailsThePublish() {
+        doThrow(new AmqpTimeoutException("no confirm within 1500 ms"))
+                .when(channel).waitForConfirmsOrDie(anyLong());
+
+        assertThatThrownBy(() -> publisher.publish(List.of(event(31L, "BOOKING_EXPIRED", "{}"))))
+                .isInstanceOf(AmqpTimeoutException.class);
+    }
+
+    @Test
+    void routingKeyIsTheLowerCaseDottedEventType() {
+        assertThat(RabbitOutboxPublisher.routingKey("BOOKING_CREATED")).isEqualTo("booking.created");
+        assertThat(RabbitOutboxPublisher.routingKey("SHOW_PRICE_CHANGED")).isEqualTo("show.price.changed");
+    }
+
+    private static OutboxEvent event(Long id, String eventType, String payload) {
+        return OutboxEvent.builder()
+                .id(id)
+                .aggregateType("Booking")
+                .aggregateId(7L)
+                .eventType(eventType)
+                .payload(payload)
+                .build();
+    }
+}
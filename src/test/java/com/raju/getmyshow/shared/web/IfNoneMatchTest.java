@@ -0,0 +1,47 @@
+package com.raju.getmyshow.shared.web;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * If-None-Match is a list of exact (weakly compared) entity tags, never a substring search.
+ */
+class IfNoneMatchTest {
+
+    private static final String CURRENT = "\"2-3-0\"";
+
+    @Test
+    void matchesOnlyExactTags() {
+        assertThat(IfNoneMatch.matches("\"2-3-0\"", CURRENT)).isTrue();
+        assertThat(IfNoneMatch.matches("\"12-3-0\"", CURRENT)).isFalse();
+        assertThat(IfNoneMatch.matches("\"2-3-0-c\"", CURRENT)).isFalse();
+        assertThat(IfNoneMatch.matches("2-3-0", CURRENT)).isFalse();
+    }
+
+    @Test
+    void matchesAnyTagOfTheList() {
+        assertThat(IfNoneMatch.matches("\"1-1-0\", \"2-3-0\"", CURRENT)).isTrue();
+        assertThat(IfNoneMatch.matches("\"1-1-0\",\"4-4-0\"", CURRENT)).isFalse();
+    }
+
+    @Test
+    void comparesWeakly() {
+        assertThat(IfNoneMatch.matches("W/\"2-3-0\"", CURRENT)).isTrue();
+        assertThat(IfNoneMatch.matches("\"2-3-0\"", "W/" + CURRENT)).isTrue();
+    }
+
+    @Test
+    void starMatchesAnyCurrentRepresentation() {
+        assertThat(IfNoneMatch.matches(" * ", CURRENT)).isTrue();
+        assertThat(IfNoneMatch.matches("\"1-1-0\", *", CURRENT)).isFalse();
+    }
+
+    @Test
+    void absentOrMalformedHeaderMatchesNothing() {
+        assertThat(IfNoneMatch.matches(null, CURRENT)).isFalse();
+        assertThat(IfNoneMatch.matches("", CURRENT)).isFalse();
+        assertThat(IfNoneMatch.matches("\"2-3-0", CURRENT)).isFalse();
+        assertThat(IfNoneMatch.parse("\"a\", W/\"b\", junk, \"c\"")).containsExactly("\"a\"", "W/\"b\"");
+    }
+}
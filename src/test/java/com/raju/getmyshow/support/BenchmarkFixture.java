@@ -0,0 +1,159 @@
+package com.raju.getmyshow.support;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Catalog rows for the benchmark tests that run against the dev Postgres.
+ *
+ * 💡 Everything created here is removed by {@link #cleanup()} (call it from @AfterEach):
+ * - bookings of the fixture's users / shows (seats, tickets, payments, their outbox rows)
+ * - shows of the fixture's events (rows hanging off a show cascade), the events
+ * - venues (screens, seats cascade), users
+ * - Rows a test bulk-inserts itself only need to hang off one of these
+ */
+public final class BenchmarkFixture {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String suffix = UUID.randomUUID().toString();
+
+    private final List<Long> userIds = new ArrayList<>();
+    private final List<Long> eventIds = new ArrayList<>();
+    private final List<Long> venueIds = new ArrayList<>();
+
+    public BenchmarkFixture(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Unique per fixture: keeps names apart from other runs / seeded data
+     */
+    public String suffix() {
+        return suffix;
+    }
+
+    public long user() {
+        Long userId = jdbcTemplate.queryForObject("""
+                INSERT INTO users (email, password_hash)
+                VALUES (?, 'x') RETURNING id
+                """, Long.class, "bench-" + UUID.randomUUID() + "@getmyshow.test");
+        userIds.add(userId);
+        return userId;
+    }
+
+    public long event(String title, String eventType) {
+        Long eventId = jdbcTemplate.queryForObject("""
+                INSERT INTO events (title, event_type, status, is_featured)
+                VALUES (?, ?, 'PUBLISHED', FALSE) RETURNING id
+                """, Long.class, title + " " + suffix, eventType);
+        eventIds.add(eventId);
+        return eventId;
+    }
+
+    public long movie(String title, String genre, String language) {
+        long eventId = event(title, "MOVIE");
+        jdbcTemplate.update("""
+                INSERT INTO movies (event_id, duration, genre, language, director, release_date,
+                                    original_language, country_of_origin)
+                VALUES (?, 150, ?, ?, 'Bench', CURRENT_DATE, ?, 'Bangladesh')
+                """, eventId, genre, language, language);
+        return eventId;
+    }
+
+    public long venue(String name, String city, String venueType) {
+        Long venueId = jdbcTemplate.queryForObject("""
+                INSERT INTO venues (name, venue_type, city, address)
+                VALUES (?, ?, ?, 'Bench Road') RETURNING id
+                """, Long.class, name + " " + suffix, venueType, city);
+        venueIds.add(venueId);
+        return venueId;
+    }
+
+    /**
+     * Screen with one REGULAR seat per position, rows of seatsPerRow ("R0-1", "R0-2", ...)
+     */
+    public long screen(long venueId, int seats, int seatsPerRow) {
+        Long screenId = jdbcTemplate.queryForObject("""
+                INSERT INTO screens (venue_id, name, total_seats, total_rows, seats_per_row)
+                VALUES (?, 'Main', ?, ?, ?) RETURNING id
+                """, Long.class, venueId, seats, (seats + seatsPerRow - 1) / seatsPerRow, seatsPerRow);
+
+        jdbcTemplate.update("""
+                INSERT INTO seats (screen_id, row_label, seat_number, seat_type, display_label)
+                SELECT ?, 'R' || (n / ?), (n % ?) + 1, 'REGULAR', 'R' || (n / ?) || '-' || ((n % ?) + 1)
+                FROM generate_series(0, ? - 1) AS n
+                """, screenId, seatsPerRow, seatsPerRow, seatsPerRow, seatsPerRow, seats);
+        return screenId;
+    }
+
+    /**
+     * BOOKING_OPEN show in two days, with an AVAILABLE seat_inventory row per seat
+     * (no per-seat price: seats cost the show's base price, show_price_tiers can change that)
+     */
+    public long show(long eventId, long screenId, String city, int seats) {
+        long showId = showWithoutInventory(eventId, screenId, city, seats);
+        jdbcTemplate.update("""
+                INSERT INTO seat_inventory (show_id, seat_id, show_date, price, status)
+                SELECT sh.id, s.id, sh.start_time::DATE, NULL, 'AVAILABLE'
+                FROM seats s
+                         JOIN shows sh ON sh.id = ?
+                WHERE s.screen_id = ?
+                """, showId, screenId);
+        return showId;
+    }
+
+    /**
+     * Same show, no seat_inventory yet (for tests that materialize it themselves)
+     */
+    public long showWithoutInventory(long eventId, long screenId, String city, int seats) {
+        Long showId = jdbcTemplate.queryForObject("""
+                INSERT INTO shows (event_id, screen_id, city, event_title, venue_name, event_type,
+                                   start_time, end_time, base_price, total_seats, available_seats, status)
+                SELECT e.id, ?, ?, e.title, 'Bench Venue', e.event_type,
+                       NOW() + INTERVAL '2 days', NOW() + INTERVAL '2 days 3 hours', 250, ?, ?, 'BOOKING_OPEN'
+                FROM events e
+                WHERE e.id = ?
+                RETURNING id
+                """, Long.class, screenId, city, seats, seats, eventId);
+        return showId;
+    }
+
+    /**
+     * Removes everything the fixture (and rows hanging off it) created, children first
+     */
+    public void cleanup() {
+        String users = literal(userIds);
+        String events = literal(eventIds);
+        String bookings = literal(jdbcTemplate.queryForList("""
+                SELECT b.id FROM bookings b
+                WHERE b.user_id = ANY (CAST(? AS BIGINT[]))
+                   OR b.show_id IN (SELECT id FROM shows WHERE event_id = ANY (CAST(? AS BIGINT[])))
+                """, Long.class, users, events));
+
+        jdbcTemplate.update("""
+                DELETE FROM outbox
+                WHERE aggregate_type = 'Booking' AND aggregate_id = ANY (CAST(? AS BIGINT[]))
+                """, bookings);
+        jdbcTemplate.update("DELETE FROM tickets WHERE booking_id = ANY (CAST(? AS BIGINT[]))", bookings);
+        jdbcTemplate.update("DELETE FROM payments WHERE booking_id = ANY (CAST(? AS BIGINT[]))", bookings);
+        jdbcTemplate.update("DELETE FROM bookings WHERE id = ANY (CAST(? AS BIGINT[]))", bookings);  // seats cascade
+
+        jdbcTemplate.update("DELETE FROM shows WHERE event_id = ANY (CAST(? AS BIGINT[]))", events);
+        jdbcTemplate.update("DELETE FROM events WHERE id = ANY (CAST(? AS BIGINT[]))", events);  // movies cascade
+        jdbcTemplate.update("DELETE FROM venues WHERE id = ANY (CAST(? AS BIGINT[]))", literal(venueIds));
+        jdbcTemplate.update("DELETE FROM audit_logs WHERE user_id = ANY (CAST(? AS BIGINT[]))", users);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ANY (CAST(? AS BIGINT[]))", users);
+
+        userIds.clear();
+        eventIds.clear();
+        venueIds.clear();
+    }
+
+    private static String literal(List<Long> ids) {
+        return ids.stream().map(String::valueOf).collect(Collectors.joining(",", "{", "}"));
+    }
+}